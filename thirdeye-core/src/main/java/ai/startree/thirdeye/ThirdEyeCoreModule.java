@@ -13,10 +13,13 @@
  */
 package ai.startree.thirdeye;
 
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+
 import ai.startree.thirdeye.config.CacheConfig;
 import ai.startree.thirdeye.config.TimeConfiguration;
 import ai.startree.thirdeye.config.UiConfiguration;
 import ai.startree.thirdeye.datalayer.ThirdEyePersistenceModule;
+import ai.startree.thirdeye.datalayer.util.DatabaseConfiguration;
 import ai.startree.thirdeye.datasource.loader.DefaultAggregationLoader;
 import ai.startree.thirdeye.datasource.loader.DefaultMinMaxTimeLoader;
 import ai.startree.thirdeye.rootcause.configuration.RcaConfiguration;
@@ -29,17 +32,20 @@ import org.apache.tomcat.jdbc.pool.DataSource;
 public class ThirdEyeCoreModule extends AbstractModule {
 
   private final DataSource dataSource;
+  private final DatabaseConfiguration databaseConfiguration;
   private final CacheConfig cacheConfig;
   private final RcaConfiguration rcaConfiguration;
   private final UiConfiguration uiConfiguration;
   private final TimeConfiguration timeConfiguration;
 
   public ThirdEyeCoreModule(final DataSource dataSource,
+      final DatabaseConfiguration databaseConfiguration,
       final CacheConfig cacheConfig,
       final RcaConfiguration rcaConfiguration,
       final UiConfiguration uiConfiguration,
       final TimeConfiguration timeConfiguration) {
     this.dataSource = dataSource;
+    this.databaseConfiguration = databaseConfiguration;
 
     this.cacheConfig = cacheConfig;
     this.rcaConfiguration = rcaConfiguration;
@@ -49,7 +55,8 @@ public class ThirdEyeCoreModule extends AbstractModule {
 
   @Override
   protected void configure() {
-    install(new ThirdEyePersistenceModule(dataSource));
+    install(new ThirdEyePersistenceModule(dataSource,
+        optional(databaseConfiguration).orElse(new DatabaseConfiguration())));
 
     bind(AggregationLoader.class).to(DefaultAggregationLoader.class).in(Scopes.SINGLETON);
     bind(MinMaxTimeLoader.class).to(DefaultMinMaxTimeLoader.class).in(Scopes.SINGLETON);
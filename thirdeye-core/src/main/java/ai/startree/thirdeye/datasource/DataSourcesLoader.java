@@ -21,10 +21,12 @@ import ai.startree.thirdeye.spi.datalayer.dto.DataSourceDTO;
 import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSource;
 import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSourceContext;
 import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSourceFactory;
+import com.codahale.metrics.MetricRegistry;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,17 +38,17 @@ public class DataSourcesLoader {
 
   private static final Logger LOG = LoggerFactory.getLogger(DataSourcesLoader.class);
 
-  private final Map<String, ThirdEyeDataSourceFactory> dataSourceFactoryMap = new HashMap<>();
+  private final Map<String, ThirdEyeDataSourceFactory> dataSourceFactoryMap = new ConcurrentHashMap<>();
+  private final MetricRegistry metricRegistry;
 
   @Inject
-  public DataSourcesLoader() {
+  public DataSourcesLoader(final MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
   }
 
   public void addThirdEyeDataSourceFactory(ThirdEyeDataSourceFactory f) {
-    checkState(!dataSourceFactoryMap.containsKey(f.name()),
+    checkState(dataSourceFactoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate ThirdEyeDataSourceFactory: " + f.name());
-
-    dataSourceFactoryMap.put(f.name(), f);
   }
 
   public ThirdEyeDataSource loadDataSource(DataSourceDTO dataSource) {
@@ -73,6 +75,8 @@ public class DataSourcesLoader {
   }
 
   private ThirdEyeDataSourceContext buildContext(final DataSourceDTO dataSource) {
-    return new ThirdEyeDataSourceContext().setDataSourceDTO(dataSource);
+    return new ThirdEyeDataSourceContext()
+        .setDataSourceDTO(dataSource)
+        .setMetricRegistry(metricRegistry);
   }
 }
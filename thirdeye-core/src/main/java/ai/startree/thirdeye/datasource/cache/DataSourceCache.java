@@ -34,14 +34,22 @@ import ai.startree.thirdeye.spi.util.Pair;
 import com.codahale.metrics.CachedGauge;
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.sql.Timestamp;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,12 +57,18 @@ import org.slf4j.LoggerFactory;
 public class DataSourceCache {
 
   private static final Logger LOG = LoggerFactory.getLogger(DataSourceCache.class);
+  private static final int WARM_UP_PARALLELISM = 4;
+  private static final long WARM_UP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+  private static final int LOCK_STRIPES = 64;
 
   private final DataSourceManager dataSourceManager;
   private final DataSourcesLoader dataSourcesLoader;
   private final MetricRegistry metricRegistry;
 
-  private final Map<String, Pair<DataSourceWrapper, Timestamp>> cache = new HashMap<>();
+  private final Map<String, Pair<DataSourceWrapper, Timestamp>> cache = new ConcurrentHashMap<>();
+  // locks striped by datasource name: building a slow datasource does not block the others
+  private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
+  private final AtomicReference<CompletableFuture<Void>> warmUp = new AtomicReference<>();
 
   @Inject
   public DataSourceCache(
@@ -88,7 +102,78 @@ public class DataSourceCache {
         .count());
   }
 
-  public synchronized ThirdEyeDataSource getDataSource(final String name) {
+  public ThirdEyeDataSource getDataSource(final String name) {
+    final Lock lock = locks.get(name);
+    lock.lock();
+    try {
+      return getDataSourceInternal(name);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Builds all datasources in the background, so that the first requests after a restart do not
+   * pay for the datasource instantiation. Datasources are still created lazily on first access
+   * if the warm-up did not reach them yet. Failures are logged and do not fail the warm-up.
+   * A datasource that takes more than 2 minutes to build does not delay readiness: it keeps
+   * building in the background.
+   *
+   * @return a future completed once all datasources were built, failed or timed out
+   */
+  public CompletableFuture<Void> warmUpAsync() {
+    return warmUpAsync(WARM_UP_TIMEOUT_MILLIS);
+  }
+
+  @VisibleForTesting
+  CompletableFuture<Void> warmUpAsync(final long timeoutMillis) {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    if (!warmUp.compareAndSet(null, future)) {
+      return warmUp.get();
+    }
+    final ExecutorService executorService = Executors.newFixedThreadPool(WARM_UP_PARALLELISM,
+        new ThreadFactoryBuilder().setNameFormat("datasource-warm-up-%d").setDaemon(true).build());
+    CompletableFuture
+        .supplyAsync(dataSourceManager::findAll, executorService)
+        .thenCompose(dataSources -> CompletableFuture.allOf(dataSources.stream()
+            .map(dto -> CompletableFuture
+                .runAsync(() -> warmUp(dto.getName()), executorService)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                  LOG.warn("Datasource {} not warmed up after {} ms. Marking the cache ready.",
+                      dto.getName(),
+                      timeoutMillis);
+                  return null;
+                }))
+            .toArray(CompletableFuture[]::new)))
+        .whenComplete((v, e) -> {
+          if (e != null) {
+            LOG.error("Datasource warm-up failed.", e);
+          }
+          executorService.shutdown();
+          future.complete(null);
+        });
+    return future;
+  }
+
+  /**
+   * Readiness signal. True once the warm-up is complete.
+   */
+  public boolean isReady() {
+    return optional(warmUp.get()).map(CompletableFuture::isDone).orElse(false);
+  }
+
+  private void warmUp(final String name) {
+    try {
+      final long start = System.currentTimeMillis();
+      getDataSource(name);
+      LOG.info("Datasource {} warmed up in {} ms", name, System.currentTimeMillis() - start);
+    } catch (final Exception e) {
+      LOG.warn("Could not warm up datasource {}. It will be built on first access.", name, e);
+    }
+  }
+
+  private ThirdEyeDataSource getDataSourceInternal(final String name) {
     final Optional<DataSourceDTO> dataSource = findByName(name);
 
     // datasource absent in DB
@@ -22,6 +22,7 @@ import ai.startree.thirdeye.datasource.cache.DataSourceCache;
 import ai.startree.thirdeye.datasource.calcite.QueryProjection;
 import ai.startree.thirdeye.datasource.calcite.SelectQuery;
 import ai.startree.thirdeye.datasource.calcite.SelectQueryTranslator;
+import ai.startree.thirdeye.rootcause.configuration.RcaConfiguration;
 import ai.startree.thirdeye.spi.Constants;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
 import ai.startree.thirdeye.spi.dataframe.LongSeries;
@@ -63,10 +64,11 @@ public class DefaultAggregationLoader implements AggregationLoader {
   private final ExecutorService executorService;
 
   @Inject
-  public DefaultAggregationLoader(final DataSourceCache dataSourceCache) {
+  public DefaultAggregationLoader(final DataSourceCache dataSourceCache,
+      final RcaConfiguration rcaConfiguration) {
     this.dataSourceCache = dataSourceCache;
-    executorService = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat(
-        "aggregation-loader-%d").build());
+    executorService = Executors.newFixedThreadPool(rcaConfiguration.getBreakdownParallelism(),
+        new ThreadFactoryBuilder().setNameFormat("aggregation-loader-%d").build());
   }
 
   /**
@@ -116,28 +118,66 @@ public class DefaultAggregationLoader implements AggregationLoader {
 
   @Override
   public DataFrame loadBreakdown(final MetricSlice slice, final int limit) throws Exception {
-    final DatasetConfigDTO datasetConfigDTO = slice.getDatasetConfigDTO();
+    return loadBreakdowns(List.of(slice), limit).get(0);
+  }
 
-    final List<String> dimensions = new ArrayList<>(optional(datasetConfigDTO.getDimensions()).map(
-        Templatable::getValue).orElse(List.of()));
-    dimensions.removeAll(slice.getPredicates()
-        .stream()
-        .map(Predicate::getLhs)
-        .collect(Collectors.toList()));
-    dimensions.remove(datasetConfigDTO.getTimeColumn());
+  /**
+   * Loads the breakdowns of the slices on all the dimensions of their dataset. One GROUP BY query
+   * is sent per slice and dimension. The queries of all the slices are submitted before the
+   * results are collected.
+   */
+  @Override
+  public List<DataFrame> loadBreakdowns(final List<MetricSlice> slices, final int limit)
+      throws Exception {
+    // submit requests
+    final List<List<String>> dimensions = new ArrayList<>(slices.size());
+    final List<List<Future<DataFrame>>> responses = new ArrayList<>(slices.size());
+    for (final MetricSlice slice : slices) {
+      final List<String> sliceDimensions = breakdownDimensions(slice);
+      LOG.info("Querying breakdown '{}' for dimensions '{}'", slice, sliceDimensions);
+      dimensions.add(sliceDimensions);
+      responses.add(getPerDimensionBreakdownsAsync(slice, sliceDimensions, limit));
+    }
 
-    LOG.info("Querying breakdown '{}' for dimensions '{}'", slice, dimensions);
+    // collect responses
+    final List<DataFrame> breakdowns = new ArrayList<>(slices.size());
+    for (int i = 0; i < slices.size(); i++) {
+      final DataFrame breakdown = collectPerDimensionBreakdowns(dimensions.get(i),
+          responses.get(i));
+      breakdowns.add(breakdown
+          // add time column containing start time of slice
+          .addSeries(Constants.COL_TIME,
+              LongSeries.fillValues(breakdown.size(), slices.get(i).getInterval().getStartMillis()))
+          .setIndex(Constants.COL_TIME, COL_DIMENSION_NAME, COL_DIMENSION_VALUE));
+    }
+    return breakdowns;
+  }
 
-    final DataFrame dfAll = DataFrame
+  private static DataFrame emptyBreakdown() {
+    return DataFrame
         .builder(COL_DIMENSION_NAME + ":STRING",
             COL_DIMENSION_VALUE + ":STRING",
             Constants.COL_VALUE + ":DOUBLE")
         .build()
         .setIndex(COL_DIMENSION_NAME, COL_DIMENSION_VALUE);
+  }
 
-    final Map<String, Future<DataFrame>> responses = new HashMap<>();
+  private static List<String> breakdownDimensions(final MetricSlice slice) {
+    final DatasetConfigDTO datasetConfigDTO = slice.getDatasetConfigDTO();
+    final List<String> dimensions = new ArrayList<>(optional(datasetConfigDTO.getDimensions()).map(
+        Templatable::getValue).orElse(List.of()));
+    dimensions.removeAll(slice.getPredicates()
+        .stream()
+        .map(Predicate::getLhs)
+        .collect(Collectors.toList()));
+    dimensions.remove(datasetConfigDTO.getTimeColumn());
+    return dimensions;
+  }
 
-    // submit requests
+  private List<Future<DataFrame>> getPerDimensionBreakdownsAsync(final MetricSlice slice,
+      final List<String> dimensions, final int limit) {
+    final String dataSource = slice.getDatasetConfigDTO().getDataSource();
+    final List<Future<DataFrame>> responses = new ArrayList<>();
     for (final String dimension : dimensions) {
       final SqlIdentifier dimensionIdentifier = identifierOf(dimension);
       final SelectQueryTranslator request = SelectQuery.from(slice)
@@ -147,29 +187,24 @@ public class DefaultAggregationLoader implements AggregationLoader {
           .orderBy(identifierDescOf(Constants.COL_VALUE))
           .limit(limit)
           .build();
-      final Future<DataFrame> res = getQueryResultAsync(request,
-          datasetConfigDTO.getDataSource());
-
-      responses.put(dimension, res);
+      responses.add(getQueryResultAsync(request, dataSource));
     }
+    return responses;
+  }
 
-    // collect responses
+  private static DataFrame collectPerDimensionBreakdowns(final List<String> dimensions,
+      final List<Future<DataFrame>> responses) throws Exception {
     final List<DataFrame> results = new ArrayList<>();
-    for (final String dimension : dimensions) {
-      final DataFrame res = responses.get(dimension).get(TIMEOUT, TimeUnit.MILLISECONDS);
+    for (int i = 0; i < dimensions.size(); i++) {
+      final String dimension = dimensions.get(i);
+      final DataFrame res = responses.get(i).get(TIMEOUT, TimeUnit.MILLISECONDS);
       final DataFrame dfResult = new DataFrame()
           .addSeries(COL_DIMENSION_NAME, StringSeries.fillValues(res.size(), dimension))
           .addSeries(COL_DIMENSION_VALUE, res.get(dimension))
           .addSeries(Constants.COL_VALUE, res.get(Constants.COL_VALUE));
       results.add(dfResult);
     }
-
-    final DataFrame breakdown = dfAll.append(results);
-    // add time column containing start time of slice
-    return breakdown
-        .addSeries(Constants.COL_TIME,
-            LongSeries.fillValues(breakdown.size(), slice.getInterval().getStartMillis()))
-        .setIndex(Constants.COL_TIME, COL_DIMENSION_NAME, COL_DIMENSION_VALUE);
+    return emptyBreakdown().append(results);
   }
 
   @Override
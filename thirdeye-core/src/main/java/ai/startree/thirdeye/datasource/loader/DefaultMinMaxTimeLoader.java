@@ -28,14 +28,25 @@ import ai.startree.thirdeye.spi.datasource.loader.MinMaxTimeLoader;
 import ai.startree.thirdeye.spi.datasource.macro.SqlExpressionBuilder;
 import ai.startree.thirdeye.spi.datasource.macro.SqlLanguage;
 import ai.startree.thirdeye.util.CalciteUtils;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.calcite.sql.SqlDialect;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.parser.SqlParser;
@@ -48,33 +59,73 @@ import org.joda.time.Period;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Runs min/max time queries on datasets.
+ *
+ * Async queries on the full dataset (no time filter) are served from a freshness cache. Cached
+ * values are refreshed in the background on a fixed schedule: readers get the last known value
+ * while the refresh runs (stale-while-revalidate), and concurrent loads of the same key are
+ * merged into a single query. Entries that are not read for a while are evicted and stop being
+ * refreshed: background refreshes do not count as reads.
+ *
+ * The sync methods always query the datasource. Use them when a stale value is not acceptable.
+ */
 @Singleton
-public class DefaultMinMaxTimeLoader implements MinMaxTimeLoader {
+public class DefaultMinMaxTimeLoader implements MinMaxTimeLoader, AutoCloseable {
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultMinMaxTimeLoader.class);
 
   private static final String TIME_ALIAS = "timeMillis";
 
+  private static final int MAX_PARALLEL_QUERIES = 8;
+  private static final long REFRESH_PERIOD_MINUTES = 2;
+  private static final long EXPIRE_AFTER_READ_MILLIS = TimeUnit.MINUTES.toMillis(60);
+  private static final long MAX_CACHED_ENTRIES = 10_000;
+
   private final DataSourceCache dataSourceCache;
   private final ExecutorService executorService;
+  private final ScheduledExecutorService refreshScheduler;
+  private final LoadingCache<ExtremumKey, CachedTime> freshnessCache;
+  /* last time each cached entry was read by a caller. Refreshes are not reads. */
+  private final Map<ExtremumKey, Long> lastReadMillis = new ConcurrentHashMap<>();
 
   @Inject
   public DefaultMinMaxTimeLoader(final DataSourceCache dataSourceCache) {
     this.dataSourceCache = dataSourceCache;
-    executorService = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat(
-        "minmax-loader-%d").build());
+    executorService = Executors.newFixedThreadPool(MAX_PARALLEL_QUERIES,
+        new ThreadFactoryBuilder().setNameFormat("minmax-loader-%d").setDaemon(true).build());
+    freshnessCache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_ENTRIES)
+        .removalListener((RemovalListener<ExtremumKey, CachedTime>) notification -> {
+          if (notification.wasEvicted()) {
+            lastReadMillis.remove(notification.getKey());
+          }
+        })
+        .build(CacheLoader.asyncReloading(new CacheLoader<>() {
+          @Override
+          public CachedTime load(final ExtremumKey key) throws Exception {
+            return DefaultMinMaxTimeLoader.this.load(key);
+          }
+        }, executorService));
+
+    refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("minmax-refresh-%d").setDaemon(true).build());
+    refreshScheduler.scheduleWithFixedDelay(() -> refreshAll(System.currentTimeMillis()),
+        REFRESH_PERIOD_MINUTES,
+        REFRESH_PERIOD_MINUTES,
+        TimeUnit.MINUTES);
   }
 
   @Override
   public Future<@Nullable Long> fetchMinTimeAsync(final DatasetConfigDTO datasetConfigDTO,
       final @Nullable Interval timeFilterInterval) throws Exception {
-    return executorService.submit(() -> fetchMinTime(datasetConfigDTO, timeFilterInterval));
+    return fetchExtremumTimeAsync(Extremum.MIN, datasetConfigDTO, timeFilterInterval);
   }
 
   @Override
   public Future<@Nullable Long> fetchMaxTimeAsync(final DatasetConfigDTO datasetConfigDTO,
       final @Nullable Interval timeFilterInterval) throws Exception {
-    return executorService.submit(() -> fetchMaxTime(datasetConfigDTO, timeFilterInterval));
+    return fetchExtremumTimeAsync(Extremum.MAX, datasetConfigDTO, timeFilterInterval);
   }
 
   @Override
@@ -89,7 +140,88 @@ public class DefaultMinMaxTimeLoader implements MinMaxTimeLoader {
     return fetchExtremumTime(Extremum.MAX, datasetConfigDTO, timeFilterInterval);
   }
 
-  private @Nullable Long fetchExtremumTime(final Extremum extremum,
+  /**
+   * Returns the cached min time of the dataset and its age, without running any query.
+   * Returns null if the value is not in the cache.
+   */
+  public @Nullable CachedTime getCachedMinTime(final DatasetConfigDTO datasetConfigDTO) {
+    return freshnessCache.getIfPresent(ExtremumKey.of(Extremum.MIN, datasetConfigDTO));
+  }
+
+  /**
+   * Returns the cached max time of the dataset and its age, without running any query.
+   * Returns null if the value is not in the cache.
+   */
+  public @Nullable CachedTime getCachedMaxTime(final DatasetConfigDTO datasetConfigDTO) {
+    return freshnessCache.getIfPresent(ExtremumKey.of(Extremum.MAX, datasetConfigDTO));
+  }
+
+  private Future<@Nullable Long> fetchExtremumTimeAsync(final Extremum extremum,
+      final DatasetConfigDTO datasetConfigDTO, final @Nullable Interval timeFilterInterval) {
+    if (timeFilterInterval == null) {
+      final ExtremumKey key = ExtremumKey.of(extremum, datasetConfigDTO);
+      lastReadMillis.put(key, System.currentTimeMillis());
+      final CachedTime cached = freshnessCache.getIfPresent(key);
+      if (cached != null) {
+        return Futures.immediateFuture(cached.getTime());
+      }
+    }
+    return executorService.submit(() -> fetchExtremumTimeCached(extremum,
+        datasetConfigDTO,
+        timeFilterInterval));
+  }
+
+  private @Nullable Long fetchExtremumTimeCached(final Extremum extremum,
+      final DatasetConfigDTO datasetConfigDTO, final @Nullable Interval timeFilterInterval)
+      throws Exception {
+    if (timeFilterInterval != null) {
+      // arbitrary intervals are not cached
+      return fetchExtremumTime(extremum, datasetConfigDTO, timeFilterInterval);
+    }
+    try {
+      final ExtremumKey key = ExtremumKey.of(extremum, datasetConfigDTO);
+      lastReadMillis.put(key, System.currentTimeMillis());
+      return freshnessCache.get(key).getTime();
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      // rethrow the exception of the query
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+  }
+
+  private CachedTime load(final ExtremumKey key) throws Exception {
+    final Long time = fetchExtremumTime(key.extremum, key.toDatasetConfigDTO(), null);
+    return new CachedTime(time, System.currentTimeMillis());
+  }
+
+  @VisibleForTesting
+  void refreshAll(final long nowMillis) {
+    try {
+      for (final ExtremumKey key : freshnessCache.asMap().keySet()) {
+        final Long lastRead = lastReadMillis.get(key);
+        if (lastRead == null || nowMillis - lastRead > EXPIRE_AFTER_READ_MILLIS) {
+          // not read recently: stop refreshing it
+          if (lastRead != null) {
+            lastReadMillis.remove(key, lastRead);
+          }
+          freshnessCache.invalidate(key);
+        } else {
+          // refresh is asynchronous: the current value is served until the new one is loaded
+          freshnessCache.refresh(key);
+        }
+      }
+    } catch (final Exception e) {
+      LOG.error("Failed to schedule the refresh of dataset min/max times", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    refreshScheduler.shutdownNow();
+    executorService.shutdownNow();
+  }
+
+  @VisibleForTesting
+  @Nullable Long fetchExtremumTime(final Extremum extremum,
       final DatasetConfigDTO datasetConfigDTO,
       final @Nullable Interval timeFilterInterval) throws Exception {
     final String dataSourceName = Objects.requireNonNull(datasetConfigDTO.getDataSource());
@@ -180,7 +312,102 @@ public class DefaultMinMaxTimeLoader implements MinMaxTimeLoader {
     return addAlias(timeGroupNode, TIME_ALIAS);
   }
 
-  private enum Extremum {
+  /**
+   * A min or max time value and the time at which it was fetched.
+   */
+  public static class CachedTime {
+
+    private final @Nullable Long time;
+    private final long fetchTimeMillis;
+
+    private CachedTime(final @Nullable Long time, final long fetchTimeMillis) {
+      this.time = time;
+      this.fetchTimeMillis = fetchTimeMillis;
+    }
+
+    /**
+     * The min or max time in epoch millis. Null if the dataset is empty.
+     */
+    public @Nullable Long getTime() {
+      return time;
+    }
+
+    public long getFetchTimeMillis() {
+      return fetchTimeMillis;
+    }
+
+    public long getAgeMillis() {
+      return System.currentTimeMillis() - fetchTimeMillis;
+    }
+  }
+
+  /**
+   * The fields of the dataset config that impact the query. They are copied: the config passed by
+   * the caller is mutable.
+   */
+  private static class ExtremumKey {
+
+    private final Extremum extremum;
+    private final String dataSource;
+    private final String dataset;
+    private final String timeColumn;
+    private final String timeFormat;
+    private final TimeUnit timeUnit;
+
+    private ExtremumKey(final Extremum extremum, final String dataSource, final String dataset,
+        final String timeColumn, final String timeFormat, final TimeUnit timeUnit) {
+      this.extremum = extremum;
+      this.dataSource = dataSource;
+      this.dataset = dataset;
+      this.timeColumn = timeColumn;
+      this.timeFormat = timeFormat;
+      this.timeUnit = timeUnit;
+    }
+
+    private static ExtremumKey of(final Extremum extremum,
+        final DatasetConfigDTO datasetConfigDTO) {
+      return new ExtremumKey(extremum,
+          datasetConfigDTO.getDataSource(),
+          datasetConfigDTO.getDataset(),
+          datasetConfigDTO.getTimeColumn(),
+          datasetConfigDTO.getTimeFormat(),
+          datasetConfigDTO.getTimeUnit());
+    }
+
+    private DatasetConfigDTO toDatasetConfigDTO() {
+      return new DatasetConfigDTO()
+          .setDataSource(dataSource)
+          .setDataset(dataset)
+          .setTimeColumn(timeColumn)
+          .setTimeFormat(timeFormat)
+          .setTimeUnit(timeUnit);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ExtremumKey)) {
+        return false;
+      }
+      final ExtremumKey that = (ExtremumKey) o;
+      return extremum == that.extremum
+          && Objects.equals(dataSource, that.dataSource)
+          && Objects.equals(dataset, that.dataset)
+          && Objects.equals(timeColumn, that.timeColumn)
+          && Objects.equals(timeFormat, that.timeFormat)
+          && timeUnit == that.timeUnit;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(extremum, dataSource, dataset, timeColumn, timeFormat, timeUnit);
+    }
+  }
+
+  @VisibleForTesting
+  enum Extremum {
     MIN {
       @Override
       @NonNull SqlNode orderByNode(final String timeColumn) {
@@ -29,12 +29,13 @@ import com.google.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 @Singleton
 public class ContributorsFinderRunner {
 
-  private final Map<String, ContributorsFinderFactory> factoryMap = new HashMap<>();
+  private final Map<String, ContributorsFinderFactory> factoryMap = new ConcurrentHashMap<>();
   private final AggregationLoader aggregationLoader;
   private final String defaultAlgorithm;
   private final Map<String, Object> defaultParams;
@@ -51,10 +52,8 @@ public class ContributorsFinderRunner {
   }
 
   public void addContributorsFinderFactory(final ContributorsFinderFactory f) {
-    checkState(!factoryMap.containsKey(f.name()),
+    checkState(factoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate ContributorsFinderFactory: " + f.name());
-
-    factoryMap.put(f.name(), f);
   }
 
   private int cacheHash(final String name, final Map<String, Object> params) {
@@ -26,6 +26,8 @@ public class RcaConfiguration {
 
   private List<String> formatters = Collections.emptyList();
   private int parallelism = 1;
+  /* max number of breakdown queries sent concurrently to the datasources */
+  private int breakdownParallelism = 16;
   @JsonProperty("topContributors")
   private ContributorsFinderConfiguration contributorsFinderConfiguration = new ContributorsFinderConfiguration();
 
@@ -38,6 +40,15 @@ public class RcaConfiguration {
     return this;
   }
 
+  public int getBreakdownParallelism() {
+    return breakdownParallelism;
+  }
+
+  public RcaConfiguration setBreakdownParallelism(final int breakdownParallelism) {
+    this.breakdownParallelism = breakdownParallelism;
+    return this;
+  }
+
   public List<String> getFormatters() {
     return formatters;
   }
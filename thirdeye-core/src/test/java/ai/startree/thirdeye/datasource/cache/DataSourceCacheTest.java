@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datasource.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.datasource.DataSourcesLoader;
+import ai.startree.thirdeye.spi.datalayer.Predicate;
+import ai.startree.thirdeye.spi.datalayer.bao.DataSourceManager;
+import ai.startree.thirdeye.spi.datalayer.dto.DataSourceDTO;
+import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSource;
+import com.codahale.metrics.MetricRegistry;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class DataSourceCacheTest {
+
+  @Test
+  public void testWarmUpBuildsAllDataSourcesAndToleratesFailures() throws Exception {
+    final DataSourceDTO ok = dataSource("ok");
+    final DataSourceDTO broken = dataSource("broken");
+
+    final DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+    when(dataSourceManager.findAll()).thenReturn(List.of(ok, broken));
+    when(dataSourceManager.findByPredicate(Predicate.EQ("name", "ok"))).thenReturn(List.of(ok));
+    when(dataSourceManager.findByPredicate(Predicate.EQ("name", "broken")))
+        .thenReturn(List.of(broken));
+
+    final DataSourcesLoader dataSourcesLoader = mock(DataSourcesLoader.class);
+    when(dataSourcesLoader.loadDataSource(ok)).thenReturn(mock(ThirdEyeDataSource.class));
+    when(dataSourcesLoader.loadDataSource(broken))
+        .thenThrow(new IllegalStateException("cannot connect"));
+
+    final DataSourceCache cache = new DataSourceCache(dataSourceManager,
+        dataSourcesLoader,
+        new MetricRegistry());
+    assertThat(cache.isReady()).isFalse();
+
+    cache.warmUpAsync().get(10, TimeUnit.SECONDS);
+    assertThat(cache.isReady()).isTrue();
+
+    // the warmed up datasource is served from the cache
+    assertThat(cache.getDataSource("ok")).isNotNull();
+    verify(dataSourcesLoader, times(1)).loadDataSource(ok);
+  }
+
+  @Test
+  public void testWarmUpIsReadyWhenDataSourceBuildTimesOut() throws Exception {
+    final DataSourceDTO slow = dataSource("slow");
+
+    final DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+    when(dataSourceManager.findAll()).thenReturn(List.of(slow));
+    when(dataSourceManager.findByPredicate(Predicate.EQ("name", "slow")))
+        .thenReturn(List.of(slow));
+
+    final DataSourcesLoader dataSourcesLoader = mock(DataSourcesLoader.class);
+    when(dataSourcesLoader.loadDataSource(slow)).thenAnswer(invocation -> {
+      Thread.sleep(5_000);
+      return mock(ThirdEyeDataSource.class);
+    });
+
+    final DataSourceCache cache = new DataSourceCache(dataSourceManager,
+        dataSourcesLoader,
+        new MetricRegistry());
+
+    cache.warmUpAsync(100).get(2, TimeUnit.SECONDS);
+    assertThat(cache.isReady()).isTrue();
+  }
+
+  private static DataSourceDTO dataSource(final String name) {
+    final DataSourceDTO dto = new DataSourceDTO().setName(name);
+    dto.setUpdateTime(new Timestamp(1000L));
+    return dto;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datasource.loader;
+
+import static ai.startree.thirdeye.spi.datasource.loader.AggregationLoader.COL_DIMENSION_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.datasource.cache.DataSourceCache;
+import ai.startree.thirdeye.rootcause.configuration.RcaConfiguration;
+import ai.startree.thirdeye.spi.Constants;
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.datalayer.Templatable;
+import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.MetricConfigDTO;
+import ai.startree.thirdeye.spi.datasource.DataSourceRequest;
+import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSource;
+import ai.startree.thirdeye.spi.datasource.macro.SqlExpressionBuilder;
+import ai.startree.thirdeye.spi.datasource.macro.SqlLanguage;
+import ai.startree.thirdeye.spi.datasource.macro.ThirdEyeSqlParserConfig;
+import ai.startree.thirdeye.spi.datasource.macro.ThirdeyeSqlDialect;
+import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
+import ai.startree.thirdeye.spi.metric.MetricSlice;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+import org.testng.annotations.Test;
+
+public class DefaultAggregationLoaderTest {
+
+  private static final DatasetConfigDTO DATASET = new DatasetConfigDTO()
+      .setDataset("table1")
+      .setDataSource("ds1")
+      .setTimeColumn("ts")
+      .setTimeFormat("EPOCH")
+      .setTimeUnit(TimeUnit.MILLISECONDS)
+      .setDimensions(Templatable.of(List.of("browser", "country")));
+  private static final MetricConfigDTO METRIC = new MetricConfigDTO()
+      .setName("views")
+      .setDefaultAggFunction("SUM");
+  private static final MetricSlice BASELINE_SLICE = MetricSlice.from(METRIC,
+      new Interval(0L, 1000L, DateTimeZone.UTC),
+      DATASET);
+  private static final MetricSlice CURRENT_SLICE = MetricSlice.from(METRIC,
+      new Interval(1000L, 2000L, DateTimeZone.UTC),
+      DATASET);
+
+  @Test
+  public void testLoadBreakdownsSendsOneQueryPerSliceAndDimension() throws Exception {
+    final List<String> queries = new ArrayList<>();
+    final ThirdEyeDataSource dataSource = mock(ThirdEyeDataSource.class);
+    final SqlExpressionBuilder expressionBuilder = mock(SqlExpressionBuilder.class);
+    when(expressionBuilder.getTimeFilterExpression(anyString(), any(Interval.class), any(), any()))
+        .thenAnswer(i -> String.format("%s >= %s AND %s < %s",
+            i.getArgument(0),
+            ((Interval) i.getArgument(1)).getStartMillis(),
+            i.getArgument(0),
+            ((Interval) i.getArgument(1)).getEndMillis()));
+    when(dataSource.getSqlLanguage()).thenReturn(new AnsiSqlLanguage());
+    when(dataSource.getSqlExpressionBuilder()).thenReturn(expressionBuilder);
+    when(dataSource.fetchDataTable(any(DataSourceRequest.class))).thenAnswer(i -> {
+      final String query = ((DataSourceRequest) i.getArgument(0)).getQuery();
+      synchronized (queries) {
+        queries.add(query);
+      }
+      final String dimension = query.contains("browser") ? "browser" : "country";
+      return SimpleDataTable.fromDataFrame(new DataFrame()
+          .addSeries(Constants.COL_VALUE, 10.)
+          .addSeries(dimension, dimension + "0"));
+    });
+    final DataSourceCache dataSourceCache = mock(DataSourceCache.class);
+    when(dataSourceCache.getDataSource("ds1")).thenReturn(dataSource);
+
+    final List<DataFrame> breakdowns = new DefaultAggregationLoader(dataSourceCache,
+        new RcaConfiguration().setBreakdownParallelism(2))
+        .loadBreakdowns(List.of(BASELINE_SLICE, CURRENT_SLICE), 10);
+
+    assertThat(queries).hasSize(4);
+    assertThat(breakdowns).hasSize(2);
+    assertThat(breakdowns.get(0).getStrings(COL_DIMENSION_VALUE).toList())
+        .isEqualTo(List.of("browser0", "country0"));
+    assertThat(breakdowns.get(0).getLongs(Constants.COL_TIME).toList())
+        .isEqualTo(List.of(0L, 0L));
+    assertThat(breakdowns.get(1).getLongs(Constants.COL_TIME).toList())
+        .isEqualTo(List.of(1000L, 1000L));
+  }
+
+  private static class AnsiSqlLanguage implements SqlLanguage {
+
+    private static final ThirdEyeSqlParserConfig SQL_PARSER_CONFIG =
+        new ThirdEyeSqlParserConfig.Builder()
+            .withLex("MYSQL_ANSI")
+            .withConformance("BABEL")
+            .withParserFactory("SqlBabelParserImpl")
+            .build();
+    private static final ThirdeyeSqlDialect SQL_DIALECT = new ThirdeyeSqlDialect.Builder()
+        .withBaseDialect("AnsiSqlDialect")
+        .withIdentifierQuoteString("\"")
+        .withIdentifierEscapedQuoteString("")
+        .build();
+
+    @Override
+    public ThirdEyeSqlParserConfig getSqlParserConfig() {
+      return SQL_PARSER_CONFIG;
+    }
+
+    @Override
+    public ThirdeyeSqlDialect getSqlDialect() {
+      return SQL_DIALECT;
+    }
+  }
+}
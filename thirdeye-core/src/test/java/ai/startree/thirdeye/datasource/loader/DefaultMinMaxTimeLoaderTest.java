@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datasource.loader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import ai.startree.thirdeye.datasource.cache.DataSourceCache;
+import ai.startree.thirdeye.datasource.loader.DefaultMinMaxTimeLoader.CachedTime;
+import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.joda.time.Interval;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DefaultMinMaxTimeLoaderTest {
+
+  private static final long MIN_TIME = 1000L;
+  private static final long MAX_TIME = 2000L;
+  private static final String FAILING_DATASET = "failing";
+  private static final String QUERY_ERROR = "query failed";
+
+  private AtomicInteger queryCount;
+  private DefaultMinMaxTimeLoader loader;
+
+  @BeforeMethod
+  public void setUp() {
+    queryCount = new AtomicInteger();
+    loader = new DefaultMinMaxTimeLoader(mock(DataSourceCache.class)) {
+      @Override
+      @Nullable Long fetchExtremumTime(final Extremum extremum,
+          final DatasetConfigDTO datasetConfigDTO, final @Nullable Interval timeFilterInterval) {
+        queryCount.incrementAndGet();
+        if (FAILING_DATASET.equals(datasetConfigDTO.getDataset())) {
+          throw new IllegalStateException(QUERY_ERROR);
+        }
+        return extremum == Extremum.MIN ? MIN_TIME : MAX_TIME;
+      }
+    };
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    loader.close();
+  }
+
+  private static DatasetConfigDTO dataset(final String name) {
+    return new DatasetConfigDTO()
+        .setDataset(name)
+        .setDataSource("pinot")
+        .setTimeColumn("ts");
+  }
+
+  @Test
+  public void testFullDatasetQueriesAreCached() throws Exception {
+    final DatasetConfigDTO dataset = dataset("d1");
+    assertThat(loader.getCachedMaxTime(dataset)).isNull();
+
+    assertThat(loader.fetchMaxTimeAsync(dataset, null).get(1, TimeUnit.SECONDS))
+        .isEqualTo(MAX_TIME);
+    // a different config object describing the same dataset hits the cache
+    assertThat(loader.fetchMaxTimeAsync(dataset("d1"), null).get(1, TimeUnit.SECONDS))
+        .isEqualTo(MAX_TIME);
+    assertThat(queryCount.get()).isEqualTo(1);
+
+    final CachedTime cached = loader.getCachedMaxTime(dataset);
+    assertThat(cached).isNotNull();
+    assertThat(cached.getTime()).isEqualTo(MAX_TIME);
+    assertThat(cached.getAgeMillis()).isGreaterThanOrEqualTo(0);
+  }
+
+  @Test
+  public void testMinAndMaxAreCachedSeparately() throws Exception {
+    final DatasetConfigDTO dataset = dataset("d1");
+    assertThat(loader.fetchMinTimeAsync(dataset, null).get(1, TimeUnit.SECONDS))
+        .isEqualTo(MIN_TIME);
+    assertThat(loader.fetchMaxTimeAsync(dataset, null).get(1, TimeUnit.SECONDS))
+        .isEqualTo(MAX_TIME);
+    assertThat(loader.fetchMinTimeAsync(dataset, null).get(1, TimeUnit.SECONDS))
+        .isEqualTo(MIN_TIME);
+    assertThat(queryCount.get()).isEqualTo(2);
+    assertThat(loader.getCachedMinTime(dataset("d2"))).isNull();
+  }
+
+  @Test
+  public void testQueriesWithIntervalAreNotCached() throws Exception {
+    final DatasetConfigDTO dataset = dataset("d1");
+    final Interval interval = new Interval(0L, 5000L);
+    loader.fetchMaxTime(dataset, interval);
+    loader.fetchMaxTimeAsync(dataset, interval).get(1, TimeUnit.SECONDS);
+    assertThat(queryCount.get()).isEqualTo(2);
+    assertThat(loader.getCachedMaxTime(dataset)).isNull();
+  }
+
+  @Test
+  public void testSyncQueriesAreNotCached() throws Exception {
+    final DatasetConfigDTO dataset = dataset("d1");
+    assertThat(loader.fetchMaxTimeAsync(dataset, null).get(1, TimeUnit.SECONDS))
+        .isEqualTo(MAX_TIME);
+    assertThat(loader.fetchMaxTime(dataset, null)).isEqualTo(MAX_TIME);
+    assertThat(loader.fetchMinTime(dataset, null)).isEqualTo(MIN_TIME);
+    assertThat(queryCount.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testEntriesNotReadAreNotRefreshed() throws Exception {
+    final DatasetConfigDTO dataset = dataset("d1");
+    loader.fetchMaxTimeAsync(dataset, null).get(1, TimeUnit.SECONDS);
+
+    loader.refreshAll(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(61));
+
+    assertThat(loader.getCachedMaxTime(dataset)).isNull();
+    assertThat(queryCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testKeyDoesNotDependOnTheCallerConfig() throws Exception {
+    final DatasetConfigDTO dataset = dataset("d1");
+    loader.fetchMaxTimeAsync(dataset, null).get(1, TimeUnit.SECONDS);
+    dataset.setDataset("d2");
+
+    assertThat(loader.getCachedMaxTime(dataset("d1"))).isNotNull();
+    assertThat(loader.getCachedMaxTime(dataset("d2"))).isNull();
+  }
+
+  @Test
+  public void testQueryExceptionIsRethrown() {
+    assertThatThrownBy(() -> loader.fetchMaxTimeAsync(dataset(FAILING_DATASET), null)
+        .get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class)
+        .getCause()
+        .hasMessage(QUERY_ERROR);
+    assertThat(loader.getCachedMaxTime(dataset(FAILING_DATASET))).isNull();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import ai.startree.thirdeye.spi.dataframe.Series.DoubleConditional;
+import ai.startree.thirdeye.spi.dataframe.Series.LongConditional;
+
+/**
+ * Lazy element-wise boolean expression. See {@link DoubleExpression}.
+ *
+ * Null is represented by {@link BooleanSeries#NULL}. Conditions and logical operators with a null
+ * operand yield null, like the corresponding BooleanSeries operations.
+ *
+ * Expressions built with the map methods reuse an input buffer: an expression must not be
+ * evaluated by several threads at the same time.
+ */
+public abstract class BooleanExpression {
+
+  public static BooleanExpression of(final BooleanSeries series) {
+    final byte[] values = series.values();
+    return new BooleanExpression() {
+      @Override
+      public byte valueAt(final int row) {
+        return values[row];
+      }
+    };
+  }
+
+  public static BooleanExpression constant(final boolean value) {
+    final byte byteValue = BooleanSeries.valueOf(value);
+    return new BooleanExpression() {
+      @Override
+      public byte valueAt(final int row) {
+        return byteValue;
+      }
+    };
+  }
+
+  /**
+   * Lazy equivalent of {@link LongSeries#map(LongConditional, Series...)} on a single series.
+   */
+  public static BooleanExpression map(final LongConditional function, final LongSeries series) {
+    final long[] values = series.values();
+    final long[] input = new long[1];
+    return new BooleanExpression() {
+      @Override
+      public byte valueAt(final int row) {
+        if (LongSeries.isNull(values[row])) {
+          return BooleanSeries.NULL;
+        }
+        input[0] = values[row];
+        return BooleanSeries.valueOf(function.apply(input));
+      }
+    };
+  }
+
+  /**
+   * Lazy equivalent of {@link DoubleSeries#map(DoubleConditional, Series...)}.
+   */
+  public static BooleanExpression map(final DoubleConditional function,
+      final DoubleExpression... expressions) {
+    final double[] input = new double[expressions.length];
+    return new BooleanExpression() {
+      @Override
+      public byte valueAt(final int row) {
+        for (int j = 0; j < expressions.length; j++) {
+          final double value = expressions[j].valueAt(row);
+          if (DoubleSeries.isNull(value)) {
+            return BooleanSeries.NULL;
+          }
+          input[j] = value;
+        }
+        return BooleanSeries.valueOf(function.apply(input));
+      }
+    };
+  }
+
+  /**
+   * @return the value of the expression for the given row, BooleanSeries.NULL if null
+   */
+  public abstract byte valueAt(int row);
+
+  public BooleanExpression and(final BooleanExpression other) {
+    final BooleanExpression self = this;
+    return new BooleanExpression() {
+      @Override
+      public byte valueAt(final int row) {
+        final byte a = self.valueAt(row);
+        final byte b = other.valueAt(row);
+        if (BooleanSeries.isNull(a) || BooleanSeries.isNull(b)) {
+          return BooleanSeries.NULL;
+        }
+        return (byte) (a & b);
+      }
+    };
+  }
+
+  public BooleanExpression or(final BooleanExpression other) {
+    final BooleanExpression self = this;
+    return new BooleanExpression() {
+      @Override
+      public byte valueAt(final int row) {
+        final byte a = self.valueAt(row);
+        final byte b = other.valueAt(row);
+        if (BooleanSeries.isNull(a) || BooleanSeries.isNull(b)) {
+          return BooleanSeries.NULL;
+        }
+        return (byte) (a | b);
+      }
+    };
+  }
+
+  public BooleanSeries evaluate(final int size) {
+    final byte[] output = new byte[size];
+    for (int i = 0; i < size; i++) {
+      output[i] = valueAt(i);
+    }
+    return BooleanSeries.buildFrom(output);
+  }
+}
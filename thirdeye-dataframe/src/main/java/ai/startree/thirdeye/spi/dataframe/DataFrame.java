@@ -17,9 +17,7 @@ import ai.startree.thirdeye.spi.dataframe.Series.SeriesType;
 import java.io.IOException;
 import java.io.Reader;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -29,7 +27,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -577,88 +574,17 @@ public class DataFrame {
     }
   }
 
+  /**
+   * Reads a JDBC result set into a DataFrame. Series types are derived from the JDBC column
+   * types.
+   *
+   * @param resultSet result set positioned before the first row
+   * @return result set as DataFrame
+   * @throws SQLException if the result set cannot be read
+   * @see ResultSetReader
+   */
   public static DataFrame fromResultSet(final ResultSet resultSet) throws SQLException {
-    final List<String> columns = new ArrayList<>();
-    final List<SeriesType> columnTypes = new ArrayList<>();
-    final ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-    final int columnCount = resultSetMetaData.getColumnCount();
-
-    for (int i = 0; i < columnCount; i++) {
-      columns.add(resultSetMetaData.getColumnLabel(i + 1).toLowerCase(Locale.ENGLISH));
-      columnTypes.add(jdbcTypeToSeriesType(resultSetMetaData.getColumnType(i + 1)));
-    }
-    final DataFrame.Builder builder = DataFrame.builder(columns);
-    while (resultSet.next()) {
-      final Object[] rowData = new Object[columnCount];
-      for (int i = 0; i < columnCount; i++) {
-        final SeriesType columnType = columnTypes.get(i);
-        switch (columnType) {
-          case DOUBLE:
-            rowData[i] = resultSet.getDouble(i + 1);
-            break;
-          case LONG:
-            rowData[i] = resultSet.getLong(i + 1);
-            break;
-          case STRING:
-            rowData[i] = resultSet.getString(i + 1);
-            break;
-          case BOOLEAN:
-            rowData[i] = resultSet.getBoolean(i + 1);
-            break;
-          case OBJECT:
-            rowData[i] = resultSet.getObject(i + 1);
-            break;
-          default:
-            throw new RuntimeException("Unrecognized data type - " + columnTypes.get(i + 1));
-        }
-        if (resultSet.wasNull()) {
-          rowData[i] = null;
-        }
-      }
-      builder.append(rowData);
-    }
-    return builder.build();
-  }
-
-  private static SeriesType jdbcTypeToSeriesType(final int columnType) {
-    switch (columnType) {
-      case Types.INTEGER:
-      case Types.SMALLINT:
-      case Types.BIGINT:
-        return SeriesType.LONG;
-      case Types.DECIMAL:
-      case Types.DOUBLE:
-      case Types.FLOAT:
-      case Types.NUMERIC:
-      case Types.REAL:
-        return SeriesType.DOUBLE;
-      case Types.CHAR:
-      case Types.VARCHAR:
-      case Types.CLOB:
-      case Types.LONGVARCHAR:
-        return SeriesType.STRING;
-      case Types.BIT:
-      case Types.BOOLEAN:
-        return SeriesType.BOOLEAN;
-      case Types.DATE:
-      case Types.TIME:
-      case Types.TIMESTAMP:
-      case Types.ARRAY:
-      case Types.BINARY:
-      case Types.DATALINK:
-      case Types.BLOB:
-      case Types.DISTINCT:
-      case Types.JAVA_OBJECT:
-      case Types.NULL:
-      case Types.OTHER:
-      case Types.REF:
-      case Types.STRUCT:
-      case Types.VARBINARY:
-      case Types.LONGVARBINARY:
-        return SeriesType.OBJECT;
-      default:
-        throw new UnsupportedOperationException("Unknown JDBC data type - " + columnType);
-    }
+    return ResultSetReader.read(resultSet);
   }
 
   /**
@@ -1630,6 +1556,29 @@ public class DataFrame {
     return filter((BooleanSeries) Series.map(conditional, series));
   }
 
+  /**
+   * Returns a copy of the DataFrame with the rows for which the values of {@code seriesName} are
+   * in {@code [startIncl, endExcl)}. Unlike {@link #filter(BooleanSeries)}, other rows are
+   * dropped rather than set to {@code null}. A sorted series is sliced by binary search.
+   *
+   * @param seriesName long series, typically the time column
+   * @param startIncl lower bound (inclusive)
+   * @param endExcl upper bound (exclusive)
+   * @return DataFrame copy with the matching rows
+   * @throws IllegalArgumentException if the series does not exist
+   */
+  public DataFrame sliceBetween(String seriesName, long startIncl, long endExcl) {
+    final LongSeries series = this.getLongs(seriesName);
+    if (!series.isSorted()) {
+      return this.filter(series.between(startIncl, endExcl)).dropNull(seriesName);
+    }
+    if (LongSeries.isNull(startIncl) || LongSeries.isNull(endExcl)) {
+      return this.slice(0, 0);
+    }
+    final int from = series.lowerBound(startIncl);
+    return this.slice(from, Math.max(from, series.lowerBound(endExcl)));
+  }
+
   public DataFrame filterEquals(String seriesName, final double value) {
     return this.filter(this.get(seriesName).getDoubles().eq(value));
   }
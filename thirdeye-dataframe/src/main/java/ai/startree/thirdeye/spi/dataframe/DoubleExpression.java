@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+/**
+ * Lazy element-wise expression over double series.
+ *
+ * Unlike the operations of {@link DoubleSeries}, composing expressions does not allocate
+ * intermediate series: the whole expression tree is evaluated row by row, in a single loop, when
+ * the result is materialized with {@link #evaluate(int)} or {@link FusedExpressions}.
+ *
+ * Null handling follows DoubleSeries: null is represented by {@link DoubleSeries#NULL} (NaN),
+ * and any arithmetic with a null operand yields null.
+ */
+public abstract class DoubleExpression {
+
+  public static DoubleExpression of(final DoubleSeries series) {
+    final double[] values = series.values();
+    return new DoubleExpression() {
+      @Override
+      public double valueAt(final int row) {
+        return values[row];
+      }
+    };
+  }
+
+  public static DoubleExpression constant(final double value) {
+    return new DoubleExpression() {
+      @Override
+      public double valueAt(final int row) {
+        return value;
+      }
+    };
+  }
+
+  /**
+   * @return the value of the expression for the given row, DoubleSeries.NULL if null
+   */
+  public abstract double valueAt(int row);
+
+  public DoubleExpression add(final DoubleExpression other) {
+    final DoubleExpression self = this;
+    return new DoubleExpression() {
+      @Override
+      public double valueAt(final int row) {
+        return self.valueAt(row) + other.valueAt(row);
+      }
+    };
+  }
+
+  public DoubleExpression add(final double constant) {
+    return add(constant(constant));
+  }
+
+  public DoubleExpression subtract(final DoubleExpression other) {
+    final DoubleExpression self = this;
+    return new DoubleExpression() {
+      @Override
+      public double valueAt(final int row) {
+        return self.valueAt(row) - other.valueAt(row);
+      }
+    };
+  }
+
+  public DoubleExpression subtract(final double constant) {
+    return subtract(constant(constant));
+  }
+
+  public DoubleExpression multiply(final DoubleExpression other) {
+    final DoubleExpression self = this;
+    return new DoubleExpression() {
+      @Override
+      public double valueAt(final int row) {
+        return self.valueAt(row) * other.valueAt(row);
+      }
+    };
+  }
+
+  public DoubleExpression multiply(final double constant) {
+    return multiply(constant(constant));
+  }
+
+  /**
+   * Row-wise maximum. Null if any of the operands is null, like DoubleSeries.MAX.
+   */
+  public DoubleExpression max(final DoubleExpression other) {
+    final DoubleExpression self = this;
+    return new DoubleExpression() {
+      @Override
+      public double valueAt(final int row) {
+        return Math.max(self.valueAt(row), other.valueAt(row));
+      }
+    };
+  }
+
+  /**
+   * Row-wise minimum. Null if any of the operands is null, like DoubleSeries.MIN.
+   */
+  public DoubleExpression min(final DoubleExpression other) {
+    final DoubleExpression self = this;
+    return new DoubleExpression() {
+      @Override
+      public double valueAt(final int row) {
+        return Math.min(self.valueAt(row), other.valueAt(row));
+      }
+    };
+  }
+
+  public BooleanExpression gt(final DoubleExpression other) {
+    final DoubleExpression self = this;
+    return new BooleanExpression() {
+      @Override
+      public byte valueAt(final int row) {
+        final double a = self.valueAt(row);
+        final double b = other.valueAt(row);
+        if (DoubleSeries.isNull(a) || DoubleSeries.isNull(b)) {
+          return BooleanSeries.NULL;
+        }
+        return BooleanSeries.valueOf(a > b);
+      }
+    };
+  }
+
+  public BooleanExpression gt(final double constant) {
+    return gt(constant(constant));
+  }
+
+  public BooleanExpression lt(final DoubleExpression other) {
+    return other.gt(this);
+  }
+
+  public BooleanExpression lt(final double constant) {
+    return lt(constant(constant));
+  }
+
+  public DoubleSeries evaluate(final int size) {
+    final double[] output = new double[size];
+    for (int i = 0; i < size; i++) {
+      output[i] = valueAt(i);
+    }
+    return DoubleSeries.buildFrom(output);
+  }
+}
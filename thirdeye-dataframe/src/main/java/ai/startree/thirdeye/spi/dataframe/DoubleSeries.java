@@ -1251,7 +1251,11 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
   @Override
   public DoubleSeries sorted() {
     double[] values = Arrays.copyOf(this.values, this.values.length);
-    Arrays.sort(values);
+    if (Parallelism.isParallel(values.length)) {
+      Arrays.parallelSort(values);
+    } else {
+      Arrays.sort(values);
+    }
 
     // order NaNs first
     int count = 0;
@@ -1272,6 +1276,10 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
 
   @Override
   int[] sortedIndex() {
+    if (Parallelism.isParallel(this.values.length)) {
+      return parallelSortedIndex();
+    }
+
     List<DoubleSortTuple> tuples = new ArrayList<>();
     for (int i = 0; i < this.values.length; i++) {
       tuples.add(new DoubleSortTuple(this.values[i], i));
@@ -1291,6 +1299,22 @@ public final class DoubleSeries extends TypedSeries<DoubleSeries> {
     return fromIndex;
   }
 
+  private int[] parallelSortedIndex() {
+    DoubleSortTuple[] tuples = new DoubleSortTuple[this.values.length];
+    for (int i = 0; i < this.values.length; i++) {
+      tuples[i] = new DoubleSortTuple(this.values[i], i);
+    }
+
+    // stable merge sort, preserves the original order of equal values like Collections.sort
+    Arrays.parallelSort(tuples, (a, b) -> nullSafeDoubleComparator(a.value, b.value));
+
+    int[] fromIndex = new int[tuples.length];
+    for (int i = 0; i < tuples.length; i++) {
+      fromIndex[i] = tuples[i].index;
+    }
+    return fromIndex;
+  }
+
   static final class DoubleSortTuple {
 
     final double value;
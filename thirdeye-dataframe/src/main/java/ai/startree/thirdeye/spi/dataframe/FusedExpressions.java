@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates several expressions in a single pass over the rows of a DataFrame and adds the
+ * results as new series. Only the output columns are allocated.
+ *
+ * <pre>
+ *   final DoubleExpression baseline = DoubleExpression.of(df.getDoubles(COL_VALUE));
+ *   final DoubleExpression upper = baseline.multiply(1.1);
+ *   new FusedExpressions()
+ *       .add(COL_UPPER_BOUND, upper)
+ *       .add(COL_ANOMALY, DoubleExpression.of(df.getDoubles(COL_CURRENT)).gt(upper))
+ *       .addTo(df);
+ * </pre>
+ */
+public class FusedExpressions {
+
+  private final List<String> doubleNames = new ArrayList<>();
+  private final List<DoubleExpression> doubleExpressions = new ArrayList<>();
+  private final List<String> booleanNames = new ArrayList<>();
+  private final List<BooleanExpression> booleanExpressions = new ArrayList<>();
+
+  public FusedExpressions add(final String seriesName, final DoubleExpression expression) {
+    doubleNames.add(seriesName);
+    doubleExpressions.add(expression);
+    return this;
+  }
+
+  public FusedExpressions add(final String seriesName, final BooleanExpression expression) {
+    booleanNames.add(seriesName);
+    booleanExpressions.add(expression);
+    return this;
+  }
+
+  /**
+   * Evaluates all the expressions over the rows of the DataFrame and adds the results in-place.
+   * The series are added in the order of their registration, doubles first.
+   *
+   * @return reference to the modified DataFrame
+   */
+  public DataFrame addTo(final DataFrame df) {
+    final int size = df.size();
+    final DoubleExpression[] doubles = doubleExpressions.toArray(new DoubleExpression[0]);
+    final BooleanExpression[] booleans = booleanExpressions.toArray(new BooleanExpression[0]);
+    final double[][] doubleOutputs = new double[doubles.length][size];
+    final byte[][] booleanOutputs = new byte[booleans.length][size];
+
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < doubles.length; j++) {
+        doubleOutputs[j][i] = doubles[j].valueAt(i);
+      }
+      for (int j = 0; j < booleans.length; j++) {
+        booleanOutputs[j][i] = booleans[j].valueAt(i);
+      }
+    }
+
+    for (int j = 0; j < doubles.length; j++) {
+      df.addSeries(doubleNames.get(j), DoubleSeries.buildFrom(doubleOutputs[j]));
+    }
+    for (int j = 0; j < booleans.length; j++) {
+      df.addSeries(booleanNames.get(j), BooleanSeries.buildFrom(booleanOutputs[j]));
+    }
+    return df;
+  }
+}
@@ -18,7 +18,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Series container for primitive long.
@@ -197,6 +199,17 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     return new LongSeries(values);
   }
 
+  /**
+   * Builds a series from values the caller guarantees to be sorted in ascending order, as
+   * produced by time index generation. The guarantee is not verified.
+   *
+   * @param values values sorted in ascending order
+   * @return series flagged as sorted
+   */
+  public static LongSeries buildFromSorted(long... values) {
+    return new LongSeries(SORTED, values);
+  }
+
   public static LongSeries empty() {
     return new LongSeries();
   }
@@ -226,14 +239,28 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     for (int i = 0; i < count; i++) {
       values[i] = from + i * interval;
     }
-    return buildFrom(values);
+    return interval >= 0 ? buildFromSorted(values) : buildFrom(values);
   }
 
+  private static final byte UNKNOWN = 0;
+  private static final byte SORTED = 1;
+  private static final byte UNSORTED = 2;
+
   // CAUTION: The array is final, but values are inherently modifiable
+  // Sortedness and the hash index are cached. Writing to the array returned by values() after
+  // lookups have been made leaves them stale.
   private final long[] values;
+  private volatile byte sortedState;
+  private volatile int unsortedProbes;
+  private volatile Map<Long, Integer> firstIndexOf;
 
   private LongSeries(long... values) {
+    this(UNKNOWN, values);
+  }
+
+  private LongSeries(byte sortedState, long... values) {
     this.values = values;
+    this.sortedState = sortedState;
   }
 
   @Override
@@ -352,7 +379,58 @@ public final class LongSeries extends TypedSeries<LongSeries> {
   public LongSeries slice(int from, int to) {
     from = Math.max(Math.min(this.size(), from), 0);
     to = Math.max(Math.min(this.size(), to), 0);
-    return buildFrom(Arrays.copyOfRange(this.values, from, to));
+    return new LongSeries(this.sortedState == SORTED ? SORTED : UNKNOWN,
+        Arrays.copyOfRange(this.values, from, to));
+  }
+
+  /**
+   * Returns {@code true} if the values are in ascending order. Nulls sort first. The result is
+   * computed once and cached.
+   *
+   * @return {@code true} if sorted
+   */
+  public boolean isSorted() {
+    byte state = this.sortedState;
+    if (state == UNKNOWN) {
+      state = SORTED;
+      for (int i = 1; i < this.values.length; i++) {
+        if (this.values[i] < this.values[i - 1]) {
+          state = UNSORTED;
+          break;
+        }
+      }
+      this.sortedState = state;
+    }
+    return state == SORTED;
+  }
+
+  /**
+   * Returns the index of the first value that is not less than {@code value}, or the series size
+   * if there is none. Requires the series to be sorted.
+   *
+   * @param value value to search
+   * @return insertion point of {@code value}
+   * @throws IllegalStateException if the series is not sorted
+   */
+  public int lowerBound(long value) {
+    if (!this.isSorted()) {
+      throw new IllegalStateException("lowerBound requires a sorted series");
+    }
+    return lowerBound(value, 0);
+  }
+
+  private int lowerBound(long value, int from) {
+    int lo = from;
+    int hi = this.values.length;
+    while (lo < hi) {
+      final int mid = (lo + hi) >>> 1;
+      if (this.values[mid] < value) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
   }
 
   @Override
@@ -648,6 +726,19 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     if (isNull(startIncl) || isNull(endExcl)) {
       return BooleanSeries.nulls(this.size());
     }
+    if (this.isSorted()) {
+      final int from = this.lowerBound(startIncl, 0);
+      final int to = Math.max(from, this.lowerBound(endExcl, from));
+      final byte[] output = new byte[this.values.length];
+      Arrays.fill(output, 0, from, BooleanSeries.FALSE);
+      Arrays.fill(output, from, to, BooleanSeries.TRUE);
+      Arrays.fill(output, to, output.length, BooleanSeries.FALSE);
+      // nulls sort first
+      for (int i = 0; i < output.length && isNull(this.values[i]); i++) {
+        output[i] = BooleanSeries.NULL;
+      }
+      return BooleanSeries.buildFrom(output);
+    }
     return this.map(new LongConditional() {
       @Override
       public boolean apply(long... values) {
@@ -710,8 +801,41 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     return this.find(value, 0);
   }
 
+  /**
+   * Returns the index of the first occurrence of {@code value} at or after {@code startOffset},
+   * or -1. Sorted series are binary searched. Unsorted series are scanned on the first lookup
+   * and served from a lazily built hash index afterwards.
+   *
+   * @param value value to search
+   * @param startOffset first index to consider
+   * @return index of {@code value} or -1
+   */
   public int find(long value, int startOffset) {
-    for (int i = startOffset; i < this.values.length; i++) {
+    final int from = Math.max(startOffset, 0);
+    if (this.isSorted()) {
+      final int index = this.lowerBound(value, from);
+      return index < this.values.length && this.values[index] == value ? index : -1;
+    }
+
+    Map<Long, Integer> index = this.firstIndexOf;
+    if (index == null && this.unsortedProbes++ > 0) {
+      index = buildFirstIndex();
+      this.firstIndexOf = index;
+    }
+    if (index != null) {
+      final Integer first = index.get(value);
+      if (first == null) {
+        return -1;
+      }
+      if (first >= from) {
+        return first;
+      }
+    }
+    return scan(value, from);
+  }
+
+  private int scan(long value, int from) {
+    for (int i = from; i < this.values.length; i++) {
       if (this.values[i] == value) {
         return i;
       }
@@ -719,6 +843,14 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     return -1;
   }
 
+  private Map<Long, Integer> buildFirstIndex() {
+    final Map<Long, Integer> index = new HashMap<>(this.values.length * 2);
+    for (int i = this.values.length - 1; i >= 0; i--) {
+      index.put(this.values[i], i);
+    }
+    return index;
+  }
+
   @Override
   public LongSeries filter(BooleanSeries filter) {
     return this.set(filter.fillNull().not(), NULL);
@@ -945,13 +1077,24 @@ public final class LongSeries extends TypedSeries<LongSeries> {
 
   @Override
   public LongSeries sorted() {
+    if (this.isSorted()) {
+      return buildFromSorted(Arrays.copyOf(this.values, this.values.length));
+    }
     long[] values = Arrays.copyOf(this.values, this.values.length);
-    Arrays.sort(values);
-    return buildFrom(values);
+    if (Parallelism.isParallel(values.length)) {
+      Arrays.parallelSort(values);
+    } else {
+      Arrays.sort(values);
+    }
+    return buildFromSorted(values);
   }
 
   @Override
   int[] sortedIndex() {
+    if (Parallelism.isParallel(this.values.length)) {
+      return parallelSortedIndex();
+    }
+
     List<LongSortTuple> tuples = new ArrayList<>();
     for (int i = 0; i < this.values.length; i++) {
       tuples.add(new LongSortTuple(this.values[i], i));
@@ -971,6 +1114,22 @@ public final class LongSeries extends TypedSeries<LongSeries> {
     return fromIndex;
   }
 
+  private int[] parallelSortedIndex() {
+    LongSortTuple[] tuples = new LongSortTuple[this.values.length];
+    for (int i = 0; i < this.values.length; i++) {
+      tuples[i] = new LongSortTuple(this.values[i], i);
+    }
+
+    // stable merge sort, preserves the original order of equal values like Collections.sort
+    Arrays.parallelSort(tuples, (a, b) -> Long.compare(a.value, b.value));
+
+    int[] fromIndex = new int[tuples.length];
+    for (int i = 0; i < tuples.length; i++) {
+      fromIndex[i] = tuples[i].index;
+    }
+    return fromIndex;
+  }
+
   static final class LongSortTuple {
 
     final long value;
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Opt-in switch for the parallel implementations of sorting and hash joins. Parallel execution
+ * is disabled by default. Once enabled, operations on series with at least {@code threshold}
+ * rows run on the common fork-join pool, smaller inputs keep using the sequential code.
+ * Parallel and sequential implementations produce identical results, including the order of
+ * nulls and of duplicate keys.
+ */
+public final class Parallelism {
+
+  public static final int DISABLED = Integer.MAX_VALUE;
+  public static final int DEFAULT_THRESHOLD = 100_000;
+
+  private static volatile int threshold = DISABLED;
+
+  private Parallelism() {
+  }
+
+  public static void enable() {
+    enable(DEFAULT_THRESHOLD);
+  }
+
+  public static void enable(final int threshold) {
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("threshold must be positive");
+    }
+    Parallelism.threshold = threshold;
+  }
+
+  public static void disable() {
+    threshold = DISABLED;
+  }
+
+  public static int getThreshold() {
+    return threshold;
+  }
+
+  static boolean isParallel(final int size) {
+    return size >= threshold;
+  }
+
+  /**
+   * Returns the chunk size used to split {@code size} rows into roughly four tasks per worker.
+   */
+  static int chunkSize(final int size) {
+    final int tasks = ForkJoinPool.getCommonPoolParallelism() * 4;
+    return Math.max(1, (size + tasks - 1) / tasks);
+  }
+}
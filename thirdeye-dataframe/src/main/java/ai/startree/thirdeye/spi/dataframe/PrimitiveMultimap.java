@@ -80,6 +80,35 @@ class PrimitiveMultimap {
     return Arrays.copyOf(this.outBuffer, cntr);
   }
 
+  /**
+   * Same as {@link #get(Series[], int, Series[])}, but without touching the iterator state, the
+   * output buffer or the lookup statistics. Safe to call from multiple threads once the map has
+   * been populated. Returns matches in the same order.
+   */
+  public int[] getConcurrent(Series[] series, int row, Series[] compare) {
+    final int key = hashRow(series, row);
+
+    int[] out = new int[INITIAL_SIZE];
+    int cntr = 0;
+
+    int index = safeIndex(hash(key));
+    long tuple = this.data[index];
+    while (tuple != 0) {
+      if (tuple2key(tuple) == key) {
+        final int val = tuple2val(tuple) - 1; // fix value offset
+        if (Series.equalsMultiple(series, compare, row, val)) {
+          if (cntr >= out.length) {
+            out = Arrays.copyOf(out, out.length * 2);
+          }
+          out[cntr++] = val;
+        }
+      }
+      index = safeIndex(index + 1);
+      tuple = this.data[index];
+    }
+    return Arrays.copyOf(out, cntr);
+  }
+
   static int hashRow(Series[] series, int row) {
     int k = SEED;
     for (Series s : series) {
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import ai.startree.thirdeye.spi.dataframe.Series.SeriesType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Columnar reader for JDBC result sets. Column types are resolved once from the
+ * {@link ResultSetMetaData} and every column is backed by a primitive buffer that rows are
+ * appended to directly, so no intermediate boxed row is materialized. Nulls are written as the
+ * NULL sentinel of the series type.
+ *
+ * <p>The series types are then narrowed from the values, as {@link DataFrame.Builder} does:
+ * an empty result set gives OBJECT series, a column with only nulls gives a BOOLEAN series,
+ * integral DOUBLE columns give LONG series, STRING columns are inferred from their content and
+ * OBJECT columns holding numbers, strings or booleans are converted.
+ */
+public final class ResultSetReader {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+  private static final int MAX_INITIAL_CAPACITY = 1 << 14;
+
+  private ResultSetReader() {
+  }
+
+  /**
+   * Reads all remaining rows of the result set. Series names are the lower-cased column labels.
+   *
+   * @param resultSet result set positioned before the first row
+   * @return result set as DataFrame
+   * @throws SQLException if the result set cannot be read
+   */
+  public static DataFrame read(final ResultSet resultSet) throws SQLException {
+    final ResultSetMetaData metaData = resultSet.getMetaData();
+    final int columnCount = metaData.getColumnCount();
+    final int initialCapacity = initialCapacity(resultSet);
+
+    final ColumnBuffer[] buffers = new ColumnBuffer[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      buffers[i] = newBuffer(jdbcTypeToSeriesType(metaData.getColumnType(i + 1)),
+          i + 1,
+          initialCapacity);
+    }
+
+    int size = 0;
+    while (resultSet.next()) {
+      for (final ColumnBuffer buffer : buffers) {
+        buffer.read(resultSet, size);
+      }
+      size++;
+    }
+
+    final DataFrame df = new DataFrame();
+    for (int i = 0; i < columnCount; i++) {
+      final Series series = buffers[i].build(size);
+      df.addSeries(metaData.getColumnLabel(i + 1).toLowerCase(Locale.ENGLISH),
+          series.get(inferType(series)));
+    }
+    return df;
+  }
+
+  /**
+   * The fetch size is the best hint available for the number of rows per round trip. The
+   * buffers grow geometrically past it.
+   */
+  private static int initialCapacity(final ResultSet resultSet) throws SQLException {
+    final int fetchSize = resultSet.getFetchSize();
+    if (fetchSize <= 0) {
+      return DEFAULT_INITIAL_CAPACITY;
+    }
+    return Math.min(fetchSize, MAX_INITIAL_CAPACITY);
+  }
+
+  static int grow(final int capacity) {
+    final int newCapacity = capacity + (capacity >> 1) + 1;
+    if (newCapacity < 0) {
+      throw new IllegalStateException("Result set too large: " + capacity + " rows");
+    }
+    return newCapacity;
+  }
+
+  private static ColumnBuffer newBuffer(final SeriesType type, final int column,
+      final int initialCapacity) {
+    switch (type) {
+      case DOUBLE:
+        return new DoubleColumnBuffer(column, initialCapacity);
+      case LONG:
+        return new LongColumnBuffer(column, initialCapacity);
+      case STRING:
+        return new StringColumnBuffer(column, initialCapacity);
+      case BOOLEAN:
+        return new BooleanColumnBuffer(column, initialCapacity);
+      case OBJECT:
+        return new ObjectColumnBuffer(column, initialCapacity);
+      default:
+        throw new IllegalArgumentException(String.format("Unknown series type '%s'", type));
+    }
+  }
+
+  /**
+   * Same result as {@link ObjectSeries#inferType()} on the boxed values of the series.
+   */
+  static SeriesType inferType(final Series series) {
+    if (series.size() == 0) {
+      return SeriesType.OBJECT;
+    }
+    switch (series.type()) {
+      case LONG:
+      case DOUBLE:
+        if (series.allNull()) {
+          return SeriesType.BOOLEAN;
+        }
+        return series.type() == SeriesType.LONG || isIntegral((DoubleSeries) series)
+            ? SeriesType.LONG
+            : SeriesType.DOUBLE;
+      case BOOLEAN:
+        return SeriesType.BOOLEAN;
+      case STRING:
+        return ((StringSeries) series).inferType();
+      default:
+        return ((ObjectSeries) series).inferType();
+    }
+  }
+
+  private static boolean isIntegral(final DoubleSeries series) {
+    final double[] values = series.values();
+    for (final double value : values) {
+      if (!DoubleSeries.isNull(value) && (double) (long) value != value) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static SeriesType jdbcTypeToSeriesType(final int columnType) {
+    switch (columnType) {
+      case Types.INTEGER:
+      case Types.SMALLINT:
+      case Types.TINYINT:
+      case Types.BIGINT:
+        return SeriesType.LONG;
+      case Types.DECIMAL:
+      case Types.DOUBLE:
+      case Types.FLOAT:
+      case Types.NUMERIC:
+      case Types.REAL:
+        return SeriesType.DOUBLE;
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.CLOB:
+      case Types.LONGVARCHAR:
+        return SeriesType.STRING;
+      case Types.BIT:
+      case Types.BOOLEAN:
+        return SeriesType.BOOLEAN;
+      case Types.DATE:
+      case Types.TIME:
+      case Types.TIMESTAMP:
+      case Types.ARRAY:
+      case Types.BINARY:
+      case Types.DATALINK:
+      case Types.BLOB:
+      case Types.DISTINCT:
+      case Types.JAVA_OBJECT:
+      case Types.NULL:
+      case Types.OTHER:
+      case Types.REF:
+      case Types.STRUCT:
+      case Types.VARBINARY:
+      case Types.LONGVARBINARY:
+        return SeriesType.OBJECT;
+      default:
+        throw new UnsupportedOperationException("Unknown JDBC data type - " + columnType);
+    }
+  }
+
+  private abstract static class ColumnBuffer {
+
+    final int column;
+
+    ColumnBuffer(final int column) {
+      this.column = column;
+    }
+
+    abstract void read(ResultSet resultSet, int row) throws SQLException;
+
+    abstract Series build(int size);
+  }
+
+  private static final class LongColumnBuffer extends ColumnBuffer {
+
+    private long[] values;
+
+    LongColumnBuffer(final int column, final int initialCapacity) {
+      super(column);
+      this.values = new long[initialCapacity];
+    }
+
+    @Override
+    void read(final ResultSet resultSet, final int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      final long value = resultSet.getLong(column);
+      values[row] = resultSet.wasNull() ? LongSeries.NULL : value;
+    }
+
+    @Override
+    Series build(final int size) {
+      return LongSeries.buildFrom(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+  }
+
+  private static final class DoubleColumnBuffer extends ColumnBuffer {
+
+    private double[] values;
+
+    DoubleColumnBuffer(final int column, final int initialCapacity) {
+      super(column);
+      this.values = new double[initialCapacity];
+    }
+
+    @Override
+    void read(final ResultSet resultSet, final int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      final double value = resultSet.getDouble(column);
+      values[row] = resultSet.wasNull() ? DoubleSeries.NULL : value;
+    }
+
+    @Override
+    Series build(final int size) {
+      return DoubleSeries.buildFrom(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+  }
+
+  private static final class BooleanColumnBuffer extends ColumnBuffer {
+
+    private byte[] values;
+
+    BooleanColumnBuffer(final int column, final int initialCapacity) {
+      super(column);
+      this.values = new byte[initialCapacity];
+    }
+
+    @Override
+    void read(final ResultSet resultSet, final int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      final boolean value = resultSet.getBoolean(column);
+      values[row] = resultSet.wasNull() ? BooleanSeries.NULL : BooleanSeries.valueOf(value);
+    }
+
+    @Override
+    Series build(final int size) {
+      return BooleanSeries.buildFrom(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+  }
+
+  private static final class StringColumnBuffer extends ColumnBuffer {
+
+    private String[] values;
+
+    StringColumnBuffer(final int column, final int initialCapacity) {
+      super(column);
+      this.values = new String[initialCapacity];
+    }
+
+    @Override
+    void read(final ResultSet resultSet, final int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      final String value = resultSet.getString(column);
+      values[row] = resultSet.wasNull() ? StringSeries.NULL : value;
+    }
+
+    @Override
+    Series build(final int size) {
+      return StringSeries.buildFrom(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+  }
+
+  private static final class ObjectColumnBuffer extends ColumnBuffer {
+
+    private Object[] values;
+
+    ObjectColumnBuffer(final int column, final int initialCapacity) {
+      super(column);
+      this.values = new Object[initialCapacity];
+    }
+
+    @Override
+    void read(final ResultSet resultSet, final int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      final Object value = resultSet.getObject(column);
+      values[row] = resultSet.wasNull() ? ObjectSeries.NULL : value;
+    }
+
+    @Override
+    Series build(final int size) {
+      return ObjectSeries.buildFrom(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+  }
+}
@@ -20,6 +20,8 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -1282,15 +1284,24 @@ public abstract class Series {
 
     PrimitiveMultimap hashRight = new PrimitiveMultimap(rightTyped);
 
-    for (int i = 0; i < left[0].size(); i++) {
-      int[] rows = hashRight.get(left, i, rightTyped);
-      if (rows.length <= 0) {
-        pairs.add(i, -1);
-        continue;
+    if (Parallelism.isParallel(left[0].size())) {
+      pairs = hashProbeParallel(hashRight, left, rightTyped, true);
+      for (int i = 0; i < pairs.size(); i++) {
+        if (pairs.right(i) != -1) {
+          touchedRight.set(pairs.right(i));
+        }
       }
-      for (int j : rows) {
-        pairs.add(i, j);
-        touchedRight.set(j);
+    } else {
+      for (int i = 0; i < left[0].size(); i++) {
+        int[] rows = hashRight.get(left, i, rightTyped);
+        if (rows.length <= 0) {
+          pairs.add(i, -1);
+          continue;
+        }
+        for (int j : rows) {
+          pairs.add(i, j);
+          touchedRight.set(j);
+        }
       }
     }
 
@@ -1395,6 +1406,10 @@ public abstract class Series {
 
     PrimitiveMultimap hashRight = new PrimitiveMultimap(rightTyped);
 
+    if (Parallelism.isParallel(left[0].size())) {
+      return hashProbeParallel(hashRight, left, rightTyped, false);
+    }
+
     for (int i = 0; i < left[0].size(); i++) {
       for (int j : hashRight.get(left, i, rightTyped)) {
         pairs.add(i, j);
@@ -1404,6 +1419,52 @@ public abstract class Series {
     return pairs;
   }
 
+  /**
+   * Probes a populated hash map with the rows of the left side. The left side is partitioned
+   * into contiguous row ranges which are probed concurrently. Partial results are concatenated
+   * in partition order, so pairs come out in the same order as with a sequential probe.
+   *
+   * @param hashRight hash map over the right side of the join
+   * @param left left side of the join
+   * @param rightTyped right side of the join, converted to the types of the left side
+   * @param addUnmatched add a (left, -1) pair for left rows without match
+   * @return JoinPairs
+   */
+  static JoinPairs hashProbeParallel(PrimitiveMultimap hashRight, Series[] left,
+      Series[] rightTyped, boolean addUnmatched) {
+    final int size = left[0].size();
+    final int chunkSize = Parallelism.chunkSize(size);
+    final int numChunks = (size + chunkSize - 1) / chunkSize;
+
+    List<JoinPairs> partitions = IntStream.range(0, numChunks).parallel().mapToObj(c -> {
+      final int from = c * chunkSize;
+      final int to = Math.min(size, from + chunkSize);
+      JoinPairs partition = new JoinPairs(to - from);
+      for (int i = from; i < to; i++) {
+        int[] rows = hashRight.getConcurrent(left, i, rightTyped);
+        if (rows.length <= 0 && addUnmatched) {
+          partition.add(i, -1);
+        }
+        for (int j : rows) {
+          partition.add(i, j);
+        }
+      }
+      return partition;
+    }).collect(Collectors.toList());
+
+    int total = 0;
+    for (JoinPairs partition : partitions) {
+      total += partition.size();
+    }
+
+    JoinPairs pairs = new JoinPairs(total);
+    for (JoinPairs partition : partitions) {
+      System.arraycopy(partition.pairs, 0, pairs.pairs, pairs.size, partition.size());
+      pairs.size += partition.size();
+    }
+    return pairs;
+  }
+
   static boolean equalsMultiple(Series[] left, Series[] right, int indexLeft, int indexRight) {
     for (int i = 0; i < left.length; i++) {
       if (!left[i].equals(right[i], indexLeft, indexRight)) {
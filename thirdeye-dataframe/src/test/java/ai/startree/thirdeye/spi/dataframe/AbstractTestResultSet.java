@@ -303,7 +303,7 @@ public abstract class AbstractTestResultSet implements ResultSet {
 
   @Override
   public int getFetchSize() throws SQLException {
-    throw new UnsupportedOperationException();
+    return 0;
   }
 
   @Override
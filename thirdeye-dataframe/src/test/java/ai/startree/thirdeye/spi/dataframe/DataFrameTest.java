@@ -534,6 +534,75 @@ public class DataFrameTest {
     assertEquals(s.getObjects(), 1L, ONULL, 2L);
   }
 
+  @Test
+  public void testLongSorted() {
+    Assert.assertTrue(LongSeries.buildFrom(LNULL, 1, 1, 3).isSorted());
+    Assert.assertFalse(LongSeries.buildFrom(1, 3, 2).isSorted());
+    Assert.assertTrue(LongSeries.buildFrom(3, 1, 2).sorted().isSorted());
+    Assert.assertTrue(LongSeries.sequence(0, 5, 10).isSorted());
+    Assert.assertTrue(LongSeries.sequence(0, 5, 10).slice(1, 3).isSorted());
+    Assert.assertFalse(LongSeries.sequence(0, 5, -10).isSorted());
+  }
+
+  @Test
+  public void testLongFindSorted() {
+    LongSeries s = LongSeries.buildFrom(LNULL, 1, 2, 2, 2, 5);
+    Assert.assertEquals(s.find(2), 2);
+    Assert.assertEquals(s.find(2, 3), 3);
+    Assert.assertEquals(s.find(2, 5), -1);
+    Assert.assertEquals(s.find(3), -1);
+    Assert.assertEquals(s.find(6), -1);
+    Assert.assertEquals(s.find(LNULL), 0);
+  }
+
+  @Test
+  public void testLongFindUnsorted() {
+    LongSeries s = LongSeries.buildFrom(5, 2, 7, 2, 9);
+    // repeated probes switch from scanning to the hash index
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(s.find(2), 1);
+      Assert.assertEquals(s.find(2, 2), 3);
+      Assert.assertEquals(s.find(9, 1), 4);
+      Assert.assertEquals(s.find(5, 1), -1);
+      Assert.assertEquals(s.find(4), -1);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testLongLowerBoundUnsortedFail() {
+    LongSeries.buildFrom(2, 1).lowerBound(1);
+  }
+
+  @Test
+  public void testLongBetweenSortedMatchesUnsorted() {
+    LongSeries sorted = LongSeries.buildFrom(LNULL, 1, 2, 3, 4, 5);
+    LongSeries unsorted = LongSeries.buildFrom(5, LNULL, 3, 1, 4, 2);
+    assertEquals(sorted.between(2, 4), BNULL, FALSE, TRUE, TRUE, FALSE, FALSE);
+    assertEquals(unsorted.between(2, 4), FALSE, BNULL, TRUE, FALSE, FALSE, TRUE);
+    assertEquals(sorted.between(4, 2), BNULL, FALSE, FALSE, FALSE, FALSE, FALSE);
+    assertEquals(sorted.between(LNULL, 2), BNULL, BNULL, BNULL, BNULL, BNULL, BNULL);
+  }
+
+  @Test
+  public void testSliceBetween() {
+    DataFrame sorted = new DataFrame()
+        .addSeries("time", 1, 2, 3, 4, 5)
+        .addSeries("value", 10, 20, 30, 40, 50);
+    DataFrame unsorted = new DataFrame()
+        .addSeries("time", 4, 2, 5, 1, 3)
+        .addSeries("value", 40, 20, 50, 10, 30);
+
+    DataFrame slice = sorted.sliceBetween("time", 2, 4);
+    assertEquals(slice.getLongs("time"), 2, 3);
+    assertEquals(slice.getLongs("value"), 20, 30);
+
+    DataFrame filtered = unsorted.sliceBetween("time", 2, 4);
+    assertEquals(filtered.getLongs("time"), 2, 3);
+    assertEquals(filtered.getLongs("value"), 20, 30);
+
+    Assert.assertEquals(sorted.sliceBetween("time", 6, 9).size(), 0);
+  }
+
   @Test
   public void testBooleanNull() {
     Series s = DataFrame.toSeries(TRUE, BNULL, FALSE);
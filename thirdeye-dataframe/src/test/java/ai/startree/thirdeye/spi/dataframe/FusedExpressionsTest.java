@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import static ai.startree.thirdeye.spi.dataframe.DoubleSeries.NULL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.spi.dataframe.Series.DoubleConditional;
+import ai.startree.thirdeye.spi.dataframe.Series.LongConditional;
+import org.testng.annotations.Test;
+
+public class FusedExpressionsTest {
+
+  private static final DoubleSeries VALUES = DoubleSeries.buildFrom(1, 2, NULL, 4, 5);
+  private static final DoubleSeries CURRENT = DoubleSeries.buildFrom(1.5, NULL, 3, 6, 3);
+  private static final LongSeries TIMES = LongSeries.buildFrom(10, 20, 30, LongSeries.NULL, 50);
+
+  @Test
+  public void testArithmeticMatchesSeriesOperations() {
+    final DoubleExpression values = DoubleExpression.of(VALUES);
+    final DoubleExpression current = DoubleExpression.of(CURRENT);
+
+    assertThat(values.multiply(1.2).add(3).subtract(current).evaluate(VALUES.size()))
+        .isEqualTo(VALUES.multiply(1.2).add(3).subtract(CURRENT));
+    assertThat(values.max(current).evaluate(VALUES.size()))
+        .isEqualTo(DoubleSeries.map(DoubleSeries.MAX, VALUES, CURRENT));
+    assertThat(values.min(DoubleExpression.constant(3)).evaluate(VALUES.size()))
+        .isEqualTo(DoubleSeries.map(DoubleSeries.MIN, VALUES,
+            DoubleSeries.fillValues(VALUES.size(), 3)));
+  }
+
+  @Test
+  public void testConditionsMatchSeriesOperations() {
+    final DoubleExpression values = DoubleExpression.of(VALUES);
+    final DoubleExpression current = DoubleExpression.of(CURRENT);
+
+    assertThat(current.gt(values).evaluate(VALUES.size())).isEqualTo(CURRENT.gt(VALUES));
+    assertThat(current.lt(3).evaluate(VALUES.size())).isEqualTo(CURRENT.lt(3));
+
+    final DoubleConditional inRange = v -> v[1] <= v[0] && v[0] <= v[2];
+    assertThat(BooleanExpression.map(inRange, current, values.subtract(1), values.add(1))
+        .evaluate(VALUES.size()))
+        .isEqualTo(DoubleSeries.map(inRange, CURRENT, VALUES.subtract(1), VALUES.add(1)));
+
+    final LongConditional after = v -> v[0] >= 30;
+    assertThat(BooleanExpression.map(after, TIMES).evaluate(TIMES.size()))
+        .isEqualTo(TIMES.map(after));
+  }
+
+  @Test
+  public void testLogicalOperatorsPropagateNulls() {
+    final BooleanSeries a = BooleanSeries.buildFrom(BooleanSeries.TRUE, BooleanSeries.FALSE,
+        BooleanSeries.NULL, BooleanSeries.TRUE);
+    final BooleanSeries b = BooleanSeries.buildFrom(BooleanSeries.TRUE, BooleanSeries.TRUE,
+        BooleanSeries.TRUE, BooleanSeries.NULL);
+
+    assertThat(BooleanExpression.of(a).and(BooleanExpression.of(b)).evaluate(a.size()))
+        .isEqualTo(a.and(b));
+    assertThat(BooleanExpression.of(a).or(BooleanExpression.of(b)).evaluate(a.size()))
+        .isEqualTo(a.or(b));
+  }
+
+  @Test
+  public void testAddToComputesAllColumnsInOnePass() {
+    final DataFrame df = new DataFrame()
+        .addSeries("value", VALUES)
+        .addSeries("current", CURRENT);
+    final DoubleExpression value = DoubleExpression.of(df.getDoubles("value"));
+    final DoubleExpression upper = value.multiply(1.1);
+    final DoubleExpression lower = value.multiply(0.9);
+
+    new FusedExpressions()
+        .add("upper", upper)
+        .add("lower", lower)
+        .add("anomaly", DoubleExpression.of(df.getDoubles("current")).gt(upper))
+        // overriding an input column is safe: inputs are read before outputs are added
+        .add("value", value.add(1))
+        .addTo(df);
+
+    assertThat(df.getDoubles("upper")).isEqualTo(VALUES.multiply(1.1));
+    assertThat(df.getDoubles("lower")).isEqualTo(VALUES.multiply(0.9));
+    assertThat(df.getBooleans("anomaly")).isEqualTo(CURRENT.gt(VALUES.multiply(1.1)));
+    assertThat(df.getDoubles("value")).isEqualTo(VALUES.add(1));
+  }
+}
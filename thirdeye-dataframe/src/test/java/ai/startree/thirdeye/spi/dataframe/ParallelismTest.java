@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class ParallelismTest {
+
+  private static final int SIZE = 10_000;
+
+  @AfterMethod
+  public void tearDown() {
+    Parallelism.disable();
+  }
+
+  @Test
+  public void testSortedParallelMatchesSequential() {
+    final DataFrame df = randomDataFrame(SIZE, 42);
+
+    final DataFrame sequential = df.sortedBy("double", "long");
+    final LongSeries sequentialLongs = df.getLongs("long").sorted();
+    final DoubleSeries sequentialDoubles = df.getDoubles("double").sorted();
+
+    Parallelism.enable(1);
+    assertThat(df.sortedBy("double", "long")).isEqualTo(sequential);
+    assertThat(df.getLongs("long").sorted()).isEqualTo(sequentialLongs);
+    assertThat(df.getDoubles("double").sorted()).isEqualTo(sequentialDoubles);
+  }
+
+  @Test
+  public void testJoinParallelMatchesSequential() {
+    final DataFrame left = randomDataFrame(SIZE, 1);
+    final DataFrame right = randomDataFrame(SIZE / 2, 2);
+
+    final DataFrame inner = left.joinInner(right, "long");
+    final DataFrame outer = left.joinOuter(right, "long");
+    final DataFrame leftJoin = left.joinLeft(right, "long");
+
+    Parallelism.enable(1);
+    assertThat(left.joinInner(right, "long")).isEqualTo(inner);
+    assertThat(left.joinOuter(right, "long")).isEqualTo(outer);
+    assertThat(left.joinLeft(right, "long")).isEqualTo(leftJoin);
+  }
+
+  @Test
+  public void testHashProbeParallelMatchesSequential() {
+    final DataFrame left = randomDataFrame(SIZE, 3);
+    final DataFrame right = randomDataFrame(SIZE, 4);
+    final Series[] leftSeries = {left.get("long")};
+    final Series[] rightSeries = {right.get("long")};
+
+    final Series.JoinPairs sequential = Series.hashJoinInner(leftSeries, rightSeries);
+    final Series.JoinPairs parallel = Series.hashProbeParallel(
+        new PrimitiveMultimap(rightSeries), leftSeries, rightSeries, false);
+
+    assertThat(parallel.size()).isEqualTo(sequential.size());
+    for (int i = 0; i < sequential.size(); i++) {
+      assertThat(parallel.get(i)).isEqualTo(sequential.get(i));
+    }
+  }
+
+  private static DataFrame randomDataFrame(final int size, final long seed) {
+    final Random random = new Random(seed);
+    final long[] longs = new long[size];
+    final double[] doubles = new double[size];
+    for (int i = 0; i < size; i++) {
+      // few distinct keys to exercise duplicates, plus some nulls
+      longs[i] = random.nextInt(20) == 0 ? LongSeries.NULL : random.nextInt(size / 10);
+      doubles[i] = random.nextInt(20) == 0 ? DoubleSeries.NULL : random.nextInt(100);
+    }
+    return new DataFrame()
+        .addSeries("long", longs)
+        .addSeries("double", doubles);
+  }
+}
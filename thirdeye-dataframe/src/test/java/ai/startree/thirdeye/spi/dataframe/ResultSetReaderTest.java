@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.spi.dataframe;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import org.testng.annotations.Test;
+
+public class ResultSetReaderTest {
+
+  private static final int ROW_COUNT = 2500;
+  private static final int NULL_EVERY = 7;
+
+  @Test
+  public void testReadGrowsBuffersPastFetchSize() throws SQLException {
+    final DataFrame output = ResultSetReader.read(new GeneratedResultSet(ROW_COUNT, 10));
+
+    assertThat(output.size()).isEqualTo(ROW_COUNT);
+    assertThat(output.get("l").type()).isEqualTo(Series.SeriesType.LONG);
+    assertThat(output.get("d").type()).isEqualTo(Series.SeriesType.DOUBLE);
+    assertThat(output.get("s").type()).isEqualTo(Series.SeriesType.STRING);
+    assertThat(output.get("b").type()).isEqualTo(Series.SeriesType.BOOLEAN);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (i % NULL_EVERY == 0) {
+        assertThat(output.getLongs("l").isNull(i)).isTrue();
+        assertThat(output.getDoubles("d").isNull(i)).isTrue();
+        assertThat(output.getStrings("s").isNull(i)).isTrue();
+        assertThat(output.getBooleans("b").isNull(i)).isTrue();
+      } else {
+        assertThat(output.getLong("l", i)).isEqualTo(i);
+        assertThat(output.getDouble("d", i)).isEqualTo(i + 0.5);
+        assertThat(output.getString("s", i)).isEqualTo("v" + i);
+        assertThat(output.getBoolean("b", i)).isEqualTo(BooleanSeries.valueOf(i % 2 == 0));
+      }
+    }
+  }
+
+  @Test
+  public void testReadEmptyResultSetGivesObjectSeries() throws SQLException {
+    final DataFrame output = ResultSetReader.read(new GeneratedResultSet(0, 0));
+
+    assertThat(output.size()).isEqualTo(0);
+    assertThat(output.getSeriesNames()).containsExactlyInAnyOrder("l", "d", "s", "b");
+    assertThat(output.get("l").type()).isEqualTo(Series.SeriesType.OBJECT);
+    assertThat(output.get("d").type()).isEqualTo(Series.SeriesType.OBJECT);
+  }
+
+  @Test
+  public void testInferTypeMatchesBoxedValuesInference() {
+    final Series[] series = {
+        DoubleSeries.buildFrom(1.0, DoubleSeries.NULL, 3.0),
+        DoubleSeries.buildFrom(1.0, 2.5),
+        DoubleSeries.buildFrom(DoubleSeries.NULL, DoubleSeries.NULL),
+        LongSeries.buildFrom(LongSeries.NULL),
+        StringSeries.buildFrom("1", null, "3"),
+        StringSeries.buildFrom("1.5", "2"),
+        StringSeries.buildFrom("true", "FALSE"),
+        StringSeries.buildFrom("a", "1"),
+        ObjectSeries.buildFrom(new Timestamp(0)),
+        ObjectSeries.buildFrom(1, 2L),
+    };
+    for (final Series s : series) {
+      assertThat(ResultSetReader.inferType(s))
+          .as(s.toString())
+          .isEqualTo(s.getObjects().inferType());
+    }
+    assertThat(ResultSetReader.inferType(series[0])).isEqualTo(Series.SeriesType.LONG);
+    assertThat(ResultSetReader.inferType(series[1])).isEqualTo(Series.SeriesType.DOUBLE);
+  }
+
+  @Test
+  public void testTinyIntIsReadAsLong() {
+    assertThat(ResultSetReader.jdbcTypeToSeriesType(Types.TINYINT))
+        .isEqualTo(Series.SeriesType.LONG);
+  }
+
+  /**
+   * Result set of {@code rowCount} rows with a BIGINT, a DOUBLE, a VARCHAR and a BOOLEAN column. Every
+   * {@link #NULL_EVERY}th row is null.
+   */
+  private static class GeneratedResultSet extends AbstractTestResultSet {
+
+    private final int rowCount;
+    private final int fetchSize;
+    private int cursor = -1;
+    private boolean wasNull;
+
+    GeneratedResultSet(final int rowCount, final int fetchSize) {
+      this.rowCount = rowCount;
+      this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public boolean next() {
+      return ++cursor < rowCount;
+    }
+
+    @Override
+    public int getFetchSize() {
+      return fetchSize;
+    }
+
+    @Override
+    public boolean wasNull() {
+      return wasNull;
+    }
+
+    @Override
+    public long getLong(final int columnIndex) {
+      assertThat(columnIndex).isEqualTo(1);
+      wasNull = cursor % NULL_EVERY == 0;
+      return wasNull ? 0 : cursor;
+    }
+
+    @Override
+    public double getDouble(final int columnIndex) {
+      assertThat(columnIndex).isEqualTo(2);
+      wasNull = cursor % NULL_EVERY == 0;
+      return wasNull ? 0 : cursor + 0.5;
+    }
+
+    @Override
+    public String getString(final int columnIndex) {
+      assertThat(columnIndex).isEqualTo(3);
+      wasNull = cursor % NULL_EVERY == 0;
+      return wasNull ? null : "v" + cursor;
+    }
+
+    @Override
+    public boolean getBoolean(final int columnIndex) {
+      assertThat(columnIndex).isEqualTo(4);
+      wasNull = cursor % NULL_EVERY == 0;
+      return !wasNull && cursor % 2 == 0;
+    }
+
+    @Override
+    public Object getObject(final int columnIndex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+      return new AbstractTestResultSetMetaData() {
+        @Override
+        public int getColumnCount() {
+          return 4;
+        }
+
+        @Override
+        public String getColumnLabel(final int column) {
+          return List.of("L", "D", "S", "B").get(column - 1);
+        }
+
+        @Override
+        public int getColumnType(final int column) {
+          return List.of(Types.BIGINT, Types.DOUBLE, Types.VARCHAR, Types.BOOLEAN)
+              .get(column - 1);
+        }
+      };
+    }
+  }
+}
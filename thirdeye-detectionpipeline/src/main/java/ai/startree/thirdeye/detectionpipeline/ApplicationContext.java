@@ -14,11 +14,13 @@
 package ai.startree.thirdeye.detectionpipeline;
 
 import ai.startree.thirdeye.datasource.cache.DataSourceCache;
+import ai.startree.thirdeye.detectionpipeline.components.TimeSeriesSegmentCache;
 import ai.startree.thirdeye.detectionpipeline.persistence.CachedDatasetConfigManager;
 import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
 import ai.startree.thirdeye.spi.datalayer.bao.EnumerationItemManager;
 import ai.startree.thirdeye.spi.datalayer.bao.EventManager;
 import java.util.concurrent.ExecutorService;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ApplicationContext {
 
@@ -30,6 +32,7 @@ public class ApplicationContext {
   private final ExecutorService subTaskExecutor;
   private final DetectionPipelineConfiguration configuration;
   private final EnumerationItemManager enumerationItemManager;
+  private final @Nullable TimeSeriesSegmentCache timeSeriesSegmentCache;
 
   public ApplicationContext(final DataSourceCache dataSourceCache,
       final DetectionRegistry detectionRegistry,
@@ -49,6 +52,13 @@ public class ApplicationContext {
 
     /* Use a cached instance for pipeline execution */
     this.datasetConfigManager = new CachedDatasetConfigManager(datasetConfigManager);
+
+    /* The timeseries cache lives as long as the application context: it is shared across runs */
+    final TimeSeriesCacheConfiguration cacheConfiguration =
+        detectionPipelineConfiguration.getTimeseriesCache();
+    this.timeSeriesSegmentCache = cacheConfiguration.isEnabled()
+        ? new TimeSeriesSegmentCache(cacheConfiguration)
+        : null;
   }
 
   public DataSourceCache getDataSourceCache() {
@@ -82,4 +92,8 @@ public class ApplicationContext {
   public EnumerationItemManager getEnumerationItemManager() {
     return enumerationItemManager;
   }
+
+  public @Nullable TimeSeriesSegmentCache getTimeSeriesSegmentCache() {
+    return timeSeriesSegmentCache;
+  }
 }
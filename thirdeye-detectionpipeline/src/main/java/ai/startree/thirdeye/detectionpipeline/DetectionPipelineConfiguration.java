@@ -16,6 +16,7 @@ package ai.startree.thirdeye.detectionpipeline;
 public class DetectionPipelineConfiguration {
 
   private ForkJoinConfiguration forkjoin = new ForkJoinConfiguration();
+  private TimeSeriesCacheConfiguration timeseriesCache = new TimeSeriesCacheConfiguration();
 
   public ForkJoinConfiguration getForkjoin() {
     return forkjoin;
@@ -26,4 +27,14 @@ public class DetectionPipelineConfiguration {
     this.forkjoin = forkjoin;
     return this;
   }
+
+  public TimeSeriesCacheConfiguration getTimeseriesCache() {
+    return timeseriesCache;
+  }
+
+  public DetectionPipelineConfiguration setTimeseriesCache(
+      final TimeSeriesCacheConfiguration timeseriesCache) {
+    this.timeseriesCache = timeseriesCache;
+    return this;
+  }
 }
@@ -29,6 +29,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,9 +41,9 @@ public class DetectionRegistry {
 
   private static final Logger LOG = LoggerFactory.getLogger(DetectionRegistry.class);
 
-  private final Map<String, AnomalyDetectorFactory> anomalyDetectorFactoryMap = new HashMap<>();
-  private final Map<String, EventTriggerFactory> triggerFactoryMap = new HashMap<>();
-  private final Map<String, EnumeratorFactory> enumeratorFactoryMap = new HashMap<>();
+  private final Map<String, AnomalyDetectorFactory> anomalyDetectorFactoryMap = new ConcurrentHashMap<>();
+  private final Map<String, EventTriggerFactory> triggerFactoryMap = new ConcurrentHashMap<>();
+  private final Map<String, EnumeratorFactory> enumeratorFactoryMap = new ConcurrentHashMap<>();
 
   @Inject
   public DetectionRegistry() {
@@ -57,24 +58,18 @@ public class DetectionRegistry {
   }
 
   public void addAnomalyDetectorFactory(final AnomalyDetectorFactory f) {
-    checkState(!anomalyDetectorFactoryMap.containsKey(f.name()),
+    checkState(anomalyDetectorFactoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate AnomalyDetectorFactory: " + f.name());
-
-    anomalyDetectorFactoryMap.put(f.name(), f);
   }
 
   public void addEventTriggerFactory(final EventTriggerFactory f) {
-    checkState(!triggerFactoryMap.containsKey(f.name()),
+    checkState(triggerFactoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate EventTriggerFactory: " + f.name());
-
-    triggerFactoryMap.put(f.name(), f);
   }
 
   public void addEnumeratorFactory(final EnumeratorFactory f) {
-    checkState(!enumeratorFactoryMap.containsKey(f.name()),
+    checkState(enumeratorFactoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate EnumeratorFactory: " + f.name());
-
-    enumeratorFactoryMap.put(f.name(), f);
   }
 
   public AnomalyDetector<AbstractSpec> buildDetector(
@@ -28,6 +28,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +40,7 @@ public class PostProcessorRegistry {
 
   private static final Logger LOG = LoggerFactory.getLogger(PostProcessorRegistry.class);
 
-  private final Map<String, AnomalyPostProcessorFactory> anomalyPostProcessorFactoryMap = new HashMap<>();
+  private final Map<String, AnomalyPostProcessorFactory> anomalyPostProcessorFactoryMap = new ConcurrentHashMap<>();
   private final DatasetConfigManager datasetDao;
   private final MinMaxTimeLoader minMaxTimeLoader;
   private final AnomalyManager anomalyDao;
@@ -53,10 +54,8 @@ public class PostProcessorRegistry {
   }
 
   public void addAnomalyPostProcessorFactory(final AnomalyPostProcessorFactory f) {
-    checkState(!anomalyPostProcessorFactoryMap.containsKey(f.name()),
+    checkState(anomalyPostProcessorFactoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate AnomalyPostProcessorFactory: " + f.name());
-
-    anomalyPostProcessorFactoryMap.put(f.name(), f);
   }
 
   public AnomalyPostProcessor build(final String factoryName, final Map<String, Object> nodeParams,
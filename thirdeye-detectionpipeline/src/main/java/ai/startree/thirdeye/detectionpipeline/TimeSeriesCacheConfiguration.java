@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline;
+
+import java.time.Duration;
+
+public class TimeSeriesCacheConfiguration {
+
+  private boolean enabled = false;
+  /**
+   * Max number of cached timeseries. One timeseries corresponds to one
+   * (datasource, query with filters, timezone) combination.
+   */
+  private long maxEntries = 1000;
+  /**
+   * Recent window that is always fetched from the datasource, even if already cached.
+   * Data in this window is considered mutable: late events may still change the values.
+   */
+  private Duration mutableWindow = Duration.ofHours(6);
+  /**
+   * Name of the time column in the DataFrame returned by the datasource.
+   */
+  private String timeColumn = "ts";
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public TimeSeriesCacheConfiguration setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  public long getMaxEntries() {
+    return maxEntries;
+  }
+
+  public TimeSeriesCacheConfiguration setMaxEntries(final long maxEntries) {
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  public Duration getMutableWindow() {
+    return mutableWindow;
+  }
+
+  public TimeSeriesCacheConfiguration setMutableWindow(final Duration mutableWindow) {
+    this.mutableWindow = mutableWindow;
+    return this;
+  }
+
+  public String getTimeColumn() {
+    return timeColumn;
+  }
+
+  public TimeSeriesCacheConfiguration setTimeColumn(final String timeColumn) {
+    this.timeColumn = timeColumn;
+    return this;
+  }
+}
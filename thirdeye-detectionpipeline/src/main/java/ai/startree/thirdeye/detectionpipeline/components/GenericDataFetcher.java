@@ -25,7 +25,6 @@ import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
 import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
 import ai.startree.thirdeye.spi.datasource.DataSourceRequest;
 import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSource;
-import ai.startree.thirdeye.spi.datasource.macro.SqlExpressionBuilder;
 import ai.startree.thirdeye.spi.datasource.macro.SqlLanguage;
 import ai.startree.thirdeye.spi.detection.DataFetcher;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
@@ -50,6 +49,7 @@ public class GenericDataFetcher implements DataFetcher<DataFetcherSpec> {
   private ThirdEyeDataSource thirdEyeDataSource;
   private DatasetConfigDTO datasetConfigDTO;
   private List<QueryPredicate> timeseriesFilters = List.of();
+  private TimeSeriesSegmentCache timeSeriesSegmentCache;
 
   public String getQuery() {
     return query;
@@ -95,11 +95,19 @@ public class GenericDataFetcher implements DataFetcher<DataFetcherSpec> {
           .map(this::toQueryPredicate)
           .collect(Collectors.toList());
     }
+    this.timeSeriesSegmentCache = dataFetcherSpec.getTimeSeriesSegmentCache();
   }
 
   @Override
   public DataTable getDataTable(Interval detectionInterval) throws Exception {
     String queryWithFilters = injectFilters(query);
+    if (timeSeriesSegmentCache != null && macrosSupported()) {
+      return timeSeriesSegmentCache.getDataTable(thirdEyeDataSource.getName(),
+          queryWithFilters,
+          detectionInterval,
+          interval -> applyMacros(interval, queryWithFilters),
+          thirdEyeDataSource::fetchDataTable);
+    }
     DataSourceRequest preparedRequest = applyMacros(detectionInterval, queryWithFilters);
     DataTable result = thirdEyeDataSource.fetchDataTable(preparedRequest);
     result.addProperties(preparedRequest.getProperties());
@@ -119,12 +127,9 @@ public class GenericDataFetcher implements DataFetcher<DataFetcherSpec> {
 
   private DataSourceRequest applyMacros(final Interval detectionInterval,
       final String queryWithFilters) {
-    SqlLanguage sqlLanguage = thirdEyeDataSource.getSqlLanguage();
-    SqlExpressionBuilder sqlExpressionBuilder = thirdEyeDataSource.getSqlExpressionBuilder();
-    boolean macrosSupported = sqlLanguage != null && sqlExpressionBuilder != null;
-    if (macrosSupported) {
-      return new MacroEngine(sqlLanguage,
-          sqlExpressionBuilder,
+    if (macrosSupported()) {
+      return new MacroEngine(thirdEyeDataSource.getSqlLanguage(),
+          thirdEyeDataSource.getSqlExpressionBuilder(),
           detectionInterval,
           datasetConfigDTO,
           queryWithFilters).prepareRequest();
@@ -132,6 +137,11 @@ public class GenericDataFetcher implements DataFetcher<DataFetcherSpec> {
     return new DataSourceRequest(tableName, query, ImmutableMap.of());
   }
 
+  private boolean macrosSupported() {
+    return thirdEyeDataSource.getSqlLanguage() != null
+        && thirdEyeDataSource.getSqlExpressionBuilder() != null;
+  }
+
   @VisibleForTesting
   protected QueryPredicate toQueryPredicate(final Predicate p) {
     // pre-condition: tableName is not null
@@ -13,6 +13,7 @@
  */
 package ai.startree.thirdeye.detectionpipeline.components;
 
+import static ai.startree.thirdeye.spi.dataframe.Series.SeriesType.LONG;
 import static ai.startree.thirdeye.spi.dataframe.Series.SeriesType.OBJECT;
 import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.GRANULARITY;
 import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.MAX_TIME_MILLIS;
@@ -26,18 +27,20 @@ import ai.startree.thirdeye.spi.dataframe.DataFrame;
 import ai.startree.thirdeye.spi.dataframe.LongSeries;
 import ai.startree.thirdeye.spi.dataframe.LongSeries.Builder;
 import ai.startree.thirdeye.spi.dataframe.Series;
-import ai.startree.thirdeye.spi.dataframe.Series.LongConditional;
 import ai.startree.thirdeye.spi.detection.IndexFiller;
 import ai.startree.thirdeye.spi.detection.NullReplacer;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
 import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
 import ai.startree.thirdeye.spi.util.TimeUtils;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
+import org.joda.time.Days;
 import org.joda.time.Interval;
+import org.joda.time.LocalDate;
 import org.joda.time.Period;
 
 public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
@@ -142,42 +145,108 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
     DataFrame rawData = dataTable.getDataFrame();
     checkArgument(rawData.contains(timeColumn),
         "'" + timeColumn + "' column not found in DataFrame");
-    DataFrame correctIndex = generateCorrectIndex(detectionInterval.getChronology());
-    DataFrame filledData = joinOnTimeIndex(correctIndex, rawData);
-    DataFrame nullReplacedData = replaceNullData(detectionInterval.getStart(), filledData);
+    final long[] correctIndex = generateCorrectIndex(detectionInterval.getChronology());
+    DataFrame filledData = fillOnTimeIndex(correctIndex, rawData, detectionInterval.getChronology());
+    DataFrame nullReplacedData = replaceNullData(detectionInterval.getStart(), correctIndex,
+        filledData);
 
     return SimpleDataTable.fromDataFrame(nullReplacedData);
   }
 
-  private DataFrame replaceNullData(final DateTime start, final DataFrame dataFrame) {
+  private DataFrame replaceNullData(final DateTime start, final long[] correctIndex,
+      final DataFrame dataFrame) {
     // only apply replacer *before* the detection period - on detection period, replace nulls by zeroes
-    DataFrame beforeDetectionStart = dataFrame.filter((LongConditional) values ->
-        values[0] < start.getMillis(), timeColumn).dropNull(timeColumn);
-    DataFrame afterDetectionStart = dataFrame.filter((LongConditional) values ->
-        values[0] >= start.getMillis(), timeColumn).dropNull(timeColumn);
+    // the index is sorted: split on the first index value >= start
+    final int searchResult = Arrays.binarySearch(correctIndex, start.getMillis());
+    final int detectionStartIdx = searchResult >= 0 ? searchResult : -searchResult - 1;
+    if (detectionStartIdx == 0) {
+      return WITH_ZERO_NULL_REPLACER.replaceNulls(dataFrame);
+    }
+    if (detectionStartIdx == dataFrame.size()) {
+      return nullReplacer.replaceNulls(dataFrame);
+    }
 
     return DataFrame.concatenate(
-        nullReplacer.replaceNulls(beforeDetectionStart),
-        WITH_ZERO_NULL_REPLACER.replaceNulls(afterDetectionStart)
+        nullReplacer.replaceNulls(dataFrame.sliceTo(detectionStartIdx)),
+        WITH_ZERO_NULL_REPLACER.replaceNulls(dataFrame.sliceFrom(detectionStartIdx))
     );
   }
 
-  private DataFrame generateCorrectIndex(Chronology chronology) {
-
+  private long[] generateCorrectIndex(Chronology chronology) {
     DateTime firstIndexValue = TimeUtils.getSmallestDatetime(
         new DateTime(minTime, chronology), granularity);
     DateTime lastIndexValue = TimeUtils.getBiggestDatetime(
         new DateTime(maxTime, chronology), granularity);
-    Series correctIndexSeries = generateSeries(firstIndexValue, lastIndexValue, granularity);
-    DataFrame dataFrame = new DataFrame();
-    dataFrame.addSeries(timeColumn, correctIndexSeries);
+    if (isFixedDuration(granularity, chronology)) {
+      final long periodMillis = granularity.toStandardDuration().getMillis();
+      final long firstMillis = firstIndexValue.getMillis();
+      final int size = lastIndexValue.isBefore(firstIndexValue) ? 0
+          : Math.toIntExact((lastIndexValue.getMillis() - firstMillis) / periodMillis + 1);
+      final long[] index = new long[size];
+      for (int i = 0; i < size; i++) {
+        index[i] = firstMillis + i * periodMillis;
+      }
+      return index;
+    }
+
+    return generateSeries(firstIndexValue, lastIndexValue, granularity);
+  }
+
+  /**
+   * Puts the rows of rawData in their slot of the time index. Rows that do not fall on the index
+   * are dropped. Slots with no row are filled with nulls.
+   * Each slot is computed from the index start and the granularity, so no join is necessary.
+   * Falls back to a join if the time column is not a LONG series or has duplicate values.
+   */
+  private DataFrame fillOnTimeIndex(final long[] correctIndex, final DataFrame rawData,
+      final Chronology chronology) {
+    final Series rawTimeSeries = rawData.get(timeColumn);
+    if (rawTimeSeries.type() != LONG) {
+      return joinOnTimeIndex(correctIndex, rawData);
+    }
+
+    final long[] rawTimes = rawTimeSeries.getLongs().values();
+    final int[] rowOfSlot = new int[correctIndex.length];
+    Arrays.fill(rowOfSlot, -1);
+    final SlotFinder slotFinder = slotFinder(correctIndex, chronology);
+    for (int row = 0; row < rawTimes.length; row++) {
+      final long time = rawTimes[row];
+      if (time == LongSeries.NULL) {
+        continue;
+      }
+      final int slot = slotFinder.slotOf(time);
+      if (slot < 0) {
+        // not on the index
+        continue;
+      }
+      if (rowOfSlot[slot] != -1) {
+        // duplicate timestamps - keep the join behavior
+        return joinOnTimeIndex(correctIndex, rawData);
+      }
+      rowOfSlot[slot] = row;
+    }
+
+    final DataFrame projected = rawData.project(rowOfSlot);
+    final DataFrame filledData = new DataFrame();
+    filledData.addSeries(timeColumn, LongSeries.buildFromSorted(correctIndex));
+    for (String seriesName : rawData.getSeriesNames()) {
+      if (!seriesName.equals(timeColumn)) {
+        filledData.addSeries(seriesName, projected.get(seriesName));
+      }
+    }
 
-    return dataFrame;
+    return objectSeriesToDoubles(filledData);
   }
 
-  private DataFrame joinOnTimeIndex(DataFrame correctIndex, DataFrame rawData) {
-    DataFrame filledData = correctIndex.joinLeft(rawData, timeColumn, timeColumn);
+  private DataFrame joinOnTimeIndex(long[] correctIndex, DataFrame rawData) {
+    final DataFrame correctIndexDf = new DataFrame();
+    correctIndexDf.addSeries(timeColumn, LongSeries.buildFrom(correctIndex));
+    DataFrame filledData = correctIndexDf.joinLeft(rawData, timeColumn, timeColumn);
 
+    return objectSeriesToDoubles(filledData);
+  }
+
+  private static DataFrame objectSeriesToDoubles(final DataFrame filledData) {
     // some series can be of type Object if the rawData had no value before the join
     // fix: transform these Series of Objects into series of Doubles - incorrect if String series was expected
     for (String seriesName : filledData.getSeriesNames()) {
@@ -190,6 +259,64 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
     return filledData;
   }
 
+  /**
+   * Returns true if all the periods of the index have the same duration.
+   * Time fields (hours, minutes, etc...) are always exact durations. Days and weeks are exact
+   * durations only if the timezone has no DST.
+   */
+  private static boolean isFixedDuration(final Period period, final Chronology chronology) {
+    if (period.getYears() != 0 || period.getMonths() != 0) {
+      return false;
+    }
+    if (period.getWeeks() == 0 && period.getDays() == 0) {
+      return true;
+    }
+    return chronology.getZone().isFixed();
+  }
+
+  private static boolean isDayBased(final Period period) {
+    return period.getYears() == 0 && period.getMonths() == 0
+        && (period.getWeeks() != 0 || period.getDays() != 0)
+        && period.getHours() == 0 && period.getMinutes() == 0
+        && period.getSeconds() == 0 && period.getMillis() == 0;
+  }
+
+  private SlotFinder slotFinder(final long[] correctIndex, final Chronology chronology) {
+    if (correctIndex.length == 0) {
+      return time -> -1;
+    }
+    final long firstMillis = correctIndex[0];
+    if (isFixedDuration(granularity, chronology)) {
+      final long periodMillis = granularity.toStandardDuration().getMillis();
+      return time -> {
+        final long offset = time - firstMillis;
+        if (offset < 0 || offset % periodMillis != 0) {
+          return -1;
+        }
+        final long slot = offset / periodMillis;
+        return slot < correctIndex.length ? (int) slot : -1;
+      };
+    }
+    if (isDayBased(granularity)) {
+      // DST-aware: count local days, then check the candidate slot is the exact timestamp
+      final int periodDays = granularity.toStandardDays().getDays();
+      final LocalDate firstDate = new LocalDate(firstMillis, chronology);
+      return time -> {
+        final int days = Days.daysBetween(firstDate, new LocalDate(time, chronology)).getDays();
+        if (days < 0 || days % periodDays != 0) {
+          return -1;
+        }
+        final int slot = days / periodDays;
+        return slot < correctIndex.length && correctIndex[slot] == time ? slot : -1;
+      };
+    }
+    // irregular calendar periods (months, years): the index is sorted, use a binary search
+    return time -> {
+      final int slot = Arrays.binarySearch(correctIndex, time);
+      return slot >= 0 ? slot : -1;
+    };
+  }
+
   private long inferMinTime(final DateTime start, final Series timeColumnSeries,
       final TimeLimitInferenceStrategy minTimeInference, final Period lookback) {
     if (minTimeInference == TimeLimitInferenceStrategy.FROM_DATA) {
@@ -220,7 +347,7 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
     }
   }
 
-  private Series generateSeries(final DateTime firstValue, final DateTime lastValueIncluded,
+  private long[] generateSeries(final DateTime firstValue, final DateTime lastValueIncluded,
       Period timePeriod) {
     Builder correctIndexSeries = LongSeries.builder();
     DateTime indexValue = new DateTime(firstValue);
@@ -228,7 +355,15 @@ public class TimeIndexFiller implements IndexFiller<TimeIndexFillerSpec> {
       correctIndexSeries.addValues(indexValue.getMillis());
       indexValue = indexValue.plus(timePeriod);
     }
-    return correctIndexSeries.build();
+    return correctIndexSeries.build().values();
+  }
+
+  private interface SlotFinder {
+
+    /**
+     * Returns the index of the slot of the time, or -1 if the time is not on the index.
+     */
+    int slotOf(long time);
   }
 
   private static class NullReplacerRegistry {
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.components;
+
+import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.GRANULARITY;
+import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.MAX_TIME_MILLIS;
+import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.MIN_TIME_MILLIS;
+import static ai.startree.thirdeye.spi.util.TimeUtils.floorByPeriod;
+import static ai.startree.thirdeye.spi.util.TimeUtils.isoPeriod;
+
+import ai.startree.thirdeye.detectionpipeline.TimeSeriesCacheConfiguration;
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.Series.LongConditional;
+import ai.startree.thirdeye.spi.datasource.DataSourceRequest;
+import ai.startree.thirdeye.spi.detection.v2.DataTable;
+import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+import org.joda.time.Period;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the immutable part of the timeseries returned by data fetchers.
+ *
+ * A scheduled detection re-fetches its whole lookback window, while only the last cron interval
+ * is new. This cache stores the completed time buckets of a timeseries and only fetches the
+ * missing tail - plus the configured mutable window - from the datasource. The cached buckets
+ * and the tail are stitched together in a single DataTable.
+ *
+ * A timeseries is cacheable if the prepared request contains the time limits and the
+ * granularity, ie the query uses the __timeFilter and the __timeGroup macros. Other queries
+ * are passed through.
+ */
+public class TimeSeriesSegmentCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TimeSeriesSegmentCache.class);
+
+  private final Cache<TimeSeriesKey, TimeSeriesSegment> cache;
+  private final long mutableWindowMillis;
+  private final String timeColumn;
+
+  public TimeSeriesSegmentCache(final TimeSeriesCacheConfiguration configuration) {
+    this.mutableWindowMillis = configuration.getMutableWindow().toMillis();
+    this.timeColumn = configuration.getTimeColumn();
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(configuration.getMaxEntries())
+        .build();
+  }
+
+  /**
+   * @param dataSource the datasource name
+   * @param query the query, with filters injected and before macros application
+   * @param detectionInterval the detection interval
+   * @param requestBuilder builds the request for a given detection interval - applies macros
+   * @param fetcher fetches the DataTable of a prepared request
+   */
+  public DataTable getDataTable(final String dataSource,
+      final String query,
+      final Interval detectionInterval,
+      final Function<Interval, DataSourceRequest> requestBuilder,
+      final DataTableFetcher fetcher) throws Exception {
+    final DataSourceRequest request = requestBuilder.apply(detectionInterval);
+    final Map<String, String> properties = request.getProperties();
+    if (!isCacheable(properties)) {
+      return fetch(fetcher, request);
+    }
+    final long minTime = Long.parseLong(properties.get(MIN_TIME_MILLIS.toString()));
+    final long maxTime = Long.parseLong(properties.get(MAX_TIME_MILLIS.toString()));
+    final Period granularity = isoPeriod(properties.get(GRANULARITY.toString()));
+    final Chronology chronology = detectionInterval.getChronology();
+
+    final TimeSeriesKey key = new TimeSeriesKey(dataSource, query, chronology);
+    final TimeSeriesSegment segment = cache.getIfPresent(key);
+    DataFrame df = null;
+    if (segment != null && segment.startTime <= minTime && minTime < segment.endTime) {
+      if (maxTime <= segment.endTime) {
+        LOG.debug("Timeseries cache hit. No fetch required.");
+        return withProperties(filterTime(segment.dataFrame, minTime, maxTime), properties);
+      }
+      df = fetchWithSegment(segment, minTime, maxTime, detectionInterval, requestBuilder, fetcher);
+    }
+    if (df == null) {
+      df = fetcher.fetch(request).getDataFrame();
+    }
+    if (!df.contains(timeColumn)) {
+      // the time column is not known - the result cannot be split in time segments
+      cache.invalidate(key);
+      return withProperties(df, properties);
+    }
+
+    final long immutableEndTime = immutableEndTime(maxTime, granularity, chronology);
+    if (immutableEndTime > minTime) {
+      cache.put(key, new TimeSeriesSegment(minTime,
+          immutableEndTime,
+          filterTime(df, minTime, immutableEndTime)));
+    }
+
+    return withProperties(df, properties);
+  }
+
+  private @Nullable DataFrame fetchWithSegment(final TimeSeriesSegment segment,
+      final long minTime,
+      final long maxTime,
+      final Interval detectionInterval,
+      final Function<Interval, DataSourceRequest> requestBuilder,
+      final DataTableFetcher fetcher) throws Exception {
+    // shift the detection start so that the time filter starts at the end of the cached segment
+    final long shift = segment.endTime - minTime;
+    final long tailStart = detectionInterval.getStartMillis() + shift;
+    if (tailStart >= detectionInterval.getEndMillis()) {
+      return null;
+    }
+    final Interval tailInterval = new Interval(tailStart,
+        detectionInterval.getEndMillis(),
+        detectionInterval.getChronology());
+    final DataSourceRequest tailRequest = requestBuilder.apply(tailInterval);
+    final Map<String, String> tailProperties = tailRequest.getProperties();
+    final boolean tailIsContiguous =
+        String.valueOf(segment.endTime).equals(tailProperties.get(MIN_TIME_MILLIS.toString()))
+            && String.valueOf(maxTime).equals(tailProperties.get(MAX_TIME_MILLIS.toString()));
+    if (!tailIsContiguous) {
+      // lookback periods of variable length - eg months - cannot be shifted safely
+      return null;
+    }
+
+    final DataFrame tail = fetcher.fetch(tailRequest).getDataFrame();
+    final DataFrame head = filterTime(segment.dataFrame, minTime, segment.endTime);
+    LOG.debug("Timeseries cache hit. Re-used {} rows. Fetched {} rows.",
+        head.size(),
+        tail.size());
+    if (tail.size() == 0) {
+      return head;
+    }
+    if (head.size() == 0) {
+      return tail;
+    }
+    return DataFrame.concatenate(head, tail);
+  }
+
+  /**
+   * Returns the end of the immutable data, aligned on the granularity buckets.
+   */
+  private long immutableEndTime(final long maxTime, final Period granularity,
+      final Chronology chronology) {
+    final long mutableStart = System.currentTimeMillis() - mutableWindowMillis;
+    final DateTime immutableEnd = new DateTime(Math.min(maxTime, mutableStart), chronology);
+    return floorByPeriod(immutableEnd, granularity).getMillis();
+  }
+
+  private DataFrame filterTime(final DataFrame df, final long startTime, final long endTime) {
+    return df
+        .filter((LongConditional) values -> startTime <= values[0] && values[0] < endTime,
+            timeColumn)
+        .dropNull(timeColumn);
+  }
+
+  private static boolean isCacheable(final Map<String, String> properties) {
+    return properties.containsKey(MIN_TIME_MILLIS.toString())
+        && properties.containsKey(MAX_TIME_MILLIS.toString())
+        && properties.containsKey(GRANULARITY.toString());
+  }
+
+  private static DataTable fetch(final DataTableFetcher fetcher, final DataSourceRequest request)
+      throws Exception {
+    final DataTable dataTable = fetcher.fetch(request);
+    dataTable.addProperties(request.getProperties());
+    return dataTable;
+  }
+
+  private static DataTable withProperties(final DataFrame df,
+      final Map<String, String> properties) {
+    final DataTable dataTable = SimpleDataTable.fromDataFrame(df);
+    dataTable.addProperties(properties);
+    return dataTable;
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  public interface DataTableFetcher {
+
+    DataTable fetch(DataSourceRequest request) throws Exception;
+  }
+
+  private static class TimeSeriesKey {
+
+    private final String dataSource;
+    private final String query;
+    private final Chronology chronology;
+
+    private TimeSeriesKey(final String dataSource, final String query,
+        final Chronology chronology) {
+      this.dataSource = dataSource;
+      this.query = query;
+      this.chronology = chronology;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final TimeSeriesKey that = (TimeSeriesKey) o;
+      return Objects.equals(dataSource, that.dataSource)
+          && Objects.equals(query, that.query)
+          && Objects.equals(chronology, that.chronology);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dataSource, query, chronology);
+    }
+  }
+
+  /**
+   * Immutable rows of a timeseries, in [startTime, endTime).
+   */
+  private static class TimeSeriesSegment {
+
+    private final long startTime;
+    private final long endTime;
+    private final DataFrame dataFrame;
+
+    private TimeSeriesSegment(final long startTime, final long endTime,
+        final DataFrame dataFrame) {
+      this.startTime = startTime;
+      this.endTime = endTime;
+      this.dataFrame = dataFrame;
+    }
+  }
+}
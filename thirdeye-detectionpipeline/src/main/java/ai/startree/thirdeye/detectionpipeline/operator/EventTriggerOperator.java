@@ -23,14 +23,19 @@ import ai.startree.thirdeye.spi.dataframe.DataFrame;
 import ai.startree.thirdeye.spi.datalayer.TemplatableMap;
 import ai.startree.thirdeye.spi.detection.AbstractSpec;
 import ai.startree.thirdeye.spi.detection.EventTrigger;
+import ai.startree.thirdeye.spi.detection.EventTriggerException;
 import ai.startree.thirdeye.spi.detection.EventTriggerFactoryContext;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
-import java.util.List;
 import java.util.Map;
 import org.apache.commons.collections4.MapUtils;
 
 public class EventTriggerOperator extends DetectionPipelineOperator {
 
+  /**
+   * Max number of rows passed to the trigger in a single batch.
+   */
+  static final int BATCH_SIZE = 10_000;
+
   private EventTrigger<? extends AbstractSpec> eventTrigger;
 
   public EventTriggerOperator() {
@@ -54,9 +59,7 @@ public class EventTriggerOperator extends DetectionPipelineOperator {
     final Map<String, DataTable> timeSeriesMap = DetectionPipelineUtils.getDataTableMap(inputMap);
     for (String inputKey : timeSeriesMap.keySet()) {
       final DataFrame df = timeSeriesMap.get(inputKey).getDataFrame();
-      for (int rowIdx = 0; rowIdx < df.size(); rowIdx++) {
-        eventTrigger.trigger(df.getSeriesNames(), getRow(df, rowIdx));
-      }
+      triggerInBatches(eventTrigger, df, BATCH_SIZE);
     }
     eventTrigger.close();
   }
@@ -76,12 +79,10 @@ public class EventTriggerOperator extends DetectionPipelineOperator {
         .setProperties(componentSpec));
   }
 
-  static Object[] getRow(final DataFrame df, final int rowIdx) {
-    final List<String> seriesNames = df.getSeriesNames();
-    final Object[] row = new Object[seriesNames.size()];
-    for (int colIdx = 0; colIdx < seriesNames.size(); colIdx++) {
-      row[colIdx] = df.getObject(seriesNames.get(colIdx), rowIdx);
+  static void triggerInBatches(final EventTrigger<? extends AbstractSpec> eventTrigger,
+      final DataFrame df, final int batchSize) throws EventTriggerException {
+    for (int from = 0; from < df.size(); from += batchSize) {
+      eventTrigger.trigger(df, from, Math.min(from + batchSize, df.size()));
     }
-    return row;
   }
 }
@@ -14,6 +14,7 @@
 package ai.startree.thirdeye.detectionpipeline.spec;
 
 import ai.startree.thirdeye.datasource.cache.DataSourceCache;
+import ai.startree.thirdeye.detectionpipeline.components.TimeSeriesSegmentCache;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
 import ai.startree.thirdeye.spi.detection.AbstractSpec;
@@ -51,6 +52,12 @@ public class DataFetcherSpec extends AbstractSpec {
    */
   private List<Predicate> timeseriesFilters;
 
+  /**
+   * Expected to be set during DataFetcherOperator init.
+   * Optional - null if the timeseries cache is disabled.
+   */
+  private TimeSeriesSegmentCache timeSeriesSegmentCache;
+
   public String getDataSource() {
     return dataSource;
   }
@@ -104,4 +111,14 @@ public class DataFetcherSpec extends AbstractSpec {
     this.timeseriesFilters = timeseriesFilters;
     return this;
   }
+
+  public TimeSeriesSegmentCache getTimeSeriesSegmentCache() {
+    return timeSeriesSegmentCache;
+  }
+
+  public DataFetcherSpec setTimeSeriesSegmentCache(
+      final TimeSeriesSegmentCache timeSeriesSegmentCache) {
+    this.timeSeriesSegmentCache = timeSeriesSegmentCache;
+    return this;
+  }
 }
@@ -25,6 +25,7 @@ import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 import java.util.stream.Stream;
+import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Interval;
 import org.testng.annotations.Test;
@@ -372,4 +373,101 @@ public class TimeIndexFillerTest {
     }
     assertThat(output.getDataFrame()).isEqualTo(expectedDataFrame);
   }
+
+  @Test
+  public void testFillIndexWithDailyGranularityAcrossDstChange() throws Exception {
+    // 2021-11-07 is 25 hours long in Los Angeles - slots must follow local midnights
+    final DateTimeZone losAngeles = DateTimeZone.forID("America/Los_Angeles");
+    final TimeIndexFillerSpec spec = new TimeIndexFillerSpec();
+    spec
+        .setMinTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMaxTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMonitoringGranularity("P1D")
+        .setTimestamp("ts");
+    final TimeIndexFiller timeIndexFiller = new TimeIndexFiller();
+    timeIndexFiller.init(spec);
+
+    final long nov6 = new DateTime(2021, 11, 6, 0, 0, losAngeles).getMillis();
+    final long nov7 = new DateTime(2021, 11, 7, 0, 0, losAngeles).getMillis();
+    final long nov8 = new DateTime(2021, 11, 8, 0, 0, losAngeles).getMillis();
+    final long nov9 = new DateTime(2021, 11, 9, 0, 0, losAngeles).getMillis();
+    final Interval inputInterval = new Interval(nov6, nov9, losAngeles);
+
+    final DataFrame dataFrame = new DataFrame();
+    // nov 7 missing - the 24 hours after nov 7 is not on the index and is dropped
+    dataFrame.addSeries("ts", nov6, nov7 + 24 * 3600_000L, nov8);
+    dataFrame.addSeries("met", METRIC_VALUE, 5., METRIC_VALUE);
+
+    final DataFrame expectedDataFrame = new DataFrame();
+    expectedDataFrame.addSeries("ts", nov6, nov7, nov8);
+    expectedDataFrame.addSeries("met", METRIC_VALUE, ZERO_FILLER, METRIC_VALUE);
+
+    final DataTable output = timeIndexFiller.fillIndex(inputInterval,
+        SimpleDataTable.fromDataFrame(dataFrame));
+    assertThat(output.getDataFrame()).isEqualTo(expectedDataFrame);
+  }
+
+  @Test
+  public void testFillIndexWithHourlyGranularityDropsValuesNotOnTheIndex() throws Exception {
+    final TimeIndexFillerSpec spec = new TimeIndexFillerSpec();
+    spec
+        .setMinTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMaxTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMonitoringGranularity("PT1H")
+        .setTimestamp("ts");
+    final TimeIndexFiller timeIndexFiller = new TimeIndexFiller();
+    timeIndexFiller.init(spec);
+
+    final long hour = 3600_000L;
+    final Interval inputInterval = new Interval(OCTOBER_22_MILLIS,
+        OCTOBER_22_MILLIS + 3 * hour,
+        DateTimeZone.UTC);
+
+    final DataFrame dataFrame = new DataFrame();
+    dataFrame.addSeries("ts", OCTOBER_22_MILLIS + hour / 2, OCTOBER_22_MILLIS + 2 * hour);
+    dataFrame.addSeries("met", 5., METRIC_VALUE);
+    dataFrame.addSeries("dim", "a", "b");
+
+    final DataFrame expectedDataFrame = new DataFrame();
+    expectedDataFrame.addSeries("ts",
+        OCTOBER_22_MILLIS,
+        OCTOBER_22_MILLIS + hour,
+        OCTOBER_22_MILLIS + 2 * hour);
+    expectedDataFrame.addSeries("met", ZERO_FILLER, ZERO_FILLER, METRIC_VALUE);
+
+    final DataTable output = timeIndexFiller.fillIndex(inputInterval,
+        SimpleDataTable.fromDataFrame(dataFrame));
+    assertThat(output.getDataFrame().getString("dim", 2)).isEqualTo("b");
+    assertThat(output.getDataFrame().dropSeries("dim")).isEqualTo(expectedDataFrame);
+  }
+
+  @Test
+  public void testFillIndexWithMonthlyGranularity() throws Exception {
+    final TimeIndexFillerSpec spec = new TimeIndexFillerSpec();
+    spec
+        .setMinTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMaxTimeInference(TimeLimitInferenceStrategy.FROM_DETECTION_TIME.toString())
+        .setMonitoringGranularity("P1M")
+        .setTimestamp("ts");
+    final TimeIndexFiller timeIndexFiller = new TimeIndexFiller();
+    timeIndexFiller.init(spec);
+
+    final long jan = new DateTime(2021, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+    final long feb = new DateTime(2021, 2, 1, 0, 0, DateTimeZone.UTC).getMillis();
+    final long mar = new DateTime(2021, 3, 1, 0, 0, DateTimeZone.UTC).getMillis();
+    final long apr = new DateTime(2021, 4, 1, 0, 0, DateTimeZone.UTC).getMillis();
+    final Interval inputInterval = new Interval(jan, apr, DateTimeZone.UTC);
+
+    final DataFrame dataFrame = new DataFrame();
+    dataFrame.addSeries("ts", jan, mar);
+    dataFrame.addSeries("met", METRIC_VALUE, METRIC_VALUE);
+
+    final DataFrame expectedDataFrame = new DataFrame();
+    expectedDataFrame.addSeries("ts", jan, feb, mar);
+    expectedDataFrame.addSeries("met", METRIC_VALUE, ZERO_FILLER, METRIC_VALUE);
+
+    final DataTable output = timeIndexFiller.fillIndex(inputInterval,
+        SimpleDataTable.fromDataFrame(dataFrame));
+    assertThat(output.getDataFrame()).isEqualTo(expectedDataFrame);
+  }
 }
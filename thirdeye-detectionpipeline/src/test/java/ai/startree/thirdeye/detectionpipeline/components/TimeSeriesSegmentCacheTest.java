@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.components;
+
+import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.GRANULARITY;
+import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.MAX_TIME_MILLIS;
+import static ai.startree.thirdeye.spi.datasource.macro.MacroMetadataKeys.MIN_TIME_MILLIS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.detectionpipeline.TimeSeriesCacheConfiguration;
+import ai.startree.thirdeye.detectionpipeline.components.TimeSeriesSegmentCache.DataTableFetcher;
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.datasource.DataSourceRequest;
+import ai.startree.thirdeye.spi.detection.v2.DataTable;
+import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TimeSeriesSegmentCacheTest {
+
+  private static final long HOUR_MILLIS = 3_600_000L;
+  private static final String DATASOURCE = "datasource";
+  private static final String QUERY = "SELECT __timeGroup(...) as ts, SUM(met) as met FROM t";
+  private static final DateTime JANUARY_1_2021 = new DateTime(2021, 1, 1, 0, 0, DateTimeZone.UTC);
+
+  private TimeSeriesSegmentCache cache;
+  private List<DataSourceRequest> fetchedRequests;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = new TimeSeriesSegmentCache(new TimeSeriesCacheConfiguration().setEnabled(true));
+    fetchedRequests = new ArrayList<>();
+  }
+
+  private static Function<Interval, DataSourceRequest> requestBuilder(final boolean withMacros) {
+    return interval -> new DataSourceRequest("t",
+        QUERY,
+        withMacros ? Map.of(
+            MIN_TIME_MILLIS.toString(), String.valueOf(interval.getStartMillis()),
+            MAX_TIME_MILLIS.toString(), String.valueOf(interval.getEndMillis()),
+            GRANULARITY.toString(), "PT1H") : Map.of());
+  }
+
+  /**
+   * Returns one row per hour, with the metric equal to the hour since epoch.
+   */
+  private DataTableFetcher hourlyFetcher() {
+    return request -> {
+      fetchedRequests.add(request);
+      final long minTime = Long.parseLong(request.getProperties()
+          .getOrDefault(MIN_TIME_MILLIS.toString(), "0"));
+      final long maxTime = Long.parseLong(request.getProperties()
+          .getOrDefault(MAX_TIME_MILLIS.toString(), String.valueOf(HOUR_MILLIS)));
+      final LongSeries.Builder ts = LongSeries.builder();
+      final LongSeries.Builder met = LongSeries.builder();
+      for (long t = minTime; t < maxTime; t += HOUR_MILLIS) {
+        ts.addValues(t);
+        met.addValues(t / HOUR_MILLIS);
+      }
+      return SimpleDataTable.fromDataFrame(new DataFrame()
+          .addSeries("ts", ts.build())
+          .addSeries("met", met.build()));
+    };
+  }
+
+  private DataTable getDataTable(final Interval interval, final boolean withMacros)
+      throws Exception {
+    return cache.getDataTable(DATASOURCE, QUERY, interval, requestBuilder(withMacros),
+        hourlyFetcher());
+  }
+
+  @Test
+  public void testFirstFetchPopulatesCache() throws Exception {
+    final Interval interval = new Interval(JANUARY_1_2021, JANUARY_1_2021.plusDays(7));
+    final DataTable dataTable = getDataTable(interval, true);
+
+    assertThat(dataTable.getDataFrame().size()).isEqualTo(7 * 24);
+    assertThat(dataTable.getProperties().get(GRANULARITY.toString())).isEqualTo("PT1H");
+    assertThat(fetchedRequests).hasSize(1);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSlidingWindowOnlyFetchesTail() throws Exception {
+    final Interval interval = new Interval(JANUARY_1_2021, JANUARY_1_2021.plusDays(7));
+    getDataTable(interval, true);
+
+    final Interval nextInterval = new Interval(interval.getStart().plusHours(2),
+        interval.getEnd().plusHours(2));
+    final DataTable dataTable = getDataTable(nextInterval, true);
+
+    assertThat(fetchedRequests).hasSize(2);
+    final Map<String, String> tailProperties = fetchedRequests.get(1).getProperties();
+    assertThat(tailProperties.get(MIN_TIME_MILLIS.toString()))
+        .isEqualTo(String.valueOf(interval.getEndMillis()));
+
+    final DataFrame expected = hourlyFetcher()
+        .fetch(requestBuilder(true).apply(nextInterval))
+        .getDataFrame();
+    assertThat(dataTable.getDataFrame()).isEqualTo(expected);
+    assertThat(dataTable.getProperties().get(MIN_TIME_MILLIS.toString()))
+        .isEqualTo(String.valueOf(nextInterval.getStartMillis()));
+  }
+
+  @Test
+  public void testIntervalInsideCachedSegmentDoesNotFetch() throws Exception {
+    final Interval interval = new Interval(JANUARY_1_2021, JANUARY_1_2021.plusDays(7));
+    getDataTable(interval, true);
+
+    final Interval subInterval = new Interval(JANUARY_1_2021.plusDays(1),
+        JANUARY_1_2021.plusDays(2));
+    final DataTable dataTable = getDataTable(subInterval, true);
+
+    assertThat(fetchedRequests).hasSize(1);
+    assertThat(dataTable.getDataFrame().size()).isEqualTo(24);
+    assertThat(dataTable.getDataFrame().getLong("ts", 0))
+        .isEqualTo(subInterval.getStartMillis());
+  }
+
+  @Test
+  public void testRequestWithoutMacrosIsNotCached() throws Exception {
+    final Interval interval = new Interval(JANUARY_1_2021, JANUARY_1_2021.plusDays(7));
+    getDataTable(interval, false);
+    getDataTable(interval, false);
+
+    assertThat(fetchedRequests).hasSize(2);
+    assertThat(cache.size()).isEqualTo(0);
+  }
+}
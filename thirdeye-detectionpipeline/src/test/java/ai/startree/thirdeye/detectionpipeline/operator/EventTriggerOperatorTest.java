@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.detectionpipeline.operator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.detection.AbstractSpec;
+import ai.startree.thirdeye.spi.detection.EventTrigger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.Test;
+
+public class EventTriggerOperatorTest {
+
+  private static DataFrame events() {
+    return new DataFrame()
+        .addSeries("ts", LongSeries.buildFrom(1L, 2L, 3L, 4L, 5L))
+        .addSeries("value", DoubleSeries.buildFrom(10., 20., 30., 40., 50.));
+  }
+
+  @Test
+  public void testRowTriggerIsCalledForEachRow() throws Exception {
+    final RowTrigger trigger = new RowTrigger();
+    EventTriggerOperator.triggerInBatches(trigger, events(), 2);
+
+    assertThat(trigger.columnNames).containsExactly("ts", "value");
+    assertThat(trigger.rows).hasSize(5);
+    assertThat(trigger.rows.get(0)).containsExactly(1L, 10.);
+    assertThat(trigger.rows.get(4)).containsExactly(5L, 50.);
+  }
+
+  @Test
+  public void testBatchTriggerReceivesRowRanges() throws Exception {
+    final List<int[]> ranges = new ArrayList<>();
+    final List<Double> sums = new ArrayList<>();
+    final EventTrigger<AbstractSpec> trigger = new RowTrigger() {
+      @Override
+      public void trigger(final DataFrame events, final int fromIncl, final int toExcl) {
+        ranges.add(new int[]{fromIncl, toExcl});
+        final double[] values = events.getDoubles("value").values();
+        sums.add(Arrays.stream(values, fromIncl, toExcl).sum());
+      }
+    };
+    EventTriggerOperator.triggerInBatches(trigger, events(), 2);
+
+    assertThat(ranges).containsExactly(new int[]{0, 2}, new int[]{2, 4}, new int[]{4, 5});
+    assertThat(sums).containsExactly(30., 70., 50.);
+  }
+
+  private static class RowTrigger implements EventTrigger<AbstractSpec> {
+
+    private List<String> columnNames;
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @Override
+    public void init(final AbstractSpec spec) {
+    }
+
+    @Override
+    public void trigger(final List<String> columnNames, final Object[] event) {
+      this.columnNames = columnNames;
+      rows.add(event);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
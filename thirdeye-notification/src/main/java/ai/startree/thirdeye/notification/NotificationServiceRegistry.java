@@ -21,17 +21,16 @@ import ai.startree.thirdeye.spi.notification.NotificationServiceFactory;
 import com.google.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class NotificationServiceRegistry {
 
-  private final Map<String, NotificationServiceFactory> factoryMap = new HashMap<>();
+  private final Map<String, NotificationServiceFactory> factoryMap = new ConcurrentHashMap<>();
 
   public void addNotificationServiceFactory(NotificationServiceFactory f) {
-    checkState(!factoryMap.containsKey(f.name()),
+    checkState(factoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate NotificationServiceFactory: " + f.name());
-
-    factoryMap.put(f.name(), f);
   }
 
   public NotificationService get(
@@ -42,4 +41,8 @@ public class NotificationServiceRegistry {
         "Unable to load NotificationServiceFactory: " + name);
     return notificationServiceFactory.build(params);
   }
+
+  public void close() {
+    factoryMap.values().forEach(NotificationServiceFactory::close);
+  }
 }
@@ -31,7 +31,8 @@ import ai.startree.thirdeye.spi.detection.AnomalyResultSource;
 import ai.startree.thirdeye.spi.detection.ConfigUtils;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -89,6 +90,9 @@ public class SubscriptionGroupFilter {
   /**
    * Find anomalies for the given subscription group given an end time.
    *
+   * <p>The associated alerts are resolved in one query and the candidate anomalies of all
+   * associations are fetched in one query, independent of the number of alerts.
+   *
    * @param sg subscription group
    * @param endTime end time
    * @return set of anomalies
@@ -97,14 +101,29 @@ public class SubscriptionGroupFilter {
     final List<AlertAssociationDto> alertAssociations = optional(sg.getAlertAssociations())
         .orElseGet(() -> generate(sg));
 
+    final Set<Long> activeAlertIds = findActiveAlertIds(alertAssociations);
+    final List<AlertAssociationDto> activeAssociations = alertAssociations.stream()
+        .filter(aa -> activeAlertIds.contains(aa.getAlert().getId()))
+        .collect(Collectors.toList());
+    if (activeAssociations.isEmpty()) {
+      return Set.of();
+    }
+
     // Fetch all the anomalies to be notified to the recipients
     final Map<Long, Long> vectorClocks = newVectorClocks(alertAssociations, sg.getVectorClocks());
-    return alertAssociations.stream()
-        .filter(aa -> isAlertActive(aa.getAlert().getId()))
-        .map(alertAssociation -> findAnomaliesForAlertAssociation(alertAssociation,
-            vectorClocks,
-            endTime))
-        .flatMap(Collection::stream)
+    final Map<Long, Long> startTimes = new HashMap<>();
+    final List<AnomalyFilter> anomalyFilters = new ArrayList<>();
+    for (final AlertAssociationDto aa : activeAssociations) {
+      final long alertId = aa.getAlert().getId();
+      final long startTime = startTimes.computeIfAbsent(alertId,
+          id -> findStartTime(vectorClocks, endTime, id));
+      anomalyFilters.add(toAnomalyFilter(aa, startTime, endTime));
+    }
+
+    // every candidate matched one of the filters, so its alert has a start time
+    return anomalyManager.filter(anomalyFilters).stream()
+        .filter(anomaly -> anomaly != null
+            && shouldFilter(anomaly, startTimes.get(anomaly.getDetectionConfigId())))
         .collect(toSet());
   }
 
@@ -123,30 +142,31 @@ public class SubscriptionGroupFilter {
         .collect(Collectors.toList());
   }
 
-  private boolean isAlertActive(final long alertId) {
-    final AlertDTO alert = alertManager.findById(alertId);
-    return alert != null && alert.isActive();
+  private Set<Long> findActiveAlertIds(final List<AlertAssociationDto> alertAssociations) {
+    final List<Long> alertIds = alertAssociations.stream()
+        .map(aa -> aa.getAlert().getId())
+        .distinct()
+        .collect(Collectors.toList());
+    if (alertIds.isEmpty()) {
+      return Set.of();
+    }
+    return alertManager.findByIds(alertIds).stream()
+        .filter(alert -> alert != null && alert.isActive())
+        .map(AbstractDTO::getId)
+        .collect(toSet());
   }
 
-  private Set<AnomalyDTO> findAnomaliesForAlertAssociation(
-      final AlertAssociationDto aa,
-      final Map<Long, Long> vectorClocks,
+  private static AnomalyFilter toAnomalyFilter(final AlertAssociationDto aa,
+      final long startTime,
       final long endTime) {
-    final long alertId = aa.getAlert().getId();
-    final long startTime = findStartTime(vectorClocks, endTime, alertId);
-
     final AnomalyFilter anomalyFilter = new AnomalyFilter()
         .setCreateTimeWindow(new Interval(startTime + 1, endTime))
-        .setAlertId(alertId);
+        .setAlertId(aa.getAlert().getId());
 
     optional(aa.getEnumerationItem())
         .map(AbstractDTO::getId)
         .ifPresent(anomalyFilter::setEnumerationItemId);
 
-    final Collection<AnomalyDTO> candidates = anomalyManager.filter(anomalyFilter);
-
-    return candidates.stream()
-        .filter(anomaly -> shouldFilter(anomaly, startTime))
-        .collect(toSet());
+    return anomalyFilter;
   }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.spi.datalayer.AnomalyFilter;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.bao.AnomalyManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertAssociationDto;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.EnumerationItemDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.SubscriptionGroupDTO;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SubscriptionGroupFilterTest {
+
+  private static final long END_TIME = 1_000_000L;
+
+  private AnomalyManager anomalyManager;
+  private AlertManager alertManager;
+  private SubscriptionGroupFilter filter;
+
+  @BeforeMethod
+  public void setUp() {
+    anomalyManager = mock(AnomalyManager.class);
+    alertManager = mock(AlertManager.class);
+    filter = new SubscriptionGroupFilter(anomalyManager, alertManager);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testFilterUsesOneQueryForAlertsAndOneForAnomalies() {
+    final EnumerationItemDTO ei = new EnumerationItemDTO();
+    ei.setId(7L);
+    final SubscriptionGroupDTO sg = new SubscriptionGroupDTO()
+        .setAlertAssociations(List.of(
+            association(1L, null),
+            association(2L, ei),
+            association(3L, null)))
+        .setVectorClocks(Map.of(1L, END_TIME - 100, 2L, END_TIME - 200));
+
+    when(alertManager.findByIds(anyList())).thenReturn(List.of(
+        alert(1L, true),
+        alert(2L, true),
+        alert(3L, false)));
+
+    final AnomalyDTO fresh = anomaly(10L, 1L, END_TIME - 50);
+    final AnomalyDTO beforeWatermark = anomaly(11L, 1L, END_TIME - 150);
+    final AnomalyDTO otherAlert = anomaly(12L, 2L, END_TIME - 150);
+    final AnomalyDTO child = anomaly(13L, 2L, END_TIME - 10).setChild(true);
+    when(anomalyManager.filter(anyList())).thenReturn(List.of(
+        fresh, beforeWatermark, otherAlert, child));
+
+    final Set<AnomalyDTO> anomalies = filter.filter(sg, END_TIME);
+
+    assertThat(anomalies).containsExactlyInAnyOrder(fresh, otherAlert);
+    verify(alertManager, times(1)).findByIds(anyList());
+
+    final ArgumentCaptor<List<AnomalyFilter>> captor = ArgumentCaptor.forClass(List.class);
+    verify(anomalyManager, times(1)).filter(captor.capture());
+    final List<AnomalyFilter> filters = captor.getValue();
+    assertThat(filters.stream().map(AnomalyFilter::getAlertId).collect(Collectors.toList()))
+        .containsExactly(1L, 2L);
+    assertThat(filters.get(0).getEnumerationItemId()).isNull();
+    assertThat(filters.get(1).getEnumerationItemId()).isEqualTo(7L);
+    assertThat(filters.get(0).getCreateTimeWindow().getStartMillis()).isEqualTo(END_TIME - 99);
+  }
+
+  @Test
+  public void testFilterWithoutActiveAlertsSkipsAnomalyQuery() {
+    final SubscriptionGroupDTO sg = new SubscriptionGroupDTO()
+        .setAlertAssociations(List.of(association(1L, null)));
+    when(alertManager.findByIds(anyList())).thenReturn(List.of(alert(1L, false)));
+
+    assertThat(filter.filter(sg, END_TIME)).isEmpty();
+    verify(anomalyManager, times(0)).filter(anyList());
+  }
+
+  private static AlertAssociationDto association(final long alertId,
+      final EnumerationItemDTO enumerationItem) {
+    final AlertDTO alert = new AlertDTO();
+    alert.setId(alertId);
+    return new AlertAssociationDto()
+        .setAlert(alert)
+        .setEnumerationItem(enumerationItem);
+  }
+
+  private static AlertDTO alert(final long id, final boolean active) {
+    final AlertDTO alert = new AlertDTO();
+    alert.setId(id);
+    alert.setActive(active);
+    return alert;
+  }
+
+  private static AnomalyDTO anomaly(final long id, final long alertId, final long createTime) {
+    final AnomalyDTO anomaly = new AnomalyDTO().setDetectionConfigId(alertId);
+    anomaly.setId(id);
+    anomaly.setCreateTime(new Timestamp(createTime));
+    return anomaly;
+  }
+}
@@ -62,6 +62,13 @@ public class DatabaseService {
   public <E extends AbstractEntity> List<E> findAll(final Predicate predicate, final Long limit,
       final Long offset, final Class<E> clazz, final Connection connection)
       throws Exception {
+    return findAll(predicate, limit, offset, null, false, clazz, connection);
+  }
+
+  public <E extends AbstractEntity> List<E> findAll(final Predicate predicate, final Long limit,
+      final Long offset, final String orderByKey, final boolean desc, final Class<E> clazz,
+      final Connection connection)
+      throws Exception {
     final long tStart = System.nanoTime();
     try {
       try (final PreparedStatement selectStatement = sqlQueryBuilder
@@ -69,7 +76,9 @@ public class DatabaseService {
               clazz,
               predicate,
               limit,
-              offset)) {
+              offset,
+              orderByKey,
+              desc)) {
         try (final ResultSet resultSet = selectStatement.executeQuery()) {
           return genericResultSetMapper.mapAll(resultSet, clazz);
         }
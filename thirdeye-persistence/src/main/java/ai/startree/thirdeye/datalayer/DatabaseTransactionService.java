@@ -43,6 +43,19 @@ public class DatabaseTransactionService {
 
   public <T> T executeTransaction(final DBOperation<T> operation, final T defaultReturn)
       throws SQLException {
+    return executeTransaction(operation, defaultReturn, false);
+  }
+
+  /**
+   * Same as {@link #executeTransaction(DBOperation, Object)} but the transaction is rolled back and
+   * the exception is rethrown instead of returning a default value.
+   */
+  public <T> T executeTransactionOrThrow(final DBOperation<T> operation) throws SQLException {
+    return executeTransaction(operation, null, true);
+  }
+
+  private <T> T executeTransaction(final DBOperation<T> operation, final T defaultReturn,
+      final boolean rethrow) throws SQLException {
     dbCallCounter.inc();
     Connection connection = dataSource.getConnection();
     try {
@@ -62,6 +75,9 @@ public class DatabaseTransactionService {
           LOG.error("Failed to rollback SQL execution", e);
         }
       }
+      if (rethrow) {
+        throw e instanceof SQLException ? (SQLException) e : new SQLException(e);
+      }
       return defaultReturn;
     } finally {
       // Always close connection before leaving
@@ -49,6 +49,7 @@ import ai.startree.thirdeye.datalayer.entity.EntityToEntityMappingIndex;
 import ai.startree.thirdeye.datalayer.entity.EnumerationItemIndex;
 import ai.startree.thirdeye.datalayer.entity.EventIndex;
 import ai.startree.thirdeye.datalayer.entity.GenericJsonEntity;
+import ai.startree.thirdeye.datalayer.entity.GenericJsonEntityArchive;
 import ai.startree.thirdeye.datalayer.entity.JobIndex;
 import ai.startree.thirdeye.datalayer.entity.MergedAnomalyResultIndex;
 import ai.startree.thirdeye.datalayer.entity.MetricConfigIndex;
@@ -59,6 +60,7 @@ import ai.startree.thirdeye.datalayer.entity.RcaInvestigationIndex;
 import ai.startree.thirdeye.datalayer.entity.RootcauseTemplateIndex;
 import ai.startree.thirdeye.datalayer.entity.TaskEntity;
 import ai.startree.thirdeye.datalayer.entity.TaskIndex;
+import ai.startree.thirdeye.datalayer.util.DatabaseConfiguration;
 import ai.startree.thirdeye.datalayer.util.EntityMappingHolder;
 import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
 import ai.startree.thirdeye.spi.datalayer.bao.AlertSnapshotManager;
@@ -94,6 +96,7 @@ public class ThirdEyePersistenceModule extends AbstractModule {
   private static final List<Class<? extends AbstractEntity>> ENTITY_CLASSES = Arrays.asList(
       // Main data table
       GenericJsonEntity.class,
+      GenericJsonEntityArchive.class,
 
       // All index tables
       AlertTemplateIndex.class,
@@ -120,9 +123,16 @@ public class ThirdEyePersistenceModule extends AbstractModule {
   );
 
   private final DataSource dataSource;
+  private final DatabaseConfiguration databaseConfiguration;
 
   public ThirdEyePersistenceModule(DataSource dataSource) {
+    this(dataSource, new DatabaseConfiguration());
+  }
+
+  public ThirdEyePersistenceModule(final DataSource dataSource,
+      final DatabaseConfiguration databaseConfiguration) {
     this.dataSource = dataSource;
+    this.databaseConfiguration = databaseConfiguration;
   }
 
   public static String camelCaseToUnderscore(String str) {
@@ -133,6 +143,7 @@ public class ThirdEyePersistenceModule extends AbstractModule {
   protected void configure() {
     bind(javax.sql.DataSource.class).toInstance(dataSource);
     bind(DataSource.class).toInstance(dataSource);
+    bind(DatabaseConfiguration.class).toInstance(databaseConfiguration);
 
     bind(AnomalyManager.class).to(AnomalyManagerImpl.class).in(
         Scopes.SINGLETON);
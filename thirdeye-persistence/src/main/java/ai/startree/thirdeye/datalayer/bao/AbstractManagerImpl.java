@@ -22,11 +22,20 @@ import com.google.inject.persist.Transactional;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class AbstractManagerImpl<E extends AbstractDTO> implements AbstractManager<E> {
 
+  private static final Logger LOG = LoggerFactory.getLogger(AbstractManagerImpl.class);
+  // max number of entities fetched per round trip when streaming
+  private static final int STREAM_CHUNK_SIZE = 500;
+
   protected final GenericPojoDao genericPojoDao;
   private final Class<? extends AbstractDTO> dtoClass;
 
@@ -64,6 +73,11 @@ public abstract class AbstractManagerImpl<E extends AbstractDTO> implements Abst
     return genericPojoDao.update(entities);
   }
 
+  @Override
+  public int saveAll(final List<E> entities) {
+    return genericPojoDao.upsert(entities);
+  }
+
   @Override
   public E findById(final Long id) {
     return (E) genericPojoDao.get(id, dtoClass);
@@ -109,6 +123,82 @@ public abstract class AbstractManagerImpl<E extends AbstractDTO> implements Abst
     return deleteByPredicate(timestampPredicate);
   }
 
+  @Override
+  public int deleteByPredicateInBatches(final Predicate predicate, final int batchSize,
+      final long pauseMillis) {
+    return deleteInBatches(() -> genericPojoDao.filterIds(new DaoFilter()
+            .setPredicate(predicate)
+            .setBeanClass(dtoClass)
+            .setLimit((long) batchSize)),
+        ids -> genericPojoDao.delete(ids, dtoClass),
+        batchSize,
+        pauseMillis);
+  }
+
+  /**
+   * Move the entities matching the predicate to the archive, in chunks of at most batchSize
+   * entities.
+   *
+   * @see GenericPojoDao#archive(List, Class)
+   */
+  protected int archiveByPredicateInBatches(final Predicate predicate, final int batchSize,
+      final long pauseMillis) {
+    return deleteInBatches(() -> genericPojoDao.filterIds(new DaoFilter()
+            .setPredicate(predicate)
+            .setBeanClass(dtoClass)
+            .setLimit((long) batchSize)),
+        ids -> genericPojoDao.archive(ids, dtoClass),
+        batchSize,
+        pauseMillis);
+  }
+
+  /**
+   * Delete the archived entities created before the given time, in chunks of at most batchSize
+   * entities.
+   */
+  protected int deleteArchivedInBatches(final Timestamp createdBefore, final int batchSize,
+      final long pauseMillis) {
+    return deleteInBatches(() -> genericPojoDao.findArchiveIdsCreatedBefore(createdBefore,
+            dtoClass,
+            batchSize),
+        genericPojoDao::deleteArchives,
+        batchSize,
+        pauseMillis);
+  }
+
+  /**
+   * Fetch ids with nextBatch and delete them until there is nothing left to delete.
+   * Stops early if a chunk could not be deleted, to avoid looping on the same ids forever.
+   */
+  static int deleteInBatches(final Supplier<List<Long>> nextBatch,
+      final ToIntFunction<List<Long>> deleteFn,
+      final int batchSize,
+      final long pauseMillis) {
+    int totalDeleted = 0;
+    while (true) {
+      final List<Long> ids = nextBatch.get();
+      if (ids.isEmpty()) {
+        break;
+      }
+      final int deleted = deleteFn.applyAsInt(ids);
+      totalDeleted += deleted;
+      if (deleted == 0 || ids.size() < batchSize) {
+        break;
+      }
+      if (pauseMillis > 0) {
+        try {
+          Thread.sleep(pauseMillis);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          LOG.warn("Interrupted while deleting in batches. Deleted {} entities so far.",
+              totalDeleted);
+          break;
+        }
+      }
+    }
+    return totalDeleted;
+  }
+
   @Override
   public List<E> findAll() {
     return (List<E>) genericPojoDao.getAll(dtoClass);
@@ -129,6 +219,23 @@ public abstract class AbstractManagerImpl<E extends AbstractDTO> implements Abst
     return genericPojoDao.filter(daoFilter.setBeanClass(dtoClass));
   }
 
+  @Override
+  public Stream<E> streamAll() {
+    return stream(new DaoFilter());
+  }
+
+  @Override
+  public Stream<E> stream(final DaoFilter daoFilter) {
+    return streamChunks(daoFilter).flatMap(List::stream);
+  }
+
+  /**
+   * Entities matching the filter, read from the database by chunks while the stream is consumed.
+   */
+  protected Stream<List<E>> streamChunks(final DaoFilter daoFilter) {
+    return genericPojoDao.streamChunks(daoFilter.setBeanClass(dtoClass), STREAM_CHUNK_SIZE);
+  }
+
   @Override
   public long count() {
     return genericPojoDao.count(dtoClass);
@@ -44,6 +44,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.collections4.CollectionUtils;
 import org.joda.time.base.AbstractInterval;
 import org.slf4j.Logger;
@@ -82,6 +83,13 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
     return decorateWithFeedback(anomalies);
   }
 
+  @Override
+  public Stream<AnomalyDTO> stream(final DaoFilter daoFilter) {
+    return streamChunks(daoFilter)
+        .map(this::decorateWithFeedback)
+        .flatMap(List::stream);
+  }
+
   @Override
   public Long save(final AnomalyDTO anomalyDTO) {
     if (anomalyDTO.getId() != null) {
@@ -390,6 +398,23 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
 
   @Override
   public List<AnomalyDTO> filter(final AnomalyFilter af) {
+    final List<AnomalyDTO> list = filter(new DaoFilter().setPredicate(toPredicate(af)));
+    return decorate(list);
+  }
+
+  @Override
+  public List<AnomalyDTO> filter(final List<AnomalyFilter> anomalyFilters) {
+    if (anomalyFilters.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final Predicate predicate = Predicate.OR(anomalyFilters.stream()
+        .map(AnomalyManagerImpl::toPredicate)
+        .toArray(Predicate[]::new));
+    final List<AnomalyDTO> list = filter(new DaoFilter().setPredicate(predicate));
+    return decorate(list);
+  }
+
+  private static Predicate toPredicate(final AnomalyFilter af) {
     final List<Predicate> predicates = new ArrayList<>();
 
     optional(af.getCreateTimeWindow())
@@ -412,8 +437,22 @@ public class AnomalyManagerImpl extends AbstractManagerImpl<AnomalyDTO>
         .map(id -> Predicate.EQ("enumerationItemId", id))
         .ifPresent(predicates::add);
 
-    final Predicate predicate = Predicate.AND(predicates.toArray(new Predicate[]{}));
-    final List<AnomalyDTO> list = filter(new DaoFilter().setPredicate(predicate));
-    return decorate(list);
+    return Predicate.AND(predicates.toArray(new Predicate[]{}));
+  }
+
+  @Override
+  public int archiveRecordsOlderThanDays(final int days, final int batchSize,
+      final long pauseMillis) {
+    final long expireTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+    return archiveByPredicateInBatches(Predicate.LT("endTime", expireTime),
+        batchSize,
+        pauseMillis);
+  }
+
+  @Override
+  public int deleteArchivedRecordsOlderThanDays(final int days, final int batchSize,
+      final long pauseMillis) {
+    final long expireTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+    return deleteArchivedInBatches(new Timestamp(expireTime), batchSize, pauseMillis);
   }
 }
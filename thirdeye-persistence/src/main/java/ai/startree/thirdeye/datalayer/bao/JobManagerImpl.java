@@ -70,7 +70,8 @@ public class JobManagerImpl extends AbstractManagerImpl<JobDTO> implements JobMa
         jobDTO.setStatus(newStatus);
         jobDTO.setScheduleEndTime(newEndTime);
       }
-      update(jobsToUpdate);
+      // single transaction
+      saveAll(jobsToUpdate);
     }
   }
 
@@ -85,6 +86,18 @@ public class JobManagerImpl extends AbstractManagerImpl<JobDTO> implements JobMa
     return deleteByPredicate(Predicate.AND(statusPredicate, timestampPredicate));
   }
 
+  @Override
+  public int deleteRecordsOlderThanDaysWithStatus(final int days, final JobStatus status,
+      final int batchSize, final long pauseMillis) {
+    final DateTime expireDate = new DateTime(DateTimeZone.UTC).minusDays(days);
+    final Timestamp expireTimestamp = new Timestamp(expireDate.getMillis());
+    final Predicate statusPredicate = Predicate.EQ("status", status.toString());
+    final Predicate timestampPredicate = Predicate.LT("updateTime", expireTimestamp);
+    return deleteByPredicateInBatches(Predicate.AND(statusPredicate, timestampPredicate),
+        batchSize,
+        pauseMillis);
+  }
+
   @Override
   public List<JobDTO> findNRecentJobs(int n) {
     String parameterizedSQL = "order by scheduleStartTime desc limit " + n;
@@ -38,6 +38,7 @@ import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -170,6 +171,22 @@ public class TaskManagerImpl implements TaskManager {
     }
   }
 
+  @Override
+  public int updateStatusAndTaskEndTime(final List<TaskDTO> tasks, final TaskStatus oldStatus,
+      final TaskStatus newStatus, final Long taskEndTime, final String message) {
+    final List<TaskDTO> tasksToUpdate = new ArrayList<>(tasks.size());
+    for (final TaskDTO task : tasks) {
+      if (oldStatus.equals(task.getStatus())) {
+        task.setStatus(newStatus);
+        task.setEndTime(taskEndTime);
+        task.setMessage(message);
+        tasksToUpdate.add(task);
+      }
+    }
+    // the status guard makes sure a task that completed in the meantime is not overwritten
+    return dao.update(tasksToUpdate, Predicate.EQ("status", oldStatus.toString()));
+  }
+
   @Override
   public void updateTaskStartTime(final Long id, final Long taskStartTime) {
     final TaskDTO task = findById(id);
@@ -195,6 +212,19 @@ public class TaskManagerImpl implements TaskManager {
     return deleteByPredicate(Predicate.AND(statusPredicate, timestampPredicate));
   }
 
+  @Override
+  public int deleteRecordsOlderThanDaysWithStatus(final int days, final TaskStatus status,
+      final int batchSize, final long pauseMillis) {
+    final DateTime expireDate = new DateTime(DateTimeZone.UTC).minusDays(days);
+    final Timestamp expireTimestamp = new Timestamp(expireDate.getMillis());
+
+    final Predicate timestampPredicate = Predicate.LT("createTime", expireTimestamp);
+    final Predicate statusPredicate = Predicate.EQ("status", status.toString());
+    return deleteByPredicateInBatches(Predicate.AND(statusPredicate, timestampPredicate),
+        batchSize,
+        pauseMillis);
+  }
+
   @Override
   public List<TaskDTO> findByStatusWithinDays(final TaskStatus status, final int days) {
     final DateTime activeDate = new DateTime(DateTimeZone.UTC).minusDays(days);
@@ -204,6 +234,15 @@ public class TaskManagerImpl implements TaskManager {
     return findByPredicate(Predicate.AND(statusPredicate, timestampPredicate));
   }
 
+  @Override
+  public Set<Long> findJobIdsByStatusWithinDays(final TaskStatus status, final int days) {
+    final DateTime activeDate = new DateTime(DateTimeZone.UTC).minusDays(days);
+    final Timestamp activeTimestamp = new Timestamp(activeDate.getMillis());
+    final Predicate statusPredicate = Predicate.EQ("status", status.toString());
+    final Predicate timestampPredicate = Predicate.GE("createTime", activeTimestamp);
+    return dao.findJobIds(Predicate.AND(statusPredicate, timestampPredicate));
+  }
+
   @Override
   public List<TaskDTO> findByStatusesAndTypeWithinDays(final List<TaskStatus> statuses,
       final TaskType type, final int days) {
@@ -391,6 +430,15 @@ public class TaskManagerImpl implements TaskManager {
     return dao.deleteByPredicate(predicate);
   }
 
+  @Override
+  public int deleteByPredicateInBatches(final Predicate predicate, final int batchSize,
+      final long pauseMillis) {
+    return AbstractManagerImpl.deleteInBatches(() -> dao.findIds(predicate, batchSize),
+        dao::delete,
+        batchSize,
+        pauseMillis);
+  }
+
   @Override
   @Transactional
   public int deleteRecordsOlderThanDays(final int days) {
@@ -17,6 +17,7 @@ import static ai.startree.thirdeye.datalayer.dao.SubEntities.BEAN_INDEX_MAP;
 import static ai.startree.thirdeye.datalayer.mapper.DtoIndexMapper.toAbstractIndexEntity;
 import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.toDto;
 import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.toGenericJsonEntity;
+import static ai.startree.thirdeye.datalayer.mapper.GenericJsonEntityDtoMapper.toJsonString;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Collections.emptyList;
@@ -27,23 +28,32 @@ import ai.startree.thirdeye.datalayer.DatabaseTransactionService;
 import ai.startree.thirdeye.datalayer.entity.AbstractEntity;
 import ai.startree.thirdeye.datalayer.entity.AbstractIndexEntity;
 import ai.startree.thirdeye.datalayer.entity.GenericJsonEntity;
+import ai.startree.thirdeye.datalayer.entity.GenericJsonEntityArchive;
 import ai.startree.thirdeye.datalayer.entity.SubEntityType;
+import ai.startree.thirdeye.datalayer.mapper.JsonValCodec;
+import ai.startree.thirdeye.datalayer.util.DatabaseConfiguration;
 import ai.startree.thirdeye.spi.ThirdEyeException;
 import ai.startree.thirdeye.spi.ThirdEyeStatus;
 import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.lang.reflect.Field;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.apache.commons.collections4.CollectionUtils;
 import org.reflections.ReflectionUtils;
 import org.slf4j.Logger;
@@ -57,12 +67,17 @@ public class GenericPojoDao {
 
   private final DatabaseService databaseService;
   private final DatabaseTransactionService transactionService;
+  private final Set<String> compressedEntityTypes;
+  private final Set<String> archivedEntityTypes;
 
   @Inject
   public GenericPojoDao(final DatabaseService databaseService,
-      final DatabaseTransactionService transactionService) {
+      final DatabaseTransactionService transactionService,
+      final DatabaseConfiguration databaseConfiguration) {
     this.databaseService = databaseService;
     this.transactionService = transactionService;
+    compressedEntityTypes = Set.copyOf(databaseConfiguration.getCompressedEntityTypes());
+    archivedEntityTypes = Set.copyOf(databaseConfiguration.getArchivedEntityTypes());
 
     checkState(BEAN_INDEX_MAP.size() == SubEntities.BEAN_TYPE_MAP.size(),
         "Entity Metadata is inconsistent!");
@@ -92,23 +107,7 @@ public class GenericPojoDao {
       pojo.setCreateTime(new Timestamp(System.currentTimeMillis()));
     }
     try {
-      return transactionService.executeTransaction((connection) -> {
-        final GenericJsonEntity e = toGenericJsonEntity(pojo);
-        final Class<? extends AbstractIndexEntity> indexClass = BEAN_INDEX_MAP.get(pojo.getClass());
-        final Long generatedKey = databaseService.save(e, connection);
-        pojo.setId(generatedKey);
-        if (indexClass != null) {
-          final AbstractIndexEntity abstractIndexEntity = toAbstractIndexEntity(
-              pojo,
-              indexClass,
-              e.getJsonVal());
-          abstractIndexEntity.setVersion(1);
-          abstractIndexEntity.setCreateTime(pojo.getCreateTime());
-          return databaseService.save(abstractIndexEntity, connection);
-        } else {
-          return pojo.getId();
-        }
-      }, null);
+      return transactionService.executeTransaction((connection) -> insert(pojo, connection), null);
     } catch (SQLException e) {
       LOG.error(e.getMessage(), e);
       return null;
@@ -126,6 +125,7 @@ public class GenericPojoDao {
    * method will
    * update the entries one-by-one (i.e., in separated transactions) and skip the one that causes
    * exceptions.
+   * Throws before writing anything if one of the pojos is archived.
    *
    * @param pojos the pojo to be updated, whose ID cannot be null; otherwise, it will be
    *     ignored.
@@ -135,6 +135,7 @@ public class GenericPojoDao {
     if (CollectionUtils.isEmpty(pojos)) {
       return 0;
     }
+    checkNotArchived(pojos);
     int updateCounter = 0;
     for (final E pojo : pojos) {
       try {
@@ -153,31 +154,127 @@ public class GenericPojoDao {
     final Timestamp lastUpdateTime = pojo.getUpdateTime();
     pojo.setUpdateTime(new Timestamp(System.currentTimeMillis()));
 
+    final int ret;
     try {
-      final GenericJsonEntity genericJsonEntity = toGenericJsonEntity(pojo);
-      final Class<? extends AbstractIndexEntity> indexClass = BEAN_INDEX_MAP.get(pojo.getClass());
-      return transactionService.executeTransaction((connection) -> {
-        Integer ret = databaseService.update(genericJsonEntity, predicate, connection);
-        //update indexes
-        if (ret == 1) {
-          if (indexClass != null) {
-            final AbstractIndexEntity abstractIndexEntity = toAbstractIndexEntity(pojo,
-                indexClass,
-                genericJsonEntity.getJsonVal());
-            //updates all columns in the index table by default
-            ret = databaseService.update(abstractIndexEntity, null, connection);
-          }
-        }
-        if (ret > 1) {
-          throw new ThirdEyeException(ThirdEyeStatus.ERR_UNKNOWN, "Too many rows updated");
-        }
-        return ret;
-      }, 0);
+      final String jsonVal = toJsonString(pojo);
+      ret = transactionService.executeTransaction(
+          (connection) -> update(pojo, jsonVal, predicate, connection),
+          0);
     } catch (final Exception e) {
       pojo.setUpdateTime(lastUpdateTime);
       LOG.error("Could not update entity : {}", pojo, e);
       return 0;
     }
+    if (ret == 0) {
+      checkNotArchived(List.of(pojo));
+    }
+    return ret;
+  }
+
+  /**
+   * Create the pojos without id and update the pojos with an id, in a single transaction.
+   * If any entry fails, the whole transaction is rolled back and the pojos are left unchanged.
+   *
+   * @return the number of entities created or updated.
+   */
+  public <E extends AbstractDTO> int upsert(final List<E> pojos) {
+    if (CollectionUtils.isEmpty(pojos)) {
+      return 0;
+    }
+    final Timestamp now = new Timestamp(System.currentTimeMillis());
+    final List<E> created = new ArrayList<>();
+    final List<E> updated = new ArrayList<>();
+    final List<Timestamp> lastUpdateTimes = new ArrayList<>();
+    for (final E pojo : pojos) {
+      if (pojo.getId() == null) {
+        created.add(pojo);
+        if (pojo.getCreateTime() == null) {
+          pojo.setCreateTime(now);
+        }
+      } else {
+        updated.add(pojo);
+        lastUpdateTimes.add(pojo.getUpdateTime());
+        pojo.setUpdateTime(now);
+      }
+    }
+
+    Integer count = null;
+    try {
+      count = transactionService.executeTransaction((connection) -> {
+        for (final E pojo : updated) {
+          final int ret = update(pojo, toJsonString(pojo), null, connection);
+          checkState(ret == 1, "Could not update entity: %s", pojo);
+        }
+        for (final E pojo : created) {
+          insert(pojo, connection);
+        }
+        return pojos.size();
+      }, null);
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+    }
+    if (count == null) {
+      // rolled back: restore the state of the pojos
+      created.forEach(pojo -> pojo.setId(null));
+      for (int i = 0; i < updated.size(); i++) {
+        updated.get(i).setUpdateTime(lastUpdateTimes.get(i));
+      }
+      checkNotArchived(updated);
+      return 0;
+    }
+    return count;
+  }
+
+  private <E extends AbstractDTO> Long insert(final E pojo, final Connection connection)
+      throws Exception {
+    final String jsonVal = toJsonString(pojo);
+    final GenericJsonEntity e = toGenericJsonEntity(pojo, encode(pojo, jsonVal));
+    final Class<? extends AbstractIndexEntity> indexClass = BEAN_INDEX_MAP.get(pojo.getClass());
+    final Long generatedKey = databaseService.save(e, connection);
+    pojo.setId(generatedKey);
+    if (indexClass != null) {
+      final AbstractIndexEntity abstractIndexEntity = toAbstractIndexEntity(
+          pojo,
+          indexClass,
+          jsonVal);
+      abstractIndexEntity.setVersion(1);
+      abstractIndexEntity.setCreateTime(pojo.getCreateTime());
+      return databaseService.save(abstractIndexEntity, connection);
+    } else {
+      return pojo.getId();
+    }
+  }
+
+  private <E extends AbstractDTO> int update(final E pojo, final String jsonVal,
+      final Predicate predicate, final Connection connection) throws Exception {
+    final GenericJsonEntity genericJsonEntity = toGenericJsonEntity(pojo, encode(pojo, jsonVal));
+    final Class<? extends AbstractIndexEntity> indexClass = BEAN_INDEX_MAP.get(pojo.getClass());
+    Integer ret = databaseService.update(genericJsonEntity, predicate, connection);
+    //update indexes
+    if (ret == 1) {
+      if (indexClass != null) {
+        final AbstractIndexEntity abstractIndexEntity = toAbstractIndexEntity(pojo,
+            indexClass,
+            jsonVal);
+        //updates all columns in the index table by default
+        ret = databaseService.update(abstractIndexEntity, null, connection);
+      }
+    }
+    if (ret > 1) {
+      throw new ThirdEyeException(ThirdEyeStatus.ERR_UNKNOWN, "Too many rows updated");
+    }
+    return ret;
+  }
+
+  /**
+   * Value stored in json_val. Index tables always get the plain json, because some of them
+   * index it.
+   */
+  private <E extends AbstractDTO> String encode(final E pojo, final String jsonVal) {
+    if (compressedEntityTypes.contains(SubEntities.getType(pojo.getClass()))) {
+      return JsonValCodec.compress(jsonVal);
+    }
+    return jsonVal;
   }
 
   public <E extends AbstractDTO> List<E> list(final Class<E> beanClass, final long limit,
@@ -235,7 +332,7 @@ public class GenericPojoDao {
           (connection) -> databaseService.find(id, GenericJsonEntity.class, connection),
           null);
       if (genericJsonEntity == null) {
-        return null;
+        return isArchiveEnabled(pojoClass) ? getArchived(id, pojoClass) : null;
       }
       final String type = SubEntities.getType(pojoClass);
       /* Object with id just not match type. Hence, return null */
@@ -267,13 +364,31 @@ public class GenericPojoDao {
 
   public <E extends AbstractDTO> List<E> get(final List<Long> idList, final Class<E> pojoClass) {
     try {
-      return filter(pojoClass, Predicate.IN("id", idList.toArray()));
+      return getOrThrow(idList, pojoClass);
     } catch (final JsonProcessingException | SQLException e) {
       LOG.error(e.getMessage(), e);
       return emptyList();
     }
   }
 
+  private <E extends AbstractDTO> List<E> getOrThrow(final List<Long> idList,
+      final Class<E> pojoClass) throws JsonProcessingException, SQLException {
+    final List<E> results = filter(pojoClass, Predicate.IN("id", idList.toArray()));
+    if (results.size() < idList.size() && isArchiveEnabled(pojoClass)) {
+      // look for the missing entities in the archive
+      final Set<Long> found = new HashSet<>();
+      results.forEach(e -> found.add(e.getId()));
+      final List<Long> missing = new ArrayList<>();
+      for (final Long id : idList) {
+        if (!found.contains(id)) {
+          missing.add(id);
+        }
+      }
+      results.addAll(getArchivedOrThrow(missing, pojoClass));
+    }
+    return results;
+  }
+
   public <E extends AbstractDTO> List<E> getAll(final Class<E> pojoClass) {
     try {
       return filter(pojoClass, Predicate.EQ("type", SubEntities.getType(pojoClass)));
@@ -286,12 +401,12 @@ public class GenericPojoDao {
   private <E extends AbstractDTO> List<E> filter(final Class<E> pojoClass,
       final Predicate predicate)
       throws SQLException, JsonProcessingException {
-    final List<GenericJsonEntity> entities = transactionService.executeTransaction(
+    final List<GenericJsonEntity> entities = transactionService.executeTransactionOrThrow(
         (connection) -> databaseService.findAll(predicate,
             null,
             null,
             GenericJsonEntity.class,
-            connection), emptyList());
+            connection));
     final List<E> results = new ArrayList<>();
     if (CollectionUtils.isNotEmpty(entities)) {
       for (final GenericJsonEntity entity : entities) {
@@ -318,7 +433,62 @@ public class GenericPojoDao {
     if (ids.isEmpty()) {
       return emptyList();
     }
-    return (List<E>) get(ids, beanClass);
+    final List<E> results = (List<E>) get(ids, beanClass);
+    if (daoFilter.getOrderByKey() == null) {
+      return results;
+    }
+    return inIdsOrder(ids, results);
+  }
+
+  /**
+   * Lazy version of {@link #filter(DaoFilter)}. Only the ids matching the filter are read
+   * upfront. Entities are fetched by chunks of chunkSize ids while the stream is consumed, so
+   * the memory used does not grow with the number of results. Entities come in the order of the
+   * index query. A chunk that cannot be read fails the stream with a ThirdEyeException, instead
+   * of being returned empty.
+   *
+   * @param daoFilter required filters to filter the result
+   * @param chunkSize max number of entities fetched per round trip
+   * @return a stream of chunks of entities
+   */
+  @SuppressWarnings("unchecked")
+  public <E extends AbstractDTO> Stream<List<E>> streamChunks(final DaoFilter daoFilter,
+      final int chunkSize) {
+    checkArgument(chunkSize > 0, "chunkSize must be positive");
+    final Class<E> beanClass = (Class<E>) daoFilter.getBeanClass();
+    final List<Long> ids = filterIds(daoFilter);
+    return Lists.partition(ids, chunkSize).stream()
+        .map(chunk -> inIdsOrder(chunk, getChunk(chunk, beanClass)));
+  }
+
+  private <E extends AbstractDTO> List<E> getChunk(final List<Long> ids,
+      final Class<E> beanClass) {
+    try {
+      return getOrThrow(ids, beanClass);
+    } catch (final JsonProcessingException | SQLException e) {
+      throw new ThirdEyeException(e, ThirdEyeStatus.ERR_UNKNOWN,
+          "Failed to read entities: " + ids);
+    }
+  }
+
+  /**
+   * The json table lookup by ids does not keep the order of the index query. Returns the results
+   * in the order of ids.
+   */
+  private static <E extends AbstractDTO> List<E> inIdsOrder(final List<Long> ids,
+      final List<E> results) {
+    final Map<Long, E> resultsById = new HashMap<>(results.size());
+    for (final E result : results) {
+      resultsById.put(result.getId(), result);
+    }
+    final List<E> orderedResults = new ArrayList<>(results.size());
+    for (final Long id : ids) {
+      final E result = resultsById.get(id);
+      if (result != null) {
+        orderedResults.add(result);
+      }
+    }
+    return orderedResults;
   }
 
   /**
@@ -380,6 +550,8 @@ public class GenericPojoDao {
           (connection) -> databaseService.findAll(daoFilter.getPredicate(),
               daoFilter.getLimit(),
               daoFilter.getOffset(),
+              daoFilter.getOrderByKey(),
+              daoFilter.isDesc(),
               indexClass,
               connection), emptyList());
       final List<Long> idsToReturn = new ArrayList<>();
@@ -431,13 +603,20 @@ public class GenericPojoDao {
     try {
       return transactionService.executeTransaction((connection) -> {
         // delete entry from base table
-        databaseService.delete(
+        final int deleted = databaseService.delete(
             Predicate.IN(databaseService.getIdColumnName(GenericJsonEntity.class),
                 idsToDelete.toArray()),
             GenericJsonEntity.class,
             connection);
+        // an entity is either in the base table or in the archive
+        int archivedDeleted = 0;
+        if (deleted < idsToDelete.size() && isArchiveEnabled(pojoClass)) {
+          archivedDeleted = databaseService.delete(Predicate.IN("baseId", idsToDelete.toArray()),
+              GenericJsonEntityArchive.class,
+              connection);
+        }
         // delete entry from index table
-        return databaseService.delete(
+        return archivedDeleted + databaseService.delete(
             Predicate.IN(databaseService.getIdColumnName(indexEntityClass), idsToDelete.toArray()),
             indexEntityClass,
             connection);
@@ -448,6 +627,182 @@ public class GenericPojoDao {
     }
   }
 
+  /**
+   * Move entities to the archive table. Archived entities are removed from the main and index
+   * tables, so that queries on recent data do not scan them anymore. They can still be read by
+   * id with {@link #get(Long, Class)} and {@link #get(List, Class)}.
+   *
+   * @return the number of archived entities
+   */
+  public <E extends AbstractDTO> int archive(final List<Long> ids, final Class<E> pojoClass) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return 0;
+    }
+    if (!isArchiveEnabled(pojoClass)) {
+      // archived entities would not be found by id anymore
+      LOG.warn("Archive is not enabled for {}. Add {} to database.archivedEntityTypes.",
+          pojoClass.getSimpleName(),
+          SubEntities.getType(pojoClass));
+      return 0;
+    }
+    final Class<? extends AbstractIndexEntity> indexEntityClass = BEAN_INDEX_MAP.get(pojoClass);
+    try {
+      return transactionService.executeTransaction((connection) -> {
+        final List<GenericJsonEntity> entities = databaseService.findAll(
+            Predicate.IN(databaseService.getIdColumnName(GenericJsonEntity.class), ids.toArray()),
+            null,
+            null,
+            GenericJsonEntity.class,
+            connection);
+        if (entities.isEmpty()) {
+          return 0;
+        }
+        final Object[] archivedIds = new Object[entities.size()];
+        for (int i = 0; i < entities.size(); i++) {
+          final GenericJsonEntity entity = entities.get(i);
+          final GenericJsonEntityArchive archive = new GenericJsonEntityArchive()
+              .setBaseId(entity.getId());
+          archive.setJsonVal(entity.getJsonVal())
+              .setType(entity.getType())
+              .setCreateTime(entity.getCreateTime())
+              .setUpdateTime(entity.getUpdateTime())
+              .setVersion(entity.getVersion());
+          databaseService.save(archive, connection);
+          archivedIds[i] = entity.getId();
+        }
+        if (indexEntityClass != null) {
+          databaseService.delete(
+              Predicate.IN(databaseService.getIdColumnName(indexEntityClass), archivedIds),
+              indexEntityClass,
+              connection);
+        }
+        return databaseService.delete(
+            Predicate.IN(databaseService.getIdColumnName(GenericJsonEntity.class), archivedIds),
+            GenericJsonEntity.class,
+            connection);
+      }, 0);
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return 0;
+    }
+  }
+
+  /**
+   * Ids of the archive rows of the given type that were created before the given time. Returns at
+   * most limit ids.
+   */
+  public <E extends AbstractDTO> List<Long> findArchiveIdsCreatedBefore(final Timestamp time,
+      final Class<E> pojoClass, final long limit) {
+    try {
+      final List<GenericJsonEntityArchive> archives = transactionService.executeTransaction(
+          (connection) -> databaseService.findAll(
+              Predicate.AND(Predicate.EQ("type", SubEntities.getType(pojoClass)),
+                  Predicate.LT("createTime", time)),
+              limit,
+              null,
+              GenericJsonEntityArchive.class,
+              connection),
+          emptyList());
+      final List<Long> ids = new ArrayList<>(archives.size());
+      for (final GenericJsonEntityArchive archive : archives) {
+        ids.add(archive.getId());
+      }
+      return ids;
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return emptyList();
+    }
+  }
+
+  /**
+   * Delete archive rows. The ids are the ids of the archive rows, not the base ids.
+   */
+  public int deleteArchives(final List<Long> archiveIds) {
+    if (CollectionUtils.isEmpty(archiveIds)) {
+      return 0;
+    }
+    try {
+      return transactionService.executeTransaction(
+          (connection) -> databaseService.delete(
+              Predicate.IN(databaseService.getIdColumnName(GenericJsonEntityArchive.class),
+                  archiveIds.toArray()),
+              GenericJsonEntityArchive.class,
+              connection),
+          0);
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return 0;
+    }
+  }
+
+  private boolean isArchiveEnabled(final Class<? extends AbstractDTO> pojoClass) {
+    return archivedEntityTypes.contains(SubEntities.getType(pojoClass));
+  }
+
+  /**
+   * Archived entities are read-only. Throws if one of the pojos is archived.
+   */
+  private <E extends AbstractDTO> void checkNotArchived(final List<E> pojos) {
+    if (pojos.isEmpty() || !isArchiveEnabled(pojos.get(0).getClass())) {
+      return;
+    }
+    final Object[] ids = pojos.stream().map(AbstractDTO::getId).toArray();
+    final String type = SubEntities.getType(pojos.get(0).getClass());
+    final long archivedCount;
+    try {
+      archivedCount = transactionService.executeTransaction(
+          (connection) -> databaseService.count(
+              Predicate.AND(Predicate.IN("baseId", ids), Predicate.EQ("type", type)),
+              GenericJsonEntityArchive.class,
+              connection),
+          0L);
+    } catch (final SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return;
+    }
+    if (archivedCount > 0) {
+      throw new ThirdEyeException(ThirdEyeStatus.ERR_OPERATION_UNSUPPORTED,
+          String.format("Archived entities are read-only. ids: %s", Arrays.toString(ids)));
+    }
+  }
+
+  private <E extends AbstractDTO> E getArchived(final Long id, final Class<E> pojoClass) {
+    final List<E> archived = getArchived(List.of(id), pojoClass);
+    return archived.isEmpty() ? null : archived.get(0);
+  }
+
+  private <E extends AbstractDTO> List<E> getArchived(final List<Long> ids,
+      final Class<E> pojoClass) {
+    try {
+      return getArchivedOrThrow(ids, pojoClass);
+    } catch (final JsonProcessingException | SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return new ArrayList<>();
+    }
+  }
+
+  private <E extends AbstractDTO> List<E> getArchivedOrThrow(final List<Long> ids,
+      final Class<E> pojoClass) throws JsonProcessingException, SQLException {
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    final String type = SubEntities.getType(pojoClass);
+    final List<GenericJsonEntityArchive> archives = transactionService.executeTransactionOrThrow(
+        (connection) -> databaseService.findAll(
+            Predicate.AND(Predicate.IN("baseId", ids.toArray()), Predicate.EQ("type", type)),
+            null,
+            null,
+            GenericJsonEntityArchive.class,
+            connection));
+    final List<E> results = new ArrayList<>(archives.size());
+    for (final GenericJsonEntityArchive archive : archives) {
+      final E e = toDto(archive, pojoClass);
+      e.setId(archive.getBaseId());
+      results.add(e);
+    }
+    return results;
+  }
+
   public <E extends AbstractDTO> int deleteByPredicate(final Predicate predicate,
       final Class<E> pojoClass) {
     final List<Long> idsToDelete = getIdsByPredicate(predicate, pojoClass);
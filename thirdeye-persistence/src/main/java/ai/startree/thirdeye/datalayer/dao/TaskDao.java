@@ -32,9 +32,11 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -135,6 +137,35 @@ public class TaskDao {
     return updateCounter;
   }
 
+  /**
+   * Update the list of pojos in a single transaction. Each row is only updated if it also matches
+   * the predicate.
+   *
+   * @return the number of rows that are affected.
+   */
+  public int update(final List<TaskDTO> pojos, final Predicate predicate) {
+    if (CollectionUtils.isEmpty(pojos)) {
+      return 0;
+    }
+    try {
+      final List<TaskEntity> entities = new ArrayList<>(pojos.size());
+      for (final TaskDTO pojo : pojos) {
+        Preconditions.checkNotNull(pojo.getId());
+        entities.add(toEntity(pojo));
+      }
+      return transactionService.executeTransaction((connection) -> {
+        int updateCounter = 0;
+        for (final TaskEntity entity : entities) {
+          updateCounter += databaseService.update(entity, predicate, connection);
+        }
+        return updateCounter;
+      }, 0);
+    } catch (JsonProcessingException | SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return 0;
+    }
+  }
+
   public int update(final TaskDTO pojo) {
     if (pojo.getId() == null) {
       throw new IllegalArgumentException(String.format("Need an ID to update the Task entity: %s",
@@ -201,11 +232,70 @@ public class TaskDao {
     );
   }
 
+  /**
+   * Distinct job ids of the tasks matching the predicate. The json of the tasks is not
+   * deserialized.
+   */
+  public Set<Long> findJobIds(final Predicate predicate) {
+    try {
+      final List<TaskEntity> entities = transactionService.executeTransaction(
+          (connection) -> databaseService.findAll(
+              predicate, null, null, TaskEntity.class, connection),
+          Collections.emptyList());
+      final Set<Long> jobIds = new HashSet<>();
+      for (final TaskEntity entity : entities) {
+        jobIds.add(entity.getJobId());
+      }
+      return jobIds;
+    } catch (SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return Collections.emptySet();
+    }
+  }
+
+  /**
+   * Ids of the tasks matching the predicate. Returns at most limit ids.
+   */
+  public List<Long> findIds(final Predicate predicate, final long limit) {
+    try {
+      final List<TaskEntity> entities = transactionService.executeTransaction(
+          (connection) -> databaseService.findAll(
+              predicate, limit, null, TaskEntity.class, connection),
+          Collections.emptyList());
+      final List<Long> ids = new ArrayList<>(entities.size());
+      for (final TaskEntity entity : entities) {
+        ids.add(entity.getId());
+      }
+      return ids;
+    } catch (SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return Collections.emptyList();
+    }
+  }
+
   public List<TaskDTO> filter(final DaoFilter daoFilter) {
-    requireNonNull(daoFilter.getPredicate(),
-        "If the predicate is null, you can just do "
-            + "getAll() which doesn't need to fetch IDs first");
-    return get(daoFilter.getPredicate());
+    if (daoFilter.getLimit() == null && daoFilter.getOffset() == null
+        && daoFilter.getOrderByKey() == null) {
+      requireNonNull(daoFilter.getPredicate(),
+          "If the predicate is null, you can just do "
+              + "getAll() which doesn't need to fetch IDs first");
+      return get(daoFilter.getPredicate());
+    }
+    try {
+      final List<TaskEntity> entities = transactionService.executeTransaction(
+          (connection) -> databaseService.findAll(daoFilter.getPredicate(),
+              daoFilter.getLimit(),
+              daoFilter.getOffset(),
+              daoFilter.getOrderByKey(),
+              daoFilter.isDesc(),
+              TaskEntity.class,
+              connection),
+          Collections.emptyList());
+      return toDto(entities);
+    } catch (final JsonProcessingException | SQLException e) {
+      LOG.error(e.getMessage(), e);
+      return Collections.emptyList();
+    }
   }
 
   public List<TaskDTO> get(final Map<String, Object> filterParams) {
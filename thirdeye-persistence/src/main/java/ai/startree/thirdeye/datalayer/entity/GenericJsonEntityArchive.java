@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer.entity;
+
+/**
+ * Copy of a {@link GenericJsonEntity} moved out of the main table. baseId is the id of the
+ * entity in generic_json_entity before it was archived.
+ */
+public class GenericJsonEntityArchive extends GenericJsonEntity {
+
+  private Long baseId;
+
+  public Long getBaseId() {
+    return baseId;
+  }
+
+  public GenericJsonEntityArchive setBaseId(final Long baseId) {
+    this.baseId = baseId;
+    return this;
+  }
+}
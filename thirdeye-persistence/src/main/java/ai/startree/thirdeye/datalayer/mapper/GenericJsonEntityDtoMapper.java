@@ -20,6 +20,8 @@ import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import ai.startree.thirdeye.spi.json.ThirdEyeSerialization;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 
 public class GenericJsonEntityDtoMapper {
 
@@ -32,8 +34,16 @@ public class GenericJsonEntityDtoMapper {
 
   public static <E extends AbstractDTO> GenericJsonEntity toGenericJsonEntity(final E pojo)
       throws JsonProcessingException {
+    return toGenericJsonEntity(pojo, toJsonString(pojo));
+  }
+
+  /**
+   * @param jsonVal the value stored in json_val. Either the json of the pojo or its encoding
+   *     with {@link JsonValCodec}.
+   */
+  public static <E extends AbstractDTO> GenericJsonEntity toGenericJsonEntity(final E pojo,
+      final String jsonVal) {
     final int version = pojo.getVersion() == 0 ? 1 : pojo.getVersion();
-    final String jsonVal = toJsonString(pojo);
 
     final GenericJsonEntity entity = new GenericJsonEntity()
         .setType(SubEntities.getType(pojo.getClass()))
@@ -51,7 +61,10 @@ public class GenericJsonEntityDtoMapper {
   public static <DtoT extends AbstractDTO> DtoT toDto(final GenericJsonEntity entity,
       final Class<DtoT> beanClass)
       throws JsonProcessingException {
-    DtoT dto = OBJECT_MAPPER.readValue(entity.getJsonVal(), beanClass);
+    final String jsonVal = entity.getJsonVal();
+    final DtoT dto = JsonValCodec.isCompressed(jsonVal)
+        ? readCompressed(jsonVal, beanClass)
+        : OBJECT_MAPPER.readValue(jsonVal, beanClass);
     dto
         .setId(entity.getId())
         .setVersion(entity.getVersion())
@@ -59,4 +72,15 @@ public class GenericJsonEntityDtoMapper {
         .setUpdateTime(entity.getUpdateTime());
     return dto;
   }
+
+  private static <DtoT extends AbstractDTO> DtoT readCompressed(final String jsonVal,
+      final Class<DtoT> beanClass) throws JsonProcessingException {
+    try (final InputStream in = JsonValCodec.openCompressed(jsonVal)) {
+      return OBJECT_MAPPER.readValue(in, beanClass);
+    } catch (final JsonProcessingException e) {
+      throw e;
+    } catch (final IOException e) {
+      throw new IllegalStateException("Could not decompress json_val", e);
+    }
+  }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer.mapper;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of the json_val column of generic_json_entity.
+ *
+ * Values are either plain json, or gzip compressed json encoded in base64 and prefixed with
+ * {@link #GZIP_PREFIX}. Plain json values always start with '{', so both formats can be read
+ * from the same table.
+ */
+public class JsonValCodec {
+
+  public static final String GZIP_PREFIX = "gz:";
+
+  public static boolean isCompressed(final String jsonVal) {
+    return jsonVal != null && jsonVal.startsWith(GZIP_PREFIX);
+  }
+
+  public static String compress(final String json) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(json.length() / 4);
+    try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(json.getBytes(UTF_8));
+    } catch (final IOException e) {
+      // not expected when writing to memory
+      throw new UncheckedIOException(e);
+    }
+    return GZIP_PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+  }
+
+  /**
+   * @return a stream of the json bytes of a compressed value.
+   */
+  public static InputStream openCompressed(final String jsonVal) throws IOException {
+    final byte[] bytes = Base64.getDecoder().decode(jsonVal.substring(GZIP_PREFIX.length()));
+    return new GZIPInputStream(new ByteArrayInputStream(bytes));
+  }
+
+  public static String decode(final String jsonVal) throws IOException {
+    if (!isCompressed(jsonVal)) {
+      return jsonVal;
+    }
+    try (final InputStream in = openCompressed(jsonVal)) {
+      return new String(in.readAllBytes(), UTF_8);
+    }
+  }
+}
@@ -15,6 +15,7 @@ package ai.startree.thirdeye.datalayer.util;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.google.common.collect.Maps;
+import java.util.List;
 import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -25,6 +26,17 @@ public class DatabaseConfiguration {
   private String url;
   private String driver;
   private Map<String, String> properties = Maps.newLinkedHashMap();
+  /**
+   * Entity types (see SubEntityType) whose json_val is stored gzip compressed. Rows are
+   * re-encoded when they are written, and both formats are always readable, so this can be
+   * changed on a live database.
+   */
+  private List<String> compressedEntityTypes = List.of();
+  /**
+   * Entity types (see SubEntityType) that can be moved to the archive table. Reads by id fall
+   * back to the archive, and writes check it, only for these types.
+   */
+  private List<String> archivedEntityTypes = List.of();
 
   public String getUser() {
     return user;
@@ -71,4 +83,23 @@ public class DatabaseConfiguration {
     this.properties = properties;
     return this;
   }
+
+  public List<String> getCompressedEntityTypes() {
+    return compressedEntityTypes;
+  }
+
+  public DatabaseConfiguration setCompressedEntityTypes(
+      final List<String> compressedEntityTypes) {
+    this.compressedEntityTypes = compressedEntityTypes;
+    return this;
+  }
+
+  public List<String> getArchivedEntityTypes() {
+    return archivedEntityTypes;
+  }
+
+  public DatabaseConfiguration setArchivedEntityTypes(final List<String> archivedEntityTypes) {
+    this.archivedEntityTypes = archivedEntityTypes;
+    return this;
+  }
 }
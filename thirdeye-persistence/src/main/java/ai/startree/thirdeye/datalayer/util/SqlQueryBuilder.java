@@ -202,17 +202,39 @@ public class SqlQueryBuilder {
   public PreparedStatement createFindByParamsStatementWithLimit(final Connection connection,
       final Class<? extends AbstractEntity> entityClass, final Predicate predicate, final Long limit, final Long offset)
       throws Exception {
+    return createFindByParamsStatementWithLimit(connection,
+        entityClass,
+        predicate,
+        limit,
+        offset,
+        null,
+        false);
+  }
+
+  /**
+   * @param orderByKey entity field name to sort on. Must be a mapped column of the table.
+   */
+  public PreparedStatement createFindByParamsStatementWithLimit(final Connection connection,
+      final Class<? extends AbstractEntity> entityClass, final Predicate predicate,
+      final Long limit, final Long offset, final String orderByKey, final boolean desc)
+      throws Exception {
     final String tableName = entityMappingHolder.tableToEntityNameMap.inverse()
         .get(entityClass.getSimpleName());
     final StringBuilder sqlBuilder = new StringBuilder("SELECT * FROM " + tableName);
     final List<Pair<String, Object>> parametersList = new ArrayList<>();
+    final BiMap<String, String> entityNameToDBNameMapping =
+        entityMappingHolder.columnMappingPerTable.get(tableName).inverse();
     if(predicate != null) {
-      final BiMap<String, String> entityNameToDBNameMapping =
-          entityMappingHolder.columnMappingPerTable.get(tableName).inverse();
       final StringBuilder whereClause = new StringBuilder(" WHERE ");
       generateWhereClause(entityNameToDBNameMapping, predicate, parametersList, whereClause);
       sqlBuilder.append(whereClause);
     }
+    if (orderByKey != null) {
+      // only mapped column names reach the query: the key can come from a request parameter
+      final String orderByColumn = checkNotNull(entityNameToDBNameMapping.get(orderByKey),
+          String.format("Cannot sort %s by unknown field '%s'", tableName, orderByKey));
+      sqlBuilder.append(" ORDER BY ").append(orderByColumn).append(desc ? " DESC" : " ASC");
+    }
     if (limit != null) {
       sqlBuilder.append(" LIMIT ").append(limit);
     }
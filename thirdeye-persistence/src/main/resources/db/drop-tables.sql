@@ -27,6 +27,7 @@ DROP TABLE IF EXISTS entity_to_entity_mapping_index;
 DROP TABLE IF EXISTS evaluation_index;
 DROP TABLE IF EXISTS event_index;
 DROP TABLE IF EXISTS generic_json_entity;
+DROP TABLE IF EXISTS generic_json_entity_archive;
 DROP TABLE IF EXISTS job_index;
 DROP TABLE IF EXISTS merged_anomaly_result_index;
 DROP TABLE IF EXISTS metric_config_index;
@@ -0,0 +1,17 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+-- overlap queries filter on event_type, start_time < end and end_time > start
+CREATE INDEX event_type_start_end_time_idx ON event_index (event_type, start_time, end_time);
+CREATE INDEX event_start_end_time_idx ON event_index (start_time, end_time);
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+-- cold storage for old entities. base_id is the id of the entity in generic_json_entity
+CREATE TABLE IF NOT EXISTS generic_json_entity_archive
+(
+    id          bigint(20) PRIMARY KEY AUTO_INCREMENT,
+    base_id     bigint(20) NOT NULL,
+    json_val    text,
+    type        varchar(100),
+    create_time timestamp,
+    update_time timestamp DEFAULT CURRENT_TIMESTAMP,
+    version     int(10)
+    ) ENGINE = InnoDB;
+CREATE UNIQUE INDEX generic_json_entity_archive_base_id_idx ON generic_json_entity_archive (base_id);
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+-- same precision as generic_json_entity: timestamps are copied as is when archiving
+ALTER TABLE generic_json_entity_archive
+    MODIFY COLUMN create_time TIMESTAMP(3);
+ALTER TABLE generic_json_entity_archive
+    MODIFY COLUMN update_time TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3);
+
+-- purge of old archived entities
+CREATE INDEX generic_json_entity_archive_type_create_time_idx
+    ON generic_json_entity_archive (type, create_time);
@@ -21,6 +21,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.tomcat.jdbc.pool.DataSource;
 import org.slf4j.Logger;
@@ -98,7 +99,8 @@ public class MySqlTestDatabase {
             + "?autoReconnect=true&allowPublicKeyRetrieval=true&sslMode=DISABLED")
         .setUser(USERNAME)
         .setPassword(PASSWORD)
-        .setDriver(persistenceDbContainer.getDriverClassName());
+        .setDriver(persistenceDbContainer.getDriverClassName())
+        .setArchivedEntityTypes(List.of("ANOMALY"));
   }
 
   public static DataSource newDataSource(final DatabaseConfiguration dbConfig) throws Exception {
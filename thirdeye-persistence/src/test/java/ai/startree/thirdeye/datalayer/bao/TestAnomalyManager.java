@@ -15,8 +15,11 @@ package ai.startree.thirdeye.datalayer.bao;
 
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 import ai.startree.thirdeye.datalayer.MySqlTestDatabase;
+import ai.startree.thirdeye.datalayer.dao.GenericPojoDao;
+import ai.startree.thirdeye.spi.ThirdEyeException;
 import ai.startree.thirdeye.spi.datalayer.AnomalyFilter;
 import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
@@ -42,6 +45,7 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.joda.time.DateTime;
 import org.joda.time.Interval;
 import org.testng.Assert;
@@ -58,6 +62,7 @@ public class TestAnomalyManager {
   private AnomalyDTO mergedResult = null;
   private AlertManager detectionConfigDAO;
   private AnomalyManager mergedAnomalyResultDAO;
+  private GenericPojoDao genericPojoDao;
 
   public static AlertDTO mockDetectionConfig() {
     final AlertDTO detectionConfig = new AlertDTO();
@@ -146,6 +151,7 @@ public class TestAnomalyManager {
     final Injector injector = MySqlTestDatabase.sharedInjector();
     detectionConfigDAO = injector.getInstance(AlertManager.class);
     mergedAnomalyResultDAO = injector.getInstance(AnomalyManager.class);
+    genericPojoDao = injector.getInstance(GenericPojoDao.class);
   }
 
   @AfterClass(alwaysRun = true)
@@ -516,6 +522,35 @@ public class TestAnomalyManager {
         .isEqualTo(collectIds(Set.of(a1)));
   }
 
+  @Test
+  public void testFilterWithAnomalyFilterList() {
+    final long alertId = 2345L;
+    final long alertId2 = 6789L;
+    final EnumerationItemDTO ei = enumerationItem(234_234);
+
+    final AnomalyDTO a1 = persist(anomalyWithCreateTime(1000)
+        .setDetectionConfigId(alertId)
+        .setEnumerationItem(ei)
+    );
+    final AnomalyDTO a2 = persist(anomalyWithCreateTime(2000)
+        .setDetectionConfigId(alertId)
+    );
+    final AnomalyDTO a3 = persist(anomalyWithCreateTime(3000)
+        .setDetectionConfigId(alertId2)
+    );
+
+    assertThat(collectIds(mergedAnomalyResultDAO.filter(List.of(
+        new AnomalyFilter().setAlertId(alertId).setEnumerationItemId(ei.getId()),
+        new AnomalyFilter().setAlertId(alertId2))))
+    ).isEqualTo(collectIds(Set.of(a1, a3)));
+
+    assertThat(collectIds(mergedAnomalyResultDAO.filter(List.of(
+        new AnomalyFilter().setAlertId(alertId))))
+    ).isEqualTo(collectIds(Set.of(a1, a2)));
+
+    assertThat(mergedAnomalyResultDAO.filter(List.<AnomalyFilter>of())).isEqualTo(List.of());
+  }
+
   @Test
   public void testUpdateTime() {
     final long alertId = 1234L;
@@ -587,6 +622,50 @@ public class TestAnomalyManager {
     assertByIdAndIgnored(id, false);
   }
 
+  @Test
+  public void testArchive() {
+    final Long archivedId = mergedAnomalyResultDAO.save(anomaly().setStartTime(5000)
+        .setEndTime(6000));
+    final Long hotId = mergedAnomalyResultDAO.save(anomaly().setStartTime(5000)
+        .setEndTime(6000));
+
+    assertThat(genericPojoDao.archive(List.of(archivedId), AnomalyDTO.class)).isEqualTo(1);
+
+    // archived anomalies are not in the index anymore
+    final DaoFilter filter = new DaoFilter().setPredicate(Predicate.IN("baseId",
+        new Object[]{archivedId, hotId}));
+    assertThat(mergedAnomalyResultDAO.filter(filter).size()).isEqualTo(1);
+
+    // but can still be read by id
+    final AnomalyDTO archived = mergedAnomalyResultDAO.findById(archivedId);
+    assertThat(archived).isNotNull();
+    assertThat(archived.getId()).isEqualTo(archivedId);
+    assertThat(archived.getEndTime()).isEqualTo(6000);
+    assertThat(mergedAnomalyResultDAO.findByIds(List.of(archivedId, hotId)).size())
+        .isEqualTo(2);
+
+    // archived anomalies are read-only
+    assertThatThrownBy(() -> mergedAnomalyResultDAO.update(archived))
+        .isInstanceOf(ThirdEyeException.class);
+
+    mergedAnomalyResultDAO.deleteById(archivedId);
+    assertThat(mergedAnomalyResultDAO.findById(archivedId)).isNull();
+  }
+
+  @Test
+  public void testDeleteArchivedRecordsOlderThanDays() {
+    final AnomalyDTO old = anomaly().setStartTime(5000).setEndTime(6000);
+    old.setCreateTime(new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(10)));
+    final Long oldId = mergedAnomalyResultDAO.save(old);
+    final Long recentId = mergedAnomalyResultDAO.save(anomaly().setStartTime(5000)
+        .setEndTime(6000));
+    assertThat(genericPojoDao.archive(List.of(oldId, recentId), AnomalyDTO.class)).isEqualTo(2);
+
+    assertThat(mergedAnomalyResultDAO.deleteArchivedRecordsOlderThanDays(5, 10, 0)).isEqualTo(1);
+    assertThat(mergedAnomalyResultDAO.findById(oldId)).isNull();
+    assertThat(mergedAnomalyResultDAO.findById(recentId)).isNotNull();
+  }
+
   private List<AnomalyDTO> filterByIdAndIgnored(final Long id, final boolean ignored) {
     final DaoFilter filter = new DaoFilter().setPredicate(Predicate.AND(
         Predicate.EQ("baseId", id),
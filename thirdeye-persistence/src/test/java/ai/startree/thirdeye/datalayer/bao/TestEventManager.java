@@ -14,12 +14,15 @@
 package ai.startree.thirdeye.datalayer.bao;
 
 import ai.startree.thirdeye.datalayer.MySqlTestDatabase;
+import ai.startree.thirdeye.spi.datalayer.DaoFilter;
+import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.EventManager;
 import ai.startree.thirdeye.spi.datalayer.dto.EventDTO;
 import ai.startree.thirdeye.spi.events.EventType;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -79,4 +82,52 @@ public class TestEventManager {
     EventDTO testEventDTO = eventDAO.findById(testEventId);
     Assert.assertNull(testEventDTO);
   }
+
+  @Test(dependsOnMethods = {"testDelete"})
+  public void testSaveAll() {
+    final long now = System.currentTimeMillis();
+    final EventDTO existing = new EventDTO();
+    existing.setName("existing");
+    existing.setEventType(EventType.HOLIDAY.name());
+    existing.setStartTime(now - 100);
+    existing.setEndTime(now - 50);
+    final Long existingId = eventDAO.save(existing);
+
+    existing.setEndTime(now);
+    final EventDTO created = new EventDTO();
+    created.setName("created");
+    created.setEventType(EventType.HOLIDAY.name());
+    created.setStartTime(now - 10);
+    created.setEndTime(now);
+
+    Assert.assertEquals(eventDAO.saveAll(List.of(existing, created)), 2);
+    Assert.assertEquals(existing.getId(), existingId);
+    Assert.assertNotNull(created.getId());
+
+    final List<EventDTO> results = eventDAO.findEventsBetweenTimeRange(now - 1,
+        now + 1,
+        EventType.HOLIDAY.name());
+    Assert.assertEquals(results.size(), 2);
+    Assert.assertEquals(eventDAO.findById(existingId).getEndTime(), now);
+  }
+
+  @Test(dependsOnMethods = {"testSaveAll"})
+  public void testStream() {
+    final List<Long> expectedIds = eventDAO.findAll().stream()
+        .map(EventDTO::getId)
+        .sorted()
+        .collect(Collectors.toList());
+    final List<Long> streamedIds = eventDAO.streamAll()
+        .map(EventDTO::getId)
+        .sorted()
+        .collect(Collectors.toList());
+    Assert.assertEquals(streamedIds, expectedIds);
+
+    final List<EventDTO> holidays = eventDAO.stream(new DaoFilter()
+            .setPredicate(Predicate.EQ("eventType", EventType.HOLIDAY.name()))
+            .setOrderByKey("startTime"))
+        .collect(Collectors.toList());
+    Assert.assertEquals(holidays.size(), 2);
+    Assert.assertTrue(holidays.get(0).getStartTime() <= holidays.get(1).getStartTime());
+  }
 }
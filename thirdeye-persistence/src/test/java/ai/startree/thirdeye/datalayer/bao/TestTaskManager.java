@@ -15,15 +15,22 @@ package ai.startree.thirdeye.datalayer.bao;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ai.startree.thirdeye.datalayer.dao.TaskDao;
+import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.dto.TaskDTO;
 import ai.startree.thirdeye.spi.task.TaskStatus;
 import ai.startree.thirdeye.spi.task.TaskType;
 import com.codahale.metrics.MetricRegistry;
 import java.sql.Timestamp;
 import java.util.List;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.testng.annotations.Test;
 
@@ -63,6 +70,60 @@ public class TestTaskManager {
     assertThat(getGaugeValue(List.of(), "notificationTaskLatencyInMillis")).isZero();
   }
 
+  @Test
+  public void testDeleteByPredicateInBatches() {
+    final TaskDao dao = Mockito.mock(TaskDao.class);
+    when(dao.findIds(any(), anyLong()))
+        .thenReturn(List.of(1L, 2L))
+        .thenReturn(List.of(3L, 4L))
+        .thenReturn(List.of(5L));
+    when(dao.delete(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+    final TaskManagerImpl taskManager = new TaskManagerImpl(dao, new MetricRegistry());
+
+    final int deleted = taskManager.deleteByPredicateInBatches(
+        Predicate.EQ("status", TaskStatus.COMPLETED.toString()), 2, 0);
+
+    assertThat(deleted).isEqualTo(5);
+    // the last chunk is smaller than the batch size: no need to query again
+    verify(dao, times(3)).findIds(any(), eq(2L));
+    verify(dao, times(3)).delete(anyList());
+  }
+
+  @Test
+  public void testDeleteByPredicateInBatchesStopsWhenNothingIsDeleted() {
+    final TaskDao dao = Mockito.mock(TaskDao.class);
+    when(dao.findIds(any(), anyLong())).thenReturn(List.of(1L, 2L));
+    when(dao.delete(anyList())).thenReturn(0);
+    final TaskManagerImpl taskManager = new TaskManagerImpl(dao, new MetricRegistry());
+
+    assertThat(taskManager.deleteByPredicateInBatches(
+        Predicate.EQ("status", TaskStatus.COMPLETED.toString()), 2, 0)).isZero();
+    verify(dao, times(1)).delete(anyList());
+  }
+
+  @Test
+  public void testBatchUpdateStatusAndTaskEndTime() {
+    final TaskDao dao = Mockito.mock(TaskDao.class);
+    when(dao.update(anyList(), any())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+    final TaskManagerImpl taskManager = new TaskManagerImpl(dao, new MetricRegistry());
+    final Timestamp now = new Timestamp(System.currentTimeMillis());
+    final List<TaskDTO> tasks = List.of(
+        buildTask("test-job-1", TaskType.DETECTION, TaskStatus.RUNNING, now),
+        buildTask("test-job-2", TaskType.DETECTION, TaskStatus.COMPLETED, now));
+
+    final int updated = taskManager.updateStatusAndTaskEndTime(tasks, TaskStatus.RUNNING,
+        TaskStatus.TIMEOUT, 42L, "timeout");
+
+    assertThat(updated).isEqualTo(1);
+    final ArgumentCaptor<List<TaskDTO>> updatedTasks = ArgumentCaptor.forClass(List.class);
+    verify(dao).update(updatedTasks.capture(),
+        eq(Predicate.EQ("status", TaskStatus.RUNNING.toString())));
+    assertThat(updatedTasks.getValue().size()).isEqualTo(1);
+    assertThat(updatedTasks.getValue().get(0).getStatus()).isEqualTo(TaskStatus.TIMEOUT);
+    assertThat(updatedTasks.getValue().get(0).getEndTime()).isEqualTo(42L);
+    assertThat(tasks.get(1).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+  }
+
   private Long getGaugeValue(final List<TaskDTO> tasks, final String gaugeName) {
     final TaskDao dao = Mockito.mock(TaskDao.class);
     when(dao.filter(any())).thenReturn(tasks);
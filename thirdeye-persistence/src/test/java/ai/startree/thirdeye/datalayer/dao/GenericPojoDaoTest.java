@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.datalayer.DatabaseService;
+import ai.startree.thirdeye.datalayer.DatabaseTransactionService;
+import ai.startree.thirdeye.datalayer.entity.GenericJsonEntity;
+import ai.startree.thirdeye.datalayer.entity.GenericJsonEntityArchive;
+import ai.startree.thirdeye.datalayer.entity.MergedAnomalyResultIndex;
+import ai.startree.thirdeye.datalayer.util.DatabaseConfiguration;
+import ai.startree.thirdeye.spi.ThirdEyeException;
+import ai.startree.thirdeye.spi.datalayer.DaoFilter;
+import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
+import com.codahale.metrics.MetricRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.testng.annotations.Test;
+
+public class GenericPojoDaoTest {
+
+  @Test
+  public void testStreamChunksPropagatesChunkReadFailure() throws Exception {
+    final DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenAnswer(i -> mock(Connection.class));
+    final DatabaseService databaseService = mock(DatabaseService.class);
+    final MergedAnomalyResultIndex index = new MergedAnomalyResultIndex();
+    index.setBaseId(1L);
+    doReturn(List.of(index)).when(databaseService).findAll(any(),
+        any(),
+        any(),
+        any(),
+        anyBoolean(),
+        eq(MergedAnomalyResultIndex.class),
+        any());
+    when(databaseService.findAll(any(), isNull(), isNull(), eq(GenericJsonEntity.class), any()))
+        .thenThrow(new SQLException("connection lost"));
+
+    final GenericPojoDao dao = new GenericPojoDao(databaseService,
+        new DatabaseTransactionService(dataSource, new MetricRegistry()),
+        new DatabaseConfiguration());
+
+    assertThatThrownBy(() -> dao.<AnomalyDTO>streamChunks(
+        new DaoFilter().setBeanClass(AnomalyDTO.class), 10).collect(Collectors.toList()))
+        .isInstanceOf(ThirdEyeException.class)
+        .hasRootCauseInstanceOf(SQLException.class);
+  }
+
+  @Test
+  public void testArchiveIsNotReadWhenArchivingIsDisabled() throws Exception {
+    final DatabaseService databaseService = mock(DatabaseService.class);
+    final GenericPojoDao dao = new GenericPojoDao(databaseService,
+        transactionService(),
+        new DatabaseConfiguration());
+
+    assertThat(dao.get(1L, AnomalyDTO.class)).isNull();
+    verify(databaseService, never()).findAll(any(), any(), any(),
+        eq(GenericJsonEntityArchive.class), any());
+  }
+
+  @Test
+  public void testBatchUpdateWithArchivedEntityWritesNothing() throws Exception {
+    final DatabaseService databaseService = mock(DatabaseService.class);
+    when(databaseService.count(any(), eq(GenericJsonEntityArchive.class), any())).thenReturn(1L);
+    final GenericPojoDao dao = new GenericPojoDao(databaseService,
+        transactionService(),
+        new DatabaseConfiguration().setArchivedEntityTypes(List.of("ANOMALY")));
+
+    final List<AnomalyDTO> anomalies = List.of((AnomalyDTO) new AnomalyDTO().setId(1L),
+        (AnomalyDTO) new AnomalyDTO().setId(2L));
+    assertThatThrownBy(() -> dao.update(anomalies)).isInstanceOf(ThirdEyeException.class);
+    verify(databaseService, never()).update(any(), any(), any());
+  }
+
+  private static DatabaseTransactionService transactionService() throws SQLException {
+    final DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenAnswer(i -> mock(Connection.class));
+    return new DatabaseTransactionService(dataSource, new MetricRegistry());
+  }
+}
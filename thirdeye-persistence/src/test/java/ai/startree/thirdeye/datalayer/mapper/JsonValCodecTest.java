@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.datalayer.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.datalayer.entity.GenericJsonEntity;
+import ai.startree.thirdeye.spi.datalayer.dto.EventDTO;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+public class JsonValCodecTest {
+
+  private static EventDTO event() {
+    final EventDTO event = new EventDTO();
+    event.setName("Christmas");
+    event.setEventType("HOLIDAY");
+    event.setStartTime(1000L);
+    event.setEndTime(2000L);
+    event.setTargetDimensionMap(Map.of("countryCode", List.of("US", "FR", "DE")));
+    return event;
+  }
+
+  @Test
+  public void testCompressRoundTrip() throws Exception {
+    final String json = GenericJsonEntityDtoMapper.toJsonString(event());
+    final String compressed = JsonValCodec.compress(json);
+
+    assertThat(JsonValCodec.isCompressed(json)).isFalse();
+    assertThat(JsonValCodec.isCompressed(compressed)).isTrue();
+    assertThat(JsonValCodec.decode(compressed)).isEqualTo(json);
+    assertThat(JsonValCodec.decode(json)).isEqualTo(json);
+  }
+
+  @Test
+  public void testToDtoReadsBothFormats() throws Exception {
+    final EventDTO event = event();
+    final String json = GenericJsonEntityDtoMapper.toJsonString(event);
+
+    final GenericJsonEntity plain = GenericJsonEntityDtoMapper.toGenericJsonEntity(event, json);
+    final GenericJsonEntity compressed = GenericJsonEntityDtoMapper.toGenericJsonEntity(event,
+        JsonValCodec.compress(json));
+
+    final EventDTO fromPlain = GenericJsonEntityDtoMapper.toDto(plain, EventDTO.class);
+    final EventDTO fromCompressed = GenericJsonEntityDtoMapper.toDto(compressed, EventDTO.class);
+    assertThat(fromCompressed.getName()).isEqualTo("Christmas");
+    assertThat(fromCompressed.getTargetDimensionMap()).isEqualTo(event.getTargetDimensionMap());
+    assertThat(GenericJsonEntityDtoMapper.toJsonString(fromCompressed))
+        .isEqualTo(GenericJsonEntityDtoMapper.toJsonString(fromPlain));
+  }
+}
@@ -13,6 +13,8 @@
  */
 package ai.startree.thirdeye.plugins.rca.contributors.simple;
 
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+
 public enum Cost {
   VALUE_CHANGE {
     @Override
@@ -61,4 +63,20 @@ public enum Cost {
   public abstract double compute(final double valueChangePercentage,
       final double contributionChangePercentage,
       final double contributionToOverallChangePercentage);
+
+  /**
+   * Computes the cost of each row, reading the underlying arrays of the series directly.
+   */
+  public DoubleSeries compute(final DoubleSeries valueChangePercentages,
+      final DoubleSeries contributionChangePercentages,
+      final DoubleSeries contributionToOverallChangePercentages) {
+    final double[] valueChange = valueChangePercentages.values();
+    final double[] contributionChange = contributionChangePercentages.values();
+    final double[] contributionToOverallChange = contributionToOverallChangePercentages.values();
+    final double[] costs = new double[valueChange.length];
+    for (int i = 0; i < costs.length; i++) {
+      costs[i] = compute(valueChange[i], contributionChange[i], contributionToOverallChange[i]);
+    }
+    return DoubleSeries.buildFrom(costs);
+  }
 }
@@ -32,6 +32,14 @@ import ai.startree.thirdeye.spi.rca.ContributorsFinder;
 import ai.startree.thirdeye.spi.rca.ContributorsFinderResult;
 import ai.startree.thirdeye.spi.rca.ContributorsSearchConfiguration;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,13 +60,34 @@ public class SimpleContributorsFinder implements ContributorsFinder {
   public static final String COL_CONTRIBUTION_CHANGE_PERCENTAGE = "contribution_change_percentage";
   public static final String COL_CONTRIBUTION_TO_OVERALL_CHANGE_PERCENTAGE = "contribution_to_overall_change_percentage";
 
+  /**
+   * Breakdowns of slices ending less than this delay ago may still change as data arrives. They
+   * are not cached.
+   */
+  private static final long CACHE_SETTLED_DELAY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
   private final SimpleConfiguration simpleConfiguration;
   private final AggregationLoader aggregationLoader;
+  private final Cache<MetricSlice, DataFrame> breakdownCache;
 
   public SimpleContributorsFinder(final AggregationLoader aggregationLoader,
       final SimpleConfiguration simpleConfiguration) {
+    this(aggregationLoader, simpleConfiguration, newBreakdownCache());
+  }
+
+  public SimpleContributorsFinder(final AggregationLoader aggregationLoader,
+      final SimpleConfiguration simpleConfiguration,
+      final Cache<MetricSlice, DataFrame> breakdownCache) {
     this.aggregationLoader = aggregationLoader;
     this.simpleConfiguration = simpleConfiguration;
+    this.breakdownCache = breakdownCache;
+  }
+
+  public static Cache<MetricSlice, DataFrame> newBreakdownCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(256)
+        .expireAfterWrite(30, TimeUnit.MINUTES)
+        .build();
   }
 
   public ContributorsFinderResult search(final ContributorsSearchConfiguration searchConfiguration)
@@ -73,7 +102,8 @@ public class SimpleContributorsFinder implements ContributorsFinder {
         searchConfiguration.getFilters(),
         searchConfiguration.getDatasetConfigDTO());
 
-    final DataFrame baseline = aggregationLoader.loadBreakdown(baselineSlice, LIMIT_DEFAULT);
+    final List<DataFrame> breakdowns = loadBreakdowns(List.of(baselineSlice, currentSlice));
+    final DataFrame baseline = breakdowns.get(0);
     if (baseline.size() <= 0) {
       return cannotComputeResult(
           "No data in the baseline timeframe. Cannot compute top contributors. You may try with a different baseline offset.");
@@ -81,7 +111,7 @@ public class SimpleContributorsFinder implements ContributorsFinder {
     baseline.dropSeries(COL_TIME);
     final double baselineTotal = getTotalFromBreakdown(baseline);
 
-    final DataFrame current = aggregationLoader.loadBreakdown(currentSlice, LIMIT_DEFAULT);
+    final DataFrame current = breakdowns.get(1);
     if (current.size() <= 0) {
       return cannotComputeResult(
           "No data in the current timeframe. Cannot compute top contributors. Data collect is stopped or broken for this metric.");
@@ -101,15 +131,81 @@ public class SimpleContributorsFinder implements ContributorsFinder {
           .filter(changeSide.conditional, "change");
     }
 
-    stats = stats.addSeries(COL_COST, computeCost(stats))
-        .sortedBy(COL_COST)
-        .slice(stats.size() - searchConfiguration.getSummarySize(), stats.size());
+    stats = stats.addSeries(COL_COST, computeCost(stats));
+    stats = stats.project(topIndexes(stats.getDoubles(COL_COST),
+        searchConfiguration.getSummarySize()));
 
     return new SimpleContributorsFinderResult(stats,
         searchConfiguration.getMetricConfigDTO().getName(),
         searchConfiguration.getDatasetConfigDTO().getDataset());
   }
 
+  /**
+   * Loads the breakdowns of the slices. Slices already investigated, typically the baseline of
+   * an anomaly opened again, are served from the cache. Missing slices are loaded together.
+   */
+  private List<DataFrame> loadBreakdowns(final List<MetricSlice> slices) throws Exception {
+    final DataFrame[] breakdowns = new DataFrame[slices.size()];
+    final List<MetricSlice> missingSlices = new ArrayList<>();
+    final List<Integer> missingIndexes = new ArrayList<>();
+    for (int i = 0; i < slices.size(); i++) {
+      final DataFrame cached = breakdownCache.getIfPresent(slices.get(i));
+      if (cached != null) {
+        // callers modify the breakdowns in place
+        breakdowns[i] = cached.copy();
+      } else {
+        missingSlices.add(slices.get(i));
+        missingIndexes.add(i);
+      }
+    }
+    if (missingSlices.isEmpty()) {
+      return Arrays.asList(breakdowns);
+    }
+
+    // loaded together: the loader sends the queries of all the slices at once
+    final List<DataFrame> loaded = aggregationLoader.loadBreakdowns(missingSlices, LIMIT_DEFAULT);
+    final long settledBefore = System.currentTimeMillis() - CACHE_SETTLED_DELAY_MILLIS;
+    for (int j = 0; j < missingSlices.size(); j++) {
+      final MetricSlice slice = missingSlices.get(j);
+      final DataFrame breakdown = loaded.get(j);
+      if (breakdown != null && breakdown.size() > 0
+          && slice.getInterval().getEndMillis() <= settledBefore) {
+        breakdownCache.put(slice, breakdown.copy());
+      }
+      breakdowns[missingIndexes.get(j)] = breakdown;
+    }
+    return Arrays.asList(breakdowns);
+  }
+
+  /**
+   * Returns the indexes of the k highest costs, ordered by increasing cost. Equivalent to a
+   * stable sort on the cost followed by a slice of the last k rows, without sorting all the rows.
+   */
+  @VisibleForTesting
+  protected static int[] topIndexes(final DoubleSeries costs, final int k) {
+    final double[] values = costs.values();
+    // null costs rank lowest, ties are broken by row index like a stable sort
+    final Comparator<Integer> byCost = Comparator
+        .<Integer, Boolean>comparing(i -> !DoubleSeries.isNull(values[i]))
+        .thenComparingDouble(i -> values[i])
+        .thenComparingInt(i -> i);
+    final int size = Math.max(0, Math.min(k, values.length));
+    final PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, size), byCost);
+    for (int i = 0; i < values.length && size > 0; i++) {
+      if (heap.size() < size) {
+        heap.add(i);
+      } else if (byCost.compare(i, heap.peek()) > 0) {
+        heap.poll();
+        heap.add(i);
+      }
+    }
+    final int[] top = new int[heap.size()];
+    for (int i = 0; i < top.length; i++) {
+      top[i] = heap.poll();
+    }
+    return top;
+  }
+
   private ContributorsFinderResult cannotComputeResult(final String message) {
     return () -> new DimensionAnalysisResultApi()
         .setAnalysisRunInfo(new AnalysisRunInfo().setSuccess(false).setMessage(message));
@@ -149,21 +245,10 @@ public class SimpleContributorsFinder implements ContributorsFinder {
   }
 
   private DoubleSeries computeCost(final DataFrame stats) {
-    final Cost costFunction = simpleConfiguration.getCostFunction();
-    DoubleSeries.Builder builder = DoubleSeries.builder();
-    for (int i = 0; i < stats.size(); i++) {
-      final double valueChangePercentage = stats.getDouble(COL_VALUE_CHANGE_PERCENTAGE, i);
-      final double contributionChangePercentage = stats.getDouble(
-          COL_CONTRIBUTION_CHANGE_PERCENTAGE,
-          i);
-      final double contributionToOverallChangePercentage = stats.getDouble(
-          COL_CONTRIBUTION_TO_OVERALL_CHANGE_PERCENTAGE,
-          i);
-      builder.addValues(costFunction.compute(valueChangePercentage,
-          contributionChangePercentage,
-          contributionToOverallChangePercentage));
-    }
-    return builder.build();
+    return simpleConfiguration.getCostFunction().compute(
+        stats.getDoubles(COL_VALUE_CHANGE_PERCENTAGE),
+        stats.getDoubles(COL_CONTRIBUTION_CHANGE_PERCENTAGE),
+        stats.getDoubles(COL_CONTRIBUTION_TO_OVERALL_CHANGE_PERCENTAGE));
   }
 
   @VisibleForTesting
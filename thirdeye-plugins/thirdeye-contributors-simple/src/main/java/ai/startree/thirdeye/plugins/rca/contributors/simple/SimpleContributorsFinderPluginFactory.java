@@ -14,14 +14,24 @@
 package ai.startree.thirdeye.plugins.rca.contributors.simple;
 
 
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.metric.MetricSlice;
 import ai.startree.thirdeye.spi.rca.ContributorsFinder;
 import ai.startree.thirdeye.spi.rca.ContributorsFinderContext;
 import ai.startree.thirdeye.spi.rca.ContributorsFinderFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public class SimpleContributorsFinderPluginFactory implements ContributorsFinderFactory {
 
+  /**
+   * Shared by the finders built by this factory, so that repeated investigations reuse the
+   * breakdowns already loaded.
+   */
+  private final Cache<MetricSlice, DataFrame> breakdownCache =
+      SimpleContributorsFinder.newBreakdownCache();
+
   @Override
   public String name() {
     return "simple";
@@ -33,6 +43,7 @@ public class SimpleContributorsFinderPluginFactory implements ContributorsFinder
 
     return new SimpleContributorsFinder(
         context.getAggregationLoader(),
-        configuration);
+        configuration,
+        breakdownCache);
   }
 }
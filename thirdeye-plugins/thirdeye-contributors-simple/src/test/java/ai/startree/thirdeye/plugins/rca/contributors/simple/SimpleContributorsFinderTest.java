@@ -14,6 +14,7 @@
 package ai.startree.thirdeye.plugins.rca.contributors.simple;
 
 import static ai.startree.thirdeye.plugins.rca.contributors.simple.SimpleContributorsFinder.COL_CONTRIBUTION_CHANGE_PERCENTAGE;
+import static ai.startree.thirdeye.plugins.rca.contributors.simple.SimpleContributorsFinder.COL_COST;
 import static ai.startree.thirdeye.plugins.rca.contributors.simple.SimpleContributorsFinder.COL_VALUE_CHANGE_PERCENTAGE;
 import static ai.startree.thirdeye.spi.Constants.COL_TIME;
 import static ai.startree.thirdeye.spi.Constants.COL_VALUE;
@@ -21,8 +22,11 @@ import static ai.startree.thirdeye.spi.api.DimensionAnalysisResultApi.ALL;
 import static ai.startree.thirdeye.spi.datasource.loader.AggregationLoader.COL_DIMENSION_NAME;
 import static ai.startree.thirdeye.spi.datasource.loader.AggregationLoader.COL_DIMENSION_VALUE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ai.startree.thirdeye.spi.api.DimensionAnalysisResultApi;
@@ -38,6 +42,7 @@ import ai.startree.thirdeye.spi.datasource.loader.AggregationLoader;
 import ai.startree.thirdeye.spi.metric.MetricSlice;
 import ai.startree.thirdeye.spi.rca.ContributorsFinderResult;
 import ai.startree.thirdeye.spi.rca.ContributorsSearchConfiguration;
+import com.google.common.cache.Cache;
 import java.util.List;
 import java.util.function.Supplier;
 import org.joda.time.DateTime;
@@ -98,6 +103,7 @@ public class SimpleContributorsFinderTest {
   @Test
   public void testSearchNominalCase() throws Exception {
     final AggregationLoader aggregationLoader = mock(AggregationLoader.class);
+    when(aggregationLoader.loadBreakdowns(any(), anyInt())).thenCallRealMethod();
 
     when(aggregationLoader.loadBreakdown(ArgumentMatchers.eq(BASELINE_SLICE), anyInt())).thenReturn(
         BASELINE_DATAFRAME.get());
@@ -136,6 +142,7 @@ public class SimpleContributorsFinderTest {
   @Test
   public void testSearchThrowsErrorIfEmptyDataForBaselineTimeframe() throws Exception {
     final AggregationLoader aggregationLoader = mock(AggregationLoader.class);
+    when(aggregationLoader.loadBreakdowns(any(), anyInt())).thenCallRealMethod();
 
     when(aggregationLoader.loadBreakdown(ArgumentMatchers.eq(BASELINE_SLICE), anyInt())).thenReturn(
         EMPTY_DATA_FRAME);
@@ -160,6 +167,7 @@ public class SimpleContributorsFinderTest {
   @Test
   public void testSearchThrowsErrorIfEmptyDataForCurrentTimeFrame() throws Exception {
     final AggregationLoader aggregationLoader = mock(AggregationLoader.class);
+    when(aggregationLoader.loadBreakdowns(any(), anyInt())).thenCallRealMethod();
     when(aggregationLoader.loadBreakdown(ArgumentMatchers.eq(BASELINE_SLICE), anyInt())).thenReturn(
         BASELINE_DATAFRAME.get());
     when(aggregationLoader.loadBreakdown(ArgumentMatchers.eq(CURRENT_SLICE), anyInt())).thenReturn(
@@ -203,4 +211,57 @@ public class SimpleContributorsFinderTest {
     assertThat(stats.get(COL_CONTRIBUTION_CHANGE_PERCENTAGE).getDoubles().values()).isEqualTo(
         new double[]{0D, -50, 50});
   }
+
+  @Test
+  public void testRepeatedSearchReusesCachedBreakdowns() throws Exception {
+    final AggregationLoader aggregationLoader = mock(AggregationLoader.class);
+    when(aggregationLoader.loadBreakdowns(any(), anyInt())).thenCallRealMethod();
+    when(aggregationLoader.loadBreakdown(ArgumentMatchers.eq(BASELINE_SLICE), anyInt())).thenReturn(
+        BASELINE_DATAFRAME.get());
+    when(aggregationLoader.loadBreakdown(ArgumentMatchers.eq(CURRENT_SLICE), anyInt())).thenReturn(
+        CURRENT_DATAFRAME.get());
+    final Cache<MetricSlice, DataFrame> cache = SimpleContributorsFinder.newBreakdownCache();
+    final ContributorsSearchConfiguration searchConfiguration = new ContributorsSearchConfiguration(
+        METRIC_CONFIG_DTO,
+        DATASET_CONFIG_DTO,
+        CURRENT_INTERVAL,
+        BASELINE_INTERVAL,
+        SUMMARY_SIZE,
+        DEPTH,
+        DO_ONE_SIDE_ERROR,
+        FILTERS,
+        HIERARCHIES);
+
+    final List<SummaryResponseRow> first = new SimpleContributorsFinder(aggregationLoader,
+        new SimpleConfiguration(), cache)
+        .search(searchConfiguration).getDimensionAnalysisResult().getResponseRows();
+    final List<SummaryResponseRow> second = new SimpleContributorsFinder(aggregationLoader,
+        new SimpleConfiguration(), cache)
+        .search(searchConfiguration).getDimensionAnalysisResult().getResponseRows();
+
+    verify(aggregationLoader, times(1)).loadBreakdown(ArgumentMatchers.eq(BASELINE_SLICE),
+        anyInt());
+    verify(aggregationLoader, times(1)).loadBreakdown(ArgumentMatchers.eq(CURRENT_SLICE),
+        anyInt());
+    assertThat(second).hasSize(first.size());
+    for (int i = 0; i < first.size(); i++) {
+      assertThat(second.get(i).getNames()).isEqualTo(first.get(i).getNames());
+      assertThat(second.get(i).getCost()).isEqualTo(first.get(i).getCost());
+    }
+  }
+
+  @Test
+  public void testTopIndexesMatchesStableSortAndSlice() {
+    final DoubleSeries costs = DoubleSeries.buildFrom(3, 1, DoubleSeries.NULL, 3, 7, 1, 0, 7, 2,
+        DoubleSeries.NULL);
+    final DataFrame df = new DataFrame()
+        .addSeries("index", LongSeries.sequence(0, costs.size()))
+        .addSeries(COL_COST, costs);
+    for (int k = 0; k <= costs.size() + 1; k++) {
+      final DataFrame expected = df.sortedBy(COL_COST)
+          .slice(Math.max(0, df.size() - k), df.size());
+      assertThat(df.project(SimpleContributorsFinder.topIndexes(costs, k)).getLongs("index")
+          .toList()).isEqualTo(expected.getLongs("index").toList());
+    }
+  }
 }
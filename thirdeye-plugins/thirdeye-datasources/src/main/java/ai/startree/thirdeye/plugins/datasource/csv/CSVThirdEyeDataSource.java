@@ -22,9 +22,12 @@ import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSource;
 import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSourceContext;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
 import ai.startree.thirdeye.spi.detection.v2.SimpleDataTable;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Collections2;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
@@ -50,7 +53,8 @@ public class CSVThirdEyeDataSource implements ThirdEyeDataSource {
    */
   public static final String COL_TIMESTAMP = "timestamp";
 
-  private Map<String, DataFrame> datasets;
+  /* csv files are parsed on first use: most datasets are never read */
+  private Map<String, Supplier<DataFrame>> datasets;
   private TranslateDelegator translator; // The Translator from metric Id to metric name.
   private String name; // datasource name
 
@@ -65,7 +69,8 @@ public class CSVThirdEyeDataSource implements ThirdEyeDataSource {
    * @param datasets the data sets
    * @param metricNameMap the static metric Id to metric name mapping.
    */
-  CSVThirdEyeDataSource(Map<String, DataFrame> datasets, Map<Long, String> metricNameMap) {
+  CSVThirdEyeDataSource(Map<String, Supplier<DataFrame>> datasets,
+      Map<Long, String> metricNameMap) {
     this.datasets = datasets;
     this.translator = new StaticTranslator(metricNameMap);
     this.name = CSVThirdEyeDataSource.class.getSimpleName();
@@ -74,14 +79,10 @@ public class CSVThirdEyeDataSource implements ThirdEyeDataSource {
   @Override
   public void init(ThirdEyeDataSourceContext context) {
     Map<String, Object> properties = context.getDataSourceDTO().getProperties();
-    Map<String, DataFrame> dataframes = new HashMap<>();
+    Map<String, Supplier<DataFrame>> dataframes = new HashMap<>();
     for (Map.Entry<String, Object> property : properties.entrySet()) {
-      try (InputStreamReader reader = new InputStreamReader(
-          makeUrlFromPath(property.getValue().toString()).openStream())) {
-        dataframes.put(property.getKey(), DataFrame.fromCsv(reader));
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
+      dataframes.put(property.getKey(),
+          lazyCsv(makeUrlFromPath(property.getValue().toString())));
     }
 
     this.datasets = dataframes;
@@ -98,7 +99,11 @@ public class CSVThirdEyeDataSource implements ThirdEyeDataSource {
    */
   public static CSVThirdEyeDataSource fromDataFrame(Map<String, DataFrame> dataSets,
       Map<Long, String> metricNameMap) {
-    return new CSVThirdEyeDataSource(dataSets, metricNameMap);
+    Map<String, Supplier<DataFrame>> dataframes = new HashMap<>();
+    for (Map.Entry<String, DataFrame> dataSet : dataSets.entrySet()) {
+      dataframes.put(dataSet.getKey(), Suppliers.ofInstance(dataSet.getValue()));
+    }
+    return new CSVThirdEyeDataSource(dataframes, metricNameMap);
   }
 
   /**
@@ -112,16 +117,28 @@ public class CSVThirdEyeDataSource implements ThirdEyeDataSource {
   public static CSVThirdEyeDataSource fromUrl(Map<String, URL> dataSets,
       Map<Long, String> metricNameMap)
       throws Exception {
-    Map<String, DataFrame> dataframes = new HashMap<>();
+    Map<String, Supplier<DataFrame>> dataframes = new HashMap<>();
     for (Map.Entry<String, URL> source : dataSets.entrySet()) {
-      try (InputStreamReader reader = new InputStreamReader(source.getValue().openStream())) {
-        dataframes.put(source.getKey(), DataFrame.fromCsv(reader));
-      }
+      dataframes.put(source.getKey(), lazyCsv(source.getValue()));
     }
 
     return new CSVThirdEyeDataSource(dataframes, metricNameMap);
   }
 
+  /**
+   * Returns a supplier parsing the csv file the first time it is called. The DataFrame is then
+   * kept in memory.
+   */
+  private static Supplier<DataFrame> lazyCsv(final URL url) {
+    return Suppliers.memoize(() -> {
+      try (InputStreamReader reader = new InputStreamReader(url.openStream())) {
+        return DataFrame.fromCsv(reader);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
   /**
    * Return the name of CSVThirdEyeDataSource.
    *
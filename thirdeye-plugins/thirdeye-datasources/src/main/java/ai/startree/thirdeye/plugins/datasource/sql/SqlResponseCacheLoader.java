@@ -19,6 +19,9 @@ import ai.startree.thirdeye.spi.datasource.resultset.ThirdEyeDataFrameResultSet;
 import ai.startree.thirdeye.spi.datasource.resultset.ThirdEyeResultSet;
 import ai.startree.thirdeye.spi.datasource.resultset.ThirdEyeResultSetGroup;
 import ai.startree.thirdeye.spi.detection.ConfigUtils;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.cache.CacheLoader;
 import java.io.File;
@@ -30,6 +33,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 import org.apache.tomcat.jdbc.pool.DataSource;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -53,6 +57,12 @@ public class SqlResponseCacheLoader extends CacheLoader<SqlQuery, ThirdEyeResult
   public static final String PASSWORD = "password";
   public static final String DRIVER = "driver";
   public static final int ABANDONED_TIMEOUT = 60000;
+  /**
+   * Rows per round trip for drivers that honor {@link Statement#setFetchSize(int)}. Presto pages
+   * results on its own and MySQL only streams with {@link Integer#MIN_VALUE}.
+   */
+  public static final int DEFAULT_FETCH_SIZE = 10000;
+  private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
   private static final Logger LOG = LoggerFactory.getLogger(SqlResponseCacheLoader.class);
   private static final String PRESTO = "Presto";
   private static final String MYSQL = "MySQL";
@@ -68,11 +78,14 @@ public class SqlResponseCacheLoader extends CacheLoader<SqlQuery, ThirdEyeResult
   private final Map<String, DataSource> mysqlDBNameToDataSourceMap = new HashMap<>();
   private final Map<String, DataSource> verticaDBNameToDataSourceMap = new HashMap<>();
   private final Map<String, DataSource> BigQueryDBNameToDataSourceMap = new HashMap<>();
+  private final MetricRegistry metricRegistry;
   DataSource h2DataSource;
 
   public SqlResponseCacheLoader(Map<String, Object> properties,
       final MetricConfigManager metricConfigManager,
-      final DatasetConfigManager datasetConfigManager) {
+      final DatasetConfigManager datasetConfigManager,
+      final MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
 
     // Init Presto datasources
     if (properties.containsKey(PRESTO)) {
@@ -265,21 +278,48 @@ public class SqlResponseCacheLoader extends CacheLoader<SqlQuery, ThirdEyeResult
 
     String sqlQuery = SQLQuery.getQuery();
     LOG.info("Running SQL: " + sqlQuery);
-    try (Connection conn = dataSource.getConnection();
-        Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery(sqlQuery)) {
-
-      ThirdEyeResultSet resultSet = ThirdEyeDataFrameResultSet.fromSQLResultSet(rs,
-          SQLQuery.getMetric(),
-          SQLQuery.getGroupByKeys(),
-          SQLQuery.getGranularity(),
-          SQLQuery.getTimeSpec());
-
-      List<ThirdEyeResultSet> thirdEyeResultSets = new ArrayList<>();
-      thirdEyeResultSets.add(resultSet);
-      return new ThirdEyeResultSetGroup(thirdEyeResultSets);
-    } catch (Exception e) {
-      throw e;
+    final String metricPrefix = MetricRegistry.name(SqlResponseCacheLoader.class,
+        sourceName,
+        String.valueOf(SQLQuery.getDbName()));
+    final Timer poolWaitTimer = metricRegistry.timer(metricPrefix + ".poolWait");
+    final Meter rowsMeter = metricRegistry.meter(metricPrefix + ".rows");
+
+    final long poolWaitStart = System.nanoTime();
+    try (Connection conn = dataSource.getConnection()) {
+      poolWaitTimer.update(System.nanoTime() - poolWaitStart, TimeUnit.NANOSECONDS);
+      try (Statement stmt = conn.createStatement()) {
+        stmt.setFetchSize(fetchSize(sourceName));
+        final long queryStart = System.nanoTime();
+        try (ResultSet rs = stmt.executeQuery(sqlQuery)) {
+          ThirdEyeResultSet resultSet = ThirdEyeDataFrameResultSet.fromSQLResultSet(rs,
+              SQLQuery.getMetric(),
+              SQLQuery.getGroupByKeys(),
+              SQLQuery.getGranularity(),
+              SQLQuery.getTimeSpec());
+
+          final long elapsedNanos = System.nanoTime() - queryStart;
+          rowsMeter.mark(resultSet.getRowCount());
+          LOG.debug("{}: {} rows in {} ms ({} rows/s)",
+              metricPrefix,
+              resultSet.getRowCount(),
+              TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+              resultSet.getRowCount() * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1));
+
+          List<ThirdEyeResultSet> thirdEyeResultSets = new ArrayList<>();
+          thirdEyeResultSets.add(resultSet);
+          return new ThirdEyeResultSetGroup(thirdEyeResultSets);
+        }
+      }
+    }
+  }
+
+  private static int fetchSize(final String sourceName) {
+    if (PRESTO.equals(sourceName)) {
+      return 0;
+    }
+    if (MYSQL.equals(sourceName)) {
+      return MYSQL_STREAMING_FETCH_SIZE;
     }
+    return DEFAULT_FETCH_SIZE;
   }
 }
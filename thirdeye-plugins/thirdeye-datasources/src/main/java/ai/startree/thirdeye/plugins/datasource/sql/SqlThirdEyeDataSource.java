@@ -13,6 +13,8 @@
  */
 package ai.startree.thirdeye.plugins.datasource.sql;
 
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+
 import ai.startree.thirdeye.spi.Constants;
 import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
 import ai.startree.thirdeye.spi.datalayer.bao.MetricConfigManager;
@@ -23,6 +25,7 @@ import ai.startree.thirdeye.spi.datasource.ThirdEyeDataSourceContext;
 import ai.startree.thirdeye.spi.datasource.resultset.ThirdEyeResultSet;
 import ai.startree.thirdeye.spi.datasource.resultset.ThirdEyeResultSetGroup;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -53,7 +56,8 @@ public class SqlThirdEyeDataSource implements ThirdEyeDataSource {
     final DatasetConfigManager datasetConfigManager = null;
     SqlResponseCacheLoader sqlResponseCacheLoader = new SqlResponseCacheLoader(properties,
         metricConfigManager,
-        datasetConfigManager);
+        datasetConfigManager,
+        optional(context.getMetricRegistry()).orElseGet(MetricRegistry::new));
     sqlResponseCache = buildResponseCache(sqlResponseCacheLoader);
     name = MapUtils.getString(properties, "name", SqlThirdEyeDataSource.class.getSimpleName());
   }
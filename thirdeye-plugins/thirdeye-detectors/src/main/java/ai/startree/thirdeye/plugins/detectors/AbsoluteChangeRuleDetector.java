@@ -22,8 +22,11 @@ import static ai.startree.thirdeye.spi.Constants.COL_VALUE;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import ai.startree.thirdeye.spi.dataframe.BooleanExpression;
 import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleExpression;
+import ai.startree.thirdeye.spi.dataframe.FusedExpressions;
 import ai.startree.thirdeye.spi.dataframe.LongSeries;
 import ai.startree.thirdeye.spi.dataframe.Series.LongConditional;
 import ai.startree.thirdeye.spi.detection.AnomalyDetector;
@@ -47,8 +50,14 @@ public class AbsoluteChangeRuleDetector implements
   private AbsoluteChangeRuleDetectorSpec spec;
 
   public static BooleanSeries windowMatch(LongSeries times, ReadableInterval window) {
+    return windowMatchExpression(times, window).evaluate(times.size());
+  }
+
+  public static BooleanExpression windowMatchExpression(LongSeries times,
+      ReadableInterval window) {
     // only check start for consistency with other detectors
-    return times.map((LongConditional) values -> values[0] >= window.getStartMillis());
+    return BooleanExpression.map((LongConditional) values -> values[0] >= window.getStartMillis(),
+        times);
   }
 
   @Override
@@ -78,14 +87,18 @@ public class AbsoluteChangeRuleDetector implements
 
   private AnomalyDetectorResult runDetectionOnSingleDataTable(final DataFrame inputDf,
       final ReadableInterval window) {
-    // calculate absolute change
-    inputDf
-        .addSeries(COL_UPPER_BOUND, inputDf.getDoubles(COL_VALUE).add(absoluteChange))
-        .addSeries(COL_LOWER_BOUND, inputDf.getDoubles(COL_VALUE).subtract(absoluteChange))
-        .addSeries(COL_ANOMALY,
-            pattern.isAnomaly(inputDf.getDoubles(COL_CURRENT), inputDf.getDoubles(COL_LOWER_BOUND),
-                    inputDf.getDoubles(COL_UPPER_BOUND))
-                .and(windowMatch(inputDf.getLongs(COL_TIME), window)));
+    // calculate absolute change - bounds and anomaly flags are computed in a single pass
+    final DoubleExpression baseline = DoubleExpression.of(inputDf.getDoubles(COL_VALUE));
+    final DoubleExpression upperBound = baseline.add(absoluteChange);
+    final DoubleExpression lowerBound = baseline.subtract(absoluteChange);
+    new FusedExpressions()
+        .add(COL_UPPER_BOUND, upperBound)
+        .add(COL_LOWER_BOUND, lowerBound)
+        .add(COL_ANOMALY,
+            pattern.isAnomaly(DoubleExpression.of(inputDf.getDoubles(COL_CURRENT)), lowerBound,
+                    upperBound)
+                .and(windowMatchExpression(inputDf.getLongs(COL_TIME), window)))
+        .addTo(inputDf);
 
     return new SimpleAnomalyDetectorResult(inputDf);
   }
@@ -13,7 +13,7 @@
  */
 package ai.startree.thirdeye.plugins.detectors;
 
-import static ai.startree.thirdeye.plugins.detectors.AbsoluteChangeRuleDetector.windowMatch;
+import static ai.startree.thirdeye.plugins.detectors.AbsoluteChangeRuleDetector.windowMatchExpression;
 import static ai.startree.thirdeye.spi.Constants.COL_ANOMALY;
 import static ai.startree.thirdeye.spi.Constants.COL_CURRENT;
 import static ai.startree.thirdeye.spi.Constants.COL_LOWER_BOUND;
@@ -25,6 +25,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleExpression;
+import ai.startree.thirdeye.spi.dataframe.FusedExpressions;
 import ai.startree.thirdeye.spi.detection.AnomalyDetector;
 import ai.startree.thirdeye.spi.detection.AnomalyDetectorResult;
 import ai.startree.thirdeye.spi.detection.Pattern;
@@ -71,13 +73,17 @@ public class PercentageChangeRuleDetector implements
 
   private AnomalyDetectorResult runDetectionOnSingleDataTable(final DataFrame inputDf,
       final ReadableInterval window) {
-    inputDf
-        .addSeries(COL_UPPER_BOUND, inputDf.getDoubles(COL_VALUE).multiply(1 + percentageChange))
-        .addSeries(COL_LOWER_BOUND, inputDf.getDoubles(COL_VALUE).multiply(1 - percentageChange))
-        .addSeries(COL_ANOMALY,
-            pattern.isAnomaly(inputDf.getDoubles(COL_CURRENT), inputDf.getDoubles(COL_LOWER_BOUND),
-                    inputDf.getDoubles(COL_UPPER_BOUND))
-                .and(windowMatch(inputDf.getLongs(COL_TIME), window)));
+    final DoubleExpression baseline = DoubleExpression.of(inputDf.getDoubles(COL_VALUE));
+    final DoubleExpression upperBound = baseline.multiply(1 + percentageChange);
+    final DoubleExpression lowerBound = baseline.multiply(1 - percentageChange);
+    new FusedExpressions()
+        .add(COL_UPPER_BOUND, upperBound)
+        .add(COL_LOWER_BOUND, lowerBound)
+        .add(COL_ANOMALY,
+            pattern.isAnomaly(DoubleExpression.of(inputDf.getDoubles(COL_CURRENT)), lowerBound,
+                    upperBound)
+                .and(windowMatchExpression(inputDf.getLongs(COL_TIME), window)))
+        .addTo(inputDf);
 
     return new SimpleAnomalyDetectorResult(inputDf);
   }
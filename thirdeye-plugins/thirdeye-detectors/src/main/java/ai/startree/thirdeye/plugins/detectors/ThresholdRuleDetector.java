@@ -22,9 +22,11 @@ import static ai.startree.thirdeye.spi.Constants.COL_UPPER_BOUND;
 import static ai.startree.thirdeye.spi.Constants.COL_VALUE;
 import static java.util.Objects.requireNonNull;
 
-import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
+import ai.startree.thirdeye.spi.dataframe.BooleanExpression;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleExpression;
 import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.FusedExpressions;
 import ai.startree.thirdeye.spi.detection.AnomalyDetector;
 import ai.startree.thirdeye.spi.detection.AnomalyDetectorResult;
 import ai.startree.thirdeye.spi.detection.v2.DataTable;
@@ -61,55 +63,51 @@ public class ThresholdRuleDetector implements AnomalyDetector<ThresholdRuleDetec
     return runDetectionOnSingleDataTable(currentDf, interval);
   }
 
-  private BooleanSeries valueTooHigh(DoubleSeries values) {
+  private BooleanExpression valueTooHigh(final DoubleExpression values) {
     if (Double.isNaN(spec.getMax())) {
-      return BooleanSeries.fillValues(values.size(), false);
+      return BooleanExpression.constant(false);
     }
     return values.gt(spec.getMax());
   }
 
-  private BooleanSeries valueTooLow(DoubleSeries values) {
+  private BooleanExpression valueTooLow(final DoubleExpression values) {
     if (Double.isNaN(spec.getMin())) {
-      return BooleanSeries.fillValues(values.size(), false);
+      return BooleanExpression.constant(false);
     }
     return values.lt(spec.getMin());
   }
 
   private AnomalyDetectorResult runDetectionOnSingleDataTable(final DataFrame inputDf,
       final ReadableInterval window) {
-    DataFrame baselineDf = computeBaseline(inputDf);
-    inputDf
-        .renameSeries(COL_VALUE, COL_CURRENT)
-        // left join baseline values
-        .addSeries(baselineDf, COL_VALUE, COL_ERROR, COL_LOWER_BOUND, COL_UPPER_BOUND)
-        .addSeries(COL_TOO_HIGH, valueTooHigh(inputDf.getDoubles(COL_CURRENT)))
-        .addSeries(COL_TOO_LOW, valueTooLow(inputDf.getDoubles(COL_CURRENT)))
-        .mapInPlace(BooleanSeries.HAS_TRUE, COL_ANOMALY, COL_TOO_HIGH, COL_TOO_LOW);
+    inputDf.renameSeries(COL_VALUE, COL_CURRENT);
+    final DoubleExpression current = DoubleExpression.of(inputDf.getDoubles(COL_CURRENT));
+    final BooleanExpression tooHigh = valueTooHigh(current);
+    final BooleanExpression tooLow = valueTooLow(current);
+    // bounds are the thresholds (null if not set), errors cannot be computed - added for
+    // consistency with other methods. Everything is computed in a single pass.
+    new FusedExpressions()
+        .add(COL_VALUE, computeBaseline(current))
+        .add(COL_ERROR, DoubleExpression.constant(DoubleSeries.NULL))
+        .add(COL_LOWER_BOUND, DoubleExpression.constant(spec.getMin()))
+        .add(COL_UPPER_BOUND, DoubleExpression.constant(spec.getMax()))
+        .add(COL_TOO_HIGH, tooHigh)
+        .add(COL_TOO_LOW, tooLow)
+        .add(COL_ANOMALY, tooHigh.or(tooLow))
+        .addTo(inputDf);
 
     return new SimpleAnomalyDetectorResult(inputDf);
   }
 
-  private DataFrame computeBaseline(final DataFrame inputDf) {
-    final DataFrame resultDF = new DataFrame();
-    resultDF
-        .addSeries(COL_TIME, inputDf.getDoubles(COL_TIME)).setIndex(COL_TIME)
-        .addSeries(COL_VALUE, inputDf.getDoubles(COL_VALUE))
-        // error cannot be computed - added for consistency with other methods
-        .addSeries(COL_ERROR, DoubleSeries.nulls(resultDF.size()));
+  private DoubleExpression computeBaseline(final DoubleExpression current) {
+    DoubleExpression baseline = current;
     if (!Double.isNaN(spec.getMin())) {
-      resultDF.addSeries(COL_LOWER_BOUND, DoubleSeries.fillValues(resultDF.size(), spec.getMin()));
       // set baseline value as the lower bound when actual value across below the mark
-      resultDF.mapInPlace(DoubleSeries.MAX, COL_VALUE, COL_LOWER_BOUND, COL_VALUE);
-    } else {
-      resultDF.addSeries(COL_LOWER_BOUND, DoubleSeries.nulls(resultDF.size()));
+      baseline = baseline.max(DoubleExpression.constant(spec.getMin()));
     }
     if (!Double.isNaN(spec.getMax())) {
-      resultDF.addSeries(COL_UPPER_BOUND, DoubleSeries.fillValues(resultDF.size(), spec.getMax()));
       // set baseline value as the upper bound when actual value across above the mark
-      resultDF.mapInPlace(DoubleSeries.MIN, COL_VALUE, COL_UPPER_BOUND, COL_VALUE);
-    } else {
-      resultDF.addSeries(COL_UPPER_BOUND, DoubleSeries.nulls(resultDF.size()));
+      baseline = baseline.min(DoubleExpression.constant(spec.getMax()));
     }
-    return resultDF;
+    return baseline;
   }
 }
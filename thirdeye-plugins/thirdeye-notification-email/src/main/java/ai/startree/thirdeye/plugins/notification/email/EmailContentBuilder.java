@@ -27,12 +27,13 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import freemarker.cache.MruCacheStorage;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -40,6 +41,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 
@@ -54,6 +59,42 @@ public class EmailContentBuilder {
       .put("hierarchical-anomalies",
           "hierarchical-anomalies-email-template.ftl")
       .build();
+  private static final String METRIC_SECTION_TEMPLATE = "metric-anomalies-section.ftl";
+
+  /**
+   * Reports with at least this many anomalies spread over several metrics render their
+   * per-metric sections in parallel. Smaller reports are not worth the hand-off.
+   */
+  static final int PARALLEL_RENDER_MIN_ANOMALIES = 50;
+
+  /**
+   * Buffers grown above this size by a large report are not kept for reuse by the thread.
+   */
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1 << 20;
+
+  /**
+   * Templates are bundled in the jar and never change at runtime: share one configuration so
+   * that each template is parsed once per JVM instead of once per email.
+   */
+  private static final Configuration FREEMARKER_CONFIG = buildFreemarkerConfig();
+  private static final ExecutorService SECTION_RENDER_EXECUTOR = Executors.newFixedThreadPool(
+      Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+      new ThreadFactoryBuilder()
+          .setNameFormat("email-section-render-%d")
+          .setDaemon(true)
+          .build());
+  private static final ThreadLocal<StringWriter> OUTPUT_BUFFER =
+      ThreadLocal.withInitial(() -> new StringWriter(16 * 1024));
+
+  private static Configuration buildFreemarkerConfig() {
+    final Configuration freemarkerConfig = new Configuration(Configuration.VERSION_2_3_21);
+    freemarkerConfig.setClassForTemplateLoading(EmailContentBuilder.class, BASE_PACKAGE_PATH);
+    freemarkerConfig.setDefaultEncoding(CHARSET);
+    freemarkerConfig.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+    freemarkerConfig.setCacheStorage(new MruCacheStorage(TEMPLATE_MAP.size() + 2, 16));
+    freemarkerConfig.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+    return freemarkerConfig;
+  }
 
   /**
    * Generate subject based on configuration.
@@ -80,22 +121,84 @@ public class EmailContentBuilder {
   }
 
   String buildHtml(final String templateFile, final Map<String, Object> templateValues) {
-    final String templateName = TEMPLATE_MAP.get(templateFile);
+    final Map<String, Object> model = DEFAULT_EMAIL_TEMPLATE.equals(templateFile)
+        ? withMetricSections(templateValues, false)
+        : templateValues;
+    return render(TEMPLATE_MAP.get(templateFile), model);
+  }
 
-    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    try (final Writer out = new OutputStreamWriter(baos, CHARSET)) {
-      final Configuration freemarkerConfig = new Configuration(Configuration.VERSION_2_3_21);
-      freemarkerConfig.setClassForTemplateLoading(getClass(),
-          BASE_PACKAGE_PATH);
-      freemarkerConfig.setDefaultEncoding(CHARSET);
-      freemarkerConfig.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+  /**
+   * Returns a copy of the template values with the html of each metric block pre-rendered
+   * under "metricSections". Blocks are independent so large reports render them in parallel.
+   */
+  Map<String, Object> withMetricSections(final Map<String, Object> templateValues,
+      final boolean forceParallel) {
+    final Map<String, Object> model = new HashMap<>(templateValues);
+    final Map<?, ?> metricToAnomalies =
+        (Map<?, ?>) templateValues.get("metricToAnomalyDetailsMap");
+    if (metricToAnomalies == null || model.containsKey("metricSections")) {
+      return model;
+    }
+    final List<String> metrics = metricToAnomalies.keySet().stream()
+        .map(String::valueOf)
+        .collect(Collectors.toList());
+    final int anomalyCount = ((Number) templateValues.getOrDefault("anomalyCount", 0)).intValue();
+    final boolean parallel = metrics.size() > 1
+        && (forceParallel || anomalyCount >= PARALLEL_RENDER_MIN_ANOMALIES);
+
+    final Map<String, String> sections = new HashMap<>();
+    if (parallel) {
+      final List<Future<String>> futures = new ArrayList<>(metrics.size());
+      for (final String metric : metrics) {
+        futures.add(SECTION_RENDER_EXECUTOR.submit(() -> renderMetricSection(model, metric)));
+      }
+      for (int i = 0; i < metrics.size(); i++) {
+        sections.put(metrics.get(i), getSection(futures.get(i)));
+      }
+    } else {
+      for (final String metric : metrics) {
+        sections.put(metric, renderMetricSection(model, metric));
+      }
+    }
+    model.put("metricSections", sections);
+    return model;
+  }
+
+  private static String getSection(final Future<String> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException
+          ? (RuntimeException) cause
+          : new RuntimeException(cause);
+    }
+  }
 
-      final Template template = freemarkerConfig.getTemplate(templateName);
-      template.process(templateValues, out);
+  private static String renderMetricSection(final Map<String, Object> model, final String metric) {
+    final Map<String, Object> sectionModel = new HashMap<>(model);
+    sectionModel.put("metric", metric);
+    return render(METRIC_SECTION_TEMPLATE, sectionModel);
+  }
 
-      return baos.toString(CHARSET);
+  private static String render(final String templateName, final Map<String, Object> model) {
+    final StringWriter out = OUTPUT_BUFFER.get();
+    final StringBuffer buffer = out.getBuffer();
+    try {
+      final Template template = FREEMARKER_CONFIG.getTemplate(templateName);
+      template.process(model, out);
+      return buffer.toString();
     } catch (final Exception e) {
       throw new RuntimeException(e);
+    } finally {
+      if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+        OUTPUT_BUFFER.remove();
+      } else {
+        buffer.setLength(0);
+      }
     }
   }
 
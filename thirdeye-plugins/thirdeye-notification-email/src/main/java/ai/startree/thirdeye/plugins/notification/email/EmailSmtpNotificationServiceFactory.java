@@ -17,9 +17,13 @@ import ai.startree.thirdeye.spi.notification.NotificationService;
 import ai.startree.thirdeye.spi.notification.NotificationServiceFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EmailSmtpNotificationServiceFactory implements NotificationServiceFactory {
 
+  /* services are built per notification, the smtp connections outlive them */
+  private final Map<String, SmtpTransportPool> pools = new ConcurrentHashMap<>();
+
   @Override
   public String name() {
     return "email-smtp";
@@ -30,6 +34,15 @@ public class EmailSmtpNotificationServiceFactory implements NotificationServiceF
     final EmailSmtpConfiguration configuration = new ObjectMapper()
         .convertValue(params, EmailSmtpConfiguration.class);
 
-    return new EmailSmtpNotificationService(configuration);
+    final SmtpTransportPool pool = pools.computeIfAbsent(
+        SmtpTransportPool.key(configuration.getSmtp()),
+        k -> new SmtpTransportPool(configuration.getSmtp()));
+    return new EmailSmtpNotificationService(configuration, pool);
+  }
+
+  @Override
+  public void close() {
+    pools.values().forEach(SmtpTransportPool::close);
+    pools.clear();
   }
 }
@@ -19,6 +19,10 @@ public class SmtpConfiguration {
   private Integer port = 25;
   private String user;
   private String password;
+  private Integer maxConnections = 2;
+  private Double maxMessagesPerSecond;
+  private Integer maxMessagesPerConnection = 100;
+  private Long idleTimeoutMillis = 60_000L;
 
   public String getHost() {
     return host;
@@ -55,4 +59,43 @@ public class SmtpConfiguration {
     this.password = password;
     return this;
   }
+
+  public Integer getMaxConnections() {
+    return maxConnections;
+  }
+
+  public SmtpConfiguration setMaxConnections(final Integer maxConnections) {
+    this.maxConnections = maxConnections;
+    return this;
+  }
+
+  /**
+   * Upper bound on the send rate to the server. No limit when null.
+   */
+  public Double getMaxMessagesPerSecond() {
+    return maxMessagesPerSecond;
+  }
+
+  public SmtpConfiguration setMaxMessagesPerSecond(final Double maxMessagesPerSecond) {
+    this.maxMessagesPerSecond = maxMessagesPerSecond;
+    return this;
+  }
+
+  public Integer getMaxMessagesPerConnection() {
+    return maxMessagesPerConnection;
+  }
+
+  public SmtpConfiguration setMaxMessagesPerConnection(final Integer maxMessagesPerConnection) {
+    this.maxMessagesPerConnection = maxMessagesPerConnection;
+    return this;
+  }
+
+  public Long getIdleTimeoutMillis() {
+    return idleTimeoutMillis;
+  }
+
+  public SmtpConfiguration setIdleTimeoutMillis(final Long idleTimeoutMillis) {
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    return this;
+  }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.plugins.notification.email;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.RateLimiter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.mail.DefaultAuthenticator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps authenticated SMTP connections open between notifications so that an alert storm reuses
+ * a handful of sessions instead of paying a TCP + TLS + AUTH handshake per email.
+ *
+ * At most {@code maxConnections} connections send at the same time and, when
+ * {@code maxMessagesPerSecond} is set, messages are throttled to that rate across all of them.
+ * A connection is closed after {@code maxMessagesPerConnection} messages or when it has been idle
+ * for longer than {@code idleTimeoutMillis}.
+ */
+public class SmtpTransportPool implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SmtpTransportPool.class);
+  private static final String SMTP_TIMEOUT_MILLIS = "60000";
+
+  private final Session session;
+  private final Semaphore permits;
+  private final RateLimiter rateLimiter;
+  private final int maxMessagesPerConnection;
+  private final long idleTimeoutMillis;
+  private final Deque<PooledTransport> idle = new ArrayDeque<>();
+
+  SmtpTransportPool(final SmtpConfiguration smtp) {
+    this.session = newSession(smtp);
+    this.permits = new Semaphore(smtp.getMaxConnections(), true);
+    this.rateLimiter = smtp.getMaxMessagesPerSecond() == null
+        ? null
+        : RateLimiter.create(smtp.getMaxMessagesPerSecond());
+    this.maxMessagesPerConnection = smtp.getMaxMessagesPerConnection();
+    this.idleTimeoutMillis = smtp.getIdleTimeoutMillis();
+  }
+
+  /**
+   * Identifies the pool to use for a configuration: same server, credentials and limits. The
+   * fields are hashed so that the password is not kept in the key.
+   */
+  static String key(final SmtpConfiguration smtp) {
+    requireNonNull(smtp.getHost(), "smtp host is null");
+    final String fields = Stream.of(smtp.getHost(),
+            smtp.getPort(),
+            smtp.getUser(),
+            smtp.getPassword(),
+            smtp.getMaxConnections(),
+            smtp.getMaxMessagesPerSecond(),
+            smtp.getMaxMessagesPerConnection(),
+            smtp.getIdleTimeoutMillis())
+        .map(String::valueOf)
+        .collect(Collectors.joining("\0"));
+    return Hashing.sha256().hashString(fields, StandardCharsets.UTF_8).toString();
+  }
+
+  private static Session newSession(final SmtpConfiguration smtp) {
+    final Properties properties = new Properties();
+    properties.setProperty("mail.transport.protocol", "smtp");
+    properties.setProperty("mail.smtp.host", smtp.getHost());
+    properties.setProperty("mail.smtp.port", String.valueOf(smtp.getPort()));
+    properties.setProperty("mail.smtp.ssl.trust", smtp.getHost());
+    properties.setProperty("mail.smtp.connectiontimeout", SMTP_TIMEOUT_MILLIS);
+    properties.setProperty("mail.smtp.timeout", SMTP_TIMEOUT_MILLIS);
+
+    if (smtp.getUser() != null && smtp.getPassword() != null) {
+      properties.setProperty("mail.smtp.auth", "true");
+      properties.setProperty("mail.smtp.ssl.enable", "true");
+      return Session.getInstance(properties,
+          new DefaultAuthenticator(smtp.getUser(), smtp.getPassword()));
+    }
+    return Session.getInstance(properties);
+  }
+
+  public Session getSession() {
+    return session;
+  }
+
+  public void send(final MimeMessage message) throws MessagingException {
+    try {
+      permits.acquire();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+    }
+    try {
+      if (rateLimiter != null) {
+        rateLimiter.acquire();
+      }
+      release(send(borrow(), message));
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * A message is never sent twice: after a failure, the server may have accepted it already.
+   * Dropped connections are detected when borrowed instead.
+   */
+  private PooledTransport send(final PooledTransport transport, final MimeMessage message)
+      throws MessagingException {
+    try {
+      transport.send(message);
+      return transport;
+    } catch (final SendFailedException e) {
+      // rejected recipients: the connection is fine, the message is not
+      release(transport);
+      throw e;
+    } catch (final MessagingException e) {
+      transport.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Reused connections are validated before use: for SMTP, isConnected sends a NOOP and fails if
+   * the server dropped the connection.
+   */
+  private PooledTransport borrow() throws MessagingException {
+    while (true) {
+      final PooledTransport candidate;
+      synchronized (idle) {
+        candidate = idle.pollFirst();
+      }
+      if (candidate == null) {
+        return connect();
+      }
+      final boolean expired =
+          System.currentTimeMillis() - candidate.lastUsedMillis > idleTimeoutMillis;
+      if (!expired && candidate.transport.isConnected()) {
+        return candidate;
+      }
+      candidate.close();
+    }
+  }
+
+  private PooledTransport connect() throws MessagingException {
+    final Transport transport = session.getTransport();
+    transport.connect();
+    return new PooledTransport(transport);
+  }
+
+  private void release(final PooledTransport transport) {
+    if (transport.sent >= maxMessagesPerConnection) {
+      transport.close();
+      return;
+    }
+    transport.lastUsedMillis = System.currentTimeMillis();
+    synchronized (idle) {
+      idle.addFirst(transport);
+    }
+  }
+
+  @Override
+  public void close() {
+    synchronized (idle) {
+      idle.forEach(PooledTransport::close);
+      idle.clear();
+    }
+  }
+
+  private static class PooledTransport {
+
+    private final Transport transport;
+    private int sent = 0;
+    private long lastUsedMillis = System.currentTimeMillis();
+
+    private PooledTransport(final Transport transport) {
+      this.transport = transport;
+    }
+
+    private void send(final MimeMessage message) throws MessagingException {
+      message.saveChanges();
+      transport.sendMessage(message, message.getAllRecipients());
+      sent++;
+    }
+
+    private void close() {
+      try {
+        transport.close();
+      } catch (final MessagingException e) {
+        LOG.debug("Failed to close SMTP connection", e);
+      }
+    }
+  }
+}
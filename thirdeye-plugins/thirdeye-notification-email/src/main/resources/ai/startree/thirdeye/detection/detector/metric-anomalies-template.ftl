@@ -75,74 +75,7 @@
 
         <!-- List all the alerts -->
         <#list metricToAnomalyDetailsMap?keys as metric>
-          <@utils.addBlock title="" align="left">
-            <p>
-              <span style="color: #1D1D1D; font-size: 20px; font-weight: bold; display:inline-block; vertical-align: middle;">Metric:&nbsp;</span>
-              <span style="color: #606060; font-size: 20px; text-decoration: none; display:inline-block; vertical-align: middle; width: 70%; white-space: nowrap; overflow: hidden; text-overflow: ellipsis;">${metric!"Unknown"}</span>
-            </p>
-
-            <!-- List down all the alerts for the given metric -->
-            <#list detectionToAnomalyDetailsMap?keys as detectionName>
-              <#assign newTable = false>
-              <#list detectionToAnomalyDetailsMap[detectionName] as anomaly>
-                <#if anomaly.metric?? && anomaly.metric==metric>
-                  <#assign newTable=true>
-                  <#assign description=anomaly.funcDescription>
-                </#if>
-              </#list>
-
-              <#if newTable>
-                <p>
-                  <span style="color: #1D1D1D; font-size: 16px; font-weight: bold; display:inline-block; vertical-align: middle;">Alert:&nbsp;</span>
-                  <span style="color: #606060; font-size: 16px; text-decoration: none; display:inline-block; vertical-align: middle; width: 77%; white-space: nowrap; overflow: hidden; text-overflow: ellipsis;">${detectionName}</span>
-<#--                  <a href="${dashboardHost}/app/#/manage/explore/${functionToId[detectionName]?string.computer}" target="blank" style="text-decoration: none; color: #0B5EA1; display:inline-block; vertical-align: middle;">(Edit Settings)</a>-->
-                </p>
-                <p>
-                  <span style="color: #606060; font-size: 13px; text-decoration: none; display:inline-block; vertical-align: middle; width: 77%; white-space: wrap;">${description}</span>
-                </p>
-              </#if>
-
-              <!-- List all the anomalies under this detection -->
-              <table border="0" width="100%" align="center" style="width:100%; padding:0; margin:0; border-collapse: collapse;text-align:left;">
-                <#list detectionToAnomalyDetailsMap[detectionName] as anomaly>
-                  <#if anomaly.metric?? && anomaly.metric==metric>
-                    <#if newTable>
-                      <tr style="text-align:center; background-color: #F6F8FA; border-top: 2px solid #C7D1D8; border-bottom: 2px solid #C7D1D8;">
-                        <th style="text-align:left; padding: 6px 12px; font-size: 12px; font-weight: bold; line-height: 20px;">Start / Duration</th>
-                        <th style="padding: 6px 12px; font-size: 12px; font-weight: bold; line-height: 20px;">Type</th>
-                        <th style="padding: 6px 12px; font-size: 12px; font-weight: bold; line-height: 20px;">Enumeration Item</th>
-                        <th style="padding: 6px 12px; font-size: 12px; font-weight: bold; line-height: 20px;">Current</th>
-                        <th style="padding: 6px 12px; font-size: 12px; font-weight: bold; line-height: 20px;">Predicted</th>
-                      </tr>
-                    </#if>
-                    <#assign newTable = false>
-                    <tr style="border-bottom: 1px solid #C7D1D8;">
-                      <td style="padding: 6px 12px;white-space: nowrap;">
-                        <div style="color: rgba(0,0,0,0.9); font-size:14px; line-height:20px;">${anomaly.startDateTime} ${anomaly.timezone}</div>
-                        <span style="color: rgba(0,0,0,0.6); font-size:12px; line-height:16px;">${anomaly.duration}</span>
-                        <a style="font-weight: bold; text-decoration: none; font-size:14px; line-height:20px; color: #0073B1;" href="${anomaly.anomalyURL}${anomaly.anomalyId}"
-                           target="_blank">(view)</a>
-                      </td>
-                      <td style="word-break: break-all; width: 200px; padding-right:4px 20px 4px 0">
-                        <#list anomaly.dimensions as dimension>
-                          <span style="color: rgba(0,0,0,0.6); font-size: 12px; line-height: 16px;">${dimension}</span>
-                          </br>
-                        </#list>
-                      </td>
-                      <td style="color: rgba(0,0,0,0.9); font-size:14px; line-height:20px; text-align:center;">${anomaly.currentVal}</td>
-                      <td style="color: rgba(0,0,0,0.9); font-size:14px; line-height:20px; text-align:center;">
-                        ${anomaly.baselineVal}
-                        <#if anomaly.lift?has_content>
-                          <div style="font-size: 12px; color:${anomaly.positiveLift?string('#3A8C18','#ee1620')};">(${anomaly.positiveLift?string('+','')}${anomaly.lift})</div>
-                        </#if>
-                      </td>
-                    </tr>
-                  </#if>
-                </#list>
-              </table>
-            </#list>
-
-          </@utils.addBlock>
+          ${metricSections[metric]}<#t>
         </#list>
 
         <!-- Reference Links -->
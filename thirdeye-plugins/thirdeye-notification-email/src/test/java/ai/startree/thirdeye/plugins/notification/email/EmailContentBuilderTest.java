@@ -22,7 +22,9 @@ import ai.startree.thirdeye.spi.api.MetricApi;
 import ai.startree.thirdeye.spi.api.NotificationPayloadApi;
 import ai.startree.thirdeye.spi.api.NotificationReportApi;
 import ai.startree.thirdeye.spi.api.SubscriptionGroupApi;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.testng.annotations.Test;
 
 public class EmailContentBuilderTest {
@@ -145,4 +147,48 @@ public class EmailContentBuilderTest {
         + "</table>\n"
         + "</body>\n");
   }
+
+  @Test
+  public void testMetricSectionsRenderSameInParallel() {
+    final EmailContentBuilder emailContentBuilder = new EmailContentBuilder();
+    final List<AnomalyReportApi> anomalyReports = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      final AnomalyApi anomaly = new AnomalyApi()
+          .setId((long) i)
+          .setMetric(new MetricApi().setName("metric-" + (i % 3)));
+      final AnomalyReportDataApi data = new AnomalyReportDataApi()
+          .setAnomalyId(String.valueOf(i))
+          .setMetric("metric-" + (i % 3))
+          .setFunction("function-" + (i % 2))
+          .setFuncDescription("description")
+          .setStartDateTime("start-" + i)
+          .setTimezone("UTC")
+          .setDuration("1 hour")
+          .setAnomalyURL("host.name.com/anomalies/")
+          .setCurrentVal("1.0")
+          .setBaselineVal("2.0")
+          .setDimensions(List.of());
+      anomalyReports.add(new AnomalyReportApi().setAnomaly(anomaly).setData(data));
+    }
+    final NotificationPayloadApi api = new NotificationPayloadApi()
+        .setAnomalyReports(anomalyReports)
+        .setReport(new NotificationReportApi()
+            .setStartTime("12345")
+            .setEndTime("67890")
+            .setTimeZone("UTC")
+            .setDashboardHost("host.name.com")
+            .setAlertConfigName("alert-name"))
+        .setSubscriptionGroup(new SubscriptionGroupApi().setName(SUSBCRIPTION_NAME));
+    final Map<String, Object> templateData = emailContentBuilder.constructTemplateData(api);
+
+    final String sequential = emailContentBuilder.buildHtml(
+        EmailContentBuilder.DEFAULT_EMAIL_TEMPLATE,
+        emailContentBuilder.withMetricSections(templateData, false));
+    final String parallel = emailContentBuilder.buildHtml(
+        EmailContentBuilder.DEFAULT_EMAIL_TEMPLATE,
+        emailContentBuilder.withMetricSections(templateData, true));
+
+    assertThat(parallel).isEqualTo(sequential);
+    assertThat(sequential).contains("metric-0", "metric-1", "metric-2", "start-11");
+  }
 }
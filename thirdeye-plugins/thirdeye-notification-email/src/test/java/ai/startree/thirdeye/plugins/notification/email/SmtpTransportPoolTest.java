@@ -0,0 +1,255 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.plugins.notification.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Message.RecipientType;
+import javax.mail.MessagingException;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SmtpTransportPoolTest {
+
+  private LocalSmtpServer server;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new LocalSmtpServer();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.close();
+  }
+
+  @Test
+  public void testMessagesShareOneConnection() throws Exception {
+    try (final SmtpTransportPool pool = new SmtpTransportPool(smtp())) {
+      for (int i = 0; i < 7; i++) {
+        pool.send(message(pool, i));
+      }
+    }
+
+    assertThat(server.messages.get()).isEqualTo(7);
+    assertThat(server.connections.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testConnectionIsRecycledAfterMaxMessages() throws Exception {
+    try (final SmtpTransportPool pool = new SmtpTransportPool(smtp()
+        .setMaxMessagesPerConnection(2))) {
+      for (int i = 0; i < 5; i++) {
+        pool.send(message(pool, i));
+      }
+    }
+
+    assertThat(server.messages.get()).isEqualTo(5);
+    assertThat(server.connections.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testConcurrentSendsAreBounded() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try (final SmtpTransportPool pool = new SmtpTransportPool(smtp().setMaxConnections(2))) {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        final int id = i;
+        futures.add(executor.submit(() -> {
+          pool.send(message(pool, id));
+          return null;
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(server.messages.get()).isEqualTo(40);
+    assertThat(server.maxActiveConnections.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  public void testDroppedConnectionIsReplaced() throws Exception {
+    try (final SmtpTransportPool pool = new SmtpTransportPool(smtp())) {
+      pool.send(message(pool, 0));
+      server.dropConnections();
+      pool.send(message(pool, 1));
+    }
+
+    assertThat(server.messages.get()).isEqualTo(2);
+    assertThat(server.connections.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testMessageIsNotResentAfterFailure() throws Exception {
+    try (final SmtpTransportPool pool = new SmtpTransportPool(smtp())) {
+      pool.send(message(pool, 0));
+      server.dropAfterNextMessage.set(true);
+
+      assertThatThrownBy(() -> pool.send(message(pool, 1)))
+          .isInstanceOf(MessagingException.class);
+    }
+
+    // the second message reached the server once
+    assertThat(server.messages.get()).isEqualTo(2);
+    assertThat(server.connections.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testKeyIsAHashOfTheConfiguration() {
+    final String key = SmtpTransportPool.key(smtp().setUser("user").setPassword("secret"));
+
+    assertThat(key).doesNotContain("secret");
+    assertThat(SmtpTransportPool.key(smtp().setUser("user").setPassword("secret")))
+        .isEqualTo(key);
+    assertThat(SmtpTransportPool.key(smtp().setUser("user").setPassword("other")))
+        .isNotEqualTo(key);
+  }
+
+  private SmtpConfiguration smtp() {
+    return new SmtpConfiguration()
+        .setHost("localhost")
+        .setPort(server.getPort());
+  }
+
+  private static MimeMessage message(final SmtpTransportPool pool, final int id)
+      throws MessagingException {
+    final MimeMessage message = new MimeMessage(pool.getSession());
+    message.setFrom(new InternetAddress("thirdeye@localhost"));
+    message.setRecipient(RecipientType.TO, new InternetAddress("user@localhost"));
+    message.setSubject("alert " + id);
+    message.setText("anomaly " + id);
+    return message;
+  }
+
+  /**
+   * Minimal SMTP server accepting every command and counting sessions and messages.
+   */
+  private static class LocalSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final List<Socket> sockets = new ArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger maxActiveConnections = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private final AtomicBoolean dropAfterNextMessage = new AtomicBoolean();
+
+    private LocalSmtpServer() throws IOException {
+      serverSocket = new ServerSocket(0);
+      final Thread acceptor = new Thread(this::acceptLoop, "local-smtp-server");
+      acceptor.setDaemon(true);
+      acceptor.start();
+    }
+
+    private int getPort() {
+      return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+      while (!serverSocket.isClosed()) {
+        try {
+          final Socket socket = serverSocket.accept();
+          synchronized (sockets) {
+            sockets.add(socket);
+          }
+          final Thread handler = new Thread(() -> handle(socket));
+          handler.setDaemon(true);
+          handler.start();
+        } catch (final IOException e) {
+          return;
+        }
+      }
+    }
+
+    private void handle(final Socket socket) {
+      connections.incrementAndGet();
+      maxActiveConnections.accumulateAndGet(activeConnections.incrementAndGet(), Math::max);
+      try (socket) {
+        final BufferedReader in = new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        final OutputStream out = socket.getOutputStream();
+        reply(out, "220 localhost ESMTP");
+        String line;
+        while ((line = in.readLine()) != null) {
+          final String command = line.toUpperCase();
+          if (command.startsWith("EHLO")) {
+            reply(out, "250-localhost\r\n250 OK");
+          } else if (command.startsWith("DATA")) {
+            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+            while ((line = in.readLine()) != null && !line.equals(".")) {
+              // discard the message body
+            }
+            messages.incrementAndGet();
+            if (dropAfterNextMessage.getAndSet(false)) {
+              // message received but not acknowledged
+              return;
+            }
+            reply(out, "250 OK");
+          } else if (command.startsWith("QUIT")) {
+            reply(out, "221 Bye");
+            return;
+          } else {
+            reply(out, "250 OK");
+          }
+        }
+      } catch (final IOException e) {
+        // connection dropped
+      } finally {
+        activeConnections.decrementAndGet();
+      }
+    }
+
+    private static void reply(final OutputStream out, final String response) throws IOException {
+      out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+    }
+
+    private void dropConnections() throws IOException {
+      synchronized (sockets) {
+        for (final Socket socket : sockets) {
+          socket.close();
+        }
+        sockets.clear();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      serverSocket.close();
+      dropConnections();
+    }
+  }
+}
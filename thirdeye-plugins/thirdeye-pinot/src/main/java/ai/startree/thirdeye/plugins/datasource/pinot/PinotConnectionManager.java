@@ -14,34 +14,49 @@
 package ai.startree.thirdeye.plugins.datasource.pinot;
 
 import static ai.startree.thirdeye.plugins.datasource.pinot.PinotThirdEyeDataSourceUtils.cloneConfig;
-import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import static java.util.Objects.requireNonNull;
 
-import ai.startree.thirdeye.spi.util.Pair;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.HashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.http.HttpHeaders;
 import org.apache.pinot.client.Connection;
+import org.apache.pinot.client.LatencyAwareConnection;
 import org.apache.pinot.client.PinotConnectionBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Provides the Pinot connection. Thread-safe.
+ *
+ * With OAuth, the token is checked periodically in the background, not on each query. A new
+ * connection is created when the token changes. The previous connection is closed asynchronously:
+ * it waits for its in-flight queries to complete before closing.
+ */
 @Singleton
 public class PinotConnectionManager {
 
   private static final Logger LOG = LoggerFactory.getLogger(PinotConnectionManager.class);
+  private static final long TOKEN_CHECK_PERIOD_SECONDS = 30;
 
-  private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+  private final ScheduledExecutorService executorService =
+      Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("pinot-connection-%d")
+          .setDaemon(true)
+          .build());
 
   private final PinotThirdEyeDataSourceConfig config;
   private final Supplier<String> tokenSupplier;
   private final PinotConnectionBuilder pinotConnectionBuilder;
-  private Connection connection;
+  private volatile Connection connection;
+  // guarded by this
   private String prevToken;
 
   @Inject
@@ -51,68 +66,93 @@ public class PinotConnectionManager {
     this.config = config;
     tokenSupplier = pinotOauthTokenSupplier.getTokenSupplier();
     this.pinotConnectionBuilder = pinotConnectionBuilder;
+    if (tokenSupplier != null) {
+      executorService.scheduleWithFixedDelay(this::refreshIfTokenChanged,
+          TOKEN_CHECK_PERIOD_SECONDS,
+          TOKEN_CHECK_PERIOD_SECONDS,
+          TimeUnit.SECONDS);
+    }
   }
 
-  private boolean isNewConnectionReqd() {
-    if (connection == null) {
-      return true;
-    }
-    if (tokenSupplier == null) {
-      /* no oauth. no connection update required */
-      return false;
+  /**
+   * Returns the current connection. The connection can be swapped and closed at any time: to run
+   * a query, use {@link #acquire()}.
+   */
+  public Connection get() {
+    final Connection current = connection;
+    if (current != null) {
+      return current;
     }
-
-    /* oauth case */
-    if (prevToken == null) {
-      /* no existing token to compare*/
-      return true;
+    synchronized (this) {
+      if (connection == null) {
+        prevToken = tokenSupplier == null ? null : requireNonNull(tokenSupplier.get(),
+            "token supplied is null");
+        connection = pinotConnectionBuilder.createConnection(newConfig(prevToken));
+      }
+      return connection;
     }
-    final String newToken = requireNonNull(tokenSupplier.get(), "token supplied is null");
-    return !prevToken.equals(newToken);
   }
 
-  public Connection get() {
-    if (isNewConnectionReqd()) {
-      /* Closing old connection is a lower priority. do it async */
-      closeConnectionAsync(connection);
-
-      final var p = createConnection();
-      connection = p.getSecond();
-      prevToken = optional(p.getFirst().getHeaders())
-          .map(headers -> headers.get(HttpHeaders.AUTHORIZATION))
-          .orElse(null);
+  /**
+   * Returns the current connection. It is not closed before the lease is closed.
+   */
+  public ConnectionLease acquire() {
+    while (true) {
+      final Connection current = get();
+      if (!(current instanceof LatencyAwareConnection)) {
+        return new ConnectionLease(current, null);
+      }
+      final LatencyAwareConnection latencyAwareConnection = (LatencyAwareConnection) current;
+      if (latencyAwareConnection.tryAcquire()) {
+        return new ConnectionLease(current, latencyAwareConnection);
+      }
+      // the connection was swapped in between - the next get() returns the new one
     }
-    return connection;
   }
 
-  private Pair<PinotThirdEyeDataSourceConfig, Connection> createConnection() {
-    final var c = newConfig();
-    return new Pair<>(c, pinotConnectionBuilder.createConnection(c));
+  @VisibleForTesting
+  void refreshIfTokenChanged() {
+    try {
+      // file read outside of the lock
+      final String newToken = requireNonNull(tokenSupplier.get(), "token supplied is null");
+      synchronized (this) {
+        if (connection == null || newToken.equals(prevToken)) {
+          return;
+        }
+        final Connection previous = connection;
+        connection = pinotConnectionBuilder.createConnection(newConfig(newToken));
+        prevToken = newToken;
+        /* Closing old connection is a lower priority. do it async */
+        closeConnectionAsync(previous);
+      }
+    } catch (final Exception e) {
+      LOG.error("Could not refresh the pinot connection with the new oauth token", e);
+    }
   }
 
-  private PinotThirdEyeDataSourceConfig newConfig() {
-    if (tokenSupplier == null) {
+  private PinotThirdEyeDataSourceConfig newConfig(final @Nullable String token) {
+    if (token == null) {
       /* if oauth is disabled. no refresh of connections is needed */
       return config;
     }
-    return newConfigWithOauthHeader();
+    return newConfigWithOauthHeader(token);
   }
 
-  private PinotThirdEyeDataSourceConfig newConfigWithOauthHeader() {
+  private PinotThirdEyeDataSourceConfig newConfigWithOauthHeader(final String token) {
     final var newConfig = cloneConfig(config);
 
     /* Inject the oauth header into headers */
-    final String newToken = tokenSupplier.get();
     if (newConfig.getHeaders() == null) {
       newConfig.setHeaders(new HashMap<>());
     }
     newConfig
         .getHeaders()
-        .put(HttpHeaders.AUTHORIZATION, newToken);
+        .put(HttpHeaders.AUTHORIZATION, token);
     return newConfig;
   }
 
-  public void close() {
+  public synchronized void close() {
+    executorService.shutdownNow();
     closeConnection(connection);
     connection = null;
   }
@@ -122,6 +162,7 @@ public class PinotConnectionManager {
       executorService.submit(() -> closeConnection(connection));
     }
   }
+
   private void closeConnection(@Nullable final Connection connection) {
     try {
       final long start = System.nanoTime();
@@ -134,4 +175,27 @@ public class PinotConnectionManager {
       LOG.error("Exception closing connection", e);
     }
   }
+
+  public static class ConnectionLease implements AutoCloseable {
+
+    private final Connection connection;
+    private final @Nullable LatencyAwareConnection acquired;
+
+    private ConnectionLease(final Connection connection,
+        final @Nullable LatencyAwareConnection acquired) {
+      this.connection = connection;
+      this.acquired = acquired;
+    }
+
+    public Connection getConnection() {
+      return connection;
+    }
+
+    @Override
+    public void close() {
+      if (acquired != null) {
+        acquired.release();
+      }
+    }
+  }
 }
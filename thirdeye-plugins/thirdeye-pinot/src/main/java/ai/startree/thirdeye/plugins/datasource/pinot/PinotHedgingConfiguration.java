@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.plugins.datasource.pinot;
+
+/**
+ * Hedged requests: if a broker did not answer after a delay, the same query is sent to another
+ * broker and the first response wins. The delay is a percentile of the recent query latencies.
+ */
+public class PinotHedgingConfiguration {
+
+  private boolean enabled = false;
+  /**
+   * Percentile of the recent query latencies after which a hedged request is sent.
+   */
+  private double latencyPercentile = 95;
+  /**
+   * Lower bound of the hedging delay. Avoids doubling the load when all queries are fast.
+   */
+  private long minDelayMs = 50;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public PinotHedgingConfiguration setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  public double getLatencyPercentile() {
+    return latencyPercentile;
+  }
+
+  public PinotHedgingConfiguration setLatencyPercentile(final double latencyPercentile) {
+    this.latencyPercentile = latencyPercentile;
+    return this;
+  }
+
+  public long getMinDelayMs() {
+    return minDelayMs;
+  }
+
+  public PinotHedgingConfiguration setMinDelayMs(final long minDelayMs) {
+    this.minDelayMs = minDelayMs;
+    return this;
+  }
+}
@@ -27,7 +27,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import org.apache.pinot.client.Connection;
 import org.apache.pinot.client.PinotClientException;
 import org.apache.pinot.client.Request;
 import org.apache.pinot.client.ResultSet;
@@ -197,11 +196,10 @@ public class PinotQueryExecutor extends CacheLoader<PinotQuery, ThirdEyeResultSe
 
   @Override
   public ThirdEyeResultSetGroup load(final PinotQuery pinotQuery) {
-    try {
-      final Connection connection = pinotConnectionManager.get();
+    try (final PinotConnectionManager.ConnectionLease lease = pinotConnectionManager.acquire()) {
       final long start = System.currentTimeMillis();
       final String queryFormat = pinotQuery.isUseSql() ? SQL_QUERY_FORMAT : PQL_QUERY_FORMAT;
-      final ResultSetGroup resultSetGroup = connection.execute(
+      final ResultSetGroup resultSetGroup = lease.getConnection().execute(
           pinotQuery.getTableName(),
           new Request(queryFormat, pinotQuery.getQuery())
       );
@@ -23,6 +23,7 @@ public class PinotThirdEyeDataSourceConfig {
 
   private PinotOauthConfiguration oauth;
   private PinotHealthCheckConfiguration healthCheck = new PinotHealthCheckConfiguration();
+  private PinotHedgingConfiguration hedging = new PinotHedgingConfiguration();
   private String zookeeperUrl;
   private String controllerHost;
   private int controllerPort;
@@ -57,6 +58,15 @@ public class PinotThirdEyeDataSourceConfig {
     return this;
   }
 
+  public PinotHedgingConfiguration getHedging() {
+    return hedging;
+  }
+
+  public PinotThirdEyeDataSourceConfig setHedging(final PinotHedgingConfiguration hedging) {
+    this.hedging = hedging;
+    return this;
+  }
+
   public String getZookeeperUrl() {
     return zookeeperUrl;
   }
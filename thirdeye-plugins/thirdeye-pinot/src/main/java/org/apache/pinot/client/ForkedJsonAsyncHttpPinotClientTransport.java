@@ -20,11 +20,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.BoundRequestBuilder;
+import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +36,8 @@ import org.slf4j.LoggerFactory;
  * This class is a fork of org.apache.pinot.client.JsonAsyncHttpPinotClientTransport and
  * adds certain capabilites which the above class fails to provide
  *
- * Originally added to customize timeout value
+ * Originally added to customize timeout value. The returned futures are CompletableFutures that
+ * do not need a thread to wait on the response.
  */
 public class ForkedJsonAsyncHttpPinotClientTransport implements PinotClientTransport {
 
@@ -95,16 +98,22 @@ public class ForkedJsonAsyncHttpPinotClientTransport implements PinotClientTrans
         _headers.forEach((k, v) -> requestBuilder.addHeader(k, v));
       }
 
-      final Future<Response> response =
+      LOGGER.debug("Sending query {} to {}", request.getQuery(), url);
+      final ListenableFuture<Response> response =
           requestBuilder.addHeader("Content-Type", "application/json; charset=utf-8")
               .setBody(json.toString())
               .execute();
 
-      return new BrokerResponseFuture(
-          response,
-          request.getQuery(),
-          url,
-          brokerResponseTimeoutMs);
+      final CompletableFuture<BrokerResponse> brokerResponse = response.toCompletableFuture()
+          .thenApply(ForkedJsonAsyncHttpPinotClientTransport::toBrokerResponse)
+          .orTimeout(brokerResponseTimeoutMs, TimeUnit.MILLISECONDS);
+      // abort the http request on cancellation or timeout
+      brokerResponse.whenComplete((r, throwable) -> {
+        if (throwable != null) {
+          response.cancel(true);
+        }
+      });
+      return brokerResponse;
     } catch (Exception e) {
       throw new PinotClientException(e);
     }
@@ -140,62 +149,17 @@ public class ForkedJsonAsyncHttpPinotClientTransport implements PinotClientTrans
     }
   }
 
-  private static class BrokerResponseFuture implements Future<BrokerResponse> {
-
-    private final Future<Response> _response;
-    private final String _query;
-    private final String _url;
-    private final int brokerResponseTimeoutMs;
-
-    public BrokerResponseFuture(Future<Response> response, String query, String url,
-        final int brokerResponseTimeoutMs) {
-      _response = response;
-      _query = query;
-      _url = url;
-      this.brokerResponseTimeoutMs = brokerResponseTimeoutMs;
-    }
-
-    @Override
-    public boolean cancel(boolean mayInterruptIfRunning) {
-      return _response.cancel(mayInterruptIfRunning);
+  private static BrokerResponse toBrokerResponse(final Response httpResponse) {
+    LOGGER.debug("Completed query, HTTP status is {}", httpResponse.getStatusCode());
+    if (httpResponse.getStatusCode() != 200) {
+      throw new PinotClientException(
+          "Pinot returned HTTP status " + httpResponse.getStatusCode() + ", expected 200");
     }
-
-    @Override
-    public boolean isCancelled() {
-      return _response.isCancelled();
-    }
-
-    @Override
-    public boolean isDone() {
-      return _response.isDone();
-    }
-
-    @Override
-    public BrokerResponse get()
-        throws ExecutionException {
-      return get(brokerResponseTimeoutMs, TimeUnit.MILLISECONDS);
-    }
-
-    @Override
-    public BrokerResponse get(long timeout, TimeUnit unit)
-        throws ExecutionException {
-      try {
-        LOGGER.debug("Sending query {} to {}", _query, _url);
-
-        Response httpResponse = _response.get(timeout, unit);
-
-        LOGGER.debug("Completed query, HTTP status is {}", httpResponse.getStatusCode());
-
-        if (httpResponse.getStatusCode() != 200) {
-          throw new PinotClientException(
-              "Pinot returned HTTP status " + httpResponse.getStatusCode() + ", expected 200");
-        }
-
-        String responseBody = httpResponse.getResponseBody(StandardCharsets.UTF_8);
-        return BrokerResponse.fromJson(OBJECT_READER.readTree(responseBody));
-      } catch (Exception e) {
-        throw new ExecutionException(e);
-      }
+    try {
+      final String responseBody = httpResponse.getResponseBody(StandardCharsets.UTF_8);
+      return BrokerResponse.fromJson(OBJECT_READER.readTree(responseBody));
+    } catch (final IOException e) {
+      throw new CompletionException(e);
     }
   }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.pinot.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+
+/**
+ * Broker selector that prefers the brokers with the lowest latency.
+ *
+ * The latency of each broker is tracked with an exponentially weighted moving average (EWMA).
+ * Brokers without latency data are tried first. A small fraction of the queries go to a random
+ * broker, so that a broker that was slow once gets a chance to recover.
+ * The list of brokers serving a table is given by the delegate selector.
+ */
+public class LatencyAwareBrokerSelector implements BrokerSelector {
+
+  private static final double EWMA_ALPHA = 0.2;
+  private static final double EXPLORATION_RATE = 0.05;
+  // latency recorded when a query on a broker fails
+  private static final long FAILURE_PENALTY_MILLIS = 10_000;
+  // number of samples kept to compute latency percentiles
+  private static final int LATENCY_WINDOW_SIZE = 1000;
+  private static final int MIN_SAMPLES_FOR_PERCENTILE = 20;
+  // number of random draws used to discover the brokers of a table on a dynamic delegate
+  private static final int DISCOVERY_DRAWS = 8;
+
+  private final BrokerSelector delegate;
+  private final Map<String, BrokerLatency> latencies = new ConcurrentHashMap<>();
+  private final long[] latencyWindow = new long[LATENCY_WINDOW_SIZE];
+  private int latencyWindowCount = 0;
+  private int latencyWindowNext = 0;
+
+  public LatencyAwareBrokerSelector(final BrokerSelector delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public String selectBroker(final String table) {
+    return selectBroker(table, null);
+  }
+
+  /**
+   * Returns the fastest broker serving the table, other than the excluded broker if possible.
+   */
+  public @Nullable String selectBroker(final String table, final @Nullable String excluded) {
+    final List<String> candidates = candidates(table);
+    if (excluded != null && candidates.size() > 1) {
+      candidates.remove(excluded);
+    }
+    if (candidates.isEmpty()) {
+      return null;
+    }
+    if (ThreadLocalRandom.current().nextDouble() < EXPLORATION_RATE) {
+      return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+    String best = null;
+    double bestLatency = Double.MAX_VALUE;
+    for (final String broker : candidates) {
+      final BrokerLatency latency = latencies.get(broker);
+      if (latency == null) {
+        // no data yet - try it
+        return broker;
+      }
+      final double ewma = latency.get();
+      if (ewma < bestLatency) {
+        best = broker;
+        bestLatency = ewma;
+      }
+    }
+    return best;
+  }
+
+  private List<String> candidates(final String table) {
+    if (delegate instanceof SimpleBrokerSelector) {
+      return new ArrayList<>(delegate.getBrokers());
+    }
+    // dynamic selectors know the brokers of each table, but only expose a random selection
+    final Set<String> brokers = new LinkedHashSet<>();
+    for (int i = 0; i < DISCOVERY_DRAWS; i++) {
+      final String broker = delegate.selectBroker(table);
+      if (broker != null) {
+        brokers.add(broker);
+      }
+    }
+    return new ArrayList<>(brokers);
+  }
+
+  public void recordLatency(final String broker, final long latencyMillis) {
+    latencies.computeIfAbsent(broker, k -> new BrokerLatency()).update(latencyMillis);
+    synchronized (latencyWindow) {
+      latencyWindow[latencyWindowNext] = latencyMillis;
+      latencyWindowNext = (latencyWindowNext + 1) % LATENCY_WINDOW_SIZE;
+      latencyWindowCount = Math.min(latencyWindowCount + 1, LATENCY_WINDOW_SIZE);
+    }
+  }
+
+  public void recordFailure(final String broker) {
+    latencies.computeIfAbsent(broker, k -> new BrokerLatency()).update(FAILURE_PENALTY_MILLIS);
+  }
+
+  /**
+   * Records a request that was cancelled after the given time, typically because a hedged
+   * request answered first. The elapsed time is a lower bound of the broker latency: it is only
+   * taken into account if it is above the current estimate. It is not used for percentiles.
+   */
+  public void recordCancellation(final String broker, final long elapsedMillis) {
+    latencies.computeIfAbsent(broker, k -> new BrokerLatency()).updateLowerBound(elapsedMillis);
+  }
+
+  /**
+   * Returns the given percentile of the recent query latencies, across all brokers.
+   * Returns null if there is not enough data.
+   */
+  public @Nullable Long latencyPercentile(final double percentile) {
+    final long[] samples;
+    synchronized (latencyWindow) {
+      if (latencyWindowCount < MIN_SAMPLES_FOR_PERCENTILE) {
+        return null;
+      }
+      samples = Arrays.copyOf(latencyWindow, latencyWindowCount);
+    }
+    Arrays.sort(samples);
+    final int index = (int) Math.ceil(percentile / 100 * samples.length) - 1;
+    return samples[Math.max(0, Math.min(index, samples.length - 1))];
+  }
+
+  @VisibleForTesting
+  @Nullable Double latencyEwma(final String broker) {
+    final BrokerLatency latency = latencies.get(broker);
+    return latency == null ? null : latency.get();
+  }
+
+  @Override
+  public List<String> getBrokers() {
+    return delegate.getBrokers();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  private static class BrokerLatency {
+
+    private double ewma = -1;
+
+    synchronized void update(final long latencyMillis) {
+      ewma = ewma < 0 ? latencyMillis : EWMA_ALPHA * latencyMillis + (1 - EWMA_ALPHA) * ewma;
+    }
+
+    synchronized void updateLowerBound(final long latencyMillis) {
+      if (latencyMillis > ewma) {
+        update(latencyMillis);
+      }
+    }
+
+    synchronized double get() {
+      return ewma;
+    }
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.pinot.client;
+
+import ai.startree.thirdeye.plugins.datasource.pinot.PinotHedgingConfiguration;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread-safe connection that sends each query to the fastest broker.
+ *
+ * If hedging is enabled and the broker did not answer after a percentile of the recent
+ * latencies, the query is sent to a second broker. The first successful response is returned and
+ * the other request is cancelled.
+ *
+ * On close, in-flight queries are given some time to complete before the transport is closed.
+ * This makes it possible to swap connections (eg on OAuth token refresh) without failing queries.
+ * A caller that obtains the connection before running a query can use {@link #tryAcquire()} to
+ * make sure the connection is not closed in between.
+ */
+public class LatencyAwareConnection extends Connection {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LatencyAwareConnection.class);
+
+  private static final long CLOSE_DRAIN_TIMEOUT_MILLIS = 5 * 60_000;
+
+  private final LatencyAwareBrokerSelector brokerSelector;
+  private final PinotClientTransport transport;
+  private final PinotHedgingConfiguration hedgingConfiguration;
+  private final ExecutorService responseExecutor;
+  private final AtomicInteger inFlightQueries = new AtomicInteger();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private volatile boolean closeRequested = false;
+
+  public LatencyAwareConnection(final LatencyAwareBrokerSelector brokerSelector,
+      final PinotClientTransport transport,
+      final PinotHedgingConfiguration hedgingConfiguration) {
+    super(new Properties(), brokerSelector, transport);
+    this.brokerSelector = brokerSelector;
+    this.transport = transport;
+    this.hedgingConfiguration = hedgingConfiguration;
+    // only used for transports that do not return a CompletableFuture
+    this.responseExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+        .setNameFormat("pinot-response-%d")
+        .setDaemon(true)
+        .build());
+  }
+
+  @Override
+  public ResultSetGroup execute(final String tableName, final Request request)
+      throws PinotClientException {
+    inFlightQueries.incrementAndGet();
+    try {
+      final BrokerResponse response = executeWithHedging(tableName, request);
+      if (response.hasExceptions()) {
+        throw new PinotClientException(
+            "Query had processing exceptions: \n" + response.getExceptions());
+      }
+      return new ResultSetGroup(response);
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Registers a query about to be run. The connection is not closed until {@link #release()} is
+   * called.
+   *
+   * @return false if the connection is closing - nothing to release in this case.
+   */
+  public boolean tryAcquire() {
+    inFlightQueries.incrementAndGet();
+    // close() sets closeRequested before reading inFlightQueries: one of the two sees the other
+    if (closeRequested) {
+      release();
+      return false;
+    }
+    return true;
+  }
+
+  public void release() {
+    if (inFlightQueries.decrementAndGet() == 0 && closeRequested) {
+      closeResources();
+    }
+  }
+
+  private BrokerResponse executeWithHedging(final String tableName, final Request request) {
+    final String broker = brokerSelector.selectBroker(tableName);
+    if (broker == null) {
+      throw new PinotClientException("Could not find broker to query for table: " + tableName);
+    }
+    final CompletableFuture<BrokerResponse> primary = send(broker, request);
+    final @Nullable Long hedgingDelay = hedgingDelayMillis();
+    if (hedgingDelay == null) {
+      return await(primary);
+    }
+
+    try {
+      return primary.get(hedgingDelay, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException e) {
+      // continue with hedging below
+    } catch (final InterruptedException e) {
+      primary.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PinotClientException(e);
+    } catch (final ExecutionException e) {
+      throw asPinotClientException(e.getCause());
+    }
+
+    final String hedgeBroker = Objects.requireNonNullElse(
+        brokerSelector.selectBroker(tableName, broker), broker);
+    LOG.debug("Broker {} did not answer after {}ms. Sending hedged request to {}",
+        broker,
+        hedgingDelay,
+        hedgeBroker);
+    final CompletableFuture<BrokerResponse> hedge = send(hedgeBroker, request);
+    try {
+      return await(firstSuccessful(primary, hedge));
+    } finally {
+      // cancel the loser - no-op on the winner
+      primary.cancel(true);
+      hedge.cancel(true);
+    }
+  }
+
+  private @Nullable Long hedgingDelayMillis() {
+    if (!hedgingConfiguration.isEnabled()) {
+      return null;
+    }
+    final Long percentile = brokerSelector.latencyPercentile(
+        hedgingConfiguration.getLatencyPercentile());
+    if (percentile == null) {
+      // not enough data yet
+      return null;
+    }
+    return Math.max(percentile, hedgingConfiguration.getMinDelayMs());
+  }
+
+  private CompletableFuture<BrokerResponse> send(final String broker, final Request request) {
+    final long startNanos = System.nanoTime();
+    final CompletableFuture<BrokerResponse> future = toCompletableFuture(
+        transport.executeQueryAsync(broker, request));
+    future.whenComplete((response, throwable) -> {
+      final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+      if (future.isCancelled()) {
+        brokerSelector.recordCancellation(broker, elapsedMillis);
+      } else if (throwable == null) {
+        brokerSelector.recordLatency(broker, elapsedMillis);
+      } else {
+        brokerSelector.recordFailure(broker);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * The ThirdEye transport returns a CompletableFuture that aborts the http request on
+   * cancellation. Other transports are adapted with a thread waiting on the response.
+   */
+  private CompletableFuture<BrokerResponse> toCompletableFuture(
+      final Future<BrokerResponse> responseFuture) {
+    if (responseFuture instanceof CompletableFuture) {
+      return (CompletableFuture<BrokerResponse>) responseFuture;
+    }
+    final CompletableFuture<BrokerResponse> future = CompletableFuture.supplyAsync(() -> {
+      try {
+        return responseFuture.get();
+      } catch (final ExecutionException e) {
+        throw new CompletionException(e.getCause());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CompletionException(e);
+      }
+    }, responseExecutor);
+    future.whenComplete((response, throwable) -> {
+      if (future.isCancelled()) {
+        // abort the http request
+        responseFuture.cancel(true);
+      }
+    });
+    return future;
+  }
+
+  private static CompletableFuture<BrokerResponse> firstSuccessful(
+      final CompletableFuture<BrokerResponse> first,
+      final CompletableFuture<BrokerResponse> second) {
+    final CompletableFuture<BrokerResponse> result = new CompletableFuture<>();
+    final AtomicInteger failures = new AtomicInteger();
+    for (final CompletableFuture<BrokerResponse> future : List.of(first, second)) {
+      future.whenComplete((response, throwable) -> {
+        if (throwable == null) {
+          result.complete(response);
+        } else if (failures.incrementAndGet() == 2) {
+          result.completeExceptionally(throwable);
+        }
+      });
+    }
+    return result;
+  }
+
+  private static BrokerResponse await(final CompletableFuture<BrokerResponse> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PinotClientException(e);
+    } catch (final ExecutionException | CancellationException e) {
+      throw asPinotClientException(e.getCause() != null ? e.getCause() : e);
+    }
+  }
+
+  private static PinotClientException asPinotClientException(final Throwable throwable) {
+    final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+        ? throwable.getCause()
+        : throwable;
+    if (cause instanceof PinotClientException) {
+      return (PinotClientException) cause;
+    }
+    return new PinotClientException(cause);
+  }
+
+  public int getInFlightQueries() {
+    return inFlightQueries.get();
+  }
+
+  /**
+   * Closes the transport and the broker selector once the in-flight queries are completed, or
+   * after a timeout. Does not block.
+   */
+  @Override
+  public void close() throws PinotClientException {
+    closeRequested = true;
+    if (inFlightQueries.get() == 0) {
+      closeResources();
+      return;
+    }
+    CompletableFuture.delayedExecutor(CLOSE_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+        .execute(this::closeResources);
+  }
+
+  private void closeResources() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    if (inFlightQueries.get() > 0) {
+      LOG.warn("Closing pinot connection with {} queries still in flight",
+          inFlightQueries.get());
+    }
+    try {
+      responseExecutor.shutdownNow();
+      transport.close();
+      brokerSelector.close();
+    } catch (final Exception e) {
+      LOG.error("Exception closing pinot connection", e);
+    }
+  }
+}
@@ -14,10 +14,13 @@
 package org.apache.pinot.client;
 
 import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
-import static java.util.Collections.singletonList;
 
+import ai.startree.thirdeye.plugins.datasource.pinot.PinotHedgingConfiguration;
 import ai.startree.thirdeye.plugins.datasource.pinot.PinotThirdEyeDataSourceConfig;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.inject.Singleton;
 import javax.net.ssl.SSLContext;
 import org.slf4j.Logger;
@@ -32,19 +35,26 @@ public class PinotConnectionBuilder {
     final String brokerUrl = config.getBrokerUrl();
     final PinotClientTransport transport = buildTransport(config);
 
-    final Connection connection;
+    final BrokerSelector brokerSelector;
     if (brokerUrl != null && brokerUrl.trim().length() > 0) {
-      connection = ConnectionFactory.fromHostList(singletonList(brokerUrl), transport);
-      LOG.info("Created pinot transport with brokers [{}]", brokerUrl);
+      // a comma-separated list of brokers can be passed
+      final List<String> brokers = Arrays.stream(brokerUrl.split(","))
+          .map(String::trim)
+          .filter(b -> !b.isEmpty())
+          .collect(Collectors.toList());
+      brokerSelector = new SimpleBrokerSelector(brokers);
+      LOG.info("Created pinot transport with brokers {}", brokers);
     } else {
-      connection = ConnectionFactory.fromZookeeper(String.format("%s/%s",
+      brokerSelector = new DynamicBrokerSelector(String.format("%s/%s",
           config.getZookeeperUrl(),
-          config.getClusterName()), transport);
+          config.getClusterName()));
       LOG.info("Created pinot transport with controller {}:{}",
           config.getControllerHost(),
           config.getControllerPort());
     }
-    return connection;
+    return new LatencyAwareConnection(new LatencyAwareBrokerSelector(brokerSelector),
+        transport,
+        optional(config.getHedging()).orElseGet(PinotHedgingConfiguration::new));
   }
 
   private PinotClientTransport buildTransport(
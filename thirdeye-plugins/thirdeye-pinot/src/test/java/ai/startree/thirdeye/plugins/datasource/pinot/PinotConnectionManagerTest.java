@@ -89,7 +89,11 @@ public class PinotConnectionManagerTest {
     when(pinotConnectionBuilder.createConnection(any(PinotThirdEyeDataSourceConfig.class)))
         .thenReturn(newConnection);
 
-    /* Call third time */
+    /* the token is not read on the query path */
+    assertThat(pinotConnectionManager.get()).isEqualTo(connection);
+
+    /* periodic token check */
+    pinotConnectionManager.refreshIfTokenChanged();
     final Connection actual = pinotConnectionManager.get();
     assertThat(actual).isEqualTo(newConnection);
     /* Create should be called twice */
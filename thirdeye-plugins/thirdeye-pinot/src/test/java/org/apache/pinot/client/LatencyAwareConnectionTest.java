@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.pinot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.plugins.datasource.pinot.PinotHedgingConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class LatencyAwareConnectionTest {
+
+  private static final String FAST_BROKER = "fast:8099";
+  private static final String SLOW_BROKER = "slow:8099";
+  private static final String TABLE = "table";
+
+  private FakeBrokerTransport transport;
+
+  @BeforeMethod
+  public void setUp() {
+    transport = new FakeBrokerTransport();
+    transport.brokerDelaysMillis.put(FAST_BROKER, 1L);
+    transport.brokerDelaysMillis.put(SLOW_BROKER, 50L);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    transport.scheduler.shutdownNow();
+  }
+
+  private LatencyAwareConnection connection(final PinotHedgingConfiguration hedging) {
+    return new LatencyAwareConnection(
+        new LatencyAwareBrokerSelector(new SimpleBrokerSelector(List.of(SLOW_BROKER,
+            FAST_BROKER))),
+        transport,
+        hedging);
+  }
+
+  private static String answeringBroker(final ResultSetGroup resultSetGroup) {
+    return resultSetGroup.getResultSet(0).getString(0, 0);
+  }
+
+  @Test
+  public void testPrefersFastBroker() {
+    final LatencyAwareConnection connection = connection(new PinotHedgingConfiguration());
+    int fastCount = 0;
+    for (int i = 0; i < 40; i++) {
+      if (FAST_BROKER.equals(answeringBroker(connection.execute(TABLE, new Request("sql",
+          "SELECT 1"))))) {
+        fastCount++;
+      }
+    }
+    // the first queries discover both brokers, then only random exploration hits the slow one
+    assertThat(fastCount).isGreaterThan(30);
+  }
+
+  @Test
+  public void testHedgedRequestIsSentWhenBrokerIsSlow() {
+    final LatencyAwareConnection connection = connection(new PinotHedgingConfiguration()
+        .setEnabled(true)
+        .setLatencyPercentile(50)
+        .setMinDelayMs(10));
+    // warm up latency statistics
+    transport.brokerDelaysMillis.put(SLOW_BROKER, 1L);
+    for (int i = 0; i < 30; i++) {
+      connection.execute(TABLE, new Request("sql", "SELECT 1"));
+    }
+
+    // the next request hangs, whatever the broker
+    transport.hangNextRequest.set(true);
+    final long start = System.currentTimeMillis();
+    final ResultSetGroup result = connection.execute(TABLE, new Request("sql", "SELECT 1"));
+
+    assertThat(System.currentTimeMillis() - start).isLessThan(5_000);
+    assertThat(result.getResultSetCount()).isEqualTo(1);
+    assertThat(transport.cancelledRequests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testCancelledRequestIsRecordedAsLowerBound() {
+    final LatencyAwareBrokerSelector selector = new LatencyAwareBrokerSelector(
+        new SimpleBrokerSelector(List.of(SLOW_BROKER)));
+    selector.recordLatency(SLOW_BROKER, 10);
+
+    selector.recordCancellation(SLOW_BROKER, 5);
+    assertThat(selector.latencyEwma(SLOW_BROKER)).isEqualTo(10.0);
+
+    selector.recordCancellation(SLOW_BROKER, 1_000);
+    assertThat(selector.latencyEwma(SLOW_BROKER)).isGreaterThan(10.0);
+  }
+
+  @Test
+  public void testCloseWaitsForInFlightQueries() throws Exception {
+    final LatencyAwareConnection connection = connection(new PinotHedgingConfiguration());
+    transport.brokerDelaysMillis.put(FAST_BROKER, 300L);
+    transport.brokerDelaysMillis.put(SLOW_BROKER, 300L);
+
+    final CompletableFuture<ResultSetGroup> inFlight = CompletableFuture.supplyAsync(
+        () -> connection.execute(TABLE, new Request("sql", "SELECT 1")));
+    while (connection.getInFlightQueries() == 0) {
+      Thread.sleep(5);
+    }
+    // does not block
+    connection.close();
+    assertThat(transport.closed.get()).isFalse();
+
+    assertThat(inFlight.get().getResultSetCount()).isEqualTo(1);
+    assertThat(transport.closed.get()).isTrue();
+  }
+
+  @Test
+  public void testAcquiredConnectionIsNotClosedBeforeRelease() {
+    final LatencyAwareConnection connection = connection(new PinotHedgingConfiguration());
+    assertThat(connection.tryAcquire()).isTrue();
+
+    connection.close();
+    assertThat(transport.closed.get()).isFalse();
+    assertThat(connection.tryAcquire()).isFalse();
+
+    // the query runs on the connection obtained before the close
+    assertThat(connection.execute(TABLE, new Request("sql", "SELECT 1")).getResultSetCount())
+        .isEqualTo(1);
+    assertThat(transport.closed.get()).isFalse();
+
+    connection.release();
+    assertThat(transport.closed.get()).isTrue();
+  }
+
+  /**
+   * In-process fake of a set of Pinot brokers. Each broker answers after a configurable delay with
+   * a single row containing its name.
+   */
+  private static class FakeBrokerTransport implements PinotClientTransport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final Map<String, Long> brokerDelaysMillis = new ConcurrentHashMap<>();
+    private final AtomicBoolean hangNextRequest = new AtomicBoolean(false);
+    private final AtomicInteger cancelledRequests = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    @Override
+    public Future<BrokerResponse> executeQueryAsync(final String brokerAddress,
+        final Request request) {
+      final CompletableFuture<BrokerResponse> future = new CompletableFuture<>() {
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+          final boolean cancelled = super.cancel(mayInterruptIfRunning);
+          if (cancelled) {
+            cancelledRequests.incrementAndGet();
+          }
+          return cancelled;
+        }
+      };
+      if (hangNextRequest.getAndSet(false)) {
+        return future;
+      }
+      scheduler.schedule(() -> future.complete(response(brokerAddress)),
+          brokerDelaysMillis.get(brokerAddress),
+          TimeUnit.MILLISECONDS);
+      return future;
+    }
+
+    private static BrokerResponse response(final String brokerAddress) {
+      try {
+        return BrokerResponse.fromJson(OBJECT_MAPPER.readTree(String.format(
+            "{\"resultTable\": {\"dataSchema\": {\"columnNames\": [\"broker\"],"
+                + " \"columnDataTypes\": [\"STRING\"]}, \"rows\": [[\"%s\"]]},"
+                + " \"exceptions\": []}",
+            brokerAddress)));
+      } catch (final Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public Future<BrokerResponse> executeQueryAsync(final String brokerAddress,
+        final String query) {
+      return executeQueryAsync(brokerAddress, new Request("sql", query));
+    }
+
+    @Override
+    public BrokerResponse executeQuery(final String brokerAddress, final String query) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BrokerResponse executeQuery(final String brokerAddress, final Request request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+      closed.set(true);
+    }
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.scheduler;
+
+import static ai.startree.thirdeye.scheduler.DetectionCronScheduler.QUARTZ_DETECTION_GROUPER;
+import static ai.startree.thirdeye.scheduler.JobSchedulerService.UNUSED_DETECTION_INTERVAL;
+import static ai.startree.thirdeye.spi.Constants.DEFAULT_CHRONOLOGY;
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+import static ai.startree.thirdeye.spi.util.TimeUtils.floorByPeriod;
+
+import ai.startree.thirdeye.alert.AlertTemplateRenderer;
+import ai.startree.thirdeye.scheduler.job.DetectionPipelineJob;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
+import ai.startree.thirdeye.spi.datalayer.bao.TaskManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertMetadataDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertTemplateDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
+import ai.startree.thirdeye.spi.datasource.loader.MinMaxTimeLoader;
+import ai.startree.thirdeye.spi.task.TaskType;
+import ai.startree.thirdeye.spi.util.Pair;
+import ai.startree.thirdeye.spi.util.TimeUtils;
+import ai.startree.thirdeye.util.ThirdEyeUtils;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.quartz.JobKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Alternative to {@link DetectionCronScheduler}: creates detection tasks when new data lands.
+ *
+ * On each poll, the max time of each dataset is fetched once, whatever the number of alerts on
+ * the dataset. A detection task is created for an alert only if the dataset max time reaches the
+ * end of the granularity bucket that contains the lastTimestamp of the alert, ie the end of the
+ * last successful detection run. Dataset max times in the future are clamped to now.
+ * The cron of the alerts is not used.
+ *
+ * The dataset, granularity and timezone of an alert are found by rendering the alert. They are
+ * cached, and the alert is only rendered again when its updateTime changes.
+ */
+@Singleton
+public class DataArrivalDetectionScheduler implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DataArrivalDetectionScheduler.class);
+  private static final long FETCH_TIMEOUT_MILLIS = 30_000;
+
+  private final AlertManager alertManager;
+  private final DatasetConfigManager datasetConfigManager;
+  private final AlertTemplateRenderer alertTemplateRenderer;
+  private final MinMaxTimeLoader minMaxTimeLoader;
+  private final JobSchedulerService jobSchedulerService;
+  private final TaskManager taskManager;
+  private final ScheduledExecutorService executorService;
+  private final int pollDelayInSeconds;
+  // alert id -> (alert updateTime, rendered metadata). Only accessed by the scheduler thread.
+  private final Map<Long, Pair<Timestamp, @Nullable AlertDataSpec>> specByAlertId = new HashMap<>();
+
+  @Inject
+  public DataArrivalDetectionScheduler(final ThirdEyeSchedulerConfiguration configuration,
+      final AlertManager alertManager,
+      final DatasetConfigManager datasetConfigManager,
+      final AlertTemplateRenderer alertTemplateRenderer,
+      final MinMaxTimeLoader minMaxTimeLoader,
+      final JobSchedulerService jobSchedulerService,
+      final TaskManager taskManager) {
+    this.alertManager = alertManager;
+    this.datasetConfigManager = datasetConfigManager;
+    this.alertTemplateRenderer = alertTemplateRenderer;
+    this.minMaxTimeLoader = minMaxTimeLoader;
+    this.jobSchedulerService = jobSchedulerService;
+    this.taskManager = taskManager;
+    this.pollDelayInSeconds = configuration.getDataArrivalTriggerConfiguration()
+        .getPollDelayInSeconds();
+    executorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("detection-data-arrival-%d")
+        .build());
+  }
+
+  public void start() {
+    executorService.scheduleWithFixedDelay(this,
+        0,
+        pollDelayInSeconds,
+        TimeUnit.SECONDS);
+  }
+
+  public void shutdown() {
+    ThirdEyeUtils.shutdownExecutionService(executorService);
+  }
+
+  @Override
+  public void run() {
+    // try catch is important to not throw exceptions while running in the scheduler.
+    try {
+      final long now = System.currentTimeMillis();
+      final Map<String, List<AlertDTO>> alertsByDataset = groupActiveAlertsByDataset();
+      for (final Entry<String, List<AlertDTO>> e : alertsByDataset.entrySet()) {
+        processDataset(e.getKey(), e.getValue(), now);
+      }
+    } catch (final Exception e) {
+      LOG.error("Error while scheduling detection pipelines on data arrival", e);
+    }
+  }
+
+  private Map<String, List<AlertDTO>> groupActiveAlertsByDataset() {
+    final Map<String, List<AlertDTO>> alertsByDataset = new HashMap<>();
+    final Set<Long> activeAlertIds = new HashSet<>();
+    for (final AlertDTO alert : alertManager.findAllActive()) {
+      activeAlertIds.add(alert.getId());
+      final AlertDataSpec spec = getSpec(alert);
+      if (spec == null) {
+        LOG.debug("Alert {} has no dataset in its metadata. Skipping.", alert.getId());
+        continue;
+      }
+      alertsByDataset.computeIfAbsent(spec.dataset, k -> new ArrayList<>()).add(alert);
+    }
+    // forget deleted and deactivated alerts
+    specByAlertId.keySet().retainAll(activeAlertIds);
+    return alertsByDataset;
+  }
+
+  private @Nullable AlertDataSpec getSpec(final AlertDTO alert) {
+    final Pair<Timestamp, @Nullable AlertDataSpec> cached = specByAlertId.get(alert.getId());
+    if (cached != null && Objects.equals(cached.getFirst(), alert.getUpdateTime())) {
+      return cached.getSecond();
+    }
+    try {
+      final AlertTemplateDTO templateWithProperties = alertTemplateRenderer.renderAlert(alert,
+          UNUSED_DETECTION_INTERVAL);
+      final AlertDataSpec spec = AlertDataSpec.from(templateWithProperties.getMetadata());
+      specByAlertId.put(alert.getId(), new Pair<>(alert.getUpdateTime(), spec));
+      return spec;
+    } catch (final Exception e) {
+      // not cached: rendering is tried again on the next poll
+      LOG.error("Could not render alert {} to get its dataset", alert.getId(), e);
+      return null;
+    }
+  }
+
+  private void processDataset(final String dataset, final List<AlertDTO> alerts,
+      final long endTime) {
+    try {
+      final DatasetConfigDTO datasetConfigDTO = datasetConfigManager.findByDataset(dataset);
+      if (datasetConfigDTO == null) {
+        LOG.warn("Dataset {} not found. Skipping data arrival check for alerts {}.",
+            dataset,
+            alerts.stream().map(AlertDTO::getId).collect(Collectors.toList()));
+        return;
+      }
+      final @Nullable Long maxTime = minMaxTimeLoader.fetchMaxTimeAsync(datasetConfigDTO, null)
+          .get(FETCH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      if (maxTime == null) {
+        return;
+      }
+      for (final AlertDTO alert : alerts) {
+        final AlertDataSpec spec = specByAlertId.get(alert.getId()).getSecond();
+        if (hasNewData(alert.getLastTimestamp(), maxTime, endTime, spec.granularity,
+            spec.timezone)) {
+          DetectionPipelineJob.createDetectionTask(jobSchedulerService,
+              taskManager,
+              jobKey(alert),
+              endTime);
+        }
+      }
+    } catch (final Exception e) {
+      LOG.error("Error while checking data arrival for dataset {}", dataset, e);
+    }
+  }
+
+  /**
+   * A bucket is only complete once data of the next bucket has arrived: the dataset max time must
+   * reach the end of the bucket that contains lastTimestamp. lastTimestamp is usually aligned on
+   * the granularity, in which case this is lastTimestamp + granularity.
+   * Without granularity, any data after lastTimestamp is new data.
+   */
+  @VisibleForTesting
+  static boolean hasNewData(final long lastTimestamp, final long datasetMaxTime, final long now,
+      final @Nullable Period granularity, final DateTimeZone timezone) {
+    // timestamps in the future are bad data, they must not trigger a detection at each poll
+    final long maxTime = Math.min(datasetMaxTime, now);
+    if (granularity == null) {
+      return maxTime > lastTimestamp;
+    }
+    final long nextBucketStart = floorByPeriod(new DateTime(lastTimestamp, timezone), granularity)
+        .plus(granularity)
+        .getMillis();
+    return maxTime >= nextBucketStart;
+  }
+
+  private static JobKey jobKey(final AlertDTO alert) {
+    return new JobKey(String.format("%s_%d", TaskType.DETECTION, alert.getId()),
+        QUARTZ_DETECTION_GROUPER);
+  }
+
+  private static class AlertDataSpec {
+
+    private final String dataset;
+    private final @Nullable Period granularity;
+    private final DateTimeZone timezone;
+
+    private AlertDataSpec(final String dataset, final @Nullable Period granularity,
+        final DateTimeZone timezone) {
+      this.dataset = dataset;
+      this.granularity = granularity;
+      this.timezone = timezone;
+    }
+
+    private static @Nullable AlertDataSpec from(final @Nullable AlertMetadataDTO metadata) {
+      final String dataset = optional(metadata)
+          .map(AlertMetadataDTO::getDataset)
+          .map(DatasetConfigDTO::getDataset)
+          .orElse(null);
+      if (dataset == null) {
+        return null;
+      }
+      // templates can have an empty string as default property
+      final Period granularity = optional(metadata.getGranularity())
+          .filter(StringUtils::isNotEmpty)
+          .map(TimeUtils::isoPeriod)
+          .orElse(null);
+      final DateTimeZone timezone = optional(metadata.getTimezone())
+          .filter(StringUtils::isNotEmpty)
+          .map(DateTimeZone::forID)
+          .orElse(DEFAULT_CHRONOLOGY.getZone());
+      return new AlertDataSpec(dataset, granularity, timezone);
+    }
+  }
+}
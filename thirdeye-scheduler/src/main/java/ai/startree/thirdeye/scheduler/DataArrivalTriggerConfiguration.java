@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.scheduler;
+
+/**
+ * Configuration of the data arrival trigger for detection pipelines.
+ *
+ * When enabled, detection tasks are created when new data lands in the dataset of an alert,
+ * instead of on the cron of the alert.
+ */
+public class DataArrivalTriggerConfiguration {
+
+  private boolean enabled = false;
+  private Integer pollDelayInSeconds = 60;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public DataArrivalTriggerConfiguration setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  public Integer getPollDelayInSeconds() {
+    return pollDelayInSeconds;
+  }
+
+  public DataArrivalTriggerConfiguration setPollDelayInSeconds(
+      final Integer pollDelayInSeconds) {
+    this.pollDelayInSeconds = pollDelayInSeconds;
+    return this;
+  }
+}
@@ -48,6 +48,7 @@ public class SchedulerService implements Managed {
   private final AutoOnboardService autoOnboardService;
   private final HolidayEventsLoader holidayEventsLoader;
   private final DetectionCronScheduler detectionScheduler;
+  private final DataArrivalDetectionScheduler dataArrivalDetectionScheduler;
   private final ModelDownloaderManager modelDownloaderManager;
   private final SubscriptionCronScheduler subscriptionScheduler;
   private final TaskManager taskManager;
@@ -63,6 +64,7 @@ public class SchedulerService implements Managed {
       final AutoOnboardService autoOnboardService,
       final HolidayEventsLoader holidayEventsLoader,
       final DetectionCronScheduler detectionScheduler,
+      final DataArrivalDetectionScheduler dataArrivalDetectionScheduler,
       final ModelDownloaderManager modelDownloaderManager,
       final SubscriptionCronScheduler subscriptionScheduler,
       final TaskManager taskManager) {
@@ -74,6 +76,7 @@ public class SchedulerService implements Managed {
     this.autoOnboardService = autoOnboardService;
     this.holidayEventsLoader = holidayEventsLoader;
     this.detectionScheduler = detectionScheduler;
+    this.dataArrivalDetectionScheduler = dataArrivalDetectionScheduler;
     this.modelDownloaderManager = modelDownloaderManager;
     this.subscriptionScheduler = subscriptionScheduler;
     this.taskManager = taskManager;
@@ -96,7 +99,11 @@ public class SchedulerService implements Managed {
       holidayEventsLoader.start();
     }
     if (config.isDetectionPipeline()) {
-      detectionScheduler.start();
+      if (config.getDataArrivalTriggerConfiguration().isEnabled()) {
+        dataArrivalDetectionScheduler.start();
+      } else {
+        detectionScheduler.start();
+      }
     }
     if (config.isDetectionAlert()) {
       subscriptionScheduler.start();
@@ -165,6 +172,9 @@ public class SchedulerService implements Managed {
     if (detectionScheduler != null) {
       detectionScheduler.shutdown();
     }
+    if (dataArrivalDetectionScheduler != null) {
+      dataArrivalDetectionScheduler.shutdown();
+    }
     if (config.isDetectionAlert()) {
       subscriptionScheduler.shutdown();
     }
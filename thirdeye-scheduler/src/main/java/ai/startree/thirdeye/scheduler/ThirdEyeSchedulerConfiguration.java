@@ -39,6 +39,9 @@ public class ThirdEyeSchedulerConfiguration {
   @JsonProperty("autoOnboard")
   private AutoOnboardConfiguration autoOnboardConfiguration = new AutoOnboardConfiguration();
 
+  @JsonProperty("dataArrivalTrigger")
+  private DataArrivalTriggerConfiguration dataArrivalTriggerConfiguration = new DataArrivalTriggerConfiguration();
+
   private MonitorConfiguration monitorConfiguration = new MonitorConfiguration();
   private List<ModelDownloaderConfiguration> modelDownloaderConfigs;
 
@@ -117,6 +120,16 @@ public class ThirdEyeSchedulerConfiguration {
     return this;
   }
 
+  public DataArrivalTriggerConfiguration getDataArrivalTriggerConfiguration() {
+    return dataArrivalTriggerConfiguration;
+  }
+
+  public ThirdEyeSchedulerConfiguration setDataArrivalTriggerConfiguration(
+      final DataArrivalTriggerConfiguration dataArrivalTriggerConfiguration) {
+    this.dataArrivalTriggerConfiguration = dataArrivalTriggerConfiguration;
+    return this;
+  }
+
   public MonitorConfiguration getMonitorConfiguration() {
     return monitorConfiguration;
   }
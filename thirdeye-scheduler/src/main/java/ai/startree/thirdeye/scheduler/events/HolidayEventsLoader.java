@@ -205,11 +205,13 @@ public class HolidayEventsLoader implements Runnable {
 
   public void mergeWithExistingHolidays(Map<String, List<EventDTO>> holidayNameToHolidayEvent,
       List<EventDTO> existingEvents) {
+    final List<Long> deletedIds = new ArrayList<>();
+    final List<EventDTO> upserts = new ArrayList<>();
     for (EventDTO existingEvent : existingEvents) {
       String holidayName = existingEvent.getName();
       if (!holidayNameToHolidayEvent.containsKey(holidayName)) {
         // If a event disappears, delete the event
-        eventManager.delete(existingEvent);
+        deletedIds.add(existingEvent.getId());
       } else {
         // If an existing event shows up again, overwrite with new time and country code.
         List<EventDTO> eventList = holidayNameToHolidayEvent.get(holidayName);
@@ -218,7 +220,7 @@ public class HolidayEventsLoader implements Runnable {
         existingEvent.setStartTime(newEvent.getStartTime());
         existingEvent.setEndTime(newEvent.getEndTime());
         existingEvent.setTargetDimensionMap(newEvent.getTargetDimensionMap());
-        eventManager.update(existingEvent);
+        upserts.add(existingEvent);
 
         if (eventList.isEmpty()) {
           holidayNameToHolidayEvent.remove(holidayName);
@@ -228,10 +230,18 @@ public class HolidayEventsLoader implements Runnable {
 
     // Add all remaining new events into the database
     for (List<EventDTO> eventDTOList : holidayNameToHolidayEvent.values()) {
-      for (EventDTO eventDTO : eventDTOList) {
-        eventManager.save(eventDTO);
-      }
+      upserts.addAll(eventDTOList);
+    }
+
+    if (!deletedIds.isEmpty()) {
+      eventManager.deleteByIds(deletedIds);
+    }
+    // save all the events in a single transaction
+    final int saved = eventManager.saveAll(upserts);
+    if (saved != upserts.size()) {
+      LOG.error("Could not save holidays. Saved {} out of {}.", saved, upserts.size());
     }
+    LOG.info("Holidays loaded: {} saved, {} deleted", saved, deletedIds.size());
   }
 
   private String getCountryCode(Event holiday) {
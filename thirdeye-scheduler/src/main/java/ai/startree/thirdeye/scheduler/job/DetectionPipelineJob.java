@@ -20,6 +20,7 @@ import ai.startree.thirdeye.spi.datalayer.dto.TaskDTO;
 import ai.startree.thirdeye.spi.task.TaskType;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,8 +31,20 @@ public class DetectionPipelineJob extends ThirdEyeAbstractJob {
   @Override
   public void execute(JobExecutionContext ctx) {
     final JobSchedulerService service = getInstance(ctx, JobSchedulerService.class);
-    final DetectionPipelineTaskInfo taskInfo = service.buildTaskInfo(ctx.getJobDetail().getKey(),
+    final TaskManager taskManager = getInstance(ctx, TaskManager.class);
+    createDetectionTask(service,
+        taskManager,
+        ctx.getJobDetail().getKey(),
         ctx.getScheduledFireTime().getTime());
+  }
+
+  /**
+   * Creates a detection task for the alert of the job, with a detection interval ending at
+   * endTime. Does nothing if the alert does not exist or if a task is already in the queue.
+   */
+  public static void createDetectionTask(final JobSchedulerService service,
+      final TaskManager taskManager, final JobKey jobKey, final long endTime) {
+    final DetectionPipelineTaskInfo taskInfo = service.buildTaskInfo(jobKey, endTime);
 
     if (taskInfo == null) {
       // Possible if the alert has been deleted, the task has no use.
@@ -39,7 +52,7 @@ public class DetectionPipelineJob extends ThirdEyeAbstractJob {
     }
 
     // if a task is pending and not time out yet, don't schedule more
-    String jobName = ctx.getJobDetail().getKey().getName();
+    String jobName = jobKey.getName();
     if (service.taskAlreadyRunning(jobName)) {
       LOG.info(
           "Skip scheduling detection task for {} with start time {} and end time {}. Task is already in the queue.",
@@ -50,7 +63,6 @@ public class DetectionPipelineJob extends ThirdEyeAbstractJob {
     }
 
     try {
-      final TaskManager taskManager = getInstance(ctx, TaskManager.class);
       final TaskDTO taskDTO = taskManager.createTaskDto(taskInfo.getConfigId(),
           taskInfo,
           TaskType.DETECTION);
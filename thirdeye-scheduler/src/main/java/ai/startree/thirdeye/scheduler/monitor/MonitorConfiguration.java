@@ -21,6 +21,17 @@ public class MonitorConfiguration {
   private int completedJobRetentionDays = MonitorConstants.DEFAULT_COMPLETED_JOB_RETENTION_DAYS;
   private int detectionStatusRetentionDays = MonitorConstants.DEFAULT_DETECTION_STATUS_RETENTION_DAYS;
   private int rawAnomalyRetentionDays = MonitorConstants.DEFAULT_RAW_ANOMALY_RETENTION_DAYS;
+  /**
+   * Anomalies that ended more than this number of days ago are moved to the archive table.
+   * 0 disables archival. ANOMALY must also be in database.archivedEntityTypes.
+   */
+  private int anomalyArchiveDays = MonitorConstants.DEFAULT_ANOMALY_ARCHIVE_DAYS;
+  /**
+   * Archived anomalies created more than this number of days ago are deleted. 0 keeps them.
+   */
+  private int archivedAnomalyRetentionDays = MonitorConstants.DEFAULT_ARCHIVED_ANOMALY_RETENTION_DAYS;
+  private int purgeBatchSize = MonitorConstants.DEFAULT_PURGE_BATCH_SIZE;
+  private long purgePauseMillis = MonitorConstants.DEFAULT_PURGE_PAUSE_MILLIS;
   private TimeGranularity monitorFrequency = MonitorConstants.DEFAULT_MONITOR_FREQUENCY;
 
   public int getCompletedJobRetentionDays() {
@@ -55,6 +66,38 @@ public class MonitorConfiguration {
     this.rawAnomalyRetentionDays = rawAnomalyRetentionDays;
   }
 
+  public int getAnomalyArchiveDays() {
+    return anomalyArchiveDays;
+  }
+
+  public void setAnomalyArchiveDays(int anomalyArchiveDays) {
+    this.anomalyArchiveDays = anomalyArchiveDays;
+  }
+
+  public int getArchivedAnomalyRetentionDays() {
+    return archivedAnomalyRetentionDays;
+  }
+
+  public void setArchivedAnomalyRetentionDays(int archivedAnomalyRetentionDays) {
+    this.archivedAnomalyRetentionDays = archivedAnomalyRetentionDays;
+  }
+
+  public int getPurgeBatchSize() {
+    return purgeBatchSize;
+  }
+
+  public void setPurgeBatchSize(int purgeBatchSize) {
+    this.purgeBatchSize = purgeBatchSize;
+  }
+
+  public long getPurgePauseMillis() {
+    return purgePauseMillis;
+  }
+
+  public void setPurgePauseMillis(long purgePauseMillis) {
+    this.purgePauseMillis = purgePauseMillis;
+  }
+
   public TimeGranularity getMonitorFrequency() {
     return monitorFrequency;
   }
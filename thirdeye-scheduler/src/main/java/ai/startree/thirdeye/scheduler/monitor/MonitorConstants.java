@@ -13,6 +13,7 @@
  */
 package ai.startree.thirdeye.scheduler.monitor;
 
+import ai.startree.thirdeye.spi.Constants;
 import ai.startree.thirdeye.spi.detection.TimeGranularity;
 import java.util.concurrent.TimeUnit;
 
@@ -22,5 +23,10 @@ public class MonitorConstants {
   public static int DEFAULT_COMPLETED_JOB_RETENTION_DAYS = 14;
   public static int DEFAULT_DETECTION_STATUS_RETENTION_DAYS = 7;
   public static int DEFAULT_RAW_ANOMALY_RETENTION_DAYS = 30;
+  // archival of anomalies is disabled by default
+  public static int DEFAULT_ANOMALY_ARCHIVE_DAYS = 0;
+  public static int DEFAULT_ARCHIVED_ANOMALY_RETENTION_DAYS = 365;
+  public static int DEFAULT_PURGE_BATCH_SIZE = Constants.DEFAULT_PURGE_BATCH_SIZE;
+  public static long DEFAULT_PURGE_PAUSE_MILLIS = Constants.DEFAULT_PURGE_PAUSE_MILLIS;
   public static TimeGranularity DEFAULT_MONITOR_FREQUENCY = new TimeGranularity(1, TimeUnit.DAYS);
 }
@@ -47,6 +47,11 @@ public class TaskGenerator {
     expireTaskInfo
         .setDetectionStatusRetentionDays(monitorConfiguration.getDetectionStatusRetentionDays());
     expireTaskInfo.setRawAnomalyRetentionDays(monitorConfiguration.getRawAnomalyRetentionDays());
+    expireTaskInfo.setAnomalyArchiveDays(monitorConfiguration.getAnomalyArchiveDays());
+    expireTaskInfo.setArchivedAnomalyRetentionDays(
+        monitorConfiguration.getArchivedAnomalyRetentionDays());
+    expireTaskInfo.setPurgeBatchSize(monitorConfiguration.getPurgeBatchSize());
+    expireTaskInfo.setPurgePauseMillis(monitorConfiguration.getPurgePauseMillis());
     tasks.add(expireTaskInfo);
 
     return tasks;
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.joda.time.DateTimeZone.UTC;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.alert.AlertTemplateRenderer;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
+import ai.startree.thirdeye.spi.datalayer.bao.TaskManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertMetadataDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertTemplateDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.DetectionPipelineTaskInfo;
+import ai.startree.thirdeye.spi.datalayer.dto.TaskDTO;
+import ai.startree.thirdeye.spi.datasource.loader.MinMaxTimeLoader;
+import ai.startree.thirdeye.spi.task.TaskType;
+import com.google.common.util.concurrent.Futures;
+import java.sql.Timestamp;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import org.quartz.JobKey;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DataArrivalDetectionSchedulerTest {
+
+  private static final long DATASET_MAX_TIME = 1000L;
+
+  private AlertManager alertManager;
+  private DatasetConfigManager datasetConfigManager;
+  private MinMaxTimeLoader minMaxTimeLoader;
+  private AlertTemplateRenderer alertTemplateRenderer;
+  private JobSchedulerService jobSchedulerService;
+  private TaskManager taskManager;
+  private DataArrivalDetectionScheduler scheduler;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    alertManager = mock(AlertManager.class);
+    datasetConfigManager = mock(DatasetConfigManager.class);
+    minMaxTimeLoader = mock(MinMaxTimeLoader.class);
+    jobSchedulerService = mock(JobSchedulerService.class);
+    taskManager = mock(TaskManager.class);
+    alertTemplateRenderer = mock(AlertTemplateRenderer.class);
+    when(alertTemplateRenderer.renderAlert(any(AlertDTO.class), any())).then(
+        i -> ((AlertDTO) i.getArguments()[0]).getTemplate());
+    when(datasetConfigManager.findByDataset(any())).then(
+        i -> new DatasetConfigDTO().setDataset((String) i.getArguments()[0]));
+    when(minMaxTimeLoader.fetchMaxTimeAsync(any(), any())).thenReturn(
+        Futures.immediateFuture(DATASET_MAX_TIME));
+    when(jobSchedulerService.buildTaskInfo(any(), anyLong())).then(i -> new DetectionPipelineTaskInfo(
+        JobSchedulerService.getIdFromJobKey(((JobKey) i.getArguments()[0]).getName()),
+        0L,
+        (long) i.getArguments()[1]));
+    when(taskManager.createTaskDto(anyLong(), any(), any())).thenReturn(new TaskDTO());
+
+    scheduler = new DataArrivalDetectionScheduler(new ThirdEyeSchedulerConfiguration(),
+        alertManager,
+        datasetConfigManager,
+        alertTemplateRenderer,
+        minMaxTimeLoader,
+        jobSchedulerService,
+        taskManager);
+  }
+
+  private static AlertDTO alert(final long id, final String dataset, final long lastTimestamp) {
+    final AlertDTO alert = new AlertDTO()
+        .setLastTimestamp(lastTimestamp)
+        .setTemplate(new AlertTemplateDTO().setMetadata(new AlertMetadataDTO()
+            .setDataset(new DatasetConfigDTO().setDataset(dataset))));
+    alert.setId(id);
+    alert.setActive(true);
+    return alert;
+  }
+
+  @Test
+  public void testTaskIsCreatedOnlyForAlertsBehindTheDataset() throws Exception {
+    final AlertDTO upToDate = alert(1L, "d1", DATASET_MAX_TIME);
+    final AlertDTO behind = alert(2L, "d1", DATASET_MAX_TIME - 1);
+    when(alertManager.findAllActive()).thenReturn(List.of(upToDate, behind));
+
+    scheduler.run();
+
+    verify(taskManager, times(1)).createTaskDto(eq(2L), any(), eq(TaskType.DETECTION));
+    verify(taskManager, never()).createTaskDto(eq(1L), any(), any());
+  }
+
+  @Test
+  public void testMaxTimeIsFetchedOncePerDataset() throws Exception {
+    when(alertManager.findAllActive()).thenReturn(List.of(alert(1L, "d1", 0L),
+        alert(2L, "d1", 0L),
+        alert(3L, "d2", 0L)));
+
+    scheduler.run();
+
+    verify(minMaxTimeLoader, times(2)).fetchMaxTimeAsync(any(), any());
+    verify(taskManager, times(3)).createTaskDto(anyLong(), any(), eq(TaskType.DETECTION));
+  }
+
+  @Test
+  public void testAlertIsRenderedAgainOnlyWhenUpdated() throws Exception {
+    final AlertDTO alert = alert(1L, "d1", 0L);
+    alert.setUpdateTime(new Timestamp(1000L));
+    when(alertManager.findAllActive()).thenReturn(List.of(alert));
+
+    scheduler.run();
+    scheduler.run();
+    verify(alertTemplateRenderer, times(1)).renderAlert(any(AlertDTO.class), any());
+
+    alert.setUpdateTime(new Timestamp(2000L));
+    scheduler.run();
+    verify(alertTemplateRenderer, times(2)).renderAlert(any(AlertDTO.class), any());
+  }
+
+  @Test
+  public void testOnlyActiveAlertsAreLoaded() throws Exception {
+    when(alertManager.findAllActive()).thenReturn(List.of());
+
+    scheduler.run();
+
+    verify(alertManager, never()).findAll();
+    verify(minMaxTimeLoader, never()).fetchMaxTimeAsync(any(), any());
+    verify(taskManager, never()).createTaskDto(anyLong(), any(), any());
+  }
+
+  @Test
+  public void testMaxTimeInTheFutureIsClampedToNow() {
+    final long now = 10_000L;
+    assertThat(DataArrivalDetectionScheduler.hasNewData(now, now + 5000, now, null, UTC))
+        .isFalse();
+    assertThat(DataArrivalDetectionScheduler.hasNewData(now - 1, now + 5000, now, null, UTC))
+        .isTrue();
+  }
+
+  @Test
+  public void testNewDataRequiresTheNextBucket() {
+    final Period day = Period.days(1);
+    final long dayStart = new DateTime(2022, 3, 1, 0, 0, UTC).getMillis();
+    final long nextDayStart = new DateTime(2022, 3, 2, 0, 0, UTC).getMillis();
+    final long now = nextDayStart + 1000;
+
+    // lastTimestamp aligned on the granularity: data inside the current bucket is not enough
+    assertThat(DataArrivalDetectionScheduler.hasNewData(dayStart, dayStart + 3600_000, now, day,
+        UTC)).isFalse();
+    assertThat(DataArrivalDetectionScheduler.hasNewData(dayStart, nextDayStart, now, day, UTC))
+        .isTrue();
+    // lastTimestamp not aligned: the end of its bucket must be reached
+    assertThat(DataArrivalDetectionScheduler.hasNewData(dayStart + 10, dayStart + 20, now, day,
+        UTC)).isFalse();
+    assertThat(DataArrivalDetectionScheduler.hasNewData(dayStart + 10, nextDayStart, now, day,
+        UTC)).isTrue();
+  }
+}
@@ -13,10 +13,13 @@
  */
 package ai.startree.thirdeye;
 
+import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_INVALID_QUERY_PARAM;
 import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_INVALID_QUERY_PARAM_OPERATOR;
+import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_OPERATION_UNSUPPORTED;
 import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_UNEXPECTED_QUERY_PARAM;
 import static ai.startree.thirdeye.spi.util.Pair.pair;
 import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+import static ai.startree.thirdeye.util.ResourceUtils.ensure;
 import static ai.startree.thirdeye.util.ResourceUtils.ensureExists;
 
 import ai.startree.thirdeye.spi.ThirdEyeException;
@@ -26,6 +29,7 @@ import ai.startree.thirdeye.spi.datalayer.Predicate.OPER;
 import ai.startree.thirdeye.spi.util.Pair;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Longs;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -37,7 +41,11 @@ import javax.ws.rs.core.MultivaluedMap;
 
 public class DaoFilterBuilder {
 
-  private static final ImmutableSet<String> KEYWORDS = ImmutableSet.of("limit", "offset");
+  private static final ImmutableSet<String> KEYWORDS = ImmutableSet.of("limit",
+      "offset",
+      "sort",
+      "cursor");
+  private static final String ID = "id";
   private static final ImmutableMap<String, OPER> OPERATOR_MAP = ImmutableMap.<String, OPER>builder()
       .put("eq", OPER.EQ)
       .put("gt", OPER.GT)
@@ -77,19 +85,56 @@ public class DaoFilterBuilder {
     return Predicate.AND(predicates.toArray(new Predicate[]{}));
   }
 
+  /**
+   * Build the filter pushed to the index tables.
+   *
+   * Supported keywords:
+   * - limit, offset
+   * - sort: api field to sort on, prefixed with '-' for descending order. Eg: sort=-startTime
+   * - cursor: id of the last entity of the previous page. Only valid when sorting by id.
+   *
+   * Paginated requests without a sort key are sorted by id so that pages are stable.
+   */
   public DaoFilter buildFilter(final MultivaluedMap<String, String> queryParameters) {
     final DaoFilter daoFilter = new DaoFilter();
     optional(queryParameters.getFirst("limit"))
-        .map(Long::valueOf)
+        .map(limit -> parseLong("limit", limit, 1))
         .ifPresent(daoFilter::setLimit);
     optional(queryParameters.getFirst("offset"))
-        .map(Long::valueOf)
+        .map(offset -> parseLong("offset", offset, 0))
         .ifPresent(daoFilter::setOffset);
 
-    return daoFilter.setPredicate(buildPredicate(queryParameters));
+    final String sort = queryParameters.getFirst("sort");
+    final String cursor = queryParameters.getFirst("cursor");
+    final boolean desc = sort != null && sort.startsWith("-");
+    final String sortField = sort == null ? ID : (desc ? sort.substring(1) : sort);
+    if (sort != null || cursor != null
+        || daoFilter.getLimit() != null || daoFilter.getOffset() != null) {
+      daoFilter.setOrderByKey(ensureExists(apiToBeanMap.get(sortField),
+          ERR_UNEXPECTED_QUERY_PARAM,
+          apiToBeanMap.keySet())).setDesc(desc);
+    }
+
+    final List<Predicate> predicates = buildPredicates(queryParameters);
+    if (cursor != null) {
+      ensure(ID.equals(sortField), ERR_OPERATION_UNSUPPORTED,
+          "cursor can only be used when sorting by id");
+      final String idColumn = daoFilter.getOrderByKey();
+      final Long lastId = parseLong("cursor", cursor, 0);
+      predicates.add(desc ? Predicate.LT(idColumn, lastId) : Predicate.GT(idColumn, lastId));
+    }
+    return daoFilter.setPredicate(predicates.size() == 0
+        ? null
+        : Predicate.AND(predicates.toArray(new Predicate[]{})));
+  }
+
+  private static long parseLong(final String qParam, final String value, final long min) {
+    final Long l = Longs.tryParse(value);
+    ensure(l != null && l >= min, ERR_INVALID_QUERY_PARAM, qParam, value);
+    return l;
   }
 
-  private Predicate buildPredicate(final MultivaluedMap<String, String> queryParameters) {
+  private List<Predicate> buildPredicates(final MultivaluedMap<String, String> queryParameters) {
     final List<Predicate> predicates = new ArrayList<>();
     for (Map.Entry<String, List<String>> e : queryParameters.entrySet()) {
       final String qParam = e.getKey();
@@ -103,6 +148,6 @@ public class DaoFilterBuilder {
       final Object[] objects = e.getValue().toArray();
       predicates.add(toPredicate(columnName, objects));
     }
-    return predicates.size() == 0 ? null : Predicate.AND(predicates.toArray(new Predicate[]{}));
+    return predicates;
   }
 }
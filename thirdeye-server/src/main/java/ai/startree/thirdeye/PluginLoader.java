@@ -36,6 +36,8 @@ import ai.startree.thirdeye.spi.detection.EventTriggerFactory;
 import ai.startree.thirdeye.spi.detection.postprocessing.AnomalyPostProcessorFactory;
 import ai.startree.thirdeye.spi.notification.NotificationServiceFactory;
 import ai.startree.thirdeye.spi.rca.ContributorsFinderFactory;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.io.File;
@@ -43,9 +45,16 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +66,8 @@ import org.slf4j.LoggerFactory;
  *
  * Plugins can have jars and resource files in the plugin directory which is loaded using
  * a {@link URLClassLoader} using the {@link ServiceLoader} interface.
+ *
+ * Plugin directories are loaded concurrently.
  */
 @Singleton
 public class PluginLoader {
@@ -104,12 +115,41 @@ public class PluginLoader {
     }
 
     if (loading.compareAndSet(false, true)) {
-      final File[] files = requireNonNull(pluginsDir.listFiles());
-      for (File pluginDir : files) {
-        if (pluginDir.isDirectory()) {
-          loadPlugin(pluginDir);
-        }
+      final List<File> pluginDirs = Arrays.stream(requireNonNull(pluginsDir.listFiles()))
+          .filter(File::isDirectory)
+          .collect(Collectors.toList());
+      loadPlugins(pluginDirs);
+    }
+  }
+
+  /**
+   * Loads the plugin dirs concurrently. Each plugin gets its own class loader, and the
+   * registries accept concurrent registrations. Returns once all plugins are installed. Rethrows
+   * the first plugin failure.
+   */
+  private void loadPlugins(final List<File> pluginDirs) {
+    if (pluginDirs.isEmpty()) {
+      return;
+    }
+    final int nThreads = Math.min(pluginDirs.size(), Runtime.getRuntime().availableProcessors());
+    final ExecutorService executorService = Executors.newFixedThreadPool(Math.max(nThreads, 1),
+        new ThreadFactoryBuilder().setNameFormat("plugin-loader-%d").setDaemon(true).build());
+    try {
+      final List<Future<?>> futures = new ArrayList<>(pluginDirs.size());
+      for (final File pluginDir : pluginDirs) {
+        futures.add(executorService.submit(() -> loadPlugin(pluginDir)));
       }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while loading plugins", e);
+    } catch (final ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      executorService.shutdownNow();
     }
   }
 
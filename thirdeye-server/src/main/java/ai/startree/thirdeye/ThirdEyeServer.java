@@ -21,17 +21,24 @@ import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import ai.startree.thirdeye.auth.AuthConfiguration;
 import ai.startree.thirdeye.auth.AuthDisabledRequestFilter;
 import ai.startree.thirdeye.auth.ThirdEyePrincipal;
+import ai.startree.thirdeye.config.DataFrameConfiguration;
 import ai.startree.thirdeye.config.ThirdEyeServerConfiguration;
 import ai.startree.thirdeye.datalayer.DataSourceBuilder;
+import ai.startree.thirdeye.datasource.cache.DataSourceCache;
+import ai.startree.thirdeye.datasource.loader.DefaultMinMaxTimeLoader;
 import ai.startree.thirdeye.detectionpipeline.PlanExecutor;
+import ai.startree.thirdeye.healthcheck.DataSourcesHealthCheck;
 import ai.startree.thirdeye.healthcheck.DatabaseHealthCheck;
 import ai.startree.thirdeye.json.ThirdEyeJsonProcessingExceptionMapper;
+import ai.startree.thirdeye.notification.NotificationServiceRegistry;
+import ai.startree.thirdeye.resources.CrudResource;
 import ai.startree.thirdeye.resources.RootResource;
 import ai.startree.thirdeye.scheduler.DetectionCronScheduler;
 import ai.startree.thirdeye.scheduler.SchedulerService;
 import ai.startree.thirdeye.scheduler.SubscriptionCronScheduler;
 import ai.startree.thirdeye.scheduler.events.MockEventsLoader;
 import ai.startree.thirdeye.service.ResourcesBootstrapService;
+import ai.startree.thirdeye.spi.dataframe.Parallelism;
 import ai.startree.thirdeye.spi.json.ThirdEyeSerialization;
 import ai.startree.thirdeye.worker.task.TaskDriver;
 import com.google.inject.Guice;
@@ -97,6 +104,12 @@ public class ThirdEyeServer extends Application<ThirdEyeServerConfiguration> {
   @Override
   public void run(final ThirdEyeServerConfiguration configuration, final Environment env) {
 
+    final DataFrameConfiguration dataFrameConfiguration = configuration
+        .getDataFrameConfiguration();
+    if (dataFrameConfiguration.isParallel()) {
+      Parallelism.enable(dataFrameConfiguration.getParallelThreshold());
+    }
+
     final DataSource dataSource = new DataSourceBuilder()
         .build(configuration.getDatabaseConfiguration());
 
@@ -113,6 +126,9 @@ public class ThirdEyeServer extends Application<ThirdEyeServerConfiguration> {
 
     loadPlugins();
 
+    // build datasources in the background - requests do not wait for the warm-up
+    injector.getInstance(DataSourceCache.class).warmUpAsync();
+
     env.jersey().register(injector.getInstance(RootResource.class));
     env.jersey().register(new ThirdEyeJsonProcessingExceptionMapper());
 
@@ -127,6 +143,8 @@ public class ThirdEyeServer extends Application<ThirdEyeServerConfiguration> {
 
     // Persistence layer connectivity health check registry
     env.healthChecks().register("database", injector.getInstance(DatabaseHealthCheck.class));
+    env.healthChecks().register("datasources",
+        injector.getInstance(DataSourcesHealthCheck.class));
 
     registerAuthFilter(injector, env.jersey());
 
@@ -181,6 +199,8 @@ public class ThirdEyeServer extends Application<ThirdEyeServerConfiguration> {
 
         /* Shutdown the Plan Executor threads */
         injector.getInstance(PlanExecutor.class).close();
+        injector.getInstance(DefaultMinMaxTimeLoader.class).close();
+        injector.getInstance(NotificationServiceRegistry.class).close();
       }
     };
   }
@@ -204,6 +224,8 @@ public class ThirdEyeServer extends Application<ThirdEyeServerConfiguration> {
     cors.setInitParameter("allowedHeaders",
         "Authorization,X-Requested-With,Content-Type,Accept,Origin,Accept-Version");
     cors.setInitParameter("allowedMethods", "OPTIONS,GET,PUT,POST,DELETE,HEAD");
+    cors.setInitParameter("exposedHeaders",
+        String.join(",", CrudResource.NEXT_CURSOR_HEADER, CrudResource.NEXT_OFFSET_HEADER));
 
     // Add URL mapping
     cors.addMappingForUrlPatterns(EnumSet.allOf(DispatcherType.class), true, "/*");
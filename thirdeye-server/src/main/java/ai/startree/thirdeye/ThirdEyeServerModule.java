@@ -16,6 +16,7 @@ package ai.startree.thirdeye;
 import ai.startree.thirdeye.auth.AccessControlProvider;
 import ai.startree.thirdeye.auth.AuthConfiguration;
 import ai.startree.thirdeye.auth.ThirdEyeAuthModule;
+import ai.startree.thirdeye.config.EvaluationCacheConfiguration;
 import ai.startree.thirdeye.config.ThirdEyeServerConfiguration;
 import ai.startree.thirdeye.detectionpipeline.ThirdEyeDetectionPipelineModule;
 import ai.startree.thirdeye.notification.ThirdEyeNotificationModule;
@@ -54,6 +55,7 @@ public class ThirdEyeServerModule extends AbstractModule {
     install(new ThirdEyeAuthModule(configuration.getAuthConfiguration()));
 
     install(new ThirdEyeCoreModule(dataSource,
+        configuration.getDatabaseConfiguration(),
         configuration.getCacheConfig(),
         configuration.getRcaConfiguration(),
         configuration.getUiConfiguration(),
@@ -74,6 +76,12 @@ public class ThirdEyeServerModule extends AbstractModule {
     return configuration.getMockEventsConfiguration();
   }
 
+  @Singleton
+  @Provides
+  public EvaluationCacheConfiguration getEvaluationCacheConfiguration() {
+    return configuration.getEvaluationCacheConfiguration();
+  }
+
   @Singleton
   @Provides
   public AccessControlProvider getAccessControlProvider() {
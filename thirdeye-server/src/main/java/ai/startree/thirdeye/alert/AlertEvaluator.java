@@ -18,6 +18,7 @@ import static ai.startree.thirdeye.core.ExceptionHandler.handleAlertEvaluationEx
 import static ai.startree.thirdeye.mapper.ApiBeanMapper.toAlertTemplateApi;
 import static ai.startree.thirdeye.spi.util.SpiUtils.bool;
 
+import ai.startree.thirdeye.alert.EvaluationResultCache.EvaluationKey;
 import ai.startree.thirdeye.detectionpipeline.DetectionPipelineContext;
 import ai.startree.thirdeye.detectionpipeline.PlanExecutor;
 import ai.startree.thirdeye.spi.api.AlertApi;
@@ -54,17 +55,20 @@ public class AlertEvaluator {
   private final PlanExecutor planExecutor;
   private final AlertDetectionIntervalCalculator alertDetectionIntervalCalculator;
   private final EvaluationContextProcessor evaluationContextProcessor;
+  private final EvaluationResultCache evaluationResultCache;
 
   @Inject
   public AlertEvaluator(
       final AlertTemplateRenderer alertTemplateRenderer,
       final PlanExecutor planExecutor,
       final AlertDetectionIntervalCalculator alertDetectionIntervalCalculator,
-      final EvaluationContextProcessor evaluationContextProcessor) {
+      final EvaluationContextProcessor evaluationContextProcessor,
+      final EvaluationResultCache evaluationResultCache) {
     this.alertTemplateRenderer = alertTemplateRenderer;
     this.planExecutor = planExecutor;
     this.alertDetectionIntervalCalculator = alertDetectionIntervalCalculator;
     this.evaluationContextProcessor = evaluationContextProcessor;
+    this.evaluationResultCache = evaluationResultCache;
 
     executorService = Executors.newFixedThreadPool(PARALLELISM,
         new ThreadFactoryBuilder().setNameFormat("alert-evaluator-%d").build());
@@ -105,15 +109,28 @@ public class AlertEvaluator {
                 .setTemplate(toAlertTemplateApi(templateWithProperties)));
       }
 
-      final Map<String, OperatorResult> result = executorService
-          .submit(() -> planExecutor.runPipelineAndGetRootOutputs(templateWithProperties.getNodes(),
-              context))
-          .get(TIMEOUT, TimeUnit.MILLISECONDS);
+      final EvaluationKey cacheKey = evaluationResultCache.keyOf(request,
+          templateWithProperties,
+          detectionInterval);
+      Map<String, OperatorResult> result = cacheKey == null
+          ? null
+          : evaluationResultCache.get(cacheKey);
+      if (result == null) {
+        result = executorService
+            .submit(() -> planExecutor.runPipelineAndGetRootOutputs(templateWithProperties.getNodes(),
+                context))
+            .get(TIMEOUT, TimeUnit.MILLISECONDS);
+        if (cacheKey != null) {
+          evaluationResultCache.put(cacheKey, result);
+        }
+      } else {
+        LOG.debug("Evaluation cache hit for alert {}", request.getAlert().getId());
+      }
 
       final Map<String, OperatorResult> processed = new DetectionPipelineOutputPostProcessor()
           .process(result, request);
 
-      return toAlertEvaluationApi(processed)
+      return toAlertEvaluationApi(processed, bool(request.isCompact()))
           .setAlert(new AlertApi().setTemplate(toAlertTemplateApi(templateWithProperties)));
     } catch (final WebApplicationException e) {
       throw e;
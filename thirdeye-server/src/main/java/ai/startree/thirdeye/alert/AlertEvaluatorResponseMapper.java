@@ -37,17 +37,27 @@ public abstract class AlertEvaluatorResponseMapper {
 
   public static AlertEvaluationApi toAlertEvaluationApi(
       final Map<String, OperatorResult> outputMap) {
+    return toAlertEvaluationApi(outputMap, false);
+  }
+
+  /**
+   * @param compact if true, timestamps are delta-encoded. See {@link
+   *     DetectionDataApi#getTimestampDeltas()}
+   */
+  public static AlertEvaluationApi toAlertEvaluationApi(
+      final Map<String, OperatorResult> outputMap, final boolean compact) {
     final Map<String, DetectionEvaluationApi> map = new HashMap<>();
     for (final Entry<String, OperatorResult> entry : outputMap.entrySet()) {
       final Map<String, DetectionEvaluationApi> detectionEvaluationApiMap = operatorResultToApi(
-          entry.getValue());
+          entry.getValue(), compact);
       detectionEvaluationApiMap.keySet()
           .forEach(apiKey -> map.put(entry.getKey() + "_" + apiKey, detectionEvaluationApiMap.get(apiKey)));
     }
     return new AlertEvaluationApi().setDetectionEvaluations(map);
   }
 
-  private static DetectionDataApi getData(final OperatorResult operatorResult) {
+  private static DetectionDataApi getData(final OperatorResult operatorResult,
+      final boolean compact) {
     final var rawData = requireNonNull(operatorResult.getRawData(), "rawData is null");
     if (!rawData.isEmpty()) {
       return new DetectionDataApi().setRawData(rawData);
@@ -57,8 +67,12 @@ public abstract class AlertEvaluatorResponseMapper {
 
     final DetectionDataApi api = new DetectionDataApi()
         .setCurrent(timeSeries.getCurrent().toList())
-        .setExpected(timeSeries.getPredictedBaseline().toList())
-        .setTimestamp(timeSeries.getTime().toList());
+        .setExpected(timeSeries.getPredictedBaseline().toList());
+    if (compact) {
+      api.setTimestampDeltas(deltaEncode(timeSeries.getTime().values()));
+    } else {
+      api.setTimestamp(timeSeries.getTime().toList());
+    }
 
     if (timeSeries.hasLowerBound()) {
       api.setLowerBound(timeSeries.getPredictedLowerBound().toList());
@@ -70,13 +84,24 @@ public abstract class AlertEvaluatorResponseMapper {
     return api;
   }
 
+  static List<Long> deltaEncode(final long[] values) {
+    final List<Long> deltas = new ArrayList<>(values.length);
+    long previous = 0;
+    for (final long value : values) {
+      deltas.add(value - previous);
+      previous = value;
+    }
+    return deltas;
+  }
+
   private static Map<String, DetectionEvaluationApi> operatorResultToApi(
-      final OperatorResult result) {
+      final OperatorResult result, final boolean compact) {
     final Map<String, DetectionEvaluationApi> map = new HashMap<>();
     if (result instanceof CombinerResult) {
       final List<OperatorResult> operatorResults = ((CombinerResult) result).getDetectionResults();
       for (int i = 0; i < operatorResults.size(); i++) {
-        final DetectionEvaluationApi api = toDetectionEvaluationApi(operatorResults.get(i));
+        final DetectionEvaluationApi api = toDetectionEvaluationApi(operatorResults.get(i),
+            compact);
         map.put(String.valueOf(i), api);
       }
     } else if (result instanceof EnumeratorResult) {
@@ -88,21 +113,21 @@ public abstract class AlertEvaluatorResponseMapper {
             .setEnumerationItem(api));
       }
     } else {
-      map.put(String.valueOf(0), toDetectionEvaluationApi(result));
+      map.put(String.valueOf(0), toDetectionEvaluationApi(result, compact));
     }
 
     return map;
   }
 
   private static DetectionEvaluationApi toDetectionEvaluationApi(
-      final OperatorResult operatorResult) {
+      final OperatorResult operatorResult, final boolean compact) {
     final DetectionEvaluationApi api = new DetectionEvaluationApi();
     final List<AnomalyApi> anomalyApis = new ArrayList<>();
     for (final AnomalyDTO anomalyDto : operatorResult.getAnomalies()) {
       anomalyApis.add(ApiBeanMapper.toApi(anomalyDto));
     }
     api.setAnomalies(anomalyApis);
-    api.setData(getData(operatorResult));
+    api.setData(getData(operatorResult, compact));
     api.setEnumerationItem(ApiBeanMapper.toApi(operatorResult.getEnumerationItem()));
     return api;
   }
@@ -135,7 +135,7 @@ public class AlertInsightsProvider {
     checkState(dataSource != null, "Datasource is null in configuration of dataset: %s.",
         datasetConfigDTO.getDataset());
 
-    // launch min, max, safeMax queries async
+    // launch min, max queries async - full dataset queries are served by the freshness cache
     final Future<@Nullable Long> minTimeFuture = minMaxTimeLoader.fetchMinTimeAsync(
         datasetConfigDTO,
         null);
@@ -143,14 +143,10 @@ public class AlertInsightsProvider {
         datasetConfigDTO,
         null);
     final long maximumPossibleEndTime = currentMaximumPossibleEndTime();
-    final Interval safeInterval = new Interval(0L, maximumPossibleEndTime);
-    final Future<@Nullable Long> safeMaxTimeFuture = minMaxTimeLoader.fetchMaxTimeAsync(
-        datasetConfigDTO,
-        safeInterval);
 
     // process futures
     addDatasetStart(insights, minTimeFuture);
-    addDatasetEnd(insights, maxTimeFuture, safeMaxTimeFuture, maximumPossibleEndTime);
+    addDatasetEnd(insights, datasetConfigDTO, maxTimeFuture, maximumPossibleEndTime);
   }
 
   private void addDatasetStart(final AlertInsightsApi insights,
@@ -160,7 +156,7 @@ public class AlertInsightsProvider {
   }
 
   private void addDatasetEnd(final AlertInsightsApi insights,
-      final Future<@Nullable Long> maxTimeFuture, final Future<@Nullable Long> safeMaxTimeFuture,
+      final DatasetConfigDTO datasetConfigDTO, final Future<@Nullable Long> maxTimeFuture,
       final long maximumPossibleEndTime) throws Exception {
     final @Nullable Long datasetMaxTime = maxTimeFuture.get(FETCH_TIMEOUT_MILLIS,
         TimeUnit.MILLISECONDS);
@@ -178,8 +174,10 @@ public class AlertInsightsProvider {
           datasetMaxTime,
           System.currentTimeMillis(),
           maximumPossibleEndTime);
-      final @Nullable Long safeMaxTime = safeMaxTimeFuture.get(FETCH_TIMEOUT_MILLIS,
-          TimeUnit.MILLISECONDS);
+      // only run the safe query when needed - it cannot be cached because its interval changes
+      final Interval safeInterval = new Interval(0L, maximumPossibleEndTime);
+      final @Nullable Long safeMaxTime = minMaxTimeLoader.fetchMaxTimeAsync(datasetConfigDTO,
+          safeInterval).get(FETCH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
       insights.setDatasetEndTime(safeMaxTime);
     }
   }
@@ -89,6 +89,7 @@ public class DetectionPipelineOutputPostProcessor {
       public @Nullable TimeSeries getTimeseries() {
         return optional(delegate.getTimeseries())
             .map(ts -> filterStartEnd(ts, request))
+            .map(ts -> downsample(ts, request, delegate.getAnomalies()))
             .orElse(null);
       }
     };
@@ -100,6 +101,17 @@ public class DetectionPipelineOutputPostProcessor {
         request.getEnd().getTime()));
   }
 
+  private TimeSeries downsample(final TimeSeries timeseries, final AlertEvaluationApi request,
+      final List<AnomalyDTO> anomalies) {
+    final Integer maxPoints = request.getMaxPoints();
+    if (maxPoints == null || timeseries.size() <= maxPoints) {
+      return timeseries;
+    }
+    return TimeSeries.fromDataFrame(TimeSeriesDownsampler.downsample(timeseries.getDataFrame(),
+        maxPoints,
+        anomalies));
+  }
+
   private DataFrame filterStartEnd(final DataFrame df, final long start, final long end) {
     return df
         .filter((LongConditional) v -> v[0] >= start && v[0] <= end, Constants.COL_TIME)
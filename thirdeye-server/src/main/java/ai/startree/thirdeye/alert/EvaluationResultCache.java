@@ -0,0 +1,257 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.alert;
+
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
+
+import ai.startree.thirdeye.config.EvaluationCacheConfiguration;
+import ai.startree.thirdeye.detectionpipeline.operator.CombinerResult;
+import ai.startree.thirdeye.spi.api.AlertEvaluationApi;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertMetadataDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertTemplateDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
+import ai.startree.thirdeye.spi.datasource.loader.MinMaxTimeLoader;
+import ai.startree.thirdeye.spi.detection.model.TimeSeries;
+import ai.startree.thirdeye.spi.detection.v2.OperatorResult;
+import ai.startree.thirdeye.spi.json.ThirdEyeSerialization;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.joda.time.Interval;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the outputs of the detection pipeline for alert evaluations.
+ *
+ * Users tend to re-evaluate the same alert over the same interval when they tweak UI controls
+ * or re-open a preview. The key of an entry is the hash of the rendered template and evaluation
+ * context, the detection interval, and the freshness of the dataset and of the alert: the
+ * dataset and alert update times and the max time of the dataset. Any change to these produces
+ * a new key. Entries of an alert or a dataset are also evicted explicitly when the entity is
+ * updated or deleted.
+ *
+ * The raw pipeline outputs are cached, so request-specific post-processing - start/end
+ * filtering, downsampling, response mapping - runs on every request.
+ */
+@Singleton
+public class EvaluationResultCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EvaluationResultCache.class);
+  private static final ObjectMapper OBJECT_MAPPER = ThirdEyeSerialization.getObjectMapper();
+  private static final long FETCH_TIMEOUT_MILLIS = 30_000;
+
+  private final boolean enabled;
+  private final DatasetConfigManager datasetConfigManager;
+  private final AlertManager alertManager;
+  private final MinMaxTimeLoader minMaxTimeLoader;
+  private final Cache<EvaluationKey, Map<String, OperatorResult>> cache;
+
+  @Inject
+  public EvaluationResultCache(final EvaluationCacheConfiguration configuration,
+      final DatasetConfigManager datasetConfigManager,
+      final AlertManager alertManager,
+      final MinMaxTimeLoader minMaxTimeLoader) {
+    this.enabled = configuration.isEnabled();
+    this.datasetConfigManager = datasetConfigManager;
+    this.alertManager = alertManager;
+    this.minMaxTimeLoader = minMaxTimeLoader;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(configuration.getMaxWeight())
+        .weigher((EvaluationKey k, Map<String, OperatorResult> v) -> weight(v))
+        .expireAfterWrite(configuration.getExpireAfterWrite().toMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * Returns the cache key of an evaluation, or null if the evaluation must not be cached: the
+   * cache is disabled, or the freshness of the dataset or of the alert cannot be determined.
+   */
+  public @Nullable EvaluationKey keyOf(final AlertEvaluationApi request,
+      final AlertTemplateDTO templateWithProperties,
+      final Interval detectionInterval) {
+    if (!enabled) {
+      return null;
+    }
+    try {
+      final String datasetName = optional(templateWithProperties.getMetadata())
+          .map(AlertMetadataDTO::getDataset)
+          .map(DatasetConfigDTO::getDataset)
+          .orElse(null);
+      if (datasetName == null) {
+        return null;
+      }
+      final DatasetConfigDTO datasetConfigDTO = datasetConfigManager.findByDataset(datasetName);
+      if (datasetConfigDTO == null) {
+        return null;
+      }
+      // full dataset async queries are served by the freshness cache of the loader - a query only
+      // runs the first time the dataset is read, or after it was evicted from the freshness cache
+      final Long datasetMaxTime = minMaxTimeLoader.fetchMaxTimeAsync(datasetConfigDTO, null)
+          .get(FETCH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+      final Long alertId = request.getAlert().getId();
+      Long alertUpdateTime = null;
+      if (alertId != null) {
+        final AlertDTO alertDTO = alertManager.findById(alertId);
+        if (alertDTO == null) {
+          return null;
+        }
+        alertUpdateTime = updateTime(alertDTO);
+      }
+
+      final String planHash = Hashing.sha256()
+          .newHasher()
+          .putString(OBJECT_MAPPER.writeValueAsString(templateWithProperties),
+              StandardCharsets.UTF_8)
+          .putString(OBJECT_MAPPER.writeValueAsString(optional(request.getEvaluationContext())
+              .orElse(null)), StandardCharsets.UTF_8)
+          .hash()
+          .toString();
+
+      return new EvaluationKey(planHash,
+          detectionInterval.getStartMillis(),
+          detectionInterval.getEndMillis(),
+          datasetName,
+          updateTime(datasetConfigDTO),
+          datasetMaxTime,
+          alertId,
+          alertUpdateTime);
+    } catch (final Exception e) {
+      LOG.warn("Could not build evaluation cache key. Evaluation will not be cached.", e);
+      return null;
+    }
+  }
+
+  public @Nullable Map<String, OperatorResult> get(final EvaluationKey key) {
+    return cache.getIfPresent(key);
+  }
+
+  public void put(final EvaluationKey key, final Map<String, OperatorResult> result) {
+    cache.put(key, result);
+  }
+
+  public void invalidateAlert(final long alertId) {
+    cache.asMap().keySet().removeIf(key -> Objects.equals(key.alertId, alertId));
+  }
+
+  public void invalidateDataset(final String datasetName) {
+    cache.asMap().keySet().removeIf(key -> key.datasetName.equals(datasetName));
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  /**
+   * Weight of an entry: number of timeseries rows plus number of anomalies.
+   */
+  @VisibleForTesting
+  static int weight(final Map<String, OperatorResult> result) {
+    long weight = 1;
+    for (final OperatorResult operatorResult : result.values()) {
+      if (operatorResult == null) {
+        continue;
+      }
+      if (operatorResult instanceof CombinerResult) {
+        weight += weight(((CombinerResult) operatorResult).getResults());
+        continue;
+      }
+      weight += optional(operatorResult.getTimeseries()).map(TimeSeries::size).orElse(0);
+      weight += optional(operatorResult.getAnomalies()).map(Collection::size).orElse(0);
+    }
+    return (int) Math.min(weight, Integer.MAX_VALUE);
+  }
+
+  private static @Nullable Long updateTime(final AbstractDTO dto) {
+    return optional(dto.getUpdateTime()).map(Timestamp::getTime).orElse(null);
+  }
+
+  public static class EvaluationKey {
+
+    private final String planHash;
+    private final long startTime;
+    private final long endTime;
+    private final String datasetName;
+    private final @Nullable Long datasetUpdateTime;
+    private final @Nullable Long datasetMaxTime;
+    private final @Nullable Long alertId;
+    private final @Nullable Long alertUpdateTime;
+
+    EvaluationKey(final String planHash,
+        final long startTime,
+        final long endTime,
+        final String datasetName,
+        final @Nullable Long datasetUpdateTime,
+        final @Nullable Long datasetMaxTime,
+        final @Nullable Long alertId,
+        final @Nullable Long alertUpdateTime) {
+      this.planHash = planHash;
+      this.startTime = startTime;
+      this.endTime = endTime;
+      this.datasetName = datasetName;
+      this.datasetUpdateTime = datasetUpdateTime;
+      this.datasetMaxTime = datasetMaxTime;
+      this.alertId = alertId;
+      this.alertUpdateTime = alertUpdateTime;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final EvaluationKey that = (EvaluationKey) o;
+      return startTime == that.startTime
+          && endTime == that.endTime
+          && planHash.equals(that.planHash)
+          && datasetName.equals(that.datasetName)
+          && Objects.equals(datasetUpdateTime, that.datasetUpdateTime)
+          && Objects.equals(datasetMaxTime, that.datasetMaxTime)
+          && Objects.equals(alertId, that.alertId)
+          && Objects.equals(alertUpdateTime, that.alertUpdateTime);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(planHash,
+          startTime,
+          endTime,
+          datasetName,
+          datasetUpdateTime,
+          datasetMaxTime,
+          alertId,
+          alertUpdateTime);
+    }
+  }
+}
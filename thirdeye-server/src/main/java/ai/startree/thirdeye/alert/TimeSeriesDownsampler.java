@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.alert;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import ai.startree.thirdeye.spi.Constants;
+import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reduces the number of points of a timeseries while preserving its visual shape.
+ *
+ * Uses Largest-Triangle-Three-Buckets (Steinarsson, 2013) on the current values. Points that are
+ * flagged as anomalous, or that fall in an anomaly interval, are always kept on top of the
+ * sampled points.
+ */
+public class TimeSeriesDownsampler {
+
+  public static final int MIN_POINTS = 3;
+
+  /**
+   * Downsample a timeseries dataframe, sorted by time, to roughly maxPoints rows.
+   * The output can contain more than maxPoints rows if there are more anomalous points.
+   */
+  public static DataFrame downsample(final DataFrame df, final int maxPoints,
+      final List<AnomalyDTO> anomalies) {
+    checkArgument(maxPoints >= MIN_POINTS, "maxPoints must be at least %s", MIN_POINTS);
+    if (df.size() <= maxPoints) {
+      return df;
+    }
+    final long[] time = df.getLongs(Constants.COL_TIME).values();
+    final double[] current = df.getDoubles(Constants.COL_CURRENT).values();
+
+    final BitSet keep = anomalousPoints(df, time, anomalies);
+    final int budget = Math.max(MIN_POINTS, maxPoints - keep.cardinality());
+    for (final int i : largestTriangleThreeBuckets(time, current, budget)) {
+      keep.set(i);
+    }
+    if (keep.cardinality() >= df.size()) {
+      return df;
+    }
+    return df.project(keep.stream().toArray());
+  }
+
+  static BitSet anomalousPoints(final DataFrame df, final long[] time,
+      final List<AnomalyDTO> anomalies) {
+    final BitSet anomalous = new BitSet(time.length);
+    if (df.contains(Constants.COL_ANOMALY)) {
+      final byte[] flags = df.getBooleans(Constants.COL_ANOMALY).values();
+      for (int i = 0; i < flags.length; i++) {
+        if (!BooleanSeries.isNull(flags[i]) && BooleanSeries.isTrue(flags[i])) {
+          anomalous.set(i);
+        }
+      }
+    }
+    if (anomalies != null) {
+      for (final AnomalyDTO anomaly : anomalies) {
+        int i = Arrays.binarySearch(time, anomaly.getStartTime());
+        i = i < 0 ? -i - 1 : i;
+        while (i < time.length && time[i] < anomaly.getEndTime()) {
+          anomalous.set(i++);
+        }
+      }
+    }
+    return anomalous;
+  }
+
+  /**
+   * Largest-Triangle-Three-Buckets sampling.
+   *
+   * @return the sorted indices of the sampled points. The first and last points are always
+   *     sampled.
+   */
+  static int[] largestTriangleThreeBuckets(final long[] x, final double[] y, final int threshold) {
+    final int n = x.length;
+    if (threshold >= n || threshold < MIN_POINTS) {
+      final int[] all = new int[n];
+      Arrays.setAll(all, i -> i);
+      return all;
+    }
+    final int[] sampled = new int[threshold];
+    int k = 0;
+    sampled[k++] = 0;
+
+    // the first and last points are fixed, the rest is split in threshold - 2 buckets
+    final double every = (double) (n - 2) / (threshold - 2);
+    int a = 0;
+    for (int bucket = 0; bucket < threshold - 2; bucket++) {
+      // average of the next bucket, used as the third point of the triangle
+      final int avgStart = (int) Math.floor((bucket + 1) * every) + 1;
+      final int avgEnd = Math.min((int) Math.floor((bucket + 2) * every) + 1, n);
+      double avgX = 0;
+      double avgY = 0;
+      int avgCount = 0;
+      for (int i = avgStart; i < avgEnd; i++) {
+        if (!Double.isNaN(y[i])) {
+          avgX += x[i];
+          avgY += y[i];
+          avgCount++;
+        }
+      }
+      if (avgCount > 0) {
+        avgX /= avgCount;
+        avgY /= avgCount;
+      } else {
+        avgX = x[avgEnd - 1];
+        avgY = y[a];
+      }
+
+      final int rangeStart = (int) Math.floor(bucket * every) + 1;
+      final int rangeEnd = (int) Math.floor((bucket + 1) * every) + 1;
+      double maxArea = -1;
+      int next = rangeStart;
+      for (int i = rangeStart; i < rangeEnd; i++) {
+        final double area = Math.abs(
+            (x[a] - avgX) * (y[i] - y[a]) - (x[a] - x[i]) * (avgY - y[a]));
+        if (area > maxArea) {
+          maxArea = area;
+          next = i;
+        }
+      }
+      sampled[k++] = next;
+      a = next;
+    }
+    sampled[k] = n - 1;
+    return sampled;
+  }
+}
@@ -39,13 +39,13 @@ public class AccessControlProvider implements AccessControl {
   ) -> false;
 
   private final AccessControlConfiguration config;
-  private AccessControl accessControl = null;
+  private volatile AccessControl accessControl = null;
 
   public AccessControlProvider(AccessControlConfiguration config) {
     this.config = config;
   }
 
-  public void setAccessControl(AccessControl accessControl) {
+  public synchronized void setAccessControl(AccessControl accessControl) {
     if (this.accessControl != null) {
       throw new RuntimeException("Access control source can only be set once!");
     }
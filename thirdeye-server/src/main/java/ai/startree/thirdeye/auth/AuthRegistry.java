@@ -26,6 +26,7 @@ import com.google.inject.Singleton;
 import io.dropwizard.auth.Authenticator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class AuthRegistry {
@@ -33,8 +34,8 @@ public class AuthRegistry {
   public static final String OAUTH_DEFAULT = "oauth-default";
   public static final String OPENID_DEFAULT = "openid-default";
   public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-  private final Map<String, OauthAuthenticatorFactory> oauthFactories = new HashMap<>();
-  private final Map<String, OpenIdConfigurationProvider.Factory> openIdConfigurationFactories = new HashMap<>();
+  private final Map<String, OauthAuthenticatorFactory> oauthFactories = new ConcurrentHashMap<>();
+  private final Map<String, OpenIdConfigurationProvider.Factory> openIdConfigurationFactories = new ConcurrentHashMap<>();
 
   @SuppressWarnings("unchecked")
   private static Map<String, Object> toMap(final OAuthConfiguration oauthConfig) {
@@ -43,18 +44,14 @@ public class AuthRegistry {
   }
 
   public void registerOAuthFactory(OauthAuthenticatorFactory f) {
-    checkState(!oauthFactories.containsKey(f.getName()),
+    checkState(oauthFactories.putIfAbsent(f.getName(), f) == null,
         "Duplicate OauthAuthenticatorFactory: " + f.getName());
-
-    oauthFactories.put(f.getName(), f);
   }
 
   public void registerOpenIdConfigurationFactory(
       OpenIdConfigurationProvider.Factory f) {
-    checkState(!oauthFactories.containsKey(f.getName()),
-        "Duplicate OauthAuthenticatorFactory: " + f.getName());
-
-    openIdConfigurationFactories.put(f.getName(), f);
+    checkState(openIdConfigurationFactories.putIfAbsent(f.getName(), f) == null,
+        "Duplicate OpenIdConfigurationProvider.Factory: " + f.getName());
   }
 
   private OauthAuthenticatorFactory getDefaultOAuthFactory() {
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.config;
+
+import ai.startree.thirdeye.spi.dataframe.Parallelism;
+
+public class DataFrameConfiguration {
+
+  /**
+   * Run sorts and hash joins of large DataFrames on the common fork-join pool.
+   */
+  private boolean parallel = false;
+  /**
+   * Min number of rows for an operation to run in parallel.
+   */
+  private int parallelThreshold = Parallelism.DEFAULT_THRESHOLD;
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  public DataFrameConfiguration setParallel(final boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
+
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  public DataFrameConfiguration setParallelThreshold(final int parallelThreshold) {
+    this.parallelThreshold = parallelThreshold;
+    return this;
+  }
+}
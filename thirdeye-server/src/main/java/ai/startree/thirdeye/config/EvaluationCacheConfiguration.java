@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.config;
+
+import java.time.Duration;
+
+public class EvaluationCacheConfiguration {
+
+  private boolean enabled = false;
+  /**
+   * Max number of timeseries rows and anomalies held by the cache, summed over all entries.
+   */
+  private long maxWeight = 2_000_000;
+  /**
+   * Max age of a cached evaluation. Bounds staleness for changes that are not part of the cache
+   * key, eg anomaly feedback.
+   */
+  private Duration expireAfterWrite = Duration.ofMinutes(15);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public EvaluationCacheConfiguration setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public EvaluationCacheConfiguration setMaxWeight(final long maxWeight) {
+    this.maxWeight = maxWeight;
+    return this;
+  }
+
+  public Duration getExpireAfterWrite() {
+    return expireAfterWrite;
+  }
+
+  public EvaluationCacheConfiguration setExpireAfterWrite(final Duration expireAfterWrite) {
+    this.expireAfterWrite = expireAfterWrite;
+    return this;
+  }
+}
@@ -65,6 +65,12 @@ public class ThirdEyeServerConfiguration extends Configuration {
   @JsonProperty("prometheus")
   private PrometheusConfiguration prometheusConfiguration = new PrometheusConfiguration();
 
+  @JsonProperty("evaluationCache")
+  private EvaluationCacheConfiguration evaluationCacheConfiguration = new EvaluationCacheConfiguration();
+
+  @JsonProperty("dataframe")
+  private DataFrameConfiguration dataFrameConfiguration = new DataFrameConfiguration();
+
   @JsonProperty("time")
   private TimeConfiguration timeConfiguration = new TimeConfiguration();
 
@@ -232,6 +238,26 @@ public class ThirdEyeServerConfiguration extends Configuration {
     return this;
   }
 
+  public EvaluationCacheConfiguration getEvaluationCacheConfiguration() {
+    return evaluationCacheConfiguration;
+  }
+
+  public ThirdEyeServerConfiguration setEvaluationCacheConfiguration(
+      final EvaluationCacheConfiguration evaluationCacheConfiguration) {
+    this.evaluationCacheConfiguration = evaluationCacheConfiguration;
+    return this;
+  }
+
+  public DataFrameConfiguration getDataFrameConfiguration() {
+    return dataFrameConfiguration;
+  }
+
+  public ThirdEyeServerConfiguration setDataFrameConfiguration(
+      final DataFrameConfiguration dataFrameConfiguration) {
+    this.dataFrameConfiguration = dataFrameConfiguration;
+    return this;
+  }
+
   public TimeConfiguration getTimeConfiguration() {
     return timeConfiguration;
   }
@@ -25,12 +25,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 @Singleton
 public class BootstrapResourcesRegistry {
 
-  private final Map<String, BootstrapResourcesProviderFactory> factoryMap = new HashMap<>();
+  private final Map<String, BootstrapResourcesProviderFactory> factoryMap = new ConcurrentHashMap<>();
 
   private final Map<String, BootstrapResourcesProvider> cache = new HashMap<>();
 
@@ -40,10 +41,8 @@ public class BootstrapResourcesRegistry {
 
   public void addBootstrapResourcesProviderFactory(final BootstrapResourcesProviderFactory f) {
     checkArgument(f.name() != null, "name is null");
-    checkState(!factoryMap.containsKey(f.name()),
+    checkState(factoryMap.putIfAbsent(f.name(), f) == null,
         "Duplicate BootstrapResourcesProviderFactory: " + f.name());
-
-    factoryMap.put(f.name(), f);
   }
 
   private @NonNull BootstrapResourcesProvider get(final String name) {
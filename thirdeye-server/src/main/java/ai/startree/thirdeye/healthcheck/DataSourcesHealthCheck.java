@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.healthcheck;
+
+import ai.startree.thirdeye.datasource.cache.DataSourceCache;
+import com.codahale.metrics.health.HealthCheck;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Unhealthy while the datasources are warming up after a restart.
+ */
+@Singleton
+public class DataSourcesHealthCheck extends HealthCheck {
+
+  private final DataSourceCache dataSourceCache;
+
+  @Inject
+  public DataSourcesHealthCheck(final DataSourceCache dataSourceCache) {
+    this.dataSourceCache = dataSourceCache;
+  }
+
+  @Override
+  protected Result check() throws Exception {
+    if (dataSourceCache.isReady()) {
+      return Result.healthy();
+    }
+    return Result.unhealthy("Datasources are warming up.");
+  }
+}
@@ -14,12 +14,14 @@
 package ai.startree.thirdeye.resources;
 
 import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_OBJECT_DOES_NOT_EXIST;
+import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import static ai.startree.thirdeye.util.ResourceUtils.ensureExists;
 import static ai.startree.thirdeye.util.ResourceUtils.respondOk;
 import static ai.startree.thirdeye.util.ResourceUtils.statusResponse;
 
 import ai.startree.thirdeye.auth.ThirdEyePrincipal;
 import ai.startree.thirdeye.service.CrudService;
+import ai.startree.thirdeye.service.ListPage;
 import ai.startree.thirdeye.spi.api.ThirdEyeCrudApi;
 import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import com.codahale.metrics.annotation.Timed;
@@ -37,6 +39,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +47,9 @@ import org.slf4j.LoggerFactory;
 public abstract class CrudResource<ApiT extends ThirdEyeCrudApi<ApiT>, DtoT extends AbstractDTO> {
 
   private static final Logger log = LoggerFactory.getLogger(CrudResource.class);
+  /* position of the next page of a paginated list. See ListPage */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  public static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
 
   protected final CrudService<ApiT, DtoT> crudService;
 
@@ -59,6 +65,13 @@ public abstract class CrudResource<ApiT extends ThirdEyeCrudApi<ApiT>, DtoT exte
       @Context UriInfo uriInfo
   ) {
     final MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
+    if (queryParameters.containsKey("limit")) {
+      final ListPage<ApiT> page = crudService.listPage(principal, queryParameters);
+      final ResponseBuilder builder = Response.ok(page.getItems());
+      optional(page.getNextCursor()).ifPresent(c -> builder.header(NEXT_CURSOR_HEADER, c));
+      optional(page.getNextOffset()).ifPresent(o -> builder.header(NEXT_OFFSET_HEADER, o));
+      return builder.build();
+    }
     return respondOk(crudService.list(principal, queryParameters));
   }
 
@@ -26,6 +26,8 @@ import ai.startree.thirdeye.alert.AlertCreater;
 import ai.startree.thirdeye.alert.AlertDeleter;
 import ai.startree.thirdeye.alert.AlertEvaluator;
 import ai.startree.thirdeye.alert.AlertInsightsProvider;
+import ai.startree.thirdeye.alert.EvaluationResultCache;
+import ai.startree.thirdeye.alert.TimeSeriesDownsampler;
 import ai.startree.thirdeye.auth.AuthorizationManager;
 import ai.startree.thirdeye.auth.ThirdEyePrincipal;
 import ai.startree.thirdeye.mapper.ApiBeanMapper;
@@ -67,6 +69,7 @@ public class AlertService extends CrudService<AlertApi, AlertDTO> {
   private final AlertEvaluator alertEvaluator;
   private final AppAnalyticsService analyticsService;
   private final AlertInsightsProvider alertInsightsProvider;
+  private final EvaluationResultCache evaluationResultCache;
 
   @Inject
   public AlertService(final AlertCreater alertCreater,
@@ -75,6 +78,7 @@ public class AlertService extends CrudService<AlertApi, AlertDTO> {
       final AlertManager alertManager,
       final AppAnalyticsService analyticsService,
       final AlertInsightsProvider alertInsightsProvider,
+      final EvaluationResultCache evaluationResultCache,
       final AuthorizationManager authorizationManager) {
     super(authorizationManager, alertManager, ImmutableMap.of());
     this.alertCreater = alertCreater;
@@ -82,11 +86,13 @@ public class AlertService extends CrudService<AlertApi, AlertDTO> {
     this.alertEvaluator = alertEvaluator;
     this.analyticsService = analyticsService;
     this.alertInsightsProvider = alertInsightsProvider;
+    this.evaluationResultCache = evaluationResultCache;
   }
 
   @Override
   protected void deleteDto(final AlertDTO dto) {
     alertDeleter.delete(dto);
+    evaluationResultCache.invalidateAlert(dto.getId());
   }
 
   @Override
@@ -135,6 +141,7 @@ public class AlertService extends CrudService<AlertApi, AlertDTO> {
 
   @Override
   protected void postUpdate(final AlertDTO dto) {
+    evaluationResultCache.invalidateAlert(dto.getId());
     /*
      * Running the detection task after updating an alert ensures that enumeration items if
      * updated are reflected in the dtos as well. Enumeration Items are updated after executing
@@ -204,6 +211,9 @@ public class AlertService extends CrudService<AlertApi, AlertDTO> {
       final ThirdEyePrincipal principal,
       final AlertEvaluationApi request
   ) throws ExecutionException {
+    optional(request.getMaxPoints()).ifPresent(maxPoints -> ensure(
+        maxPoints >= TimeSeriesDownsampler.MIN_POINTS,
+        "maxPoints must be at least " + TimeSeriesDownsampler.MIN_POINTS));
     final long safeEndTime = safeEndTime(request.getEnd().getTime());
     request.setEnd(new Date(safeEndTime));
 
@@ -251,6 +261,7 @@ public class AlertService extends CrudService<AlertApi, AlertDTO> {
     LOG.warn(String.format("Resetting alert id: %d by principal: %s", id, principal.getName()));
 
     alertDeleter.deleteAssociatedAnomalies(dto.getId());
+    evaluationResultCache.invalidateAlert(dto.getId());
     final AlertDTO resetAlert = alertCreater.reset(dto);
 
     return toApi(resetAlert);
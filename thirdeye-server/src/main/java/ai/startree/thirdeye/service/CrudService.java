@@ -18,6 +18,7 @@ import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_ID_UNEXPECTED_AT_CREAT
 import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_MISSING_ID;
 import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_MISSING_NAME;
 import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_OBJECT_DOES_NOT_EXIST;
+import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_OPERATION_UNSUPPORTED;
 import static ai.startree.thirdeye.spi.ThirdEyeStatus.ERR_UNKNOWN;
 import static ai.startree.thirdeye.spi.util.SpiUtils.optional;
 import static ai.startree.thirdeye.util.ResourceUtils.ensure;
@@ -38,6 +39,7 @@ import ai.startree.thirdeye.spi.datalayer.bao.AbstractManager;
 import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import com.google.common.collect.ImmutableMap;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -52,6 +54,8 @@ import org.slf4j.LoggerFactory;
 public abstract class CrudService<ApiT extends ThirdEyeCrudApi<ApiT>, DtoT extends AbstractDTO> {
 
   private static final Logger log = LoggerFactory.getLogger(CrudService.class);
+  // max number of rows scanned to fill a page, as a multiple of the page limit
+  private static final int MAX_SCANNED_ROWS_PER_LIMIT = 10;
   protected final AuthorizationManager authorizationManager;
 
   protected final AbstractManager<DtoT> dtoManager;
@@ -62,8 +66,12 @@ public abstract class CrudService<ApiT extends ThirdEyeCrudApi<ApiT>, DtoT exten
       final ImmutableMap<String, String> apiToIndexMap) {
     this.authorizationManager = authorizationManager;
     this.dtoManager = dtoManager;
-    this.apiToIndexMap = ImmutableMap.<String, String>builder()
-        .put("id", "baseId")
+    // entities stored in their own table (eg: tasks) map id to their id column
+    final ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    if (!apiToIndexMap.containsKey("id")) {
+      builder.put("id", "baseId");
+    }
+    this.apiToIndexMap = builder
         .putAll(apiToIndexMap)
         .build();
   }
@@ -102,16 +110,105 @@ public abstract class CrudService<ApiT extends ThirdEyeCrudApi<ApiT>, DtoT exten
       final ThirdEyePrincipal principal,
       final MultivaluedMap<String, String> queryParameters
   ) {
-    final List<DtoT> results = queryParameters.size() > 0
-        ? dtoManager.filter(new DaoFilterBuilder(apiToIndexMap).buildFilter(queryParameters))
-        : dtoManager.findAll();
-
     final RequestCache cache = createRequestCache();
-    return results.stream()
+    if (queryParameters.size() > 0) {
+      final DaoFilter daoFilter = new DaoFilterBuilder(apiToIndexMap).buildFilter(queryParameters);
+      if (daoFilter.getLimit() != null) {
+        return listPage(principal, daoFilter, cache).getItems().stream();
+      }
+      // entities are read by chunks while the response is serialized
+      return dtoManager.stream(daoFilter)
+          .filter(dto -> authorizationManager.hasAccess(principal, dto, AccessType.READ))
+          .map(dto -> toApi(dto, cache));
+    }
+    return dtoManager.streamAll()
         .filter(dto -> authorizationManager.hasAccess(principal, dto, AccessType.READ))
         .map(dto -> toApi(dto, cache));
   }
 
+  /**
+   * Fetch a page of readable entities. The query parameters must contain a limit.
+   * See {@link ListPage} for how the position of the next page is returned.
+   */
+  public ListPage<ApiT> listPage(
+      final ThirdEyePrincipal principal,
+      final MultivaluedMap<String, String> queryParameters
+  ) {
+    final DaoFilter daoFilter = new DaoFilterBuilder(apiToIndexMap).buildFilter(queryParameters);
+    ensure(daoFilter.getLimit() != null, ERR_OPERATION_UNSUPPORTED, "a page requires a limit");
+    return listPage(principal, daoFilter, createRequestCache());
+  }
+
+  /**
+   * Only limit rows are read from the index per round trip. Access is checked per entity by the
+   * AccessControl plugin, so rows the principal cannot read are dropped and the next rows are
+   * fetched until the page is full or the table is exhausted.
+   *
+   * When sorting by id, the next rows are fetched with a cursor on the id of the last row scanned
+   * instead of an offset, so the index does not have to skip the rows already scanned.
+   *
+   * At most MAX_SCANNED_ROWS_PER_LIMIT * limit rows are scanned per request. If the principal can
+   * read few of them, the page is returned incomplete, with the position of the next page.
+   */
+  private ListPage<ApiT> listPage(final ThirdEyePrincipal principal,
+      final DaoFilter daoFilter,
+      final RequestCache cache) {
+    final long limit = daoFilter.getLimit();
+    final String idColumn = apiToIndexMap.get("id");
+    final boolean sortedById = idColumn.equals(daoFilter.getOrderByKey());
+    final Predicate predicate = daoFilter.getPredicate();
+    final long maxScannedRows = MAX_SCANNED_ROWS_PER_LIMIT * limit;
+
+    final List<DtoT> page = new ArrayList<>();
+    long offset = optional(daoFilter.getOffset()).orElse(0L);
+    Long lastId = null;
+    boolean exhausted = false;
+    long totalScanned = 0;
+    while (page.size() < limit) {
+      final List<DtoT> chunk = dtoManager.filter(daoFilter);
+      int scanned = 0;
+      for (final DtoT dto : chunk) {
+        if (page.size() == limit) {
+          break;
+        }
+        scanned++;
+        lastId = dto.getId();
+        if (authorizationManager.hasAccess(principal, dto, AccessType.READ)) {
+          page.add(dto);
+        }
+      }
+      offset += scanned;
+      totalScanned += scanned;
+      if (chunk.size() < limit) {
+        exhausted = scanned == chunk.size();
+        break;
+      }
+      if (totalScanned >= maxScannedRows) {
+        break;
+      }
+      if (sortedById) {
+        final Predicate cursor = daoFilter.isDesc()
+            ? Predicate.LT(idColumn, lastId)
+            : Predicate.GT(idColumn, lastId);
+        daoFilter
+            .setOffset(null)
+            .setPredicate(predicate == null ? cursor : Predicate.AND(predicate, cursor));
+      } else {
+        daoFilter.setOffset(offset);
+      }
+    }
+
+    final List<ApiT> items = page.stream()
+        .map(dto -> toApi(dto, cache))
+        .collect(Collectors.toList());
+    if (exhausted) {
+      return new ListPage<>(items, null, null);
+    }
+    return sortedById
+        ? new ListPage<>(items, lastId, null)
+        : new ListPage<>(items, null, offset);
+  }
+
   @NonNull
   public List<ApiT> createMultiple(final ThirdEyePrincipal principal,
       final List<ApiT> list) {
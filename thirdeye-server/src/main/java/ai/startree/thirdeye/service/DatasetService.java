@@ -14,6 +14,7 @@
 
 package ai.startree.thirdeye.service;
 
+import ai.startree.thirdeye.alert.EvaluationResultCache;
 import ai.startree.thirdeye.auth.AuthorizationManager;
 import ai.startree.thirdeye.auth.ThirdEyePrincipal;
 import ai.startree.thirdeye.mapper.ApiBeanMapper;
@@ -31,10 +32,25 @@ public class DatasetService extends CrudService<DatasetApi, DatasetConfigDTO> {
       .put("name", "dataset")
       .build();
 
+  private final EvaluationResultCache evaluationResultCache;
+
   @Inject
   public DatasetService(final DatasetConfigManager datasetConfigManager,
-      final AuthorizationManager authorizationManager) {
+      final AuthorizationManager authorizationManager,
+      final EvaluationResultCache evaluationResultCache) {
     super(authorizationManager, datasetConfigManager, API_TO_INDEX_FILTER_MAP);
+    this.evaluationResultCache = evaluationResultCache;
+  }
+
+  @Override
+  protected void postUpdate(final DatasetConfigDTO dto) {
+    evaluationResultCache.invalidateDataset(dto.getDataset());
+  }
+
+  @Override
+  protected void deleteDto(final DatasetConfigDTO dto) {
+    super.deleteDto(dto);
+    evaluationResultCache.invalidateDataset(dto.getDataset());
   }
 
   @Override
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.service;
+
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A page of entities returned by a paginated list request.
+ *
+ * The position of the next page is expressed in index rows, not in returned entities: rows the
+ * principal cannot read are skipped, so the number of entities returned does not tell how far the
+ * index was scanned.
+ * - nextCursor: id of the last row scanned. Set when the page is sorted by id.
+ * - nextOffset: offset of the first row not scanned yet. Set when the page is sorted by another
+ * field.
+ * Both are null when the last page was reached.
+ *
+ * The number of rows scanned per request is bounded: a page can have less items than the limit
+ * and still have a next position.
+ */
+public class ListPage<T> {
+
+  private final List<T> items;
+  private final @Nullable Long nextCursor;
+  private final @Nullable Long nextOffset;
+
+  public ListPage(final List<T> items,
+      final @Nullable Long nextCursor,
+      final @Nullable Long nextOffset) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+    this.nextOffset = nextOffset;
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public @Nullable Long getNextCursor() {
+    return nextCursor;
+  }
+
+  public @Nullable Long getNextOffset() {
+    return nextOffset;
+  }
+}
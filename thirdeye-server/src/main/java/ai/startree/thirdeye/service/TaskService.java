@@ -29,6 +29,7 @@ import javax.inject.Singleton;
 public class TaskService extends CrudService<TaskApi, TaskDTO> {
 
   public static final ImmutableMap<String, String> API_TO_INDEX_FILTER_MAP = ImmutableMap.<String, String>builder()
+      .put("id", "id")
       .put("type", "type")
       .put("status", "status")
       .put("created", "createTime")
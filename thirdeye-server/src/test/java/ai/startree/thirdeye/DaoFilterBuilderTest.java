@@ -17,9 +17,15 @@ import static ai.startree.thirdeye.DaoFilterBuilder.toPair;
 import static ai.startree.thirdeye.DaoFilterBuilder.toPredicate;
 import static ai.startree.thirdeye.spi.util.Pair.pair;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.Predicate.OPER;
+import com.google.common.collect.ImmutableMap;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import org.testng.annotations.Test;
 
 public class DaoFilterBuilderTest {
@@ -50,4 +56,88 @@ public class DaoFilterBuilderTest {
         Predicate.LE("col", "-1")
     ));
   }
+
+  @Test
+  public void testBuildFilterSortsPaginatedRequestsById() {
+    final DaoFilter daoFilter = newBuilder().buildFilter(params("limit", "10", "offset", "20"));
+
+    assertThat(daoFilter.getLimit()).isEqualTo(10L);
+    assertThat(daoFilter.getOffset()).isEqualTo(20L);
+    assertThat(daoFilter.getOrderByKey()).isEqualTo("baseId");
+    assertThat(daoFilter.isDesc()).isFalse();
+    assertThat(daoFilter.getPredicate()).isNull();
+  }
+
+  @Test
+  public void testBuildFilterWithoutPagination() {
+    final DaoFilter daoFilter = newBuilder().buildFilter(params("alert.id", "1"));
+
+    assertThat(daoFilter.getOrderByKey()).isNull();
+    assertThat(daoFilter.getPredicate())
+        .isEqualTo(Predicate.AND(Predicate.AND(Predicate.EQ("detectionConfigId", "1"))));
+  }
+
+  @Test
+  public void testBuildFilterWithSortKey() {
+    final DaoFilter daoFilter = newBuilder().buildFilter(params("limit", "10",
+        "sort", "-startTime"));
+
+    assertThat(daoFilter.getOrderByKey()).isEqualTo("startTime");
+    assertThat(daoFilter.isDesc()).isTrue();
+  }
+
+  @Test
+  public void testBuildFilterWithCursor() {
+    final DaoFilter daoFilter = newBuilder().buildFilter(params("limit", "10",
+        "sort", "-id",
+        "cursor", "42"));
+
+    assertThat(daoFilter.getOrderByKey()).isEqualTo("baseId");
+    assertThat(daoFilter.isDesc()).isTrue();
+    assertThat(daoFilter.getPredicate())
+        .isEqualTo(Predicate.AND(Predicate.LT("baseId", 42L)));
+  }
+
+  @Test
+  public void testBuildFilterRejectsCursorWithOtherSortKey() {
+    assertThatThrownBy(() -> newBuilder().buildFilter(params("sort", "startTime",
+        "cursor", "42")))
+        .isInstanceOf(WebApplicationException.class);
+  }
+
+  @Test
+  public void testBuildFilterRejectsUnknownSortKey() {
+    assertThatThrownBy(() -> newBuilder().buildFilter(params("sort", "unknown")))
+        .isInstanceOf(WebApplicationException.class);
+  }
+
+  @Test
+  public void testBuildFilterRejectsInvalidCursor() {
+    assertThatThrownBy(() -> newBuilder().buildFilter(params("limit", "10",
+        "cursor", "abc")))
+        .isInstanceOf(WebApplicationException.class);
+  }
+
+  @Test
+  public void testBuildFilterRejectsInvalidLimitAndOffset() {
+    assertThatThrownBy(() -> newBuilder().buildFilter(params("limit", "0")))
+        .isInstanceOf(WebApplicationException.class);
+    assertThatThrownBy(() -> newBuilder().buildFilter(params("limit", "10", "offset", "-1")))
+        .isInstanceOf(WebApplicationException.class);
+  }
+
+  private static DaoFilterBuilder newBuilder() {
+    return new DaoFilterBuilder(ImmutableMap.of(
+        "id", "baseId",
+        "alert.id", "detectionConfigId",
+        "startTime", "startTime"));
+  }
+
+  private static MultivaluedMap<String, String> params(final String... keyValues) {
+    final MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      params.add(keyValues[i], keyValues[i + 1]);
+    }
+    return params;
+  }
 }
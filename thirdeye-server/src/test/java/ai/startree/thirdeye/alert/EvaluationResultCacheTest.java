@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.alert;
+
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ai.startree.thirdeye.alert.EvaluationResultCache.EvaluationKey;
+import ai.startree.thirdeye.config.EvaluationCacheConfiguration;
+import ai.startree.thirdeye.spi.api.AlertApi;
+import ai.startree.thirdeye.spi.api.AlertEvaluationApi;
+import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.bao.DatasetConfigManager;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertMetadataDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.AlertTemplateDTO;
+import ai.startree.thirdeye.spi.datalayer.dto.DatasetConfigDTO;
+import ai.startree.thirdeye.spi.datasource.loader.MinMaxTimeLoader;
+import ai.startree.thirdeye.spi.detection.v2.OperatorResult;
+import java.sql.Timestamp;
+import java.util.Map;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class EvaluationResultCacheTest {
+
+  private static final String DATASET = "dataset";
+  private static final long ALERT_ID = 42L;
+  private static final Interval INTERVAL = new Interval(0L, 3_600_000L, DateTimeZone.UTC);
+
+  private DatasetConfigDTO datasetConfigDTO;
+  private AlertDTO alertDTO;
+  private MinMaxTimeLoader minMaxTimeLoader;
+  private EvaluationResultCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    datasetConfigDTO = new DatasetConfigDTO().setDataset(DATASET);
+    datasetConfigDTO.setUpdateTime(new Timestamp(1000L));
+    alertDTO = new AlertDTO();
+    alertDTO.setId(ALERT_ID);
+    alertDTO.setUpdateTime(new Timestamp(2000L));
+
+    final DatasetConfigManager datasetConfigManager = mock(DatasetConfigManager.class);
+    when(datasetConfigManager.findByDataset(DATASET)).thenReturn(datasetConfigDTO);
+    final AlertManager alertManager = mock(AlertManager.class);
+    when(alertManager.findById(ALERT_ID)).thenReturn(alertDTO);
+    minMaxTimeLoader = mock(MinMaxTimeLoader.class);
+    when(minMaxTimeLoader.fetchMaxTimeAsync(any(), eq(null))).thenReturn(immediateFuture(3000L));
+
+    cache = new EvaluationResultCache(new EvaluationCacheConfiguration().setEnabled(true),
+        datasetConfigManager,
+        alertManager,
+        minMaxTimeLoader);
+  }
+
+  @Test
+  public void testKeyIsStableAndTracksFreshness() throws Exception {
+    final EvaluationKey key = cache.keyOf(request(), template("a"), INTERVAL);
+    assertThat(key).isNotNull();
+    assertThat(cache.keyOf(request(), template("a"), INTERVAL)).isEqualTo(key);
+
+    assertThat(cache.keyOf(request(), template("b"), INTERVAL)).isNotEqualTo(key);
+    assertThat(cache.keyOf(request(), template("a"), new Interval(0L, 7_200_000L)))
+        .isNotEqualTo(key);
+
+    when(minMaxTimeLoader.fetchMaxTimeAsync(any(), eq(null))).thenReturn(immediateFuture(4000L));
+    assertThat(cache.keyOf(request(), template("a"), INTERVAL)).isNotEqualTo(key);
+  }
+
+  @Test
+  public void testCacheHitDoesNotQueryTheDataset() throws Exception {
+    final EvaluationKey key = cache.keyOf(request(), template("a"), INTERVAL);
+    final Map<String, OperatorResult> result = Map.of("root", new OperatorResult() {});
+    cache.put(key, result);
+
+    final EvaluationKey hitKey = cache.keyOf(request(), template("a"), INTERVAL);
+    assertThat(cache.get(hitKey)).isSameAs(result);
+    // the max time is read from the freshness cache of the loader, never with a direct query
+    verify(minMaxTimeLoader, never()).fetchMaxTime(any(), any());
+    verify(minMaxTimeLoader, never()).fetchMinTime(any(), any());
+  }
+
+  @Test
+  public void testKeyChangesWithAlertUpdate() {
+    final EvaluationKey key = cache.keyOf(request(), template("a"), INTERVAL);
+    alertDTO.setUpdateTime(new Timestamp(5000L));
+    assertThat(cache.keyOf(request(), template("a"), INTERVAL)).isNotEqualTo(key);
+  }
+
+  @Test
+  public void testNotCacheableWithoutDataset() {
+    final AlertTemplateDTO template = template("a").setMetadata(new AlertMetadataDTO());
+    assertThat(cache.keyOf(request(), template, INTERVAL)).isNull();
+  }
+
+  @Test
+  public void testDisabled() {
+    final EvaluationResultCache disabled = new EvaluationResultCache(
+        new EvaluationCacheConfiguration(),
+        mock(DatasetConfigManager.class),
+        mock(AlertManager.class),
+        minMaxTimeLoader);
+    assertThat(disabled.keyOf(request(), template("a"), INTERVAL)).isNull();
+  }
+
+  @Test
+  public void testInvalidate() {
+    final EvaluationKey key = cache.keyOf(request(), template("a"), INTERVAL);
+    final Map<String, OperatorResult> result = Map.of("root", new OperatorResult() {});
+    cache.put(key, result);
+    assertThat(cache.get(key)).isSameAs(result);
+
+    cache.invalidateDataset("other");
+    assertThat(cache.size()).isEqualTo(1);
+    cache.invalidateDataset(DATASET);
+    assertThat(cache.size()).isEqualTo(0);
+
+    cache.put(key, result);
+    cache.invalidateAlert(ALERT_ID);
+    assertThat(cache.get(key)).isNull();
+  }
+
+  private static AlertEvaluationApi request() {
+    return new AlertEvaluationApi().setAlert(new AlertApi().setId(ALERT_ID));
+  }
+
+  private static AlertTemplateDTO template(final String name) {
+    return new AlertTemplateDTO()
+        .setName(name)
+        .setMetadata(new AlertMetadataDTO()
+            .setDataset(new DatasetConfigDTO().setDataset(DATASET)));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 StarTree Inc
+ *
+ * Licensed under the StarTree Community License (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.startree.ai/legal/startree-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT * WARRANTIES OF ANY KIND,
+ * either express or implied.
+ * See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ai.startree.thirdeye.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ai.startree.thirdeye.spi.Constants;
+import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
+import ai.startree.thirdeye.spi.dataframe.LongSeries;
+import ai.startree.thirdeye.spi.datalayer.dto.AnomalyDTO;
+import java.util.List;
+import org.testng.annotations.Test;
+
+public class TimeSeriesDownsamplerTest {
+
+  private static DataFrame timeseries(final int size, final int spikeIndex) {
+    final long[] time = new long[size];
+    final double[] current = new double[size];
+    final byte[] anomaly = new byte[size];
+    for (int i = 0; i < size; i++) {
+      time[i] = i * 60_000L;
+      current[i] = i % 2;
+      anomaly[i] = BooleanSeries.FALSE;
+    }
+    current[spikeIndex] = 100;
+    return new DataFrame()
+        .addSeries(Constants.COL_TIME, LongSeries.buildFrom(time))
+        .addSeries(Constants.COL_CURRENT, DoubleSeries.buildFrom(current))
+        .addSeries(Constants.COL_VALUE, DoubleSeries.buildFrom(current))
+        .addSeries(Constants.COL_ANOMALY, BooleanSeries.buildFrom(anomaly))
+        .setIndex(Constants.COL_TIME);
+  }
+
+  @Test
+  public void testLttbKeepsEndsAndPeak() {
+    final DataFrame df = timeseries(1000, 500);
+    final int[] indices = TimeSeriesDownsampler.largestTriangleThreeBuckets(
+        df.getLongs(Constants.COL_TIME).values(),
+        df.getDoubles(Constants.COL_CURRENT).values(),
+        50);
+
+    assertThat(indices).hasSize(50);
+    assertThat(indices).startsWith(0).endsWith(999).contains(500);
+    assertThat(indices).isSorted();
+  }
+
+  @Test
+  public void testDownsampleNoopWhenSmallEnough() {
+    final DataFrame df = timeseries(10, 5);
+    assertThat(TimeSeriesDownsampler.downsample(df, 10, List.of())).isSameAs(df);
+  }
+
+  @Test
+  public void testDownsampleKeepsAnomalousPoints() {
+    final DataFrame df = timeseries(1000, 500);
+    df.getBooleans(Constants.COL_ANOMALY).values()[123] = BooleanSeries.TRUE;
+    final AnomalyDTO anomaly = new AnomalyDTO()
+        .setStartTime(700 * 60_000L)
+        .setEndTime(705 * 60_000L);
+
+    final DataFrame output = TimeSeriesDownsampler.downsample(df, 100, List.of(anomaly));
+
+    assertThat(output.size()).isBetween(100, 106);
+    final List<Long> times = output.getLongs(Constants.COL_TIME).toList();
+    assertThat(times).isSorted();
+    assertThat(times).contains(123 * 60_000L, 500 * 60_000L);
+    for (long i = 700; i < 705; i++) {
+      assertThat(times).contains(i * 60_000L);
+    }
+  }
+
+  @Test
+  public void testDeltaEncode() {
+    assertThat(AlertEvaluatorResponseMapper.deltaEncode(new long[]{1000, 1060, 1120, 1300}))
+        .containsExactly(1000L, 60L, 60L, 180L);
+  }
+}
@@ -22,6 +22,7 @@ import ai.startree.thirdeye.alert.AlertCreater;
 import ai.startree.thirdeye.alert.AlertDeleter;
 import ai.startree.thirdeye.alert.AlertEvaluator;
 import ai.startree.thirdeye.alert.AlertInsightsProvider;
+import ai.startree.thirdeye.alert.EvaluationResultCache;
 import ai.startree.thirdeye.alert.AlertTemplateRenderer;
 import ai.startree.thirdeye.auth.AccessControlProvider;
 import ai.startree.thirdeye.auth.AuthorizationManager;
@@ -85,6 +86,7 @@ public class AlertResourceTest {
         alertManager,
         mock(AppAnalyticsService.class),
         mock(AlertInsightsProvider.class),
+        mock(EvaluationResultCache.class),
         authorizationManager
     );
   }
@@ -245,6 +247,7 @@ public class AlertResourceTest {
         alertManager,
         mock(AppAnalyticsService.class),
         mock(AlertInsightsProvider.class),
+        mock(EvaluationResultCache.class),
         new AuthorizationManager(alertTemplateRenderer,
             (String token, ResourceIdentifier id, AccessType accessType) ->
                 id.namespace.equals("allowedNamespace")
@@ -298,6 +301,7 @@ public class AlertResourceTest {
         alertManager,
         mock(AppAnalyticsService.class),
         mock(AlertInsightsProvider.class),
+        mock(EvaluationResultCache.class),
         new AuthorizationManager(alertTemplateRenderer,
             (String token, ResourceIdentifier id, AccessType accessType) ->
                 accessType == AccessType.READ && id.namespace.equals("allowedNamespace")
@@ -344,6 +348,7 @@ public class AlertResourceTest {
         mock(AlertManager.class),
         mock(AppAnalyticsService.class),
         mock(AlertInsightsProvider.class),
+        mock(EvaluationResultCache.class),
         new AuthorizationManager(alertTemplateRenderer,
             (String token, ResourceIdentifier id, AccessType accessType) ->
                 id.namespace.equals("readonlyNamespace") && accessType == AccessType.READ
@@ -394,6 +399,7 @@ public class AlertResourceTest {
         mock(AlertManager.class),
         mock(AppAnalyticsService.class),
         mock(AlertInsightsProvider.class),
+        mock(EvaluationResultCache.class),
         new AuthorizationManager(alertTemplateRenderer,
             (String token, ResourceIdentifier id, AccessType accessType) ->
                 id.namespace.equals("allowedNamespace")
@@ -17,6 +17,8 @@ import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ai.startree.thirdeye.alert.AlertTemplateRenderer;
@@ -30,12 +32,16 @@ import ai.startree.thirdeye.spi.accessControl.AccessControl;
 import ai.startree.thirdeye.spi.accessControl.AccessType;
 import ai.startree.thirdeye.spi.accessControl.ResourceIdentifier;
 import ai.startree.thirdeye.spi.api.ThirdEyeCrudApi;
+import ai.startree.thirdeye.spi.datalayer.DaoFilter;
+import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.AbstractManager;
 import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
 import com.google.common.collect.ImmutableMap;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.ws.rs.ForbiddenException;
@@ -127,7 +133,7 @@ public class CrudResourceTest {
     final DummyManager manager = mock(DummyManager.class);
     final UriInfo uriInfo = mock(UriInfo.class);
     when(uriInfo.getQueryParameters()).thenReturn(new MultivaluedHashMap<>());
-    when(manager.findAll()).thenReturn(Arrays.asList(
+    when(manager.streamAll()).thenAnswer(i -> Stream.of(
         (DummyDto) new DummyDto().setId(1L),
         (DummyDto) new DummyDto().setId(2L),
         (DummyDto) new DummyDto().setId(3L)
@@ -148,7 +154,7 @@ public class CrudResourceTest {
     final DummyManager manager = mock(DummyManager.class);
     final UriInfo uriInfo = mock(UriInfo.class);
     when(uriInfo.getQueryParameters()).thenReturn(new MultivaluedHashMap<>());
-    when(manager.findAll()).thenReturn(Arrays.asList(
+    when(manager.streamAll()).thenAnswer(i -> Stream.of(
         (DummyDto) new DummyDto().setId(1L),
         (DummyDto) new DummyDto().setId(2L),
         (DummyDto) new DummyDto().setId(3L)
@@ -167,6 +173,82 @@ public class CrudResourceTest {
     }
   }
 
+  @Test
+  public void testListPage_withPartialAccessReturnsNextCursor() {
+    final DummyManager manager = mock(DummyManager.class);
+    final UriInfo uriInfo = mock(UriInfo.class);
+    final MultivaluedHashMap<String, String> queryParameters = new MultivaluedHashMap<>();
+    queryParameters.add("limit", "2");
+    when(uriInfo.getQueryParameters()).thenReturn(queryParameters);
+    final List<Predicate> predicates = new ArrayList<>();
+    when(manager.filter(any(DaoFilter.class))).thenAnswer(i -> {
+      final DaoFilter daoFilter = i.getArgument(0);
+      predicates.add(daoFilter.getPredicate());
+      return predicates.size() == 1
+          ? List.of((DummyDto) new DummyDto().setId(1L), (DummyDto) new DummyDto().setId(2L))
+          : List.of((DummyDto) new DummyDto().setId(3L), (DummyDto) new DummyDto().setId(4L));
+    });
+
+    final DummyResource resource = new DummyResource(manager, ImmutableMap.of(),
+        (String token, ResourceIdentifier identifiers, AccessType accessType)
+            -> Long.parseLong(identifiers.name) % 2 == 0);
+
+    try (Response resp = resource.list(nobody(), uriInfo)) {
+      assertThat(resp.getStatus()).isEqualTo(200);
+
+      final List<DummyApi> entities = (List<DummyApi>) resp.getEntity();
+      assertThat(entities).extracting(DummyApi::getId).containsExactly(2L, 4L);
+      // the second chunk is read after the last id scanned, not with an offset
+      assertThat(predicates).containsExactly(null, Predicate.GT("baseId", 2L));
+      assertThat(resp.getHeaderString(CrudResource.NEXT_CURSOR_HEADER)).isEqualTo("4");
+      assertThat(resp.getHeaderString(CrudResource.NEXT_OFFSET_HEADER)).isNull();
+    }
+  }
+
+  @Test
+  public void testListPage_scannedRowsAreCapped() {
+    final DummyManager manager = mock(DummyManager.class);
+    final UriInfo uriInfo = mock(UriInfo.class);
+    final MultivaluedHashMap<String, String> queryParameters = new MultivaluedHashMap<>();
+    queryParameters.add("limit", "2");
+    when(uriInfo.getQueryParameters()).thenReturn(queryParameters);
+    final AtomicLong nextId = new AtomicLong(1);
+    when(manager.filter(any(DaoFilter.class))).thenAnswer(i -> List.of(
+        (DummyDto) new DummyDto().setId(nextId.getAndIncrement()),
+        (DummyDto) new DummyDto().setId(nextId.getAndIncrement())));
+
+    // the principal cannot read anything: the table would be scanned entirely
+    final DummyResource resource = new DummyResource(manager, ImmutableMap.of(),
+        AccessControlProvider.alwaysDeny);
+
+    try (Response resp = resource.list(nobody(), uriInfo)) {
+      assertThat((List<DummyApi>) resp.getEntity()).isEmpty();
+      // 10 * limit rows scanned
+      verify(manager, times(10)).filter(any(DaoFilter.class));
+      assertThat(resp.getHeaderString(CrudResource.NEXT_CURSOR_HEADER)).isEqualTo("20");
+    }
+  }
+
+  @Test
+  public void testListPage_lastPageHasNoNextCursor() {
+    final DummyManager manager = mock(DummyManager.class);
+    final UriInfo uriInfo = mock(UriInfo.class);
+    final MultivaluedHashMap<String, String> queryParameters = new MultivaluedHashMap<>();
+    queryParameters.add("limit", "2");
+    when(uriInfo.getQueryParameters()).thenReturn(queryParameters);
+    when(manager.filter(any(DaoFilter.class)))
+        .thenReturn(List.of((DummyDto) new DummyDto().setId(1L)));
+
+    final DummyResource resource = new DummyResource(manager, ImmutableMap.of(),
+        AccessControlProvider.alwaysAllow);
+
+    try (Response resp = resource.list(nobody(), uriInfo)) {
+      assertThat((List<DummyApi>) resp.getEntity()).hasSize(1);
+      assertThat(resp.getHeaderString(CrudResource.NEXT_CURSOR_HEADER)).isNull();
+      assertThat(resp.getHeaderString(CrudResource.NEXT_OFFSET_HEADER)).isNull();
+    }
+  }
+
   @Test(expectedExceptions = ForbiddenException.class)
   public void testGet_withNoAccess() {
     final DummyManager manager = mock(DummyManager.class);
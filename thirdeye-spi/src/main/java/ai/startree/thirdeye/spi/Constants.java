@@ -71,6 +71,10 @@ public interface Constants {
   Duration TASK_EXPIRY_DURATION = Duration.ofDays(30);
   int TASK_MAX_DELETES_PER_CLEANUP = 10000;
 
+  /* Retention deletes are run in chunks to avoid locking large tables for a long time */
+  int DEFAULT_PURGE_BATCH_SIZE = 1000;
+  long DEFAULT_PURGE_PAUSE_MILLIS = 100;
+
   /*
    * Dataframe related constants
    */
@@ -35,6 +35,7 @@ public class PluginClassLoader extends URLClassLoader {
       .add("com.google.common")
       .add("org.joda.time")
       .add("org.slf4j")
+      .add("com.codahale.metrics")
       .add("org.h2")
       .add("com.mysql")
       .add("javax.activation")
@@ -29,6 +29,7 @@ public enum ThirdEyeStatus {
   ERR_DUPLICATE_NAME("Please provide a unique name. '%s' already exists."),
   ERR_ID_UNEXPECTED_AT_CREATION("ID should be null at creation time."),
   ERR_INVALID_JSON_FORMAT("Invalid json format"),
+  ERR_INVALID_QUERY_PARAM("Invalid value for query param %s: %s"),
   ERR_INVALID_QUERY_PARAM_OPERATOR("Invalid operator for query param. Allowed Values:"),
   ERR_MISSING_CONFIGURATION_FIELD("Missing configuration field in alert: %s"),
   ERR_MISSING_ID("ID is null!"),
@@ -29,6 +29,16 @@ public class AlertEvaluationApi {
   private EvaluationContextApi evaluationContext;
   private Date lastTimestamp;
   Boolean dryRun;
+  /**
+   * Target number of points per returned timeseries. Larger timeseries are downsampled with a
+   * shape-preserving algorithm. Anomalous points are always kept.
+   */
+  private Integer maxPoints;
+  /**
+   * If true, timestamps are returned delta-encoded in {@link DetectionDataApi#getTimestampDeltas()}
+   * instead of {@link DetectionDataApi#getTimestamp()}.
+   */
+  private Boolean compact;
 
   public AlertApi getAlert() {
     return alert;
@@ -104,4 +114,22 @@ public class AlertEvaluationApi {
     this.dryRun = dryRun;
     return this;
   }
+
+  public Integer getMaxPoints() {
+    return maxPoints;
+  }
+
+  public AlertEvaluationApi setMaxPoints(final Integer maxPoints) {
+    this.maxPoints = maxPoints;
+    return this;
+  }
+
+  public Boolean isCompact() {
+    return compact;
+  }
+
+  public AlertEvaluationApi setCompact(final Boolean compact) {
+    this.compact = compact;
+    return this;
+  }
 }
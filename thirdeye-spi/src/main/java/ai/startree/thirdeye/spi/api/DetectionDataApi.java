@@ -23,6 +23,11 @@ public class DetectionDataApi {
 
   private Map<String, List> rawData;
   private List<Long> timestamp;
+  /**
+   * Compact alternative to timestamp: the first element is the first timestamp, each following
+   * element is the difference with the previous timestamp.
+   */
+  private List<Long> timestampDeltas;
   private List<Double> upperBound;
   private List<Double> lowerBound;
   private List<Double> current;
@@ -37,6 +42,15 @@ public class DetectionDataApi {
     return this;
   }
 
+  public List<Long> getTimestampDeltas() {
+    return timestampDeltas;
+  }
+
+  public DetectionDataApi setTimestampDeltas(final List<Long> timestampDeltas) {
+    this.timestampDeltas = timestampDeltas;
+    return this;
+  }
+
   public List<Double> getUpperBound() {
     return upperBound;
   }
@@ -16,8 +16,11 @@ package ai.startree.thirdeye.spi.datalayer.bao;
 import ai.startree.thirdeye.spi.datalayer.DaoFilter;
 import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.dto.AbstractDTO;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public interface AbstractManager<E extends AbstractDTO> {
 
@@ -27,6 +30,24 @@ public interface AbstractManager<E extends AbstractDTO> {
 
   int update(List<E> entities);
 
+  /**
+   * Save the new entities and update the existing ones. Implementations backed by a database
+   * do it in a single transaction: either all entities are saved or none is.
+   *
+   * @return the number of entities saved or updated.
+   */
+  default int saveAll(final List<E> entities) {
+    int count = 0;
+    for (final E entity : entities) {
+      if (entity.getId() == null) {
+        count += save(entity) == null ? 0 : 1;
+      } else {
+        count += update(entity);
+      }
+    }
+    return count;
+  }
+
   E findById(Long id);
 
   /**
@@ -51,6 +72,32 @@ public interface AbstractManager<E extends AbstractDTO> {
 
   int deleteRecordsOlderThanDays(int days);
 
+  /**
+   * Delete the entities matching the predicate in chunks of at most batchSize entities. Each
+   * chunk is deleted in its own transaction and the caller sleeps pauseMillis between chunks, so
+   * that a large purge does not hold locks on the table for the whole run.
+   *
+   * @return the number of deleted entities
+   */
+  default int deleteByPredicateInBatches(final Predicate predicate, final int batchSize,
+      final long pauseMillis) {
+    return deleteByPredicate(predicate);
+  }
+
+  /**
+   * Chunked version of {@link #deleteRecordsOlderThanDays(int)}.
+   *
+   * @see #deleteByPredicateInBatches(Predicate, int, long)
+   */
+  default int deleteRecordsOlderThanDays(final int days, final int batchSize,
+      final long pauseMillis) {
+    final Timestamp expireTimestamp = new Timestamp(
+        System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+    return deleteByPredicateInBatches(Predicate.LT("createTime", expireTimestamp),
+        batchSize,
+        pauseMillis);
+  }
+
   List<E> findAll();
 
   List<E> findByParams(Map<String, Object> filters);
@@ -59,6 +106,22 @@ public interface AbstractManager<E extends AbstractDTO> {
 
   List<E> filter(DaoFilter daoFilter);
 
+  /**
+   * Same as {@link #findAll()}, but entities may be read lazily from the database while the
+   * stream is consumed.
+   */
+  default Stream<E> streamAll() {
+    return findAll().stream();
+  }
+
+  /**
+   * Same as {@link #filter(DaoFilter)}, but entities may be read lazily from the database while
+   * the stream is consumed.
+   */
+  default Stream<E> stream(final DaoFilter daoFilter) {
+    return filter(daoFilter).stream();
+  }
+
   int update(E entity, Predicate predicate);
 
   /**
@@ -47,5 +47,28 @@ public interface AnomalyManager extends AbstractManager<AnomalyDTO> {
   long countParentAnomalies(DaoFilter filter);
 
   List<AnomalyDTO> filter(AnomalyFilter anomalyFilter);
+
+  /**
+   * Returns the anomalies matching any of the filters, fetched in a single query.
+   */
+  List<AnomalyDTO> filter(List<AnomalyFilter> anomalyFilters);
+
   List<AnomalyDTO> findParentAnomaliesWithFeedback(DaoFilter filter);
+
+  /**
+   * Move the anomalies that ended more than the given number of days ago to the archive, in
+   * chunks of at most batchSize anomalies. Archived anomalies are not returned by filters and
+   * time range queries anymore, but can still be found by id.
+   *
+   * @return the number of archived anomalies
+   */
+  int archiveRecordsOlderThanDays(int days, int batchSize, long pauseMillis);
+
+  /**
+   * Delete the archived anomalies created more than the given number of days ago, in chunks of
+   * at most batchSize anomalies.
+   *
+   * @return the number of deleted anomalies
+   */
+  int deleteArchivedRecordsOlderThanDays(int days, int batchSize, long pauseMillis);
 }
@@ -28,6 +28,9 @@ public interface JobManager extends AbstractManager<JobDTO> {
 
   int deleteRecordsOlderThanDaysWithStatus(int days, JobStatus status);
 
+  int deleteRecordsOlderThanDaysWithStatus(int days, JobStatus status, int batchSize,
+      long pauseMillis);
+
   List<JobDTO> findNRecentJobs(int n);
 
   String getJobNameByJobId(long id);
@@ -34,6 +34,12 @@ public interface TaskManager extends AbstractManager<TaskDTO> {
 
   List<TaskDTO> findByStatusWithinDays(TaskStatus status, int days);
 
+  /**
+   * Job ids of the tasks created within the last days with the given status. Cheaper than
+   * {@link #findByStatusWithinDays(TaskStatus, int)}: the tasks are not deserialized.
+   */
+  Set<Long> findJobIdsByStatusWithinDays(TaskStatus status, int days);
+
   List<TaskDTO> findByStatusesAndTypeWithinDays(List<TaskStatus> statuses,
       TaskType type, int days);
 
@@ -49,12 +55,25 @@ public interface TaskManager extends AbstractManager<TaskDTO> {
   void updateStatusAndTaskEndTime(Long id, TaskStatus oldStatus, TaskStatus newStatus,
       Long taskEndTime, String message);
 
+  /**
+   * Batch version of {@link #updateStatusAndTaskEndTime(Long, TaskStatus, TaskStatus, Long,
+   * String)}. The tasks are written in a single transaction and each row is only updated if it is
+   * still in oldStatus in the database.
+   *
+   * @return the number of updated tasks
+   */
+  int updateStatusAndTaskEndTime(List<TaskDTO> tasks, TaskStatus oldStatus,
+      TaskStatus newStatus, Long taskEndTime, String message);
+
   void updateTaskStartTime(Long id, Long taskStartTime);
 
   void updateLastActive(Long id);
 
   int deleteRecordsOlderThanDaysWithStatus(int days, TaskStatus status);
 
+  int deleteRecordsOlderThanDaysWithStatus(int days, TaskStatus status, int batchSize,
+      long pauseMillis);
+
   void purge(Duration expiryDuration, Integer limitOptional);
 
   void orphanTaskCleanUp(Timestamp activeThreshold);
@@ -14,10 +14,12 @@
 package ai.startree.thirdeye.spi.datasource;
 
 import ai.startree.thirdeye.spi.datalayer.dto.DataSourceDTO;
+import com.codahale.metrics.MetricRegistry;
 
 public class ThirdEyeDataSourceContext {
 
   private DataSourceDTO dataSourceDTO;
+  private MetricRegistry metricRegistry;
 
   public DataSourceDTO getDataSourceDTO() {
     return dataSourceDTO;
@@ -28,4 +30,16 @@ public class ThirdEyeDataSourceContext {
     this.dataSourceDTO = dataSourceDTO;
     return this;
   }
+
+  /**
+   * Registry of the server. Metrics registered here are reported with the server metrics.
+   */
+  public MetricRegistry getMetricRegistry() {
+    return metricRegistry;
+  }
+
+  public ThirdEyeDataSourceContext setMetricRegistry(final MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
+    return this;
+  }
 }
@@ -15,6 +15,7 @@ package ai.startree.thirdeye.spi.datasource.loader;
 
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
 import ai.startree.thirdeye.spi.metric.MetricSlice;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Future;
 
@@ -35,6 +36,23 @@ public interface AggregationLoader {
    */
   DataFrame loadBreakdown(MetricSlice slice, int limit) throws Exception;
 
+  /**
+   * Returns the de-aggregation data frames of several slices, in the order of the slices.
+   * Implementations can send the queries of all the slices at once.
+   *
+   * @param slices metric slices
+   * @param limit top k element limit per dimension name ({@code -1} for default)
+   * @return de-aggregation data frames, one per slice
+   */
+  default List<DataFrame> loadBreakdowns(final List<MetricSlice> slices, final int limit)
+      throws Exception {
+    final List<DataFrame> breakdowns = new ArrayList<>(slices.size());
+    for (final MetricSlice slice : slices) {
+      breakdowns.add(loadBreakdown(slice, limit));
+    }
+    return breakdowns;
+  }
+
   /**
    * Returns metric aggregates grouped by the given dimensions (or none).
    *
@@ -15,6 +15,8 @@ package ai.startree.thirdeye.spi.datasource.resultset;
 
 import ai.startree.thirdeye.spi.Constants;
 import ai.startree.thirdeye.spi.dataframe.DataFrame;
+import ai.startree.thirdeye.spi.dataframe.ObjectSeries;
+import ai.startree.thirdeye.spi.dataframe.StringSeries;
 import ai.startree.thirdeye.spi.detection.TimeGranularity;
 import ai.startree.thirdeye.spi.detection.TimeSpec;
 import ai.startree.thirdeye.spi.detection.v2.ColumnType;
@@ -22,6 +24,7 @@ import ai.startree.thirdeye.spi.detection.v2.ColumnType.ColumnDataType;
 import com.google.common.base.Preconditions;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -33,6 +36,9 @@ import java.util.Set;
  */
 public class ThirdEyeDataFrameResultSet extends AbstractThirdEyeResultSet {
 
+  private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+  private static final int MAX_INITIAL_CAPACITY = 1 << 14;
+
   private final ThirdEyeResultSetMetaData thirdEyeResultSetMetaData;
   private final DataFrame dataFrame;
 
@@ -81,24 +87,25 @@ public class ThirdEyeDataFrameResultSet extends AbstractThirdEyeResultSet {
             metrics,
             groupKeyColumnTypes,
             metricTypes);
-    // Build the DataFrame
-    List<String> columnNameWithDataType = new ArrayList<>();
-    //   Always cast dimension values to STRING type
-
-    for (String groupColumnName : thirdEyeResultSetMetaData.getGroupKeyColumnNames()) {
-      columnNameWithDataType.add(groupColumnName + ":STRING");
-    }
-
-    columnNameWithDataType.addAll(thirdEyeResultSetMetaData.getMetricColumnNames());
-    DataFrame.Builder dfBuilder = DataFrame.builder(columnNameWithDataType);
-
+    // Build the DataFrame column by column
     int metricColumnCount = metrics.size();
     int groupByColumnCount = groupKeyColumnNames.size();
     int totalColumnCount = groupByColumnCount + metricColumnCount;
 
+    int capacity = resultSet.getFetchSize() > 0
+        ? Math.min(resultSet.getFetchSize(), MAX_INITIAL_CAPACITY)
+        : DEFAULT_INITIAL_CAPACITY;
+    String[][] columns = new String[totalColumnCount][capacity];
+    int size = 0;
+
     outer:
     while (resultSet.next()) {
-      String[] columnsOfTheRow = new String[totalColumnCount];
+      if (size == capacity) {
+        capacity = capacity + (capacity >> 1) + 1;
+        for (int columnIdx = 0; columnIdx < totalColumnCount; columnIdx++) {
+          columns[columnIdx] = Arrays.copyOf(columns[columnIdx], capacity);
+        }
+      }
       // GroupBy column value(i.e., dimension values)
       for (int groupByColumnIdx = 1; groupByColumnIdx <= groupByColumnCount; groupByColumnIdx++) {
         String valueString = null;
@@ -107,7 +114,7 @@ public class ThirdEyeDataFrameResultSet extends AbstractThirdEyeResultSet {
         } catch (Exception e) {
           // Do nothing and subsequently insert a null value to the current series.
         }
-        columnsOfTheRow[groupByColumnIdx - 1] = valueString;
+        columns[groupByColumnIdx - 1][size] = valueString;
       }
       // Metric column's value
       for (int metricColumnIdx = 1; metricColumnIdx <= metricColumnCount; metricColumnIdx++) {
@@ -120,12 +127,24 @@ public class ThirdEyeDataFrameResultSet extends AbstractThirdEyeResultSet {
         } catch (Exception e) {
           // Do nothing and subsequently insert a null value to the current series.
         }
-        columnsOfTheRow[metricColumnIdx + groupByColumnCount - 1] = valueString;
+        columns[metricColumnIdx + groupByColumnCount - 1][size] = valueString;
       }
-      dfBuilder.append(columnsOfTheRow);
+      size++;
     }
 
-    DataFrame dataFrame = dfBuilder.build().dropNull();
+    DataFrame dataFrame = new DataFrame();
+    //   Always cast dimension values to STRING type
+    for (int columnIdx = 0; columnIdx < groupByColumnCount; columnIdx++) {
+      dataFrame.addSeries(groupKeyColumnNames.get(columnIdx),
+          StringSeries.buildFrom(Arrays.copyOf(columns[columnIdx], size)));
+    }
+    for (int metricColumnIdx = 0; metricColumnIdx < metricColumnCount; metricColumnIdx++) {
+      String[] values = Arrays.copyOf(columns[groupByColumnCount + metricColumnIdx], size);
+      dataFrame.addSeries(metrics.get(metricColumnIdx), size == 0
+          ? ObjectSeries.empty()
+          : StringSeries.buildFrom(values).toInferredType());
+    }
+    dataFrame = dataFrame.dropNull();
 
     // Build ThirdEye's result set
     ThirdEyeDataFrameResultSet thirdEyeDataFrameResultSet =
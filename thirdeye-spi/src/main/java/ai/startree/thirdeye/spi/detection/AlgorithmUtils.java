@@ -350,7 +350,7 @@ public class AlgorithmUtils {
     List<DataFrame> segments = new ArrayList<>();
     long prevTimestamp = timestamps.min().longValue();
     for (Long changePoint : myChangePoints) {
-      segments.add(df.filter(timestamps.between(prevTimestamp, changePoint)).dropNull(COL_TIME));
+      segments.add(df.sliceBetween(COL_TIME, prevTimestamp, changePoint));
       prevTimestamp = changePoint;
     }
 
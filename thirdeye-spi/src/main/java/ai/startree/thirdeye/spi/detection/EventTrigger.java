@@ -13,6 +13,7 @@
  */
 package ai.startree.thirdeye.spi.detection;
 
+import ai.startree.thirdeye.spi.dataframe.DataFrame;
 import java.util.List;
 
 public interface EventTrigger<T extends AbstractSpec> extends BaseComponent<T> {
@@ -27,6 +28,26 @@ public interface EventTrigger<T extends AbstractSpec> extends BaseComponent<T> {
    */
   void trigger(List<String> columnNames, Object[] event) throws EventTriggerException;
 
+  /**
+   * Trigger with a batch of events: the rows [fromIncl, toExcl) of the dataframe.
+   *
+   * Columns can be read without boxing with the typed series, for instance
+   * {@code events.getDoubles(columnName).values()}. Implementations that forward to a sink
+   * should override this method.
+   * The default implementation calls {@link #trigger(List, Object[])} for each row.
+   */
+  default void trigger(final DataFrame events, final int fromIncl, final int toExcl)
+      throws EventTriggerException {
+    final List<String> columnNames = events.getSeriesNames();
+    for (int rowIdx = fromIncl; rowIdx < toExcl; rowIdx++) {
+      final Object[] event = new Object[columnNames.size()];
+      for (int colIdx = 0; colIdx < columnNames.size(); colIdx++) {
+        event[colIdx] = events.getObject(columnNames.get(colIdx), rowIdx);
+      }
+      trigger(columnNames, event);
+    }
+  }
+
   /**
    * Close the Trigger
    */
@@ -13,7 +13,9 @@
  */
 package ai.startree.thirdeye.spi.detection;
 
+import ai.startree.thirdeye.spi.dataframe.BooleanExpression;
 import ai.startree.thirdeye.spi.dataframe.BooleanSeries;
+import ai.startree.thirdeye.spi.dataframe.DoubleExpression;
 import ai.startree.thirdeye.spi.dataframe.DoubleSeries;
 import ai.startree.thirdeye.spi.dataframe.Series.DoubleConditional;
 
@@ -58,4 +60,17 @@ public enum Pattern {
 
     return DoubleSeries.map(isAnomalyFn, currentValues, lowerBounds, upperBounds);
   }
+
+  /**
+   * Lazy version of {@link #isAnomaly(DoubleSeries, DoubleSeries, DoubleSeries)}, to be evaluated
+   * in the same pass as the bounds.
+   */
+  public BooleanExpression isAnomaly(final DoubleExpression currentValues,
+      final DoubleExpression lowerBounds, final DoubleExpression upperBounds) {
+    final DoubleConditional isAnomalyFn = doubles -> this.isAnomaly(doubles[0],
+        doubles[1],
+        doubles[2]);
+
+    return BooleanExpression.map(isAnomalyFn, currentValues, lowerBounds, upperBounds);
+  }
 }
@@ -20,4 +20,10 @@ public interface NotificationServiceFactory {
   String name();
 
   NotificationService build(Map<String, Object> params);
+
+  /**
+   * Release the resources shared by the services built by this factory. Called on shutdown.
+   */
+  default void close() {
+  }
 }
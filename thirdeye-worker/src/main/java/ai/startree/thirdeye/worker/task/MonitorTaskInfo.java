@@ -13,6 +13,7 @@
  */
 package ai.startree.thirdeye.worker.task;
 
+import ai.startree.thirdeye.spi.Constants;
 import ai.startree.thirdeye.spi.Constants.MonitorType;
 import ai.startree.thirdeye.spi.task.TaskInfo;
 import com.google.common.base.MoreObjects;
@@ -25,6 +26,10 @@ public class MonitorTaskInfo implements TaskInfo {
   private int completedJobRetentionDays;
   private int detectionStatusRetentionDays;
   private int rawAnomalyRetentionDays;
+  private int anomalyArchiveDays;
+  private int archivedAnomalyRetentionDays;
+  private int purgeBatchSize = Constants.DEFAULT_PURGE_BATCH_SIZE;
+  private long purgePauseMillis = Constants.DEFAULT_PURGE_PAUSE_MILLIS;
 
   public MonitorTaskInfo() {
 
@@ -70,6 +75,38 @@ public class MonitorTaskInfo implements TaskInfo {
     this.rawAnomalyRetentionDays = rawAnomalyRetentionDays;
   }
 
+  public int getAnomalyArchiveDays() {
+    return anomalyArchiveDays;
+  }
+
+  public void setAnomalyArchiveDays(int anomalyArchiveDays) {
+    this.anomalyArchiveDays = anomalyArchiveDays;
+  }
+
+  public int getArchivedAnomalyRetentionDays() {
+    return archivedAnomalyRetentionDays;
+  }
+
+  public void setArchivedAnomalyRetentionDays(int archivedAnomalyRetentionDays) {
+    this.archivedAnomalyRetentionDays = archivedAnomalyRetentionDays;
+  }
+
+  public int getPurgeBatchSize() {
+    return purgeBatchSize;
+  }
+
+  public void setPurgeBatchSize(int purgeBatchSize) {
+    this.purgeBatchSize = purgeBatchSize;
+  }
+
+  public long getPurgePauseMillis() {
+    return purgePauseMillis;
+  }
+
+  public void setPurgePauseMillis(long purgePauseMillis) {
+    this.purgePauseMillis = purgePauseMillis;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -83,6 +120,10 @@ public class MonitorTaskInfo implements TaskInfo {
         && defaultRetentionDays == that.defaultRetentionDays
         && detectionStatusRetentionDays == that.detectionStatusRetentionDays
         && rawAnomalyRetentionDays == that.rawAnomalyRetentionDays
+        && anomalyArchiveDays == that.anomalyArchiveDays
+        && archivedAnomalyRetentionDays == that.archivedAnomalyRetentionDays
+        && purgeBatchSize == that.purgeBatchSize
+        && purgePauseMillis == that.purgePauseMillis
         && monitorType == that.monitorType;
   }
 
@@ -90,7 +131,8 @@ public class MonitorTaskInfo implements TaskInfo {
   public int hashCode() {
     return Objects.hash(monitorType, completedJobRetentionDays, defaultRetentionDays,
         detectionStatusRetentionDays,
-        rawAnomalyRetentionDays);
+        rawAnomalyRetentionDays, anomalyArchiveDays, archivedAnomalyRetentionDays, purgeBatchSize,
+        purgePauseMillis);
   }
 
   @Override
@@ -101,6 +143,10 @@ public class MonitorTaskInfo implements TaskInfo {
         .add("defaultRetentionDays", defaultRetentionDays)
         .add("detectionStatusRetentionDays", detectionStatusRetentionDays)
         .add("rawAnomalyRetentionDays", rawAnomalyRetentionDays)
+        .add("anomalyArchiveDays", anomalyArchiveDays)
+        .add("archivedAnomalyRetentionDays", archivedAnomalyRetentionDays)
+        .add("purgeBatchSize", purgeBatchSize)
+        .add("purgePauseMillis", purgePauseMillis)
         .toString();
   }
 }
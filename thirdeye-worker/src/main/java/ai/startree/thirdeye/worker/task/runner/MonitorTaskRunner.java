@@ -15,7 +15,9 @@ package ai.startree.thirdeye.worker.task.runner;
 
 import ai.startree.thirdeye.spi.Constants.JobStatus;
 import ai.startree.thirdeye.spi.Constants.MonitorType;
+import ai.startree.thirdeye.spi.datalayer.Predicate;
 import ai.startree.thirdeye.spi.datalayer.bao.AlertManager;
+import ai.startree.thirdeye.spi.datalayer.bao.AnomalyManager;
 import ai.startree.thirdeye.spi.datalayer.bao.AnomalySubscriptionGroupNotificationManager;
 import ai.startree.thirdeye.spi.datalayer.bao.DetectionStatusManager;
 import ai.startree.thirdeye.spi.datalayer.bao.JobManager;
@@ -30,16 +32,19 @@ import ai.startree.thirdeye.worker.task.MonitorTaskInfo;
 import ai.startree.thirdeye.worker.task.TaskContext;
 import ai.startree.thirdeye.worker.task.TaskResult;
 import ai.startree.thirdeye.worker.task.TaskRunner;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +62,9 @@ public class MonitorTaskRunner implements TaskRunner {
   private final DetectionStatusManager detectionStatusManager;
   private final OnlineDetectionDataManager onlineDetectionDataManager;
   private final AnomalySubscriptionGroupNotificationManager anomalySubscriptionGroupNotificationManager;
+  private final AnomalyManager anomalyManager;
+  private final MetricRegistry metricRegistry;
+  private final Meter timeoutTasksCount;
 
   @Inject
   public MonitorTaskRunner(final TaskManager taskManager,
@@ -64,13 +72,18 @@ public class MonitorTaskRunner implements TaskRunner {
       final AlertManager alertManager,
       final DetectionStatusManager detectionStatusManager,
       final OnlineDetectionDataManager onlineDetectionDataManager,
-      final AnomalySubscriptionGroupNotificationManager anomalySubscriptionGroupNotificationManager) {
+      final AnomalySubscriptionGroupNotificationManager anomalySubscriptionGroupNotificationManager,
+      final AnomalyManager anomalyManager,
+      final MetricRegistry metricRegistry) {
     this.taskManager = taskManager;
     this.jobManager = jobManager;
     this.alertManager = alertManager;
     this.detectionStatusManager = detectionStatusManager;
     this.onlineDetectionDataManager = onlineDetectionDataManager;
     this.anomalySubscriptionGroupNotificationManager = anomalySubscriptionGroupNotificationManager;
+    this.anomalyManager = anomalyManager;
+    this.metricRegistry = metricRegistry;
+    timeoutTasksCount = metricRegistry.meter("timeoutTasksCount");
   }
 
   @Override
@@ -97,11 +110,10 @@ public class MonitorTaskRunner implements TaskRunner {
       List<TaskDTO> timeoutTasks = taskManager
           .findTimeoutTasksWithinDays(jobRetentionDays, MAX_TASK_TIME);
       if (!timeoutTasks.isEmpty()) {
-        for (TaskDTO task : timeoutTasks) {
-          taskManager
-              .updateStatusAndTaskEndTime(task.getId(), TaskStatus.RUNNING, TaskStatus.TIMEOUT,
-                  System.currentTimeMillis(), "TIMEOUT status updated by MonitorTaskRunner");
-        }
+        int updatedTasks = taskManager
+            .updateStatusAndTaskEndTime(timeoutTasks, TaskStatus.RUNNING, TaskStatus.TIMEOUT,
+                System.currentTimeMillis(), "TIMEOUT status updated by MonitorTaskRunner");
+        timeoutTasksCount.mark(updatedTasks);
         LOG.warn("TIMEOUT tasks {}", timeoutTasks);
       }
 
@@ -109,11 +121,13 @@ public class MonitorTaskRunner implements TaskRunner {
       Map<Long, JobDTO> scheduledJobs = findScheduledJobsWithinDays(jobRetentionDays);
 
       // Remove SCHEDULED jobs that has WAITING tasks
-      Set<Long> waitingJobs = findWaitingJobsWithinDays(jobRetentionDays);
+      Set<Long> waitingJobs = taskManager
+          .findJobIdsByStatusWithinDays(TaskStatus.WAITING, jobRetentionDays);
       scheduledJobs.keySet().removeAll(waitingJobs);
 
       // Mark SCHEDULED jobs as TIMEOUT if it has any tasks that run for more than MAX_TASK_TIME or are marked as TIMEOUT
-      Set<Long> timeoutJobs = findTimeoutJobsWithinDays(jobRetentionDays);
+      Set<Long> timeoutJobs = taskManager
+          .findJobIdsByStatusWithinDays(TaskStatus.TIMEOUT, jobRetentionDays);
       if (!timeoutJobs.isEmpty()) {
         List<JobDTO> jobsToUpdate = extractJobDTO(scheduledJobs, timeoutJobs);
         if (!jobsToUpdate.isEmpty()) {
@@ -125,7 +139,8 @@ public class MonitorTaskRunner implements TaskRunner {
       }
 
       // Mark SCHEDULED jobs as FAILED if it has any tasks are marked as FAILED
-      Set<Long> failedJobs = findFailedJobsWithinDays(jobRetentionDays);
+      Set<Long> failedJobs = taskManager
+          .findJobIdsByStatusWithinDays(TaskStatus.FAILED, jobRetentionDays);
       if (!failedJobs.isEmpty()) {
         List<JobDTO> jobsToUpdate = extractJobDTO(scheduledJobs, failedJobs);
         if (!jobsToUpdate.isEmpty()) {
@@ -156,48 +171,52 @@ public class MonitorTaskRunner implements TaskRunner {
   /**
    * Disable the alert if it was updated before {@MAX_TASK_FAIL_DAYS} but there is no success run
    * since then.
+   * The updateTime condition is applied in the database. The health of the alerts is only stored
+   * in the json, so the last task execution time is checked in memory on the remaining alerts.
    */
   private void disableLongFailedAlerts() {
-    List<AlertDTO> detectionConfigs = alertManager.findAllActive();
     long currentTimeMillis = System.currentTimeMillis();
-    long maxTaskFailMillis = TimeUnit.DAYS.toMillis(MAX_FAILED_DISABLE_DAYS);
-    for (AlertDTO config : detectionConfigs) {
-      try {
-        Timestamp updateTime = config.getUpdateTime();
-        if (updateTime != null && config.getHealth() != null
-            && config.getHealth().getDetectionTaskStatus() != null) {
-          long lastTaskExecutionTime = config.getHealth().getDetectionTaskStatus()
-              .getLastTaskExecutionTime();
-          // lastTaskExecutionTime == -1L is used for backward compatibility. Currently we have many long failing alerts have -1L.
-          if (updateTime.getTime() <= currentTimeMillis - maxTaskFailMillis && (
-              lastTaskExecutionTime == -1L
-                  || lastTaskExecutionTime <= currentTimeMillis - maxTaskFailMillis)) {
-            config.setActive(false);
-            alertManager.update(config);
-            LOG.info("Disabled alert {} since it failed more than {} days. "
-                    + "Task last update time: {}. Last success task execution time: {}",
-                config.getId(), MAX_FAILED_DISABLE_DAYS, config.getUpdateTime(),
-                lastTaskExecutionTime);
-          }
+    long disableBeforeMillis = currentTimeMillis - TimeUnit.DAYS.toMillis(MAX_FAILED_DISABLE_DAYS);
+    List<AlertDTO> notUpdatedAlerts = alertManager.findByPredicate(Predicate.AND(
+        Predicate.EQ("active", true),
+        Predicate.LE("updateTime", new Timestamp(disableBeforeMillis))));
+    List<AlertDTO> alertsToDisable = new ArrayList<>();
+    for (AlertDTO config : notUpdatedAlerts) {
+      if (config.getHealth() != null && config.getHealth().getDetectionTaskStatus() != null) {
+        long lastTaskExecutionTime = config.getHealth().getDetectionTaskStatus()
+            .getLastTaskExecutionTime();
+        // lastTaskExecutionTime == -1L is used for backward compatibility. Currently we have many long failing alerts have -1L.
+        if (lastTaskExecutionTime == -1L || lastTaskExecutionTime <= disableBeforeMillis) {
+          config.setActive(false);
+          alertsToDisable.add(config);
+          LOG.info("Disabling alert {} since it failed more than {} days. "
+                  + "Task last update time: {}. Last success task execution time: {}",
+              config.getId(), MAX_FAILED_DISABLE_DAYS, config.getUpdateTime(),
+              lastTaskExecutionTime);
         }
-      } catch (Exception e) {
-        LOG.error("Exception in disabling alert ", e);
       }
     }
+    if (!alertsToDisable.isEmpty()) {
+      // single transaction
+      alertManager.saveAll(alertsToDisable);
+    }
   }
 
   private void executeMonitorExpire(MonitorTaskInfo monitorTaskInfo) {
     LOG.info("Execute monitor expire {}", monitorTaskInfo);
+    final int batchSize = monitorTaskInfo.getPurgeBatchSize();
+    final long pauseMillis = monitorTaskInfo.getPurgePauseMillis();
 
     // Delete completed jobs and tasks that are expired.
     try {
       // CAUTION: Fist delete tasks then jobs, as task has a foreign key.
       int completedJobRetentionDays = monitorTaskInfo.getCompletedJobRetentionDays();
-      int deletedCompletedTasks = taskManager
-          .deleteRecordsOlderThanDaysWithStatus(completedJobRetentionDays, TaskStatus.COMPLETED);
-      int deletedCompletedJobs =
-          jobManager
-              .deleteRecordsOlderThanDaysWithStatus(completedJobRetentionDays, JobStatus.COMPLETED);
+      int deletedCompletedTasks = purge("task", () -> taskManager
+          .deleteRecordsOlderThanDaysWithStatus(completedJobRetentionDays, TaskStatus.COMPLETED,
+              batchSize, pauseMillis));
+      int deletedCompletedJobs = purge("job", () -> jobManager
+          .deleteRecordsOlderThanDaysWithStatus(completedJobRetentionDays, JobStatus.COMPLETED,
+              batchSize, pauseMillis));
       LOG.info("Deleted {} completed jobs and {} completed tasks that are older than {} days.",
           deletedCompletedJobs,
           deletedCompletedTasks, completedJobRetentionDays);
@@ -209,8 +228,10 @@ public class MonitorTaskRunner implements TaskRunner {
     try {
       // CAUTION: Fist delete tasks then jobs, as task has a foreign key.
       int jobRetentionDays = monitorTaskInfo.getDefaultRetentionDays();
-      int deletedTasks = taskManager.deleteRecordsOlderThanDays(jobRetentionDays);
-      int deletedJobs = jobManager.deleteRecordsOlderThanDays(jobRetentionDays);
+      int deletedTasks = purge("task", () -> taskManager
+          .deleteRecordsOlderThanDays(jobRetentionDays, batchSize, pauseMillis));
+      int deletedJobs = purge("job", () -> jobManager
+          .deleteRecordsOlderThanDays(jobRetentionDays, batchSize, pauseMillis));
       LOG.info("Deleted {} jobs and {} tasks that are older than {} days.", deletedTasks,
           deletedJobs,
           jobRetentionDays);
@@ -220,8 +241,9 @@ public class MonitorTaskRunner implements TaskRunner {
 
     // Delete expired detection status.
     try {
-      int deletedDetectionStatus = detectionStatusManager
-          .deleteRecordsOlderThanDays(monitorTaskInfo.getDetectionStatusRetentionDays());
+      int deletedDetectionStatus = purge("detectionStatus", () -> detectionStatusManager
+          .deleteRecordsOlderThanDays(monitorTaskInfo.getDetectionStatusRetentionDays(),
+              batchSize, pauseMillis));
       LOG.info("Deleted {} detection status that are older than {} days.", deletedDetectionStatus,
           monitorTaskInfo.getDetectionStatusRetentionDays());
     } catch (Exception e) {
@@ -230,8 +252,10 @@ public class MonitorTaskRunner implements TaskRunner {
 
     // Delete expired online detection data
     try {
-      int deletedOnlineDetectionDatas = onlineDetectionDataManager
-          .deleteRecordsOlderThanDays(monitorTaskInfo.getDefaultRetentionDays());
+      int deletedOnlineDetectionDatas = purge("onlineDetectionData",
+          () -> onlineDetectionDataManager
+              .deleteRecordsOlderThanDays(monitorTaskInfo.getDefaultRetentionDays(),
+                  batchSize, pauseMillis));
       LOG.info("Deleted {} online detection data that are older than {} days.",
           deletedOnlineDetectionDatas, monitorTaskInfo.getDefaultRetentionDays());
     } catch (Exception e) {
@@ -240,14 +264,57 @@ public class MonitorTaskRunner implements TaskRunner {
 
     // Delete old anomaly subscription notifications.
     try {
-      int deletedRecords = anomalySubscriptionGroupNotificationManager
-          .deleteRecordsOlderThanDays(monitorTaskInfo.getDefaultRetentionDays());
+      int deletedRecords = purge("anomalySubscriptionGroupNotification",
+          () -> anomalySubscriptionGroupNotificationManager
+              .deleteRecordsOlderThanDays(monitorTaskInfo.getDefaultRetentionDays(),
+                  batchSize, pauseMillis));
       LOG.info("Deleted {} anomaly subscription notifications that are older than {} days.",
           deletedRecords,
           monitorTaskInfo.getDefaultRetentionDays());
     } catch (Exception e) {
       LOG.error("Exception when deleting old anomaly subscription notifications.", e);
     }
+
+    // Move old anomalies to the archive
+    final int anomalyArchiveDays = monitorTaskInfo.getAnomalyArchiveDays();
+    if (anomalyArchiveDays > 0) {
+      try {
+        int archivedAnomalies = purge("anomalyArchive", () -> anomalyManager
+            .archiveRecordsOlderThanDays(anomalyArchiveDays, batchSize, pauseMillis));
+        LOG.info("Archived {} anomalies that ended more than {} days ago.", archivedAnomalies,
+            anomalyArchiveDays);
+      } catch (Exception e) {
+        LOG.error("Exception when archiving old anomalies.", e);
+      }
+      final int archivedAnomalyRetentionDays = monitorTaskInfo.getArchivedAnomalyRetentionDays();
+      if (archivedAnomalyRetentionDays > 0) {
+        try {
+          int deletedAnomalies = purge("anomalyArchivePurge", () -> anomalyManager
+              .deleteArchivedRecordsOlderThanDays(archivedAnomalyRetentionDays, batchSize,
+                  pauseMillis));
+          LOG.info("Deleted {} archived anomalies that are older than {} days.", deletedAnomalies,
+              archivedAnomalyRetentionDays);
+        } catch (Exception e) {
+          LOG.error("Exception when deleting old archived anomalies.", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Run a purge and report the number of deleted records and the time taken, per table.
+   */
+  private int purge(final String table, final IntSupplier purgeFn) {
+    final Timer.Context timerContext = metricRegistry
+        .timer(String.format("purgeDuration_%s", table))
+        .time();
+    try {
+      final int deleted = purgeFn.getAsInt();
+      metricRegistry.meter(String.format("purgedRecordsCount_%s", table)).mark(deleted);
+      return deleted;
+    } finally {
+      timerContext.stop();
+    }
   }
 
   private Map<Long, JobDTO> findScheduledJobsWithinDays(int days) {
@@ -262,36 +329,6 @@ public class MonitorTaskRunner implements TaskRunner {
     return jobs;
   }
 
-  private Set<Long> findWaitingJobsWithinDays(int days) {
-    Set<Long> waitingJobIds = new HashSet<>();
-    List<TaskDTO> waitingTasks = taskManager
-        .findByStatusWithinDays(TaskStatus.WAITING, days);
-    for (TaskDTO task : waitingTasks) {
-      waitingJobIds.add(task.getJobId());
-    }
-    return waitingJobIds;
-  }
-
-  private Set<Long> findTimeoutJobsWithinDays(int days) {
-    Set<Long> timeoutJobs = new HashSet<>();
-    List<TaskDTO> timeoutTasks = taskManager
-        .findByStatusWithinDays(TaskStatus.TIMEOUT, days);
-    for (TaskDTO task : timeoutTasks) {
-      timeoutJobs.add(task.getJobId());
-    }
-    return timeoutJobs;
-  }
-
-  private Set<Long> findFailedJobsWithinDays(int days) {
-    Set<Long> failedJobIds = new HashSet<>();
-    List<TaskDTO> failedTasks = taskManager
-        .findByStatusWithinDays(TaskStatus.FAILED, days);
-    for (TaskDTO task : failedTasks) {
-      failedJobIds.add(task.getJobId());
-    }
-    return failedJobIds;
-  }
-
   private List<JobDTO> extractJobDTO(Map<Long, JobDTO> allJobs, Set<Long> jobIdToExtract) {
     List<JobDTO> jobsToUpdate = new ArrayList<>();
     for (Long jobId : jobIdToExtract) {